@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.aop;
+
+import com.paiondata.aristotle.common.annotion.Bulkhead;
+import com.paiondata.aristotle.common.util.BulkheadRegistry;
+import com.paiondata.aristotle.common.util.ConcurrencyLimiter;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Aspect for running the methods annotated with {@link Bulkhead} within the bulkhead of their endpoint class.
+ */
+@Aspect
+@Component
+@Order(0)
+public class BulkheadAspect {
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    /**
+     * Runs a method once a permit of its bulkhead is taken, and gives the permit back when the method returns.
+     * <p>
+     * A method returning a {@link CompletionStage} holds its permit until the stage completes, so that requests
+     * served asynchronously count against the bulkhead for as long as their queries run.
+     * @param joinPoint Join point
+     * @param bulkhead the annotation naming the bulkhead
+     *
+     * @return The result of the method call
+     *
+     * @throws Throwable if an error occurs
+     * @throws com.paiondata.aristotle.exception.BulkheadFullException if no permit can be taken
+     */
+    @Around("@annotation(bulkhead)")
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    public Object limit(final ProceedingJoinPoint joinPoint, final Bulkhead bulkhead) throws Throwable {
+        final ConcurrencyLimiter limiter = bulkheadRegistry.get(bulkhead.value());
+        limiter.acquire();
+
+        final long start = System.nanoTime();
+        boolean synchronous = true;
+        try {
+            final Object result = joinPoint.proceed();
+            if (result instanceof CompletionStage) {
+                synchronous = false;
+                return ((CompletionStage<?>) result)
+                        .whenComplete((value, e) -> limiter.release(System.nanoTime() - start));
+            }
+
+            return result;
+        } finally {
+            if (synchronous) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -16,12 +16,17 @@
 package com.paiondata.aristotle.aop;
 
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.common.util.CacheChangeLog;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
 import com.paiondata.aristotle.common.util.TransactionManager;
+import com.paiondata.aristotle.common.util.TransientRetryPolicy;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.neo4j.driver.Driver;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Transaction;
 import org.slf4j.Logger;
@@ -49,10 +54,27 @@ public class Neo4jTransactionAspect {
     private TransactionManager neo4jTransactionManager;
 
     @Autowired
-    private Session neo4jSession;
+    private Driver driver;
+
+    @Autowired
+    private GraphTouchBuffer graphTouchBuffer;
+
+    @Autowired
+    private TransientRetryPolicy retryPolicy;
+
+    @Autowired
+    private CacheChangeLog cacheChangeLog;
 
     /**
      * Handles Neo4j transactions.
+     * <p>
+     * Every transaction runs in a session of its own, acquired from the connection pool of the driver and closed
+     * once the transaction ends, so that concurrent invocations do not share a session. The session waits for the
+     * bookmarks of the current request, and the bookmark of the committed transaction is recorded for the request.
+     * <p>
+     * A transaction failing with a transient error is rolled back and the whole method is run again in a new
+     * transaction, within the limits of the {@link TransientRetryPolicy}. Since nothing of a rolled back transaction
+     * is kept, running it again is idempotent; a transaction whose commit outcome is unknown is never run again.
      * @param joinPoint Join point
      *
      * @return The result of the method call
@@ -62,33 +84,85 @@ public class Neo4jTransactionAspect {
     @Around("@annotation(com.paiondata.aristotle.common.annotion.Neo4jTransactional)")
     @SuppressWarnings({"checkstyle:IllegalThrows", "checkstyle:IllegalCatch"})
     public Object manageTransaction(final ProceedingJoinPoint joinPoint) throws Throwable {
-        Transaction tx = null;
-        try {
-            tx = neo4jSession.beginTransaction();
-
-            final Object[] args = joinPoint.getArgs();
-            final MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-            final Method method = signature.getMethod();
-            final Parameter[] parameters = method.getParameters();
+        final Object[] args = joinPoint.getArgs();
+        final MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        final Method method = signature.getMethod();
+        final Parameter[] parameters = method.getParameters();
+
+        for (int attempt = 1; ; attempt++) {
+            Session session = null;
+            Transaction tx = null;
+            boolean committing = false;
+            try {
+                session = driver.session(BookmarkHolder.writeSessionConfig());
+                tx = neo4jTransactionManager.beginTransaction(session);
+
+                // Inject the transaction
+                injectTransaction(tx, args, parameters);
+
+                final Object result = joinPoint.proceed(args);
+
+                // Write the update times of the changed graphs once, right before committing
+                graphTouchBuffer.flush(tx);
+                // Share the cache evictions of the transaction with the other instances once it is visible to them
+                cacheChangeLog.flush(tx);
+                committing = true;
+                neo4jTransactionManager.commitTransaction(tx);
+                BookmarkHolder.update(session.lastBookmark());
+                return result;
+            } catch (final Exception e) {
+                rollbackTransaction(tx);
+
+                if (!retryPolicy.isRetryable(e, committing) || !retryPolicy.tryAcquire(attempt, e)) {
+                    LOG.error(String.format("Transaction error: %s", e.getMessage()), e);
+                    throw internalError(e);
+                }
+                LOG.warn(String.format("Transaction attempt %d failed, running it again: %s", attempt,
+                        e.getMessage()));
+            } finally {
+                graphTouchBuffer.discard();
+                cacheChangeLog.discard();
+                closeTransaction(tx);
+                closeSession(session);
+            }
 
-            // Inject the transaction
-            injectTransaction(tx, args, parameters);
+            try {
+                retryPolicy.backoff(attempt);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.error(String.format("Transaction retry interrupted: %s", e.getMessage()), e);
+                throw internalError(e);
+            }
+        }
+    }
 
-            final Object result = joinPoint.proceed(args);
+    /**
+     * Creates the error reported for a transaction that could not be completed.
+     * @param cause the failure of the transaction
+     *
+     * @return the error
+     */
+    private static IllegalStateException internalError(final Exception cause) {
+        return new IllegalStateException("Something went wrong inside Aristotle webservice. "
+                + "Please file an issue at https://github.com/paion-data/aristotle/issues to report this incident. "
+                + "We apologize for the inconvenience", cause);
+    }
 
-            neo4jTransactionManager.commitTransaction(tx);
-            return result;
-        } catch (final Exception e) {
-            if (tx != null) {
-                neo4jTransactionManager.rollbackTransaction(tx);
-            }
+    /**
+     * Roll back the transaction if it is still open, a failed rollback only being logged since the transaction is
+     * discarded anyway.
+     * @param tx Transaction
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void rollbackTransaction(final Transaction tx) {
+        if (tx == null || !tx.isOpen()) {
+            return;
+        }
 
-            LOG.error(String.format("Transaction error: %s", e.getMessage()), e);
-            throw new IllegalStateException("Something went wrong inside Aristotle webservice. "
-                    + "Please file an issue at https://github.com/paion-data/aristotle/issues to report this incident. "
-                    + "We apologize for the inconvenience", e);
-        } finally {
-            closeTransaction(tx);
+        try {
+            neo4jTransactionManager.rollbackTransaction(tx);
+        } catch (final RuntimeException e) {
+            LOG.warn(String.format("Transaction rollback failed: %s", e.getMessage()), e);
         }
     }
 
@@ -124,4 +198,14 @@ public class Neo4jTransactionAspect {
             tx.close();
         }
     }
+
+    /**
+     * Close the session, returning its connection to the pool.
+     * @param session Session
+     */
+    private void closeSession(final Session session) {
+        if (session != null) {
+            session.close();
+        }
+    }
 }
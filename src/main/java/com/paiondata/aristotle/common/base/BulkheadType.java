@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.base;
+
+/**
+ * Enum representing the classes of endpoints which are given a bulkhead of their own, so that a burst of expensive
+ * requests of one class cannot take the request threads and driver connections needed by the others.
+ */
+public enum BulkheadType {
+
+    /**
+     * Lookups of a single entity by its key.
+     */
+    POINT_READ("point-read"),
+
+    /**
+     * Reads walking an unbounded part of a graph, such as expansions and filtered graph reads.
+     */
+    TRAVERSAL("traversal"),
+
+    /**
+     * Writes of many nodes or relations in one request, such as imports and bulk updates.
+     */
+    BULK_WRITE("bulk-write");
+
+    private final String key;
+
+    /**
+     * Constructs a BulkheadType.
+     *
+     * @param key the key of the bulkhead in the configuration and in the metrics
+     */
+    BulkheadType(final String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the key of the bulkhead in the configuration and in the metrics.
+     *
+     * @return the key, such as {@code point-read}
+     */
+    public String getKey() {
+        return key;
+    }
+}
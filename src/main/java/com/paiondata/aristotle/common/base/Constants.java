@@ -218,4 +218,84 @@ public interface Constants {
      * Represents the quote in cypher.
      */
     String QUOTE = "'";
+
+    /**
+     * Represents the skip parameter in cypher.
+     */
+    String SKIP = "skip";
+
+    /**
+     * Represents the limit parameter in cypher.
+     */
+    String LIMIT = "limit";
+
+    /**
+     * Represents the code field of a response body.
+     */
+    String CODE = "code";
+
+    /**
+     * Represents the message field of a response body.
+     */
+    String MSG = "msg";
+
+    /**
+     * Represents the data field of a response body.
+     */
+    String DATA = "data";
+
+    /**
+     * Represents the page number field of a response body.
+     */
+    String PAGE_NUMBER = "pageNumber";
+
+    /**
+     * Represents the page size field of a response body.
+     */
+    String PAGE_SIZE = "pageSize";
+
+    /**
+     * Represents the total count field of a response body.
+     */
+    String TOTAL_COUNT = "totalCount";
+
+    /**
+     * Represents the HTTP header carrying Neo4j bookmarks between the client and the webservice.
+     */
+    String BOOKMARK_HEADER = "Neo4j-Bookmark";
+
+    /**
+     * Represents the HTTP header carrying the number of milliseconds a client is willing to wait for a response.
+     */
+    String REQUEST_TIMEOUT_HEADER = "Request-Timeout";
+
+    /**
+     * Represents the rows parameter of a batched Cypher statement.
+     */
+    String ROWS = "rows";
+
+    /**
+     * Represents the alias of a created graph node in a Cypher query.
+     */
+    String GN = "gn";
+
+    /**
+     * Represents the UUID list parameter of a Cypher statement.
+     */
+    String UUIDS = "uuids";
+
+    /**
+     * Represents the map from relationship UUIDs to new names parameter of a Cypher statement.
+     */
+    String UPDATE_MAP = "updateMap";
+
+    /**
+     * Represents the batch size parameter of a Cypher statement.
+     */
+    String BATCH_SIZE = "batchSize";
+
+    /**
+     * Represents the count returned by a Cypher statement.
+     */
+    String COUNT = "count";
 }
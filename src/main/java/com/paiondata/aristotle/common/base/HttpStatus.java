@@ -105,6 +105,13 @@ public interface HttpStatus {
      */
     int UNSUPPORTED_TYPE = 415;
 
+    /**
+     * Indicates that the client has sent too many requests and should retry later.
+     *
+     * @param TOO_MANY_REQUESTS The status code for a rate-limited request.
+     */
+    int TOO_MANY_REQUESTS = 429;
+
     /**
      * Indicates that the server encountered an unexpected condition that prevented it from fulfilling the request.
      *
@@ -119,6 +126,20 @@ public interface HttpStatus {
      */
     int NOT_IMPLEMENTED = 501;
 
+    /**
+     * Indicates that the server is temporarily unable to handle the request because it is overloaded.
+     *
+     * @param SERVICE_UNAVAILABLE The status code for an unavailable service.
+     */
+    int SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * Indicates that the server did not complete the request within its deadline.
+     *
+     * @param GATEWAY_TIMEOUT The status code for a timed out request.
+     */
+    int GATEWAY_TIMEOUT = 504;
+
     /**
      * Indicates a warning about the response.
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.base;
+
+/**
+ * Enum representing the lifecycle of an asynchronous write job.
+ */
+public enum JobStatus {
+
+    /**
+     * The job waits for a worker, or for the earlier jobs of its graph.
+     */
+    QUEUED,
+
+    /**
+     * The job is being executed.
+     */
+    RUNNING,
+
+    /**
+     * The job has been committed.
+     */
+    SUCCEEDED,
+
+    /**
+     * The job has failed and nothing has been committed.
+     */
+    FAILED;
+
+    /**
+     * Returns whether the job has finished.
+     *
+     * @return {@code true} if the job has succeeded or failed
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
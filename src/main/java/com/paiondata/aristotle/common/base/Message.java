@@ -90,6 +90,11 @@ public class Message {
      */
     public static final String DEGREE_MUST_NOT_BE_NULL = "degree must not be null!";
 
+    /**
+     * Limit must be between 1 and the maximum page size.
+     */
+    public static final String LIMIT_OUT_OF_RANGE = "limit must be between 1 and 1000!";
+
     /**
      * UUIDs must not be empty.
      */
@@ -125,6 +130,16 @@ public class Message {
      */
     public static final String TEMPORARY_ID_MUST_NOT_NULL = "temporaryId must not null!";
 
+    /**
+     * Properties must not be empty.
+     */
+    public static final String PROPERTIES_MUST_NOT_BE_EMPTY = "properties must not be empty!";
+
+    /**
+     * Nodes must not be empty.
+     */
+    public static final String NODES_MUST_NOT_BE_EMPTY = "nodes must not be empty!";
+
     /**
      * Delete succeeded.
      */
@@ -143,7 +158,7 @@ public class Message {
     /**
      * The relation does not exist.
      */
-    public static final String RELATION_NULL = "The relation with uuid '%s' does not exist";
+    public static final String RELATION_NULL = "The relations with uuids %s do not exist in the graph '%s'";
 
     /**
      * The graph is already bound to another user.
@@ -194,4 +209,60 @@ public class Message {
      * value can not be null.
      */
     public static final String VALUE_CAN_NOT_BE_NULL = "'%s' value can not be null";
+
+    /**
+     * The import format is not supported.
+     */
+    public static final String IMPORT_FORMAT_NOT_SUPPORTED = "The import format '%s' is not supported";
+
+    /**
+     * A record of an import is not valid.
+     */
+    public static final String INVALID_IMPORT_RECORD = "Line %d of the import is not a valid node or relation: %s";
+
+    /**
+     * A relation of an import refers to a node which is neither imported before it nor in the graph.
+     */
+    public static final String UNRESOLVED_IMPORT_NODE = "A relation of the import refers to '%s', "
+            + "which is neither a node imported before it nor a node of the graph";
+
+    /**
+     * A chunk of an import has been committed.
+     */
+    public static final String IMPORT_IN_PROGRESS = "Import in progress.";
+
+    /**
+     * The import succeeded.
+     */
+    public static final String IMPORT_SUCCESS = "Imported successfully.";
+
+    /**
+     * The job does not exist.
+     */
+    public static final String JOB_NULL = "The job with UUID '%s' does not exist";
+
+    /**
+     * The job has been queued.
+     */
+    public static final String JOB_ACCEPTED = "Accepted, poll the job for its result.";
+
+    /**
+     * The job queue is full.
+     */
+    public static final String JOB_QUEUE_FULL = "Too many pending jobs, please retry later";
+
+    /**
+     * The bulkhead of an endpoint class has no permit left.
+     */
+    public static final String BULKHEAD_FULL = "Too many concurrent '%s' requests, please retry later";
+
+    /**
+     * The deadline of the request has passed.
+     */
+    public static final String DEADLINE_EXCEEDED = "The request did not complete within its deadline of %d ms";
+
+    /**
+     * A low-priority request has been shed because the service is overloaded.
+     */
+    public static final String LOAD_SHED = "The service is overloaded, please retry this request later";
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.base;
+
+/**
+ * Enum representing the outcome of one node of a bulk node update.
+ */
+public enum NodeUpdateStatus {
+
+    /**
+     * The node has been updated.
+     */
+    UPDATED,
+
+    /**
+     * The update is rejected, because it is duplicated or changes a reserved property.
+     */
+    INVALID,
+
+    /**
+     * The node does not exist.
+     */
+    NOT_FOUND,
+
+    /**
+     * The node belongs to another graph.
+     */
+    BOUND_ANOTHER_GRAPH
+}
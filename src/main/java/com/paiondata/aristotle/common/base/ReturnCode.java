@@ -53,6 +53,11 @@ public enum ReturnCode {
      */
     TOO_MANY_REQUESTS(13003, "Too many requests have been made"),
 
+    /**
+     * Indicates that the request did not complete within its deadline.
+     */
+    REQUEST_TIMEOUT(13004, "The request did not complete within its deadline"),
+
     /**
      * Indicates an error occurred in the database service.
      */
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
+
+import java.util.function.Supplier;
+
+/**
+ * The state of a request that its asynchronous reads need, captured by the request thread.
+ * <p>
+ * The asynchronous reads of a request are chained on the event loop of the driver, which does not hold the
+ * bookmarks and the deadline bound to the request thread by {@link BookmarkHolder} and {@link RequestDeadline}. The
+ * context is therefore captured once before the first read is started, and handed to every read of the chain.
+ */
+public final class AsyncReadContext {
+
+    private final SessionConfig sessionConfig;
+
+    private final Supplier<TransactionConfig> transactionConfig;
+
+    /**
+     * Constructs a context.
+     *
+     * @param sessionConfig the configuration of the read sessions
+     * @param transactionConfig the supplier of the configurations of the read transactions
+     */
+    private AsyncReadContext(final SessionConfig sessionConfig, final Supplier<TransactionConfig> transactionConfig) {
+        this.sessionConfig = sessionConfig;
+        this.transactionConfig = transactionConfig;
+    }
+
+    /**
+     * Captures the bookmarks and the deadline of the request processed by the current thread.
+     *
+     * @return the context of the current request
+     */
+    public static AsyncReadContext capture() {
+        return new AsyncReadContext(BookmarkHolder.readSessionConfig(), RequestDeadline.capture());
+    }
+
+    /**
+     * Returns the configuration of a read session, which waits for the bookmarks of the request.
+     *
+     * @return the session configuration
+     */
+    public SessionConfig sessionConfig() {
+        return sessionConfig;
+    }
+
+    /**
+     * Builds the configuration of a read transaction, whose timeout is the time left until the deadline of the
+     * request.
+     *
+     * @return the transaction configuration
+     *
+     * @throws com.paiondata.aristotle.exception.DeadlineExceededException if the deadline has already passed
+     */
+    public TransactionConfig transactionConfig() {
+        return transactionConfig.get();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.exception.DeadlineExceededException;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransactionWork;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Runs units of work with the asynchronous API of the driver.
+ * <p>
+ * No thread waits for the database while such a unit of work runs: its statements are sent and its results are
+ * received by the event loop of the driver, which also runs the callbacks completing the returned stages. Those
+ * callbacks must therefore never block.
+ */
+public final class AsyncSessions {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private AsyncSessions() {
+    }
+
+    /**
+     * Runs a unit of work in a read transaction of a new asynchronous session, which waits for the bookmarks of a
+     * request and is closed once the unit of work completes.
+     * <p>
+     * The configurations are taken from the context captured by the request thread rather than from the calling
+     * thread, which may be the event loop running the callback of an earlier read of the same request.
+     *
+     * @param driver the driver to acquire the session from
+     * @param context the context of the request
+     * @param work the unit of work
+     * @param <T> the type of the result of the unit of work
+     *
+     * @return the stage completed with the result of the unit of work once the session is closed, or completed
+     * exceptionally with a {@link com.paiondata.aristotle.exception.DeadlineExceededException} if the deadline of the
+     * request has already passed
+     */
+    public static <T> CompletionStage<T> readAsync(final Driver driver, final AsyncReadContext context,
+                                                   final AsyncTransactionWork<CompletionStage<T>> work) {
+        final TransactionConfig transactionConfig;
+        try {
+            transactionConfig = context.transactionConfig();
+        } catch (final DeadlineExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final AsyncSession session = driver.asyncSession(context.sessionConfig());
+
+        return session.readTransactionAsync(work, transactionConfig)
+                .thenCompose(result -> session.closeAsync().thenApply(closed -> result))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        session.closeAsync();
+                    }
+                });
+    }
+}
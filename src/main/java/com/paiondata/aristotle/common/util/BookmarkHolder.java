@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.SessionConfig;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the Neo4j bookmarks of the request being processed by the current thread.
+ * <p>
+ * A bookmark identifies a point in the transaction history of the database. Passing the bookmarks a client received
+ * from an earlier response into the sessions of a later request makes a cluster member serving that request wait
+ * until it has caught up with that point, so a client still reads its own writes when its reads are routed to a
+ * follower.
+ * <p>
+ * The bookmarks received with a request are kept apart from the ones produced while handling it: sessions are
+ * opened with both, while the response reports the most recent bookmark produced, falling back to the received
+ * ones when the request did not produce any.
+ */
+public final class BookmarkHolder {
+
+    private static final ThreadLocal<Set<Bookmark>> RECEIVED = ThreadLocal.withInitial(LinkedHashSet::new);
+
+    private static final ThreadLocal<Set<Bookmark>> PRODUCED = ThreadLocal.withInitial(LinkedHashSet::new);
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BookmarkHolder() {
+    }
+
+    /**
+     * Replaces the bookmarks received with the current request.
+     *
+     * @param values the raw bookmark values sent by the client, blank values are ignored
+     */
+    public static void receive(final Collection<String> values) {
+        RECEIVED.set(values.stream()
+                .filter(value -> !value.isBlank())
+                .map(value -> Bookmark.from(Set.of(value)))
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Records the bookmark of a transaction that has just been committed by the current request.
+     *
+     * @param bookmark the bookmark of the committed transaction, {@code null} or empty bookmarks are ignored
+     */
+    public static void update(final Bookmark bookmark) {
+        if (bookmark != null && !bookmark.isEmpty()) {
+            update(Set.of(bookmark));
+        }
+    }
+
+    /**
+     * Records the bookmarks of transactions that have just been committed by the current request, replacing the
+     * bookmarks produced earlier since they are superseded.
+     *
+     * @param bookmarks the bookmarks of the committed transactions, empty bookmarks are ignored
+     */
+    public static void update(final Collection<Bookmark> bookmarks) {
+        final Set<Bookmark> latest = bookmarks.stream()
+                .filter(bookmark -> bookmark != null && !bookmark.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (!latest.isEmpty()) {
+            PRODUCED.set(latest);
+        }
+    }
+
+    /**
+     * Returns the bookmarks a session opened by the current request has to wait for.
+     *
+     * @return the received and produced bookmarks
+     */
+    public static Set<Bookmark> getBookmarks() {
+        final Set<Bookmark> bookmarks = new LinkedHashSet<>(RECEIVED.get());
+        bookmarks.addAll(PRODUCED.get());
+        return bookmarks;
+    }
+
+    /**
+     * Returns the raw bookmark values to report back to the client.
+     *
+     * @return the values of the most recent bookmarks produced, or of the received ones if none were produced
+     */
+    public static Set<String> getResponseValues() {
+        final Set<Bookmark> bookmarks = PRODUCED.get().isEmpty() ? RECEIVED.get() : PRODUCED.get();
+
+        return bookmarks.stream()
+                .flatMap(bookmark -> bookmark.values().stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Builds the configuration of a session that only reads, so that it can be routed to a follower, and that
+     * waits for the bookmarks of the current request.
+     *
+     * @return the session configuration
+     */
+    public static SessionConfig readSessionConfig() {
+        return SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withBookmarks(getBookmarks())
+                .build();
+    }
+
+    /**
+     * Builds the configuration of a session that writes and that waits for the bookmarks of the current request, so
+     * that its transactions observe the writes the client has already seen.
+     *
+     * @return the session configuration
+     */
+    public static SessionConfig writeSessionConfig() {
+        return SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.WRITE)
+                .withBookmarks(getBookmarks())
+                .build();
+    }
+
+    /**
+     * Binds the bookmarks of the current request to a task run by another thread, so that the sessions opened by the
+     * task wait for them as well. The bookmarks produced by the task are not reported back, which suits tasks that
+     * only read.
+     *
+     * @param task the task
+     * @param <T> the type of the result of the task
+     *
+     * @return the task running with the bookmarks of the current request
+     */
+    public static <T> Callable<T> bind(final Callable<T> task) {
+        final Set<Bookmark> bookmarks = getBookmarks();
+
+        return () -> {
+            RECEIVED.set(new LinkedHashSet<>(bookmarks));
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    /**
+     * Binds the bookmarks of the current request to a task run by another thread, so that the sessions opened by the
+     * task wait for them as well. The task reports the bookmarks it produces itself, before it completes, through
+     * {@link #getResponseValues()}.
+     *
+     * @param task the task
+     *
+     * @return the task running with the bookmarks of the current request
+     */
+    public static Runnable bind(final Runnable task) {
+        final Set<Bookmark> bookmarks = getBookmarks();
+
+        return () -> {
+            RECEIVED.set(new LinkedHashSet<>(bookmarks));
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    /**
+     * Forgets the bookmarks of the current request.
+     */
+    public static void clear() {
+        RECEIVED.remove();
+        PRODUCED.remove();
+    }
+}
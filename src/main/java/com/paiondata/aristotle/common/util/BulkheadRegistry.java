@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.BulkheadType;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the {@link ConcurrencyLimiter} of every {@link BulkheadType}.
+ * <p>
+ * Each bulkhead is configured under {@code aristotle.bulkhead.<key>}, with {@code max-concurrent},
+ * {@code queue-capacity}, {@code max-wait-ms} and {@code retry-after-seconds}. Setting {@code latency-tolerance}
+ * above {@code 0} makes the limit of a bulkhead adaptive, backing off to {@code min-concurrent}; this is the default
+ * for traversals only, whose cost depends on the data rather than on the request. The limit, running and waiting
+ * invocations of every bulkhead are published as the {@code aristotle.bulkhead.limit},
+ * {@code aristotle.bulkhead.in-flight} and {@code aristotle.bulkhead.waiting} gauges, and its rejections as the
+ * {@code aristotle.bulkhead.rejected} counter, tagged with the key of the bulkhead.
+ */
+@Component
+public class BulkheadRegistry {
+
+    private static final String PREFIX = "aristotle.bulkhead.";
+
+    private static final String TYPE_TAG = "type";
+
+    private static final double TRAVERSAL_LATENCY_TOLERANCE = 2.0;
+
+    private final Map<BulkheadType, ConcurrencyLimiter> limiters = new EnumMap<>(BulkheadType.class);
+
+    /**
+     * Constructs the limiters from the configuration, and publishes their metrics.
+     *
+     * @param environment the environment the configuration is read from
+     * @param meterRegistry the registry the metrics are published to
+     */
+    @Autowired
+    public BulkheadRegistry(final Environment environment, final MeterRegistry meterRegistry) {
+        limiters.put(BulkheadType.POINT_READ, create(environment, BulkheadType.POINT_READ, 64, 256, 100, 0));
+        limiters.put(BulkheadType.TRAVERSAL,
+                create(environment, BulkheadType.TRAVERSAL, 8, 16, 1000, TRAVERSAL_LATENCY_TOLERANCE));
+        limiters.put(BulkheadType.BULK_WRITE, create(environment, BulkheadType.BULK_WRITE, 4, 8, 2000, 0));
+
+        limiters.forEach((type, limiter) -> {
+            Gauge.builder(PREFIX + "limit", limiter, ConcurrencyLimiter::getLimit)
+                    .tag(TYPE_TAG, type.getKey()).register(meterRegistry);
+            Gauge.builder(PREFIX + "in-flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .tag(TYPE_TAG, type.getKey()).register(meterRegistry);
+            Gauge.builder(PREFIX + "waiting", limiter, ConcurrencyLimiter::getWaiting)
+                    .tag(TYPE_TAG, type.getKey()).register(meterRegistry);
+            FunctionCounter.builder(PREFIX + "rejected", limiter, ConcurrencyLimiter::getRejected)
+                    .tag(TYPE_TAG, type.getKey()).register(meterRegistry);
+        });
+    }
+
+    /**
+     * Returns the limiter of a bulkhead.
+     *
+     * @param type the endpoint class of the bulkhead
+     *
+     * @return the limiter
+     */
+    public ConcurrencyLimiter get(final BulkheadType type) {
+        return limiters.get(type);
+    }
+
+    /**
+     * Creates the limiter of a bulkhead from its configuration.
+     *
+     * @param environment the environment the configuration is read from
+     * @param type the endpoint class of the bulkhead
+     * @param maxConcurrent the default maximum number of concurrent invocations
+     * @param queueCapacity the default maximum number of waiting invocations
+     * @param maxWaitMs the default maximum time an invocation waits for a permit
+     * @param latencyTolerance the default latency tolerance, {@code 0} for a fixed limit
+     *
+     * @return the limiter
+     */
+    private static ConcurrencyLimiter create(final Environment environment, final BulkheadType type,
+                                             final int maxConcurrent, final int queueCapacity,
+                                             final long maxWaitMs, final double latencyTolerance) {
+        final String prefix = PREFIX + type.getKey() + ".";
+
+        return new ConcurrencyLimiter(type.getKey(),
+                environment.getProperty(prefix + "min-concurrent", Integer.class, 1),
+                environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+                environment.getProperty(prefix + "queue-capacity", Integer.class, queueCapacity),
+                environment.getProperty(prefix + "max-wait-ms", Long.class, maxWaitMs),
+                environment.getProperty(prefix + "retry-after-seconds", Long.class, 1L),
+                environment.getProperty(prefix + "latency-tolerance", Double.class, latencyTolerance));
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.Constants;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shares the evictions of the {@link EntityCache} between the instances of the service through the database.
+ * <p>
+ * Every transaction that changes graphs or users appends one {@code :CacheInvalidation} node listing their UUIDs and
+ * oidcids, right before it commits and in the same transaction, so the record is visible exactly when the change
+ * is. Records are numbered by a counter on the {@code :CacheChangeLog} node, whose write lock is held until the
+ * transaction ends; records therefore become visible in the order of their numbers, without gaps. Each instance
+ * polls the records numbered after the last one it has applied, see {@link EntityCache#pollChangeLog()}, so a cache
+ * is stale for at most {@code aristotle.cache.coherence.poll-interval-ms} after a write on another instance.
+ * <p>
+ * Records older than {@code aristotle.cache.coherence.retention-ms} are deleted; an instance that missed some of
+ * them clears its caches instead. With {@code aristotle.cache.coherence.enabled} turned off, nothing is written or
+ * read, which suits a single instance.
+ */
+@Component
+public class CacheChangeLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheChangeLog.class);
+
+    private static final String SEQUENCE = "sequence";
+
+    private static final String GRAPHS = "graphs";
+
+    private static final String USERS = "users";
+
+    private static final String ALL_GRAPHS = "allGraphs";
+
+    private static final String CREATED_AT = "createdAt";
+
+    private static final String LIMIT = "limit";
+
+    private static final String APPEND_CYPHER = "MERGE (log:CacheChangeLog { name: 'entities' }) " +
+            "SET log.sequence = coalesce(log.sequence, 0) + 1 " +
+            "CREATE (:CacheInvalidation { sequence: log.sequence, graphs: $graphs, users: $users, " +
+            "all_graphs: $allGraphs, created_at: $createdAt })";
+
+    private static final String CURRENT_SEQUENCE_CYPHER = "OPTIONAL MATCH (log:CacheChangeLog { name: 'entities' }) " +
+            "RETURN coalesce(log.sequence, 0) AS sequence";
+
+    private static final String READ_SINCE_CYPHER = "MATCH (i:CacheInvalidation) WHERE i.sequence > $sequence " +
+            "RETURN i.sequence AS sequence, i.graphs AS graphs, i.users AS users, i.all_graphs AS allGraphs " +
+            "ORDER BY i.sequence LIMIT $limit";
+
+    private static final String TRUNCATE_CYPHER = "MATCH (i:CacheInvalidation) WHERE i.created_at < $createdAt " +
+            "WITH i LIMIT $limit DELETE i RETURN count(*) AS count";
+
+    private static final SessionConfig READ_SESSION = SessionConfig.builder()
+            .withDefaultAccessMode(AccessMode.READ)
+            .build();
+
+    private static final ThreadLocal<Pending> PENDING = ThreadLocal.withInitial(Pending::new);
+
+    private final Driver driver;
+
+    private final Neo4jClient neo4jClient;
+
+    private final boolean enabled;
+
+    private final long retentionMs;
+
+    private final int batchSize;
+
+    /**
+     * Constructs the change log.
+     *
+     * @param driver the driver reading the records and deleting the old ones
+     * @param neo4jClient the client appending records in Spring-managed transactions
+     * @param enabled whether the evictions are shared with the other instances
+     * @param retentionMs the age after which records are deleted, in milliseconds
+     * @param batchSize the maximum number of records read or deleted per statement
+     */
+    @Autowired
+    public CacheChangeLog(final Driver driver, final Neo4jClient neo4jClient,
+                          @Value("${aristotle.cache.coherence.enabled:true}") final boolean enabled,
+                          @Value("${aristotle.cache.coherence.retention-ms:300000}") final long retentionMs,
+                          @Value("${aristotle.cache.coherence.batch-size:1000}") final int batchSize) {
+        this.driver = driver;
+        this.neo4jClient = neo4jClient;
+        this.enabled = enabled;
+        this.retentionMs = retentionMs;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns whether the evictions are shared with the other instances.
+     *
+     * @return {@code true} if records are written and polled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records that graphs are changed by the transaction of the current thread.
+     *
+     * @param uuids the UUIDs of the graphs
+     */
+    public void recordGraphs(final Collection<String> uuids) {
+        if (enabled) {
+            pending().graphs.addAll(uuids);
+        }
+    }
+
+    /**
+     * Records that graphs whose UUIDs are not known are changed by the transaction of the current thread.
+     */
+    public void recordAllGraphs() {
+        if (enabled) {
+            pending().allGraphs = true;
+        }
+    }
+
+    /**
+     * Records that users are changed by the transaction of the current thread.
+     *
+     * @param oidcids the oidcids of the users
+     */
+    public void recordUsers(final Collection<String> oidcids) {
+        if (enabled) {
+            pending().users.addAll(oidcids);
+        }
+    }
+
+    /**
+     * Appends the changes recorded by the current thread to the log, with a single statement of the transaction.
+     *
+     * @param tx the transaction about to be committed
+     */
+    public void flush(final Transaction tx) {
+        final Pending pending = PENDING.get();
+        if (!pending.isEmpty()) {
+            tx.run(APPEND_CYPHER, pending.toParameters()).consume();
+        }
+        PENDING.remove();
+    }
+
+    /**
+     * Forgets the changes recorded by the current thread, when its transaction is rolled back.
+     */
+    public void discard() {
+        PENDING.remove();
+    }
+
+    /**
+     * Retrieves the number of the last record appended to the log.
+     *
+     * @return the number, {@code 0} if the log is empty
+     */
+    public long currentSequence() {
+        try (Session session = driver.session(READ_SESSION)) {
+            return session.readTransaction(tx -> tx.run(CURRENT_SEQUENCE_CYPHER).single().get(SEQUENCE).asLong());
+        }
+    }
+
+    /**
+     * Retrieves the records appended after a given one, in the order they were appended.
+     *
+     * @param sequence the number of the last record already applied
+     *
+     * @return at most {@code aristotle.cache.coherence.batch-size} records
+     */
+    public List<Invalidation> readSince(final long sequence) {
+        try (Session session = driver.session(READ_SESSION)) {
+            return session.readTransaction(tx -> tx.run(READ_SINCE_CYPHER,
+                            Values.parameters(SEQUENCE, sequence, LIMIT, batchSize))
+                    .list(record -> new Invalidation(
+                            record.get(SEQUENCE).asLong(),
+                            record.get(GRAPHS).asList(value -> value.asString()),
+                            record.get(USERS).asList(value -> value.asString()),
+                            record.get(ALL_GRAPHS).asBoolean())));
+        }
+    }
+
+    /**
+     * Deletes the records older than the retention, in batches.
+     */
+    @Scheduled(fixedDelayString = "${aristotle.cache.coherence.truncate-interval-ms:60000}")
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void truncate() {
+        if (!enabled) {
+            return;
+        }
+
+        final long cutoff = System.currentTimeMillis() - retentionMs;
+        try (Session session = driver.session()) {
+            long deleted;
+            do {
+                deleted = session.writeTransaction(tx -> tx.run(TRUNCATE_CYPHER,
+                                Values.parameters(CREATED_AT, cutoff, LIMIT, batchSize))
+                        .single().get(Constants.COUNT).asLong());
+            } while (deleted == batchSize);
+        } catch (final RuntimeException e) {
+            LOG.error(String.format("Truncating the cache change log failed: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns the changes recorded by the current thread, making a Spring-managed transaction append them right
+     * before it commits.
+     *
+     * @return the changes
+     */
+    private Pending pending() {
+        final Pending pending = PENDING.get();
+
+        if (!pending.synchronizing && TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.synchronizing = true;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(final boolean readOnly) {
+                    final Pending changes = PENDING.get();
+                    if (!changes.isEmpty()) {
+                        neo4jClient.query(APPEND_CYPHER).bindAll(changes.toParameters()).run();
+                    }
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    discard();
+                }
+            });
+        }
+
+        return pending;
+    }
+
+    /**
+     * A record of the log.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Invalidation {
+
+        /**
+         * The number of the record.
+         */
+        private final long sequence;
+
+        /**
+         * The UUIDs of the changed graphs.
+         */
+        private final List<String> graphs;
+
+        /**
+         * The oidcids of the changed users.
+         */
+        private final List<String> users;
+
+        /**
+         * Whether graphs whose UUIDs are not known were changed.
+         */
+        private final boolean allGraphs;
+    }
+
+    /**
+     * The changes recorded by a transaction.
+     */
+    private static final class Pending {
+
+        private final Set<String> graphs = new LinkedHashSet<>();
+
+        private final Set<String> users = new LinkedHashSet<>();
+
+        private boolean allGraphs;
+
+        private boolean synchronizing;
+
+        /**
+         * Returns whether nothing was recorded.
+         *
+         * @return {@code true} if there is nothing to append
+         */
+        boolean isEmpty() {
+            return graphs.isEmpty() && users.isEmpty() && !allGraphs;
+        }
+
+        /**
+         * Converts the changes into the parameters of the statement appending them.
+         *
+         * @return the parameters
+         */
+        Map<String, Object> toParameters() {
+            return Map.of(
+                    GRAPHS, new ArrayList<>(graphs),
+                    USERS, new ArrayList<>(users),
+                    ALL_GRAPHS, allGraphs,
+                    CREATED_AT, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.exception.BulkheadFullException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of concurrent invocations of a bulkhead, with a bounded queue of waiting invocations.
+ * <p>
+ * An invocation finding every permit taken waits for one to be released, for at most {@code maxWaitMs}, unless
+ * {@code queueCapacity} invocations are already waiting. Invocations that cannot be admitted are rejected with a
+ * {@link BulkheadFullException} rather than piling up on the request threads.
+ * <p>
+ * An adaptive limiter, which has a positive latency tolerance, moves its limit between {@code minLimit} and
+ * {@code maxLimit} following the latency of the invocations: the limit is cut multiplicatively whenever an invocation
+ * is slower than the tolerance times a slowly moving average of the latencies, and is raised by one permit per
+ * limit's worth of invocations completing in time while the limiter is saturated. Rising database latency thus
+ * shrinks the concurrency of the bulkhead before the connection pool and the database saturate.
+ */
+public class ConcurrencyLimiter {
+
+    /**
+     * The factor the limit is multiplied by after a slow invocation.
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * The weight of a latency sample in the average latency.
+     */
+    private static final double LATENCY_SMOOTHING = 0.05;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int queueCapacity;
+
+    private final long maxWaitNanos;
+
+    private final long retryAfterSeconds;
+
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+
+    private double averageLatency;
+
+    private int inFlight;
+
+    private int waiting;
+
+    private long rejected;
+
+    /**
+     * Constructs the limiter.
+     *
+     * @param name the name of the bulkhead, reported in rejections
+     * @param minLimit the lowest limit an adaptive limiter backs off to
+     * @param maxLimit the initial limit, which is also the highest limit an adaptive limiter grows to
+     * @param queueCapacity the maximum number of invocations waiting for a permit
+     * @param maxWaitMs the maximum time an invocation waits for a permit
+     * @param retryAfterSeconds the number of seconds rejected clients are advised to wait before retrying
+     * @param latencyTolerance the ratio to the average latency above which an invocation makes an adaptive limiter
+     * back off, or {@code 0} for a fixed limit
+     *
+     * @throws IllegalArgumentException if the limits are not positive or the lowest limit exceeds the highest
+     */
+    public ConcurrencyLimiter(final String name, final int minLimit, final int maxLimit, final int queueCapacity,
+                              final long maxWaitMs, final long retryAfterSeconds, final double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException(String.format("Invalid limits [%d, %d] for the bulkhead '%s'",
+                    minLimit, maxLimit, name));
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Takes a permit, waiting in the queue if none is free.
+     *
+     * @throws BulkheadFullException if the queue is full, or no permit is released within the maximum wait
+     */
+    public void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < permits()) {
+                inFlight++;
+                return;
+            }
+            if (waiting >= queueCapacity) {
+                throw reject();
+            }
+
+            waiting++;
+            try {
+                long nanos = maxWaitNanos;
+                while (inFlight >= permits()) {
+                    if (nanos <= 0L) {
+                        throw reject();
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+                inFlight++;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives a permit back, and adapts the limit to the latency of the invocation that held it.
+     *
+     * @param latencyNanos the time the permit was held
+     */
+    public void release(final long latencyNanos) {
+        lock.lock();
+        try {
+            final boolean saturated = inFlight >= permits();
+            inFlight--;
+            if (latencyTolerance > 0) {
+                adapt(latencyNanos, saturated);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the number of invocations allowed to run concurrently
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return permits();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of invocations holding a permit.
+     *
+     * @return the number of running invocations
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of invocations waiting for a permit.
+     *
+     * @return the number of queued invocations
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of invocations rejected since the limiter was created.
+     *
+     * @return the number of rejections
+     */
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the limit after an invocation, and the average latency towards its latency.
+     *
+     * @param latencyNanos the latency of the invocation
+     * @param saturated whether every permit was taken when the invocation ended
+     */
+    private void adapt(final long latencyNanos, final boolean saturated) {
+        if (averageLatency == 0) {
+            averageLatency = latencyNanos;
+        }
+
+        if (latencyNanos > averageLatency * latencyTolerance) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        averageLatency += (latencyNanos - averageLatency) * LATENCY_SMOOTHING;
+    }
+
+    /**
+     * Returns the current limit; the caller holds the lock.
+     *
+     * @return the number of invocations allowed to run concurrently
+     */
+    private int permits() {
+        return (int) limit;
+    }
+
+    /**
+     * Counts a rejection; the caller holds the lock.
+     *
+     * @return the exception rejecting the invocation
+     */
+    private BulkheadFullException reject() {
+        rejected++;
+        return new BulkheadFullException(String.format(Message.BULKHEAD_FULL, name), retryAfterSeconds);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.exception.DeadlineExceededException;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DelegatingTransactionDefinition;
+
+import java.time.Duration;
+
+/**
+ * A Spring transaction manager that bounds the transactions of a request by its {@link RequestDeadline}.
+ * <p>
+ * Spring Data Neo4j passes the timeout of a transaction definition, in whole seconds, to
+ * {@code TransactionConfig.withTimeout}. This manager hands every transaction it begins to its delegate with the time
+ * left until the deadline of the current request as its timeout, rounded up to whole seconds, so that the queries of
+ * the repositories are bounded like those of the mappers. A transaction declaring a shorter timeout of its own keeps
+ * it, and a thread without a deadline begins its transactions unchanged.
+ */
+public class DeadlineTransactionManager implements PlatformTransactionManager {
+
+    private final PlatformTransactionManager delegate;
+
+    /**
+     * Constructs the manager.
+     *
+     * @param delegate the manager beginning, committing and rolling back the transactions
+     */
+    public DeadlineTransactionManager(final PlatformTransactionManager delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Begins or joins a transaction, bounded by the deadline of the current request.
+     *
+     * @param definition the definition of the transaction, {@code null} for the defaults
+     *
+     * @return the status of the transaction
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     * @throws TransactionException if the delegate fails to begin the transaction
+     */
+    @Override
+    public TransactionStatus getTransaction(@Nullable final TransactionDefinition definition)
+            throws TransactionException {
+        final TransactionDefinition declared = definition == null ? TransactionDefinition.withDefaults() : definition;
+        final Duration remaining = RequestDeadline.transactionConfig().timeout();
+        if (remaining == null) {
+            return delegate.getTransaction(declared);
+        }
+
+        final long seconds = remaining.getSeconds() + (remaining.getNano() > 0 ? 1 : 0);
+        final int timeout = (int) Math.min(Integer.MAX_VALUE, seconds);
+
+        return delegate.getTransaction(new BoundedTransactionDefinition(declared,
+                declared.getTimeout() > 0 ? Math.min(declared.getTimeout(), timeout) : timeout));
+    }
+
+    /**
+     * Commits a transaction through the delegate.
+     *
+     * @param status the status of the transaction
+     *
+     * @throws TransactionException if the commit fails
+     */
+    @Override
+    public void commit(final TransactionStatus status) throws TransactionException {
+        delegate.commit(status);
+    }
+
+    /**
+     * Rolls a transaction back through the delegate.
+     *
+     * @param status the status of the transaction
+     *
+     * @throws TransactionException if the rollback fails
+     */
+    @Override
+    public void rollback(final TransactionStatus status) throws TransactionException {
+        delegate.rollback(status);
+    }
+
+    /**
+     * A transaction definition with the timeout left until a deadline.
+     */
+    private static final class BoundedTransactionDefinition extends DelegatingTransactionDefinition {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int timeout;
+
+        /**
+         * Constructs the definition.
+         *
+         * @param declared the definition declared by the transaction
+         * @param timeout the timeout of the transaction in seconds
+         */
+        BoundedTransactionDefinition(final TransactionDefinition declared, final int timeout) {
+            super(declared);
+            this.timeout = timeout;
+        }
+
+        /**
+         * Returns the timeout of the transaction.
+         *
+         * @return the timeout in seconds
+         */
+        @Override
+        public int getTimeout() {
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates and compares entity tags (ETags) for conditional read requests.
+ * <p>
+ * An ETag is derived from the version of the graph being read plus the request parameters that shape the
+ * response. Every write to a graph, its nodes or its relations increments the version of the graph in the same
+ * transaction, so two writes never share an ETag however close together they are, and a client holding a matching
+ * ETag already has the current representation and can be answered with {@code 304 Not Modified} after nothing more
+ * than an indexed lookup of the graph.
+ * <p>
+ * The version and the parameters are hashed in their JSON encoding, with map entries sorted by key, so that two
+ * different sets of parameters never share a source, whatever characters their values contain.
+ */
+@Component
+public class ETagGenerator {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    private static final ObjectMapper SOURCE_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    /**
+     * Generates a strong ETag from a graph version and the request parameters.
+     *
+     * @param version the version of the graph
+     * @param parameters the request parameters that shape the response, strings, numbers or maps of them
+     *
+     * @return the quoted ETag
+     *
+     * @throws IllegalArgumentException if a parameter cannot be encoded as JSON
+     */
+    public String generate(final long version, final Object... parameters) {
+        final List<Object> source = new ArrayList<>(parameters.length + 1);
+        source.add(version);
+        source.addAll(Arrays.asList(parameters));
+
+        try {
+            return QUOTE + DigestUtils.md5DigestAsHex(SOURCE_MAPPER.writeValueAsBytes(source)) + QUOTE;
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("ETag parameters cannot be encoded as JSON", e);
+        }
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header matches an ETag, meaning the client's copy is current.
+     * <p>
+     * Accepts a comma separated list of tags and the {@code *} wildcard, and compares tags weakly as required for
+     * {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, may be {@code null}
+     * @param eTag the current ETag
+     *
+     * @return {@code true} if the header matches the ETag
+     */
+    public boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> WILDCARD.equals(tag) || eTag.equals(tag));
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.paiondata.aristotle.model.entity.Graph;
+import com.paiondata.aristotle.model.entity.User;
+import com.paiondata.aristotle.model.vo.CacheStatsVO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caches the graphs and users looked up by their UUID and oidcid.
+ * <p>
+ * Nearly every write checks that its graph or user exists first, so both lookups are served from bounded caches of
+ * {@code aristotle.cache.max-size} entries each, which expire {@code aristotle.cache.ttl-seconds} after being loaded.
+ * Lookups that found nothing are cached as well, but only for {@code aristotle.cache.negative-ttl-ms}, so that a
+ * graph or user created by another instance becomes visible quickly.
+ * <p>
+ * The services evict the entries they update or delete, which also evicts them from the {@link IdentityMap} of the
+ * request. Inside a Spring transaction, entries are evicted both immediately and once the transaction completes, so
+ * that a lookup running concurrently with the transaction cannot leave the uncommitted state behind in the cache.
+ * The evictions are also recorded in the {@link CacheChangeLog}, and the evictions of the other instances are applied
+ * from it every {@code aristotle.cache.coherence.poll-interval-ms}.
+ * <p>
+ * The cache statistics are published as the Micrometer {@code cache.*} meters, tagged with {@code cache=graphs} and
+ * {@code cache=users}.
+ */
+@Component
+public class EntityCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+
+    private static final String GRAPHS = "graphs";
+
+    private static final String USERS = "users";
+
+    private final Cache<String, Optional<Graph>> graphs;
+
+    private final Cache<String, Optional<User>> users;
+
+    private final CacheChangeLog changeLog;
+
+    private long lastSequence = -1;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param meterRegistry the registry the cache statistics are published to
+     * @param changeLog the log sharing the evictions with the other instances
+     * @param maxSize the maximum number of entries of each cache
+     * @param ttlSeconds the time after which a found entity expires, in seconds
+     * @param negativeTtlMs the time after which a lookup that found nothing expires, in milliseconds
+     */
+    @Autowired
+    public EntityCache(final MeterRegistry meterRegistry, final CacheChangeLog changeLog,
+                       @Value("${aristotle.cache.max-size:10000}") final long maxSize,
+                       @Value("${aristotle.cache.ttl-seconds:60}") final long ttlSeconds,
+                       @Value("${aristotle.cache.negative-ttl-ms:1000}") final long negativeTtlMs) {
+        this(meterRegistry, changeLog, maxSize, ttlSeconds, negativeTtlMs, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs the cache on the given time source.
+     *
+     * @param meterRegistry the registry the cache statistics are published to
+     * @param changeLog the log sharing the evictions with the other instances
+     * @param maxSize the maximum number of entries of each cache
+     * @param ttlSeconds the time after which a found entity expires, in seconds
+     * @param negativeTtlMs the time after which a lookup that found nothing expires, in milliseconds
+     * @param ticker the time source of the expiries
+     */
+    EntityCache(final MeterRegistry meterRegistry, final CacheChangeLog changeLog, final long maxSize,
+                final long ttlSeconds, final long negativeTtlMs, final Ticker ticker) {
+        this.changeLog = changeLog;
+        graphs = build(maxSize, ttlSeconds, negativeTtlMs, ticker);
+        users = build(maxSize, ttlSeconds, negativeTtlMs, ticker);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, graphs, GRAPHS);
+        CaffeineCacheMetrics.monitor(meterRegistry, users, USERS);
+    }
+
+    /**
+     * Retrieves a graph by its UUID, loading it on a cache miss.
+     *
+     * @param uuid the UUID of the graph
+     * @param loader the lookup run on a cache miss
+     *
+     * @return an {@code Optional} containing the graph if found, or an empty {@code Optional} if not found
+     */
+    public Optional<Graph> getGraph(final String uuid, final Function<String, Optional<Graph>> loader) {
+        return graphs.get(uuid, loader);
+    }
+
+    /**
+     * Retrieves a user by their oidcid, loading it on a cache miss.
+     *
+     * @param oidcid the oidcid of the user
+     * @param loader the lookup run on a cache miss
+     *
+     * @return an {@code Optional} containing the user if found, or an empty {@code Optional} if not found
+     */
+    public Optional<User> getUser(final String oidcid, final Function<String, Optional<User>> loader) {
+        return users.get(oidcid, loader);
+    }
+
+    /**
+     * Evicts graphs that were created, updated or deleted.
+     *
+     * @param uuids the UUIDs of the graphs
+     */
+    public void evictGraphs(final Collection<String> uuids) {
+        IdentityMap.evict(Graph.class, uuids);
+        changeLog.recordGraphs(uuids);
+        evict(() -> graphs.invalidateAll(uuids));
+    }
+
+    /**
+     * Evicts every graph, for writes that change graphs without knowing their UUIDs.
+     */
+    public void evictAllGraphs() {
+        IdentityMap.evictAll(Graph.class);
+        changeLog.recordAllGraphs();
+        evict(graphs::invalidateAll);
+    }
+
+    /**
+     * Evicts users that were created, updated or deleted.
+     *
+     * @param oidcids the oidcids of the users
+     */
+    public void evictUsers(final Collection<String> oidcids) {
+        IdentityMap.evict(User.class, oidcids);
+        changeLog.recordUsers(oidcids);
+        evict(() -> users.invalidateAll(oidcids));
+    }
+
+    /**
+     * Applies the evictions recorded in the {@link CacheChangeLog} since the last poll, including the evictions of
+     * this instance, which are then applied twice.
+     * <p>
+     * The first poll only reads where the log stands, since the caches are still empty. Both caches are cleared when
+     * records were missed, because they were deleted before they could be applied, or when the log cannot be read,
+     * so that no entry outlives the poll interval after a write on another instance.
+     */
+    @Scheduled(fixedDelayString = "${aristotle.cache.coherence.poll-interval-ms:1000}")
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public synchronized void pollChangeLog() {
+        if (!changeLog.isEnabled()) {
+            return;
+        }
+
+        try {
+            final long current = changeLog.currentSequence();
+            if (lastSequence < 0) {
+                lastSequence = current;
+                return;
+            }
+
+            while (lastSequence < current) {
+                final List<CacheChangeLog.Invalidation> invalidations = changeLog.readSince(lastSequence);
+                if (invalidations.isEmpty() || invalidations.get(0).getSequence() != lastSequence + 1) {
+                    LOG.warn("Records of the cache change log were missed, clearing the entity caches");
+                    clear();
+                    lastSequence = current;
+                    return;
+                }
+
+                for (final CacheChangeLog.Invalidation invalidation : invalidations) {
+                    apply(invalidation);
+                    lastSequence = invalidation.getSequence();
+                }
+            }
+        } catch (final RuntimeException e) {
+            LOG.error(String.format("Polling the cache change log failed, clearing the entity caches: %s",
+                    e.getMessage()), e);
+            clear();
+        }
+    }
+
+    /**
+     * Retrieves the statistics of the caches.
+     *
+     * @return the statistics, by cache name
+     */
+    public Map<String, CacheStatsVO> getStats() {
+        final Map<String, CacheStatsVO> stats = new LinkedHashMap<>();
+        stats.put(GRAPHS, toVO(graphs));
+        stats.put(USERS, toVO(users));
+        return stats;
+    }
+
+    /**
+     * Applies a record of the {@link CacheChangeLog} to the caches of this instance.
+     *
+     * @param invalidation the record
+     */
+    private void apply(final CacheChangeLog.Invalidation invalidation) {
+        if (invalidation.isAllGraphs()) {
+            graphs.invalidateAll();
+        } else {
+            graphs.invalidateAll(invalidation.getGraphs());
+        }
+        users.invalidateAll(invalidation.getUsers());
+    }
+
+    /**
+     * Clears both caches of this instance.
+     */
+    private void clear() {
+        graphs.invalidateAll();
+        users.invalidateAll();
+    }
+
+    /**
+     * Runs an eviction now and, inside a transaction, again once the transaction completes.
+     *
+     * @param eviction the eviction
+     */
+    private static void evict(final Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Builds a cache whose empty entries expire sooner than the others.
+     *
+     * @param maxSize the maximum number of entries
+     * @param ttlSeconds the time after which a present entry expires, in seconds
+     * @param negativeTtlMs the time after which an empty entry expires, in milliseconds
+     * @param ticker the time source of the expiries
+     * @param <V> the type of the cached entities
+     *
+     * @return the cache
+     */
+    private static <V> Cache<String, Optional<V>> build(final long maxSize, final long ttlSeconds,
+                                                        final long negativeTtlMs, final Ticker ticker) {
+        final long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        final long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<V>>() {
+                    @Override
+                    public long expireAfterCreate(final String key, final Optional<V> value, final long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final String key, final Optional<V> value, final long currentTime,
+                                                  final long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(final String key, final Optional<V> value, final long currentTime,
+                                                final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Converts the statistics of a cache to a VO.
+     *
+     * @param cache the cache
+     *
+     * @return the statistics
+     */
+    private static CacheStatsVO toVO(final Cache<String, ?> cache) {
+        final CacheStats stats = cache.stats();
+        return CacheStatsVO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .averageLoadPenaltyMs(stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs independent reads of a single request concurrently, each in a session of its own.
+ * <p>
+ * With {@code aristotle.threads.virtual} enabled every read runs on a virtual thread of its own, so the number of
+ * concurrent Neo4j calls is only bounded by the connection pool of the driver. Otherwise the reads share a pool of
+ * {@code aristotle.threads.fan-out-threads} platform threads. The bookmarks, the deadline and the identity map of the
+ * calling request are bound to the threads running its reads, so the reads still observe the writes the client has
+ * already seen, are bounded by the deadline of the request and share its lookups.
+ */
+@Component
+public class FanOutExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs the executor.
+     * @param virtual whether the reads run on virtual threads
+     * @param threads the number of platform threads running the reads when virtual threads are disabled
+     */
+    @Autowired
+    public FanOutExecutor(@Value("${aristotle.threads.virtual:false}") final boolean virtual,
+                          @Value("${aristotle.threads.fan-out-threads:16}") final int threads) {
+        if (virtual) {
+            this.executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        } else {
+            final AtomicInteger threadCount = new AtomicInteger();
+            final ThreadFactory threadFactory = runnable -> {
+                final Thread thread = new Thread(runnable, "aristotle-fan-out-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
+    }
+
+    /**
+     * Applies a read to every item concurrently and waits for all of them.
+     * @param items the items
+     * @param read the read applied to each item
+     * @param <T> the type of the items
+     * @param <R> the type of the results
+     *
+     * @return the results, in the order of the items
+     *
+     * @throws IllegalStateException if the calling thread is interrupted while waiting
+     */
+    public <T, R> List<R> map(final List<T> items, final Function<T, R> read) {
+        if (items.size() <= 1) {
+            final List<R> results = new ArrayList<>(items.size());
+            items.forEach(item -> results.add(read.apply(item)));
+            return results;
+        }
+
+        final List<Future<R>> futures = new ArrayList<>(items.size());
+        for (final T item : items) {
+            final Callable<R> task = BookmarkHolder.bind(() -> read.apply(item));
+            futures.add(executor.submit(IdentityMap.bind(RequestDeadline.bind(task))));
+        }
+
+        final List<R> results = new ArrayList<>(items.size());
+        try {
+            for (final Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final String message = "Interrupted while waiting for concurrent reads";
+            LOG.error(message);
+            throw new IllegalStateException(message, e);
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Stops the threads running the reads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Turns the failure of a read into the exception thrown to the caller.
+     * @param cause the failure of the read
+     *
+     * @return the exception to throw
+     */
+    private static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.Constants;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Coalesces the writes of the update time of graphs.
+ * <p>
+ * Every write to the nodes or relations of a graph changes the update time of the graph, which makes the graph node a
+ * write hot spot: each {@code SET} on it takes its write lock until the transaction ends, serializing concurrent
+ * writers of the graph. Mappers therefore only record the graphs they change with {@link #touch(String, String)},
+ * and the update times are written once per transaction by {@link #flush(Transaction)} right before it commits, which
+ * also increments the version of every graph written, see {@link ETagGenerator}. Both are kept on a
+ * {@code GraphVersion} node of its own rather than on the graph node, which writers of the graph never change: the
+ * transaction has usually created relationships of the graph node by then, and changing one of its properties would
+ * upgrade the lock it holds on the graph node, deadlocking with every concurrent writer of the graph doing the same.
+ * Readers of a graph therefore take its update time from the {@code GraphVersion} node, falling back to the update
+ * time of the graph node for a graph never written since its creation.
+ * <p>
+ * With {@code aristotle.graph-touch.write-behind} enabled, {@link #flush(Transaction)} does not write at all but hands
+ * the update times over to a buffer written by a transaction of its own every
+ * {@code aristotle.graph-touch.flush-interval-ms}, so that writers of a graph no longer contend on it at all. The
+ * update time and the version of a graph, and hence its ETag, may then lag behind its writes by up to that
+ * interval.
+ */
+@Component
+public class GraphTouchBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphTouchBuffer.class);
+
+    private static final String TOUCH_GRAPHS_CYPHER = "UNWIND $rows AS row " +
+            "MATCH (g:Graph { uuid: row.graphUuid }) " +
+            "MERGE (v:GraphVersion { graph_uuid: g.uuid }) " +
+            "SET v.update_time = row.updateTime, v.version = coalesce(v.version, 0) + 1";
+
+    /**
+     * Keeps the later of two update times, which are formatted so that they sort chronologically.
+     */
+    private static final BinaryOperator<String> LATEST = (a, b) -> a.compareTo(b) >= 0 ? a : b;
+
+    private static final ThreadLocal<Map<String, String>> PENDING = ThreadLocal.withInitial(HashMap::new);
+
+    private final Driver driver;
+
+    private final boolean writeBehind;
+
+    private final Map<String, String> deferred = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the buffer.
+     * @param driver the Driver instance writing the deferred update times
+     * @param writeBehind whether the update times are deferred to the periodic flush
+     */
+    @Autowired
+    public GraphTouchBuffer(final Driver driver,
+                            @Value("${aristotle.graph-touch.write-behind:false}") final boolean writeBehind) {
+        this.driver = driver;
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Records that a graph is changed by the transaction of the current thread.
+     * @param graphUuid the UUID of the graph
+     * @param updateTime the new update time of the graph
+     */
+    public void touch(final String graphUuid, final String updateTime) {
+        PENDING.get().merge(graphUuid, updateTime, LATEST);
+    }
+
+    /**
+     * Records that graphs are changed by the transaction of the current thread.
+     * @param graphUuids the UUIDs of the graphs
+     * @param updateTime the new update time of the graphs
+     */
+    public void touchAll(final Collection<String> graphUuids, final String updateTime) {
+        graphUuids.forEach(graphUuid -> touch(graphUuid, updateTime));
+    }
+
+    /**
+     * Writes the update times recorded by the current thread with a single statement of the transaction, or defers
+     * them to the periodic flush when write-behind is enabled.
+     * @param tx the transaction about to be committed
+     */
+    public void flush(final Transaction tx) {
+        final Map<String, String> pending = PENDING.get();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (writeBehind) {
+            pending.forEach((graphUuid, updateTime) -> deferred.merge(graphUuid, updateTime, LATEST));
+        } else {
+            tx.run(TOUCH_GRAPHS_CYPHER, Values.parameters(Constants.ROWS, toRows(pending))).consume();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Forgets the update times recorded by the current thread, when its transaction is rolled back.
+     */
+    public void discard() {
+        PENDING.remove();
+    }
+
+    /**
+     * Writes the deferred update times with a transaction of its own, keeping them for the next flush if it fails.
+     */
+    @Scheduled(fixedDelayString = "${aristotle.graph-touch.flush-interval-ms:1000}")
+    @PreDestroy
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void flushDeferred() {
+        if (deferred.isEmpty()) {
+            return;
+        }
+
+        final Map<String, String> batch = new HashMap<>();
+        for (final String graphUuid : List.copyOf(deferred.keySet())) {
+            final String updateTime = deferred.remove(graphUuid);
+            if (updateTime != null) {
+                batch.put(graphUuid, updateTime);
+            }
+        }
+
+        try (Session session = driver.session()) {
+            session.writeTransaction(tx -> tx.run(TOUCH_GRAPHS_CYPHER,
+                    Values.parameters(Constants.ROWS, toRows(batch))).consume());
+            LOG.debug("Wrote the deferred update times of {} graphs", batch.size());
+        } catch (final RuntimeException e) {
+            batch.forEach((graphUuid, updateTime) -> deferred.merge(graphUuid, updateTime, LATEST));
+            LOG.error(String.format("Writing the update times of graphs failed: %s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Converts update times into the rows of the statement writing them, ordered by graph UUID so that concurrent
+     * transactions lock the versions of the graphs they share in the same order.
+     * @param updateTimes the update times by graph UUID
+     *
+     * @return the rows
+     */
+    private static List<Map<String, Object>> toRows(final Map<String, String> updateTimes) {
+        final List<Map<String, Object>> rows = new ArrayList<>(updateTimes.size());
+        new TreeMap<>(updateTimes).forEach((graphUuid, updateTime) -> rows.add(Map.of(
+                Constants.GRAPH_UUID, graphUuid,
+                Constants.UPDATE_TIME, updateTime)));
+
+        return rows;
+    }
+}
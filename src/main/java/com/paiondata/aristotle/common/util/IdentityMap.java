@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the entities looked up by the request being processed by the current thread.
+ * <p>
+ * Within a unit of work, started by {@link #begin()} and ended by {@link #clear()}, a lookup of an entity by its key
+ * runs at most once, and later lookups of the same entity return the same instance, or the same absence. Nothing is
+ * shared across units of work, so the map never serves an entity another request has changed since. Outside a unit
+ * of work, such as in scheduled jobs, every lookup runs.
+ * <p>
+ * The entities a request writes are evicted, or registered when it creates them, so that it observes its own
+ * writes; a registered entity may belong to a transaction that is rolled back later, which only matters to a request
+ * that carries on after its transaction failed.
+ */
+public final class IdentityMap {
+
+    private static final ThreadLocal<Map<Class<?>, Map<String, Optional<?>>>> ENTITIES = new ThreadLocal<>();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private IdentityMap() {
+    }
+
+    /**
+     * Starts a unit of work on the current thread.
+     */
+    public static void begin() {
+        ENTITIES.set(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Retrieves an entity, looking it up only if the current unit of work has not already done so.
+     *
+     * @param type the type of the entity
+     * @param key the key of the entity, such as its UUID
+     * @param lookup the lookup of the entity
+     * @param <T> the type of the entity
+     *
+     * @return an {@code Optional} containing the entity if found, or an empty {@code Optional} if not found
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<T> get(final Class<T> type, final String key, final Supplier<Optional<T>> lookup) {
+        final Map<Class<?>, Map<String, Optional<?>>> entities = ENTITIES.get();
+        if (entities == null) {
+            return lookup.get();
+        }
+
+        final Map<String, Optional<?>> byKey = entities.computeIfAbsent(type, ignored -> new ConcurrentHashMap<>());
+        final Optional<?> known = byKey.get(key);
+        if (known != null) {
+            return (Optional<T>) known;
+        }
+
+        final Optional<T> found = lookup.get();
+        byKey.put(key, found);
+        return found;
+    }
+
+    /**
+     * Registers an entity the current unit of work has just created.
+     *
+     * @param type the type of the entity
+     * @param key the key of the entity
+     * @param entity the entity
+     * @param <T> the type of the entity
+     */
+    public static <T> void put(final Class<T> type, final String key, final T entity) {
+        final Map<Class<?>, Map<String, Optional<?>>> entities = ENTITIES.get();
+        if (entities != null) {
+            entities.computeIfAbsent(type, ignored -> new ConcurrentHashMap<>()).put(key, Optional.of(entity));
+        }
+    }
+
+    /**
+     * Evicts entities the current unit of work has updated or deleted.
+     *
+     * @param type the type of the entities
+     * @param keys the keys of the entities
+     */
+    public static void evict(final Class<?> type, final Collection<String> keys) {
+        final Map<Class<?>, Map<String, Optional<?>>> entities = ENTITIES.get();
+        if (entities != null && entities.containsKey(type)) {
+            entities.get(type).keySet().removeAll(keys);
+        }
+    }
+
+    /**
+     * Evicts every entity of a type, for writes that change entities without knowing their keys.
+     *
+     * @param type the type of the entities
+     */
+    public static void evictAll(final Class<?> type) {
+        final Map<Class<?>, Map<String, Optional<?>>> entities = ENTITIES.get();
+        if (entities != null) {
+            entities.remove(type);
+        }
+    }
+
+    /**
+     * Binds the unit of work of the current thread to a task run by another thread, so that both share their
+     * lookups.
+     *
+     * @param task the task
+     * @param <T> the type of the result of the task
+     *
+     * @return the task running in the unit of work of the current thread
+     */
+    public static <T> Callable<T> bind(final Callable<T> task) {
+        final Map<Class<?>, Map<String, Optional<?>>> entities = ENTITIES.get();
+
+        return () -> {
+            ENTITIES.set(entities);
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    /**
+     * Ends the unit of work of the current thread.
+     */
+    public static void clear() {
+        ENTITIES.remove();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.model.dto.NodeDTO;
+import com.paiondata.aristotle.model.dto.NodeRelationDTO;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import cn.hutool.core.text.csv.CsvParser;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvRow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the nodes and relations of a bulk import one record at a time, so an import of any size is parsed in
+ * constant memory.
+ * <p>
+ * Two formats are supported:
+ * <ul>
+ *     <li>NDJSON ({@value #NDJSON}): one JSON object per line, either a node
+ *     {@code {"temporaryId": "1", "properties": {"name": "a"}}} or a relation
+ *     {@code {"fromId": "1", "toId": "2", "relationName": "knows"}}</li>
+ *     <li>CSV ({@value #CSV}): one record per row, either a node {@code node,1,name,a} followed by any number of
+ *     property name and value pairs, or a relation {@code relation,1,2,knows}</li>
+ * </ul>
+ * As with {@code POST /node}, the IDs of a relation are either temporary IDs of imported nodes or UUIDs of nodes
+ * that already exist in the graph.
+ */
+@Component
+public class ImportRecordReader {
+
+    /**
+     * The media type of NDJSON imports.
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * The media type of CSV imports.
+     */
+    public static final String CSV = "text/csv";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportRecordReader.class);
+
+    private static final String NODE_TYPE = "node";
+    private static final String RELATION_TYPE = "relation";
+    private static final String FROM_ID = "fromId";
+    private static final int RELATION_COLUMNS = 4;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Reads all records of an import, passing each node and relation to its consumer in input order.
+     *
+     * @param inputStream the import
+     * @param mediaType the media type of the import, either {@value #NDJSON} or {@value #CSV}
+     * @param nodeConsumer the consumer receiving the nodes
+     * @param relationConsumer the consumer receiving the relations
+     *
+     * @throws IOException if the import cannot be read
+     * @throws IllegalArgumentException if the media type is not supported or a record is not valid
+     */
+    public void read(final InputStream inputStream, final String mediaType, final Consumer<NodeDTO> nodeConsumer,
+                     final Consumer<NodeRelationDTO> relationConsumer) throws IOException {
+        if (NDJSON.equals(mediaType)) {
+            readNdjson(inputStream, nodeConsumer, relationConsumer);
+        } else if (CSV.equals(mediaType)) {
+            readCsv(inputStream, nodeConsumer, relationConsumer);
+        } else {
+            final String message = String.format(Message.IMPORT_FORMAT_NOT_SUPPORTED, mediaType);
+            LOG.error(message);
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Reads an NDJSON import.
+     *
+     * @param inputStream the import
+     * @param nodeConsumer the consumer receiving the nodes
+     * @param relationConsumer the consumer receiving the relations
+     *
+     * @throws IOException if the import cannot be read
+     * @throws IllegalArgumentException if a line is not a valid node or relation
+     */
+    private void readNdjson(final InputStream inputStream, final Consumer<NodeDTO> nodeConsumer,
+                            final Consumer<NodeRelationDTO> relationConsumer) throws IOException {
+        try (MappingIterator<JsonNode> lines = objectMapper.readerFor(JsonNode.class).readValues(inputStream)) {
+            while (lines.hasNextValue()) {
+                final JsonNode line = lines.nextValue();
+                final long lineNumber = lines.getCurrentLocation().getLineNr();
+
+                if (!line.isObject()) {
+                    throw invalidRecord(lineNumber, line);
+                }
+
+                if (line.has(FROM_ID)) {
+                    final NodeRelationDTO relation = objectMapper.treeToValue(line, NodeRelationDTO.class);
+                    checkRelation(relation, lineNumber, line);
+                    relationConsumer.accept(relation);
+                } else {
+                    final NodeDTO node = objectMapper.treeToValue(line, NodeDTO.class);
+                    checkNode(node, lineNumber, line);
+                    nodeConsumer.accept(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a CSV import.
+     *
+     * @param inputStream the import
+     * @param nodeConsumer the consumer receiving the nodes
+     * @param relationConsumer the consumer receiving the relations
+     *
+     * @throws IOException if the import cannot be closed
+     * @throws IllegalArgumentException if a row is not a valid node or relation
+     */
+    private void readCsv(final InputStream inputStream, final Consumer<NodeDTO> nodeConsumer,
+                         final Consumer<NodeRelationDTO> relationConsumer) throws IOException {
+        try (CsvParser rows = new CsvParser(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                CsvReadConfig.defaultConfig())) {
+            while (rows.hasNext()) {
+                final CsvRow row = rows.next();
+                final long lineNumber = row.getOriginalLineNumber() + 1;
+                final String type = row.get(0);
+
+                if (NODE_TYPE.equals(type) && row.size() % 2 == 0) {
+                    final Map<String, String> properties = new HashMap<>();
+                    for (int i = 2; i < row.size(); i += 2) {
+                        properties.put(row.get(i), row.get(i + 1));
+                    }
+
+                    final NodeDTO node = new NodeDTO(row.get(1), properties);
+                    checkNode(node, lineNumber, row.getRawList());
+                    nodeConsumer.accept(node);
+                } else if (RELATION_TYPE.equals(type) && row.size() == RELATION_COLUMNS) {
+                    final NodeRelationDTO relation = new NodeRelationDTO(row.get(1), row.get(2), row.get(3));
+                    checkRelation(relation, lineNumber, row.getRawList());
+                    relationConsumer.accept(relation);
+                } else {
+                    throw invalidRecord(lineNumber, row.getRawList());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a node has a temporary ID, and defaults missing properties to none.
+     *
+     * @param node the node
+     * @param lineNumber the line number of the record
+     * @param record the record, for error reporting
+     *
+     * @throws IllegalArgumentException if the node has no temporary ID
+     */
+    private static void checkNode(final NodeDTO node, final long lineNumber, final Object record) {
+        if (!StringUtils.hasText(node.getTemporaryId())) {
+            throw invalidRecord(lineNumber, record);
+        }
+
+        if (node.getProperties() == null) {
+            node.setProperties(new HashMap<>());
+        }
+    }
+
+    /**
+     * Checks that a relation has both IDs and a name.
+     *
+     * @param relation the relation
+     * @param lineNumber the line number of the record
+     * @param record the record, for error reporting
+     *
+     * @throws IllegalArgumentException if an ID or the name is missing
+     */
+    private static void checkRelation(final NodeRelationDTO relation, final long lineNumber, final Object record) {
+        if (!StringUtils.hasText(relation.getFromId()) || !StringUtils.hasText(relation.getToId())
+                || !StringUtils.hasText(relation.getRelationName())) {
+            throw invalidRecord(lineNumber, record);
+        }
+    }
+
+    /**
+     * Creates the exception reporting an invalid record.
+     *
+     * @param lineNumber the line number of the record
+     * @param record the record
+     *
+     * @return the exception
+     */
+    private static IllegalArgumentException invalidRecord(final long lineNumber, final Object record) {
+        final String message = String.format(Message.INVALID_IMPORT_RECORD, lineNumber, record);
+        LOG.error(message);
+        return new IllegalArgumentException(message);
+    }
+}
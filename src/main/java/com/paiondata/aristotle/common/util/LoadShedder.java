@@ -0,0 +1,198 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.model.vo.LoadSheddingVO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Decides whether the service is overloaded and should shed its low-priority requests.
+ * <p>
+ * Two queueing latencies are watched over intervals of {@code aristotle.shedding.interval-ms}: the time requests
+ * wait for a request thread, and the time sessions wait for a connection from the driver pool. For the request
+ * queue, the shortest wait of the interval is used: a burst queues requests only briefly, whereas a queue that never
+ * drains during a whole interval means requests arrive faster than they are served. For the pool, the average
+ * acquisition time of each interval is measured without the time spent opening new connections, and a pool whose
+ * acquisitions stall during the whole interval counts as having made them wait for all of it. The shorter of the
+ * waits of the last two intervals is used, so that the pool only counts as overloaded once sessions wait for it
+ * across consecutive intervals, not when one interval of little traffic has a slow acquisition. Pool waits are only
+ * known with {@code spring.neo4j.pool.metrics-enabled}.
+ * <p>
+ * Low-priority requests are shed for the next interval whenever either latency exceeds its threshold. The state is
+ * published as the {@code aristotle.shedding.active} gauge and the shed requests as the
+ * {@code aristotle.shedding.shed} counter.
+ */
+@Component
+public class LoadShedder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadShedder.class);
+
+    private final Driver driver;
+
+    private final long queueWaitThresholdMs;
+
+    private final long poolWaitThresholdMs;
+
+    private final LongAccumulator shortestQueueWait = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private final AtomicLong shedCount = new AtomicLong();
+
+    private volatile boolean shedding;
+
+    private volatile long queueWaitMs;
+
+    private volatile long poolWaitMs;
+
+    private long lastAcquired;
+
+    private long lastAcquisitionTimeMs;
+
+    private long lastPoolWaitMs;
+
+    private long lastSampledAt = System.nanoTime();
+
+    /**
+     * Constructs the load shedder.
+     *
+     * @param driver the driver whose connection pool is watched
+     * @param meterRegistry the registry the state is published to
+     * @param queueWaitThresholdMs the request queue wait above which low-priority requests are shed
+     * @param poolWaitThresholdMs the connection pool wait above which low-priority requests are shed
+     */
+    @Autowired
+    public LoadShedder(final Driver driver, final MeterRegistry meterRegistry,
+                       @Value("${aristotle.shedding.queue-wait-threshold-ms:100}") final long queueWaitThresholdMs,
+                       @Value("${aristotle.shedding.pool-wait-threshold-ms:100}") final long poolWaitThresholdMs) {
+        this.driver = driver;
+        this.queueWaitThresholdMs = queueWaitThresholdMs;
+        this.poolWaitThresholdMs = poolWaitThresholdMs;
+
+        Gauge.builder("aristotle.shedding.active", this, shedder -> shedder.isShedding() ? 1 : 0)
+                .register(meterRegistry);
+        FunctionCounter.builder("aristotle.shedding.shed", shedCount, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Records the time a request waited for a request thread.
+     *
+     * @param nanos the wait in nanoseconds
+     */
+    public void recordQueueWait(final long nanos) {
+        shortestQueueWait.accumulate(nanos);
+    }
+
+    /**
+     * Counts a shed request.
+     */
+    public void recordShed() {
+        shedCount.incrementAndGet();
+    }
+
+    /**
+     * Returns whether low-priority requests are being shed.
+     *
+     * @return {@code true} if the service is overloaded
+     */
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    /**
+     * Returns the current load shedding state.
+     *
+     * @return the state
+     */
+    public LoadSheddingVO getState() {
+        return LoadSheddingVO.builder()
+                .shedding(shedding)
+                .queueWaitMs(queueWaitMs)
+                .poolWaitMs(poolWaitMs)
+                .queueWaitThresholdMs(queueWaitThresholdMs)
+                .poolWaitThresholdMs(poolWaitThresholdMs)
+                .shedCount(shedCount.get())
+                .build();
+    }
+
+    /**
+     * Measures the queueing latencies of the interval that just ended and decides whether to shed during the next.
+     */
+    @Scheduled(fixedDelayString = "${aristotle.shedding.interval-ms:1000}")
+    public synchronized void evaluate() {
+        final long shortest = shortestQueueWait.getThenReset();
+        queueWaitMs = shortest == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(shortest);
+        final long intervalPoolWaitMs = samplePoolWait();
+        poolWaitMs = Math.min(intervalPoolWaitMs, lastPoolWaitMs);
+        lastPoolWaitMs = intervalPoolWaitMs;
+
+        final boolean overloaded = queueWaitMs > queueWaitThresholdMs || poolWaitMs > poolWaitThresholdMs;
+        if (overloaded != shedding) {
+            LOG.warn("{} shedding low-priority requests, queue wait {} ms, connection pool wait {} ms",
+                    overloaded ? "Started" : "Stopped", queueWaitMs, poolWaitMs);
+        }
+        shedding = overloaded;
+    }
+
+    /**
+     * Computes the average time connections were waited for from the driver pool since the last sample, leaving out
+     * the time spent opening new connections, which a pool that has just been idle or started pays for once.
+     *
+     * @return the wait in milliseconds, {@code 0} if the driver does not collect metrics
+     */
+    private long samplePoolWait() {
+        final long now = System.nanoTime();
+        final long intervalMs = TimeUnit.NANOSECONDS.toMillis(now - lastSampledAt);
+        lastSampledAt = now;
+        if (!driver.isMetricsEnabled()) {
+            return 0;
+        }
+
+        long acquired = 0;
+        long acquisitionTimeMs = 0;
+        int acquiring = 0;
+        for (final ConnectionPoolMetrics pool : driver.metrics().connectionPoolMetrics()) {
+            acquired += pool.acquired();
+            acquisitionTimeMs += pool.totalAcquisitionTime() - pool.totalConnectionTime();
+            acquiring += pool.acquiring();
+        }
+
+        final long newlyAcquired = acquired - lastAcquired;
+        final long newAcquisitionTimeMs = acquisitionTimeMs - lastAcquisitionTimeMs;
+        lastAcquired = acquired;
+        lastAcquisitionTimeMs = acquisitionTimeMs;
+
+        if (newlyAcquired == 0) {
+            return acquiring > 0 ? intervalMs : 0;
+        }
+
+        return Math.max(0, newAcquisitionTimeMs / newlyAcquired);
+    }
+}
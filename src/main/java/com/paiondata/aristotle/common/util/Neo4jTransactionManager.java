@@ -17,7 +17,6 @@ package com.paiondata.aristotle.common.util;
 
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Transaction;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,24 +25,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class Neo4jTransactionManager implements TransactionManager {
 
-    private final Session neo4jSession;
-
-    /**
-     * Constructor.
-     * @param neo4jSession Neo4j session.
-     */
-    @Autowired
-    public Neo4jTransactionManager(final Session neo4jSession) {
-        this.neo4jSession = neo4jSession;
-    }
-
     /**
      * Begins a transaction.
+     * @param session Session to begin the transaction in.
+     *
      * @return Transaction object.
      */
     @Override
-    public Transaction beginTransaction() {
-        return neo4jSession.beginTransaction();
+    public Transaction beginTransaction(final Session session) {
+        return session.beginTransaction(RequestDeadline.transactionConfig());
     }
 
     /**
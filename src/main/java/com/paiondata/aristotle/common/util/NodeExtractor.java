@@ -20,6 +20,7 @@ import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.model.vo.NodeVO;
 
 import org.neo4j.driver.Value;
+import org.neo4j.driver.internal.value.MapValue;
 import org.neo4j.driver.internal.value.NodeValue;
 import org.neo4j.driver.types.Node;
 import org.slf4j.Logger;
@@ -44,7 +45,8 @@ public class NodeExtractor {
     /**
      * Extracts graph information from a given node value.
      * If the input node is null, an {@link IllegalArgumentException} is thrown with a specific error message.
-     * If the input node is a valid {@link NodeValue}, it extracts and returns a map containing the graph information.
+     * If the input node is a valid {@link NodeValue}, or a {@link MapValue} projecting the properties of a graph node,
+     * it extracts and returns a map containing the graph information.
      *
      * @param node the node value to extract graph information from
      *
@@ -60,9 +62,8 @@ public class NodeExtractor {
         }
 
         final Map<String, Object> graphInfo = new HashMap<>();
-        if (node instanceof NodeValue) {
-            final NodeValue nodeValue = (NodeValue) node;
-            final Map<String, Object> nodeMap = nodeValue.asNode().asMap();
+        if (node instanceof NodeValue || node instanceof MapValue) {
+            final Map<String, Object> nodeMap = node instanceof NodeValue ? node.asNode().asMap() : node.asMap();
 
             graphInfo.put(Constants.DESCRIPTION, nodeMap.get(Constants.DESCRIPTION));
             graphInfo.put(Constants.UPDATE_TIME, nodeMap.get(Constants.UPDATE_TIME_WITHOUT_HUMP));
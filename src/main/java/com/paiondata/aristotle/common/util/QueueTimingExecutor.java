@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat request thread pool recording how long every task waited in its queue.
+ * <p>
+ * The pool is built like the one Tomcat creates itself, with a {@link TaskQueue} which makes it start threads up to
+ * its maximum before queueing. The queue wait of the task run by the current thread, from being handed to the pool
+ * to being picked up by the thread, is available through {@link #currentQueueWaitNanos()}.
+ */
+public class QueueTimingExecutor extends ThreadPoolExecutor {
+
+    private static final ThreadLocal<Long> QUEUE_WAIT = ThreadLocal.withInitial(() -> 0L);
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * Constructs the pool.
+     *
+     * @param namePrefix the prefix of the names of the threads
+     * @param minSpareThreads the number of threads kept alive when idle
+     * @param maxThreads the maximum number of threads
+     */
+    public QueueTimingExecutor(final String namePrefix, final int minSpareThreads, final int maxThreads) {
+        this(new TaskQueue(), namePrefix, minSpareThreads, maxThreads);
+    }
+
+    /**
+     * Constructs the pool around its queue.
+     *
+     * @param queue the queue of the pool
+     * @param namePrefix the prefix of the names of the threads
+     * @param minSpareThreads the number of threads kept alive when idle
+     * @param maxThreads the maximum number of threads
+     */
+    private QueueTimingExecutor(final TaskQueue queue, final String namePrefix, final int minSpareThreads,
+                                final int maxThreads) {
+        super(minSpareThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue,
+                new TaskThreadFactory(namePrefix, true, Thread.NORM_PRIORITY));
+        queue.setParent(this);
+    }
+
+    /**
+     * Returns how long the task run by the current thread waited in the queue of the pool.
+     *
+     * @return the wait in nanoseconds, {@code 0} if the current thread is not a thread of the pool
+     */
+    public static long currentQueueWaitNanos() {
+        return QUEUE_WAIT.get();
+    }
+
+    /**
+     * Queues a task, stamped with the time it is handed to the pool. Tomcat submits every task through this method.
+     *
+     * @param command the task
+     * @param timeout the time to wait for room in the queue
+     * @param unit the unit of the timeout
+     */
+    @Override
+    public void execute(final Runnable command, final long timeout, final TimeUnit unit) {
+        final long queuedAt = System.nanoTime();
+        super.execute(() -> {
+            QUEUE_WAIT.set(System.nanoTime() - queuedAt);
+            try {
+                command.run();
+            } finally {
+                QUEUE_WAIT.remove();
+            }
+        }, timeout, unit);
+    }
+}
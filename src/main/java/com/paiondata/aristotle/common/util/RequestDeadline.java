@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.exception.DeadlineExceededException;
+
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.exceptions.Neo4jException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Holds the deadline of the request being processed by the current thread.
+ * <p>
+ * Every transaction opened while handling the request is given the time left until the deadline as its timeout
+ * through {@link #transactionConfig()}, so that Neo4j terminates the queries of a request once its client has stopped
+ * waiting for them, instead of letting a runaway expansion keep running. The Spring Data transactions of the request
+ * are bounded the same way by the {@link DeadlineTransactionManager}. A thread without a deadline, such as a job
+ * worker or a scheduled task, opens its transactions without a timeout.
+ */
+public final class RequestDeadline {
+
+    /**
+     * The prefix of the codes of the errors Neo4j reports when terminating a transaction on its timeout.
+     */
+    private static final String TIMED_OUT_CODE = "Neo.ClientError.Transaction.TransactionTimedOut";
+
+    private static final ThreadLocal<Deadline> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private RequestDeadline() {
+    }
+
+    /**
+     * Sets the deadline of the current request.
+     *
+     * @param timeoutMs the number of milliseconds the request may take from now, {@code 0} or less for no deadline
+     */
+    public static void start(final long timeoutMs) {
+        if (timeoutMs > 0) {
+            DEADLINE.set(new Deadline(timeoutMs, System.nanoTime() + Duration.ofMillis(timeoutMs).toNanos()));
+        } else {
+            DEADLINE.remove();
+        }
+    }
+
+    /**
+     * Builds the configuration of a transaction of the current request, whose timeout is the time left until the
+     * deadline.
+     *
+     * @return the transaction configuration, without a timeout if the request has no deadline
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public static TransactionConfig transactionConfig() {
+        return transactionConfig(DEADLINE.get());
+    }
+
+    /**
+     * Captures the deadline of the current request for transactions started later by a thread that does not hold it,
+     * such as the event loop of the driver. Each configuration supplied is given the time left until the deadline
+     * when it is built.
+     *
+     * @return the supplier of the transaction configurations of the current request
+     */
+    public static Supplier<TransactionConfig> capture() {
+        final Deadline deadline = DEADLINE.get();
+        return () -> transactionConfig(deadline);
+    }
+
+    /**
+     * Builds the configuration of a transaction whose timeout is the time left until a deadline.
+     *
+     * @param deadline the deadline, {@code null} for none
+     *
+     * @return the transaction configuration, without a timeout if there is no deadline
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    private static TransactionConfig transactionConfig(final Deadline deadline) {
+        if (deadline == null) {
+            return TransactionConfig.empty();
+        }
+
+        final long remaining = deadline.expiresAt - System.nanoTime();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(String.format(Message.DEADLINE_EXCEEDED, deadline.timeoutMs));
+        }
+
+        return TransactionConfig.builder().withTimeout(Duration.ofNanos(remaining)).build();
+    }
+
+    /**
+     * Checks whether a failure, or any of its causes, is the deadline of a request passing, either before a
+     * transaction started or while Neo4j ran it.
+     *
+     * @param e the failure
+     *
+     * @return {@code true} if the failure is a timeout
+     */
+    public static boolean isTimeout(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                return true;
+            }
+            if (cause instanceof Neo4jException && ((Neo4jException) cause).code() != null
+                    && ((Neo4jException) cause).code().startsWith(TIMED_OUT_CODE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Binds the deadline of the current request to a task run by another thread, so that the transactions opened by
+     * the task are bounded by it as well.
+     *
+     * @param task the task
+     * @param <T> the type of the result of the task
+     *
+     * @return the task running with the deadline of the current request
+     */
+    public static <T> Callable<T> bind(final Callable<T> task) {
+        final Deadline deadline = DEADLINE.get();
+
+        return () -> {
+            if (deadline != null) {
+                DEADLINE.set(deadline);
+            }
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    /**
+     * Forgets the deadline of the current request.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * The deadline of a request.
+     */
+    private static final class Deadline {
+
+        private final long timeoutMs;
+
+        private final long expiresAt;
+
+        /**
+         * Constructs a deadline.
+         *
+         * @param timeoutMs the timeout of the request in milliseconds
+         * @param expiresAt the value of {@link System#nanoTime()} at which the deadline passes
+         */
+        Deadline(final long timeoutMs, final long expiresAt) {
+            this.timeoutMs = timeoutMs;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.paiondata.aristotle.common.util;
 
+import org.neo4j.driver.Session;
 import org.neo4j.driver.Transaction;
 
 /**
@@ -24,9 +25,11 @@ public interface TransactionManager {
 
     /**
      * Begins a transaction.
+     * @param session the session to begin the transaction in
+     *
      * @return a transaction object
      */
-    Transaction beginTransaction();
+    Transaction beginTransaction(Session session);
 
     /**
      * Commits a transaction.
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.SessionExpiredException;
+import org.neo4j.driver.exceptions.TransientException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a failed Neo4j transaction is run again, and how long to wait before doing so.
+ * <p>
+ * Only failures after which the transaction is known to be rolled back are retried: transient errors such as
+ * deadlocks, and connection failures happening before the commit is sent. A connection failure during the commit
+ * leaves its outcome unknown, so the transaction is not run again in order not to apply its writes twice.
+ * <p>
+ * Retries are bounded three ways: the attempts of a single transaction, the retries of all the transactions of an
+ * HTTP request, and a token bucket shared by the whole process, which keeps retries from multiplying the load on a
+ * database that is already struggling. Waits grow exponentially with full jitter, so that the transactions which
+ * collided do not collide again. Granted retries are counted by the {@code aristotle.neo4j.retries} counter and
+ * denied ones by {@code aristotle.neo4j.retries.rejected}, tagged with the failure and the exhausted budget
+ * respectively.
+ */
+@Component
+public class TransientRetryPolicy {
+
+    private static final String REQUEST_RETRIES = TransientRetryPolicy.class.getName() + ".retries";
+
+    /**
+     * Transient error codes that are caused by the client or an administrator rather than by contention, and which
+     * the driver does not retry either.
+     */
+    private static final Set<String> NON_RETRYABLE_CODES = Set.of(
+            "Neo.TransientError.Transaction.Terminated",
+            "Neo.TransientError.Transaction.LockClientStopped");
+
+    private static final String REASON_TAG = "reason";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMs;
+
+    private final long maxBackoffMs;
+
+    private final int maxRequestRetries;
+
+    private final double processRetriesPerSecond;
+
+    private final MeterRegistry meterRegistry;
+
+    private double processTokens;
+
+    private long lastRefill;
+
+    /**
+     * Constructs the policy.
+     * @param meterRegistry the registry the retry counters are published to
+     * @param maxAttempts the maximum number of times a transaction is run
+     * @param initialBackoffMs the upper bound of the wait before the first retry
+     * @param maxBackoffMs the upper bound of the wait before any retry
+     * @param maxRequestRetries the maximum number of retries of all the transactions of an HTTP request
+     * @param processRetriesPerSecond the number of retries the process is allowed per second, which is also the
+     * number of retries it may burst to
+     */
+    @Autowired
+    public TransientRetryPolicy(final MeterRegistry meterRegistry,
+                                @Value("${aristotle.retry.max-attempts:3}") final int maxAttempts,
+                                @Value("${aristotle.retry.initial-backoff-ms:50}") final long initialBackoffMs,
+                                @Value("${aristotle.retry.max-backoff-ms:1000}") final long maxBackoffMs,
+                                @Value("${aristotle.retry.max-request-retries:5}") final int maxRequestRetries,
+                                @Value("${aristotle.retry.process-retries-per-second:20}")
+                                final double processRetriesPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxRequestRetries = maxRequestRetries;
+        this.processRetriesPerSecond = processRetriesPerSecond;
+        this.processTokens = processRetriesPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Checks whether a failure leaves the transaction rolled back because of a condition that may not happen again.
+     * @param e the failure
+     * @param committing whether the failure happened while committing the transaction
+     *
+     * @return {@code true} if running the transaction again is safe and may succeed
+     */
+    public boolean isRetryable(final Throwable e, final boolean committing) {
+        final Throwable cause = findNeo4jCause(e);
+        if (cause instanceof TransientException) {
+            return !NON_RETRYABLE_CODES.contains(((TransientException) cause).code());
+        }
+
+        return cause != null && !committing;
+    }
+
+    /**
+     * Takes a retry from the budgets, after a transaction has failed with a retryable failure.
+     * @param attempt the number of times the transaction has been run so far
+     * @param e the failure
+     *
+     * @return {@code true} if the transaction may be run again, {@code false} if a budget is exhausted
+     */
+    public boolean tryAcquire(final int attempt, final Throwable e) {
+        if (attempt >= maxAttempts) {
+            return reject("attempts");
+        }
+
+        final RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        final int requestRetries = request == null ? 0 : requestRetries(request);
+        if (requestRetries >= maxRequestRetries) {
+            return reject("request");
+        }
+
+        if (!tryTakeProcessToken()) {
+            return reject("process");
+        }
+
+        if (request != null) {
+            request.setAttribute(REQUEST_RETRIES, requestRetries + 1, RequestAttributes.SCOPE_REQUEST);
+        }
+        final Throwable cause = findNeo4jCause(e);
+        Counter.builder("aristotle.neo4j.retries")
+                .tag("exception", (cause == null ? e : cause).getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+
+        return true;
+    }
+
+    /**
+     * Waits before a retry, for a random time below an exponentially growing bound.
+     * @param attempt the number of times the transaction has been run so far
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void backoff(final int attempt) throws InterruptedException {
+        Thread.sleep(ThreadLocalRandom.current().nextLong(backoffBound(attempt) + 1));
+    }
+
+    /**
+     * Computes the upper bound of the wait before a retry.
+     * @param attempt the number of times the transaction has been run so far
+     *
+     * @return the bound in milliseconds
+     */
+    long backoffBound(final int attempt) {
+        final int doublings = Math.min(attempt - 1, Long.SIZE - 2);
+        final long bound = initialBackoffMs << doublings;
+
+        return bound < initialBackoffMs || bound > maxBackoffMs ? maxBackoffMs : bound;
+    }
+
+    /**
+     * Reads the number of retries already taken by the current HTTP request.
+     * @param request the attributes of the request
+     *
+     * @return the number of retries
+     */
+    private static int requestRetries(final RequestAttributes request) {
+        final Object retries = request.getAttribute(REQUEST_RETRIES, RequestAttributes.SCOPE_REQUEST);
+
+        return retries == null ? 0 : (Integer) retries;
+    }
+
+    /**
+     * Takes a token from the bucket shared by the process, after refilling it for the time elapsed.
+     *
+     * @return {@code true} if a token was available
+     */
+    private synchronized boolean tryTakeProcessToken() {
+        final long now = System.nanoTime();
+        processTokens = Math.min(processRetriesPerSecond,
+                processTokens + (now - lastRefill) * processRetriesPerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+
+        if (processTokens < 1) {
+            return false;
+        }
+        processTokens--;
+
+        return true;
+    }
+
+    /**
+     * Counts a denied retry.
+     * @param budget the budget that is exhausted
+     *
+     * @return {@code false}
+     */
+    private boolean reject(final String budget) {
+        Counter.builder("aristotle.neo4j.retries.rejected")
+                .tag(REASON_TAG, budget)
+                .register(meterRegistry)
+                .increment();
+
+        return false;
+    }
+
+    /**
+     * Finds the transient or connection failure of the driver behind a failure.
+     * @param e the failure
+     *
+     * @return the failure of the driver, or {@code null} if there is none
+     */
+    private static Throwable findNeo4jCause(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientException || cause instanceof SessionExpiredException
+                    || cause instanceof ServiceUnavailableException) {
+                return cause;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors running every task on a virtual thread of its own.
+ * <p>
+ * Virtual threads are only available from JDK 21 while the code is compiled for JDK 17, so the factory method of
+ * {@link Executors} is looked up when an executor is requested and the virtual thread mode fails fast on older JDKs.
+ */
+public final class VirtualThreads {
+
+    private static final String FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks whether the running JDK supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod(FACTORY_METHOD);
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task.
+     *
+     * @return the executor
+     *
+     * @throws IllegalStateException if the running JDK does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(FACTORY_METHOD).invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(String.format("Virtual threads require JDK 21 or later, running %s",
+                    Runtime.version()), e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.config;
+
+import com.paiondata.aristotle.controller.GraphController;
+import com.paiondata.aristotle.controller.NodeController;
+import com.paiondata.aristotle.model.dto.FilterQueryGraphDTO;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Configuration class serving the point reads of nodes, the pages of graphs and the expansions of nodes through the
+ * asynchronous API of the driver, enabled by {@code aristotle.neo4j.async-reads}.
+ * <p>
+ * Spring MVC only starts an asynchronous request for a handler declared to return a stage, so the blocking and the
+ * asynchronous reads are two handlers of {@link NodeController} and {@link GraphController}. Only the blocking ones
+ * are mapped by their annotations, so that the default mode never goes through the asynchronous dispatch of the
+ * request, and this configuration maps their requests to the asynchronous ones instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "aristotle.neo4j.async-reads", havingValue = "true")
+public class AsyncReadConfig implements SmartInitializingSingleton {
+
+    private static final String NODE_CONTROLLER = "nodeController";
+
+    private static final String GRAPH_CONTROLLER = "graphController";
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    /**
+     * Constructs the configuration.
+     *
+     * @param handlerMapping the mapping of the requests to the handlers of the controllers
+     */
+    public AsyncReadConfig(@Qualifier("requestMappingHandlerMapping")
+                           final RequestMappingHandlerMapping handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    /**
+     * Maps the requests of {@link NodeController#getNodeByUuid(String, String)},
+     * {@link NodeController#kDegreeExpansion(String, String, Integer, String)},
+     * {@link GraphController#getGraphByUuidAndFilterParams(FilterQueryGraphDTO, HttpServletResponse)} and
+     * {@link GraphController#getGraphByUuidAndQueryParams(String, Integer, Integer, Map, String, HttpServletResponse)}
+     * to their asynchronous handlers, once the handlers are detected.
+     *
+     * @throws IllegalStateException if a blocking handler is not mapped
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        remap(NODE_CONTROLLER,
+                ReflectionUtils.findMethod(NodeController.class, "getNodeByUuid", String.class, String.class),
+                ReflectionUtils.findMethod(NodeController.class, "getNodeByUuidAsync", String.class, String.class));
+        remap(NODE_CONTROLLER,
+                ReflectionUtils.findMethod(NodeController.class, "kDegreeExpansion", String.class, String.class,
+                        Integer.class, String.class),
+                ReflectionUtils.findMethod(NodeController.class, "kDegreeExpansionAsync", String.class, String.class,
+                        Integer.class, String.class));
+        remap(GRAPH_CONTROLLER,
+                ReflectionUtils.findMethod(GraphController.class, "getGraphByUuidAndFilterParams",
+                        FilterQueryGraphDTO.class, HttpServletResponse.class),
+                ReflectionUtils.findMethod(GraphController.class, "getGraphByUuidAndFilterParamsAsync",
+                        FilterQueryGraphDTO.class));
+        remap(GRAPH_CONTROLLER,
+                ReflectionUtils.findMethod(GraphController.class, "getGraphByUuidAndQueryParams", String.class,
+                        Integer.class, Integer.class, Map.class, String.class, HttpServletResponse.class),
+                ReflectionUtils.findMethod(GraphController.class, "getGraphByUuidAndQueryParamsAsync", String.class,
+                        Integer.class, Integer.class, Map.class, String.class));
+    }
+
+    /**
+     * Maps the requests of a blocking handler to its asynchronous handler.
+     *
+     * @param controller the name of the bean of the controller
+     * @param blocking the blocking handler, mapped by its annotations
+     * @param async the asynchronous handler
+     *
+     * @throws IllegalStateException if the blocking handler is not mapped
+     */
+    private void remap(final String controller, final Method blocking, final Method async) {
+        final RequestMappingInfo mapping = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(entry -> entry.getValue().getMethod().equals(blocking))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No mapping found for " + blocking));
+
+        handlerMapping.unregisterMapping(mapping);
+        handlerMapping.registerMapping(mapping, controller, async);
+    }
+}
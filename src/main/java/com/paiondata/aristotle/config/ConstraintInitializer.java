@@ -43,7 +43,12 @@ public class ConstraintInitializer implements CommandLineRunner {
                 tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (u:User) REQUIRE u.oidcid IS UNIQUE");
                 tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (u:User) REQUIRE u.username IS UNIQUE");
                 tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (g:Graph) REQUIRE g.uuid IS UNIQUE");
+                tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (v:GraphVersion) REQUIRE v.graph_uuid IS UNIQUE");
                 tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (gn:GraphNode) REQUIRE gn.uuid IS UNIQUE");
+                tx.run("CREATE INDEX IF NOT EXISTS FOR ()-[r:RELATION]-() ON (r.uuid)");
+                tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (log:CacheChangeLog) REQUIRE log.name IS UNIQUE");
+                tx.run("CREATE CONSTRAINT IF NOT EXISTS FOR (i:CacheInvalidation) REQUIRE i.sequence IS UNIQUE");
+                tx.run("CREATE INDEX IF NOT EXISTS FOR (i:CacheInvalidation) ON (i.created_at)");
                 return null;
             });
         }
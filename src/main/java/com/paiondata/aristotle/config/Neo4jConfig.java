@@ -15,10 +15,23 @@
  */
 package com.paiondata.aristotle.config;
 
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.common.util.DeadlineTransactionManager;
+
+import org.neo4j.driver.Bookmark;
 import org.neo4j.driver.Driver;
-import org.neo4j.driver.Session;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarkManager;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarksUpdatedEvent;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Configuration class for Neo4j.
@@ -27,13 +40,77 @@ import org.springframework.context.annotation.Configuration;
 public class Neo4jConfig {
 
     /**
-     * Creates a new session for Neo4j.
+     * The bookmarks published by the bookmark manager with the last {@link Neo4jBookmarksUpdatedEvent}.
+     */
+    private Set<Bookmark> publishedBookmarks = Set.of();
+
+    /**
+     * Creates the bookmark manager of Spring Data Neo4j transactions.
+     * <p>
+     * Besides the bookmarks it tracks itself, the manager hands the bookmarks of the current request to every
+     * transaction, so repository reads observe the writes the client has already seen.
+     *
+     * @return the bookmark manager
+     */
+    @Bean
+    public Neo4jBookmarkManager neo4jBookmarkManager() {
+        return Neo4jBookmarkManager.create(BookmarkHolder::getBookmarks);
+    }
+
+    /**
+     * Creates the Spring Data Neo4j transaction manager bound to the request-aware bookmark manager.
+     * <p>
+     * Read-only transactions opened by this manager use sessions in READ access mode, so they can be routed to
+     * followers of a cluster.
+     *
      * @param driver the driver instance
+     * @param databaseSelectionProvider the provider of the target database
+     * @param neo4jBookmarkManager the bookmark manager
      *
-     * @return the session instance
+     * @return the Spring Data Neo4j transaction manager
      */
     @Bean
-    public Session neo4jSession(final Driver driver) {
-        return driver.session();
+    public Neo4jTransactionManager neo4jDataTransactionManager(
+            final Driver driver,
+            final DatabaseSelectionProvider databaseSelectionProvider,
+            final Neo4jBookmarkManager neo4jBookmarkManager) {
+        return Neo4jTransactionManager.with(driver)
+                .withDatabaseSelectionProvider(databaseSelectionProvider)
+                .withBookmarkManager(neo4jBookmarkManager)
+                .build();
+    }
+
+    /**
+     * Creates the transaction manager of {@code @Transactional} services and Spring Data repositories, which bounds
+     * the Spring Data Neo4j transactions of a request by its deadline.
+     *
+     * @param neo4jDataTransactionManager the Spring Data Neo4j transaction manager
+     *
+     * @return the transaction manager
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(final Neo4jTransactionManager neo4jDataTransactionManager) {
+        return new DeadlineTransactionManager(neo4jDataTransactionManager);
+    }
+
+    /**
+     * Records the bookmark of a committed Spring Data Neo4j transaction for the current request.
+     * <p>
+     * The event carries every bookmark the manager holds, including those of the transactions other requests
+     * committed, which the client of the current request must not be handed. The manager replaces the bookmarks the
+     * transaction started from with the bookmark of its commit and publishes the event on the committing thread
+     * while it holds its lock, so the events reach this listener one after the other, and the bookmarks an event adds
+     * to those of the previous one are exactly the bookmark of the commit it reports.
+     *
+     * @param event the event carrying the updated bookmarks
+     */
+    @EventListener
+    public synchronized void onBookmarksUpdated(final Neo4jBookmarksUpdatedEvent event) {
+        final Set<Bookmark> committed = new HashSet<>(event.getBookmarks());
+        committed.removeAll(publishedBookmarks);
+        publishedBookmarks = event.getBookmarks();
+
+        BookmarkHolder.update(committed);
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.config;
+
+import com.paiondata.aristotle.common.util.QueueTimingExecutor;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class handing Tomcat a request thread pool which records the queue wait of every request, used by
+ * the load shedding. Requests running on virtual threads are never queued, so the pool is only set up on platform
+ * threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "aristotle.threads.virtual", havingValue = "false", matchIfMissing = true)
+public class TomcatExecutorConfig {
+
+    /**
+     * Creates the request thread pool, sized by the {@code server.tomcat.threads} properties.
+     *
+     * @param serverProperties the properties of the web server
+     *
+     * @return the pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public QueueTimingExecutor tomcatExecutor(final ServerProperties serverProperties) {
+        final ServerProperties.Tomcat.Threads threads = serverProperties.getTomcat().getThreads();
+
+        return new QueueTimingExecutor("aristotle-http-", threads.getMinSpare(), threads.getMax());
+    }
+
+    /**
+     * Makes Tomcat run its requests on the queue timing pool.
+     *
+     * @param tomcatExecutor the pool
+     *
+     * @return the customizer of the Tomcat protocol handler
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> queueTimingProtocolHandlerCustomizer(
+            final QueueTimingExecutor tomcatExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatExecutor);
+    }
+}
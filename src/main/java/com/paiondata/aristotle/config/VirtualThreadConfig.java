@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.config;
+
+import com.paiondata.aristotle.common.util.VirtualThreads;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class running request handling on virtual threads, enabled by {@code aristotle.threads.virtual}.
+ * <p>
+ * Tomcat then starts a virtual thread for every request instead of handing it to its pool of platform threads, so
+ * requests blocked on Neo4j no longer hold on to a scarce thread. Requires JDK 21 or later, see the {@code jdk21}
+ * build profile.
+ */
+@Configuration
+@ConditionalOnProperty(name = "aristotle.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Makes Tomcat run every request on a virtual thread of its own.
+     *
+     * @return the customizer of the Tomcat protocol handler
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+}
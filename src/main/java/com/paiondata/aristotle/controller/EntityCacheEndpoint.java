@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.controller;
+
+import com.paiondata.aristotle.common.util.EntityCache;
+import com.paiondata.aristotle.model.vo.CacheStatsVO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the entity cache statistics at {@code /actuator/entitycache}.
+ */
+@Component
+@Endpoint(id = "entitycache")
+public class EntityCacheEndpoint {
+
+    @Autowired
+    private EntityCache entityCache;
+
+    /**
+     * Retrieves the statistics of the graph and user caches.
+     *
+     * @return the statistics, by cache name
+     */
+    @ReadOperation
+    public Map<String, CacheStatsVO> entityCache() {
+        return entityCache.getStats();
+    }
+}
@@ -15,25 +15,51 @@
  */
 package com.paiondata.aristotle.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiondata.aristotle.common.annotion.Bulkhead;
+import com.paiondata.aristotle.common.base.BulkheadType;
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.HttpStatus;
 import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.ETagGenerator;
 import com.paiondata.aristotle.model.dto.FilterQueryGraphDTO;
 import com.paiondata.aristotle.model.dto.GraphAndNodeCreateDTO;
 import com.paiondata.aristotle.model.dto.GraphDeleteDTO;
 import com.paiondata.aristotle.model.dto.GraphUpdateDTO;
 import com.paiondata.aristotle.model.vo.GraphVO;
+import com.paiondata.aristotle.model.vo.JobVO;
+import com.paiondata.aristotle.service.CommonService;
 import com.paiondata.aristotle.service.GraphService;
+import com.paiondata.aristotle.service.JobService;
 import com.paiondata.aristotle.service.NodeService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 /**
@@ -50,21 +76,128 @@ public class GraphController {
     @Autowired
     private NodeService nodeService;
 
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ETagGenerator eTagGenerator;
+
     /**
      * Retrieves a graph by its UUID and filter parameters.
      * <p>
      * This method handles a POST request to retrieve a graph based on the provided UUID and filter parameters.
-     * It validates the input DTO and calls the graph service to fetch the graph data.
-     * The result is wrapped in a {@link Result} object and returned.
+     * It validates the input DTO and calls the graph service, which streams the graph data, wrapped in a
+     * {@link Result} object, straight into the response body instead of building the whole {@link GraphVO} first.
+     * <p>
+     * The response carries an ETag derived from the version of the graph and the filter parameters, which lets
+     * clients tell whether a page changed since they last read it. POST is not a method conditional requests apply
+     * to, {@code 304 Not Modified} only answers a GET, so {@code If-None-Match} is not evaluated here and the page is
+     * always returned; clients revalidating a page use
+     * {@link #getGraphByUuidAndQueryParams(String, Integer, Integer, Map, String, HttpServletResponse)} instead.
+     * With {@code aristotle.neo4j.async-reads} enabled, the request is served by
+     * {@link #getGraphByUuidAndFilterParamsAsync(FilterQueryGraphDTO)} instead, see
+     * {@link com.paiondata.aristotle.config.AsyncReadConfig}.
      *
      * @param dto the {@link FilterQueryGraphDTO} containing the UUID and filter parameters
+     * @param response the HTTP response the {@link Result} object containing the {@link GraphVO} is written to
      *
-     * @return a {@link Result} object containing the graph data as a {@link GraphVO}
+     * @throws IOException if the response body cannot be written
      */
-    @ApiOperation(value = "Retrieve the graph by uuid and filter parameters")
+    @ApiOperation(value = "Retrieve the graph by uuid and filter parameters", response = GraphVO.class)
+    @Bulkhead(BulkheadType.TRAVERSAL)
     @PostMapping("/filter")
-    public Result<GraphVO> getGraphByUuidAndFilterParams(@RequestBody @Valid final FilterQueryGraphDTO dto) {
-        return Result.ok(graphService.getGraphVOByUuid(dto));
+    public void getGraphByUuidAndFilterParams(@RequestBody @Valid final FilterQueryGraphDTO dto,
+                                              final HttpServletResponse response) throws IOException {
+        writeGraphPage(dto, null, response);
+    }
+
+    /**
+     * Retrieves a graph by its UUID and filter parameters through the asynchronous API of the driver.
+     * <p>
+     * Serves the same requests as {@link #getGraphByUuidAndFilterParams(FilterQueryGraphDTO, HttpServletResponse)},
+     * to which it is mapped instead when {@code aristotle.neo4j.async-reads} is enabled, but releases the request
+     * thread while the queries are in flight. The page is built as a {@link GraphVO} rather than streamed, since the
+     * records arrive on the event loop of the driver, which must not block writing to the response. The bookmarks and
+     * the deadline of the request are captured by the request thread and handed to every query.
+     *
+     * @param dto the {@link FilterQueryGraphDTO} containing the UUID and filter parameters
+     *
+     * @return the stage completed with a {@link Result} object containing the {@link GraphVO}
+     */
+    @Bulkhead(BulkheadType.TRAVERSAL)
+    public CompletionStage<ResponseEntity<Result<GraphVO>>> getGraphByUuidAndFilterParamsAsync(
+            @RequestBody @Valid final FilterQueryGraphDTO dto) {
+        return graphPageAsync(dto, null);
+    }
+
+    /**
+     * Retrieves a graph by its UUID, paging and filter parameters given as query parameters.
+     * <p>
+     * This method handles a GET request returning the same page as
+     * {@link #getGraphByUuidAndFilterParams(FilterQueryGraphDTO, HttpServletResponse)}, with the same ETag. Every
+     * query parameter other than {@code pageNumber} and {@code pageSize} filters the nodes by the property of the
+     * same name. {@code 304 Not Modified} is returned without reading the page if the request's
+     * {@code If-None-Match} header matches the ETag.
+     * With {@code aristotle.neo4j.async-reads} enabled, the request is served by
+     * {@link #getGraphByUuidAndQueryParamsAsync(String, Integer, Integer, Map, String)} instead, see
+     * {@link com.paiondata.aristotle.config.AsyncReadConfig}.
+     *
+     * @param uuid the UUID of the graph
+     * @param pageNumber the page number, defaults to 1
+     * @param pageSize the number of nodes per page, defaults to 10
+     * @param parameters all query parameters, including the filter properties
+     * @param ifNoneMatch the ETags of the representations the client already has
+     * @param response the HTTP response the {@link Result} object containing the {@link GraphVO} is written to
+     *
+     * @throws IOException if the response body cannot be written
+     */
+    @ApiOperation(value = "Retrieve the graph by uuid, page and filter query parameters", response = GraphVO.class,
+            notes = "Query parameters other than pageNumber and pageSize filter the nodes by property; "
+                    + "answers 304 if If-None-Match matches the ETag of the page")
+    @Bulkhead(BulkheadType.TRAVERSAL)
+    @GetMapping("/{uuid}")
+    public void getGraphByUuidAndQueryParams(
+            @PathVariable final String uuid,
+            @RequestParam(value = Constants.PAGE_NUMBER, defaultValue = "1") final Integer pageNumber,
+            @RequestParam(value = Constants.PAGE_SIZE, defaultValue = "10") final Integer pageSize,
+            @RequestParam final Map<String, String> parameters,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            final HttpServletResponse response) throws IOException {
+        writeGraphPage(pageQuery(uuid, pageNumber, pageSize, parameters), ifNoneMatch, response);
+    }
+
+    /**
+     * Retrieves a graph by its UUID, paging and filter parameters given as query parameters through the
+     * asynchronous API of the driver.
+     * <p>
+     * Serves the same requests as
+     * {@link #getGraphByUuidAndQueryParams(String, Integer, Integer, Map, String, HttpServletResponse)}, to which it
+     * is mapped instead when {@code aristotle.neo4j.async-reads} is enabled, like
+     * {@link #getGraphByUuidAndFilterParamsAsync(FilterQueryGraphDTO)}.
+     *
+     * @param uuid the UUID of the graph
+     * @param pageNumber the page number, defaults to 1
+     * @param pageSize the number of nodes per page, defaults to 10
+     * @param parameters all query parameters, including the filter properties
+     * @param ifNoneMatch the ETags of the representations the client already has
+     *
+     * @return the stage completed with a {@link Result} object containing the {@link GraphVO}, or with
+     * {@code 304 Not Modified}
+     */
+    @Bulkhead(BulkheadType.TRAVERSAL)
+    public CompletionStage<ResponseEntity<Result<GraphVO>>> getGraphByUuidAndQueryParamsAsync(
+            @PathVariable final String uuid,
+            @RequestParam(value = Constants.PAGE_NUMBER, defaultValue = "1") final Integer pageNumber,
+            @RequestParam(value = Constants.PAGE_SIZE, defaultValue = "10") final Integer pageSize,
+            @RequestParam final Map<String, String> parameters,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        return graphPageAsync(pageQuery(uuid, pageNumber, pageSize, parameters), ifNoneMatch);
     }
 
     /**
@@ -89,6 +222,26 @@ public class GraphController {
         return Result.ok(nodeService.createGraphAndBindGraphAndNode(graphNodeCreateDTO, null));
     }
 
+    /**
+     * Creates a graph and binds it with nodes asynchronously.
+     * <p>
+     * This method handles a POST request which queues the same write as
+     * {@link #createGraphAndBindGraphAndNode(GraphAndNodeCreateDTO)} and returns {@code 202 Accepted} with the
+     * queued job, whose result can be polled at the {@code Location} of the response.
+     *
+     * @param graphNodeCreateDTO the {@link GraphAndNodeCreateDTO} containing the graph and node creation information
+     *
+     * @return a {@link Result} object containing the queued job as a {@link JobVO}
+     */
+    @ApiOperation(value = "Creates a graph and binds it with nodes asynchronously",
+            notes = "Returns 202 with a job to poll at /job/{uuid}, or 503 if too many jobs are pending")
+    @PostMapping("/async")
+    public ResponseEntity<Result<JobVO>> createGraphAndBindGraphAndNodeAsync(
+            @RequestBody @Valid final GraphAndNodeCreateDTO graphNodeCreateDTO) {
+        return JobController.accepted(jobService.submit(null,
+                () -> nodeService.createGraphAndBindGraphAndNode(graphNodeCreateDTO, null)));
+    }
+
     /**
      * Updates a graph.
      *
@@ -126,4 +279,97 @@ public class GraphController {
         graphService.deleteByUuids(graphDeleteDTO);
         return Result.ok(Message.DELETE_SUCCESS);
     }
+
+    /**
+     * Writes a page of a graph with its ETag, or only answers {@code 304 Not Modified} if the ETag matches the
+     * {@code If-None-Match} header.
+     *
+     * @param dto the UUID of the graph, the filter and the paging
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, {@code null} if it is not evaluated
+     * @param response the HTTP response
+     *
+     * @throws IOException if the response body cannot be written
+     */
+    private void writeGraphPage(final FilterQueryGraphDTO dto, final String ifNoneMatch,
+                                final HttpServletResponse response) throws IOException {
+        final Optional<String> eTag = commonService.getGraphVersionByUuid(dto.getUuid())
+                .map(version -> pageETag(dto, version));
+        eTag.ifPresent(value -> response.setHeader(HttpHeaders.ETAG, value));
+
+        if (eTag.isPresent() && eTagGenerator.matches(ifNoneMatch, eTag.get())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        final JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        graphService.writeGraphVOByUuid(dto, generator);
+    }
+
+    /**
+     * Reads a page of a graph with its ETag without blocking, or only answers {@code 304 Not Modified} if the ETag
+     * matches the {@code If-None-Match} header.
+     *
+     * @param dto the UUID of the graph, the filter and the paging
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, {@code null} if it is not evaluated
+     *
+     * @return the stage completed with the response
+     */
+    private CompletionStage<ResponseEntity<Result<GraphVO>>> graphPageAsync(final FilterQueryGraphDTO dto,
+                                                                            final String ifNoneMatch) {
+        final AsyncReadContext context = AsyncReadContext.capture();
+
+        return commonService.getGraphVersionByUuidAsync(dto.getUuid(), context).thenCompose(version -> {
+            final Optional<String> eTag = version.map(graphVersion -> pageETag(dto, graphVersion));
+
+            if (eTag.isPresent() && eTagGenerator.matches(ifNoneMatch, eTag.get())) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag.get()).build());
+            }
+
+            return graphService.getGraphVOByUuidAsync(dto, context).thenApply(graph -> {
+                final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                eTag.ifPresent(builder::eTag);
+                return builder.body(Result.ok(graph));
+            });
+        });
+    }
+
+    /**
+     * Builds the query of a page of a graph given as query parameters.
+     *
+     * @param uuid the UUID of the graph
+     * @param pageNumber the page number
+     * @param pageSize the number of nodes per page
+     * @param parameters all query parameters, including the filter properties
+     *
+     * @return the query, filtering the nodes by every query parameter other than {@code pageNumber} and
+     * {@code pageSize}
+     */
+    private static FilterQueryGraphDTO pageQuery(final String uuid, final Integer pageNumber, final Integer pageSize,
+                                                 final Map<String, String> parameters) {
+        final Map<String, String> properties = new HashMap<>(parameters);
+        properties.remove(Constants.PAGE_NUMBER);
+        properties.remove(Constants.PAGE_SIZE);
+
+        return FilterQueryGraphDTO.builder()
+                .uuid(uuid)
+                .properties(properties.isEmpty() ? null : properties)
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .build();
+    }
+
+    /**
+     * Builds the ETag of a page of a graph.
+     *
+     * @param dto the UUID of the graph, the filter and the paging
+     * @param version the version of the graph
+     *
+     * @return the ETag
+     */
+    private String pageETag(final FilterQueryGraphDTO dto, final long version) {
+        return eTagGenerator.generate(version, dto.getUuid(), dto.getProperties().orElse(Map.of()),
+                dto.getPageNumber(), dto.getPageSize());
+    }
 }
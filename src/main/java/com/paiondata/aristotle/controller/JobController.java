@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.controller;
+
+import com.paiondata.aristotle.common.base.HttpStatus;
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.model.vo.JobVO;
+import com.paiondata.aristotle.service.JobService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.NoSuchElementException;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * Controller for following asynchronous write jobs.
+ */
+@Api(tags = "Job controller for following asynchronous write jobs")
+@RestController
+@RequestMapping("/job")
+@Validated
+public class JobController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobController.class);
+
+    private static final String JOB_PATH = "/job/";
+
+    @Autowired
+    private JobService jobService;
+
+    /**
+     * Retrieves a job by its UUID.
+     *
+     * <p>
+     * This method handles a GET request to poll an asynchronous write job.
+     * Once the job has succeeded, the returned {@link JobVO} carries the result the synchronous endpoint would
+     * have returned, and the bookmarks to send as {@code Neo4j-Bookmark} headers so that later reads observe it.
+     *
+     * @param uuid the UUID of the job
+     *
+     * @return a {@link Result} object containing the job as a {@link JobVO}
+     *
+     * @throws NoSuchElementException if the job does not exist or has expired
+     */
+    @ApiOperation(value = "Retrieves a job by UUID")
+    @GetMapping("/{uuid}")
+    public Result<JobVO> getJob(@PathVariable @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String uuid) {
+        return Result.ok(jobService.getJob(uuid).orElseThrow(() -> {
+            final String message = String.format(Message.JOB_NULL, uuid);
+            LOG.error(message);
+            return new NoSuchElementException(message);
+        }));
+    }
+
+    /**
+     * Streams the status changes of a job.
+     *
+     * <p>
+     * This method handles a GET request to follow an asynchronous write job as server-sent events.
+     * The current status is sent immediately, then every change of status, and the stream ends once the job has
+     * succeeded or failed.
+     *
+     * @param uuid the UUID of the job
+     *
+     * @return the event stream
+     */
+    @ApiOperation(value = "Streams the status changes of a job as server-sent events")
+    @GetMapping("/{uuid}/stream")
+    public SseEmitter streamJob(
+            @PathVariable @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String uuid) {
+        final SseEmitter emitter = new SseEmitter(0L);
+        jobService.subscribe(uuid, job -> {
+            try {
+                emitter.send(SseEmitter.event().name(job.getStatus().name()).data(job));
+            } catch (final IOException e) {
+                emitter.completeWithError(e);
+                throw new UncheckedIOException(e);
+            }
+            if (job.getStatus().isFinished()) {
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Builds the {@code 202 Accepted} response of an endpoint which queued a job.
+     *
+     * @param job the queued job
+     *
+     * @return the response, locating the job
+     */
+    static ResponseEntity<Result<JobVO>> accepted(final JobVO job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create(JOB_PATH + job.getUuid()))
+                .body(Result.ok(Message.JOB_ACCEPTED, job));
+    }
+}
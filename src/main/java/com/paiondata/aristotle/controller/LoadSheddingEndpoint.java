@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.controller;
+
+import com.paiondata.aristotle.common.util.LoadShedder;
+import com.paiondata.aristotle.model.vo.LoadSheddingVO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the load shedding state at {@code /actuator/shedding}.
+ */
+@Component
+@Endpoint(id = "shedding")
+public class LoadSheddingEndpoint {
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    /**
+     * Retrieves the load shedding state.
+     *
+     * @return the state, with the queueing latencies of the last interval and their thresholds
+     */
+    @ReadOperation
+    public LoadSheddingVO shedding() {
+        return loadShedder.getState();
+    }
+}
@@ -15,15 +15,28 @@
  */
 package com.paiondata.aristotle.controller;
 
+import com.paiondata.aristotle.common.annotion.Bulkhead;
+import com.paiondata.aristotle.common.base.BulkheadType;
 import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.ETagGenerator;
+import com.paiondata.aristotle.common.util.ImportRecordReader;
 import com.paiondata.aristotle.model.vo.GraphVO;
+import com.paiondata.aristotle.model.vo.ImportVO;
+import com.paiondata.aristotle.model.vo.JobVO;
+import com.paiondata.aristotle.model.vo.NodeUpdateResultVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
 import com.paiondata.aristotle.model.dto.NodeCreateDTO;
+import com.paiondata.aristotle.model.dto.NodeBulkUpdateDTO;
 import com.paiondata.aristotle.model.dto.NodeDeleteDTO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.dto.RelationUpdateDTO;
+import com.paiondata.aristotle.service.CommonService;
+import com.paiondata.aristotle.service.JobService;
 import com.paiondata.aristotle.service.NodeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -31,25 +44,39 @@ import io.swagger.annotations.ApiParam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 /**
  * Controller for handling graph node-related operations.
@@ -65,6 +92,21 @@ public class NodeController {
     @Autowired
     private NodeService nodeService;
 
+    @Autowired
+    private CommonService commonService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ETagGenerator eTagGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${aristotle.import.chunk-size:10000}")
+    private int importChunkSize;
+
     /**
      * Retrieves a node by its UUID.
      *
@@ -73,25 +115,54 @@ public class NodeController {
      * It validates the UUID and calls the node service to fetch the node data.
      * If the node is found, it is wrapped in a {@link Result} object and returned.
      * If the node is not found, a failure result with an appropriate message is returned.
+     * The response carries an ETag derived from the version of the graph the node belongs to, and
+     * {@code 304 Not Modified} is returned if the request's {@code If-None-Match} header matches it.
+     * With {@code aristotle.neo4j.async-reads} enabled, the request is served by
+     * {@link #getNodeByUuidAsync(String, String)} instead, see {@link com.paiondata.aristotle.config.AsyncReadConfig}.
      *
      * @param uuid the UUID of the node to retrieve
+     * @param ifNoneMatch the ETags of the representations the client already has
      *
      * @return a {@link Result} object containing the node data as a {@link NodeVO},
      * or a failure message if the node is not found
      */
     @ApiOperation(value = "Retrieves a node by UUID")
+    @Bulkhead(BulkheadType.POINT_READ)
     @GetMapping("/{uuid}")
     public ResponseEntity<Result<NodeVO>> getNodeByUuid(
-            @PathVariable @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String uuid) {
-        final Optional<NodeVO> optionalNode = nodeService.getNodeByUuid(uuid);
+            @PathVariable @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String uuid,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        final Optional<String> eTag = commonService.getGraphVersionByNodeUuid(uuid)
+                .map(version -> eTagGenerator.generate(version, uuid));
 
-        if (optionalNode.isPresent()) {
-            return ResponseEntity.ok(Result.ok(optionalNode.get()));
-        } else {
-            final String message = String.format(Message.NODE_NULL, uuid);
-            LOG.error(message);
-            throw new NoSuchElementException(message);
-        }
+        return conditionalOk(eTag, ifNoneMatch, () -> requireNode(nodeService.getNodeByUuid(uuid), uuid));
+    }
+
+    /**
+     * Retrieves a node by its UUID through the asynchronous API of the driver.
+     * <p>
+     * Serves the same requests as {@link #getNodeByUuid(String, String)}, to which it is mapped instead when
+     * {@code aristotle.neo4j.async-reads} is enabled, but releases the request thread while the queries are in
+     * flight. The bookmarks and the deadline of the request are captured by the request thread and handed to both
+     * queries, since the second one is started by the event loop of the driver.
+     *
+     * @param uuid the UUID of the node to retrieve
+     * @param ifNoneMatch the ETags of the representations the client already has
+     *
+     * @return the stage completed with a {@link Result} object containing the node data as a {@link NodeVO},
+     * or a failure message if the node is not found
+     */
+    @Bulkhead(BulkheadType.POINT_READ)
+    public CompletionStage<ResponseEntity<Result<NodeVO>>> getNodeByUuidAsync(
+            @PathVariable @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String uuid,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        final AsyncReadContext context = AsyncReadContext.capture();
+
+        return commonService.getGraphVersionByNodeUuidAsync(uuid, context)
+                .thenCompose(version -> conditionalOkAsync(
+                        version.map(graphVersion -> eTagGenerator.generate(graphVersion, uuid)), ifNoneMatch,
+                        () -> nodeService.getNodeByUuidAsync(uuid, context)
+                                .thenApply(node -> requireNode(node, uuid))));
     }
 
     /**
@@ -99,25 +170,67 @@ public class NodeController {
      * <p>
      * This endpoint retrieves the k-degree expansion of a node within a specified graph.
      * If the input degree is less than 0, the maximum depth is directly returned.
+     * The response carries an ETag derived from the version of the graph and the request parameters, and
+     * {@code 304 Not Modified} is returned without expanding the node if the request's {@code If-None-Match}
+     * header matches it.
+     * With {@code aristotle.neo4j.async-reads} enabled, the request is served by
+     * {@link #kDegreeExpansionAsync(String, String, Integer, String)} instead, see
+     * {@link com.paiondata.aristotle.config.AsyncReadConfig}.
      *
      * @param graphUuid The UUID of the graph.
      * @param nodeUuid The UUID of the node.
      * @param degree The degree that needs to be expanded.
+     * @param ifNoneMatch The ETags of the representations the client already has.
      *
      * @return A {@link Result} object containing the expanded graph represented as a {@link GraphVO}.
      */
     @ApiOperation(value = "Retrieves a k-degree expansion of a node",
             notes = "If the input degree is less than 0, the maximum depth is directly returned")
+    @Bulkhead(BulkheadType.TRAVERSAL)
     @GetMapping("/expand")
-    public Result<GraphVO> kDegreeExpansion(
+    public ResponseEntity<Result<GraphVO>> kDegreeExpansion(
             @ApiParam(value = "The UUID of the graph", required = true)
             @RequestParam @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String graphUuid,
             @ApiParam(value = "The UUID of the node", required = true)
             @RequestParam @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String nodeUuid,
             @ApiParam(value = "The degree that needs to be expanded, "
                     + "if is less than 0, the maximum depth is directly returned")
-            @RequestParam @NotNull(message = Message.DEGREE_MUST_NOT_BE_NULL) final Integer degree) {
-        return Result.ok(nodeService.getkDegreeExpansion(graphUuid, nodeUuid, degree));
+            @RequestParam @NotNull(message = Message.DEGREE_MUST_NOT_BE_NULL) final Integer degree,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        final Optional<String> eTag = commonService.getGraphVersionByUuid(graphUuid)
+                .map(version -> eTagGenerator.generate(version, graphUuid, nodeUuid, degree));
+
+        return conditionalOk(eTag, ifNoneMatch, () -> nodeService.getkDegreeExpansion(graphUuid, nodeUuid, degree));
+    }
+
+    /**
+     * Retrieves a k-degree expansion of a node through the asynchronous API of the driver.
+     * <p>
+     * Serves the same requests as {@link #kDegreeExpansion(String, String, Integer, String)}, to which it is mapped
+     * instead when {@code aristotle.neo4j.async-reads} is enabled, but releases the request thread while the queries
+     * are in flight. The bookmarks and the deadline of the request are captured by the request thread and handed to
+     * every query of the expansion, which are started by the event loop of the driver.
+     *
+     * @param graphUuid The UUID of the graph.
+     * @param nodeUuid The UUID of the node.
+     * @param degree The degree that needs to be expanded.
+     * @param ifNoneMatch The ETags of the representations the client already has.
+     *
+     * @return the stage completed with a {@link Result} object containing the expanded graph represented as a
+     * {@link GraphVO}
+     */
+    @Bulkhead(BulkheadType.TRAVERSAL)
+    public CompletionStage<ResponseEntity<Result<GraphVO>>> kDegreeExpansionAsync(
+            @RequestParam @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String graphUuid,
+            @RequestParam @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String nodeUuid,
+            @RequestParam @NotNull(message = Message.DEGREE_MUST_NOT_BE_NULL) final Integer degree,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+        final AsyncReadContext context = AsyncReadContext.capture();
+
+        return commonService.getGraphVersionByUuidAsync(graphUuid, context)
+                .thenCompose(version -> conditionalOkAsync(
+                        version.map(graphVersion -> eTagGenerator.generate(graphVersion, graphUuid, nodeUuid, degree)),
+                        ifNoneMatch, () -> nodeService.getkDegreeExpansionAsync(graphUuid, nodeUuid, degree, context)));
     }
 
     /**
@@ -144,6 +257,77 @@ public class NodeController {
         return Result.ok(Message.CREATE_SUCCESS, nodeService.createAndBindGraphAndNode(graphNodeCreateDTO, null));
     }
 
+    /**
+     * Creates and binds nodes asynchronously.
+     *
+     * <p>
+     * This method handles a POST request which queues the same write as {@link #createAndBindNode(NodeCreateDTO)}
+     * and returns {@code 202 Accepted} with the queued job, whose result can be polled at the {@code Location}
+     * of the response. Jobs writing to the same graph are applied in the order they were accepted.
+     *
+     * @param graphNodeCreateDTO the {@link NodeCreateDTO} containing the node creation and binding information
+     *
+     * @return a {@link Result} object containing the queued job as a {@link JobVO}
+     */
+    @ApiOperation(value = "Creates and binds nodes asynchronously",
+            notes = "Returns 202 with a job to poll at /job/{uuid}, or 503 if too many jobs are pending")
+    @PostMapping("/async")
+    public ResponseEntity<Result<JobVO>> createAndBindNodeAsync(
+            @RequestBody @Valid final NodeCreateDTO graphNodeCreateDTO) {
+        return JobController.accepted(jobService.submit(graphNodeCreateDTO.getGraphUuid(),
+                () -> nodeService.createAndBindGraphAndNode(graphNodeCreateDTO, null)));
+    }
+
+    /**
+     * Imports nodes and relations into a graph from an NDJSON or CSV stream.
+     *
+     * <p>
+     * This method handles a POST request whose body is read incrementally and committed in chunks of
+     * {@code aristotle.import.chunk-size} records, so an import of any size runs in bounded memory.
+     * The response is an NDJSON stream: one {@link Result} line with the counts committed so far after each chunk,
+     * and a final line with the total counts. If the import fails after the first chunk has been reported, the
+     * final line is a failure {@link Result} and the reported chunks stay committed. Each progress line carries the
+     * bookmarks of the chunks committed so far, since the bookmark header is sent before the first chunk commits.
+     *
+     * @param graphUuid the UUID of the graph to import into
+     * @param request the HTTP request carrying the import
+     * @param response the HTTP response receiving the progress
+     *
+     * @throws IOException if the import cannot be read or the progress cannot be written
+     *
+     * @notes See {@link ImportRecordReader} for the record formats
+     */
+    @ApiOperation(value = "Imports nodes and relations from an NDJSON or CSV stream",
+            notes = "NDJSON lines are nodes {\"temporaryId\", \"properties\"} or relations "
+                    + "{\"fromId\", \"toId\", \"relationName\"}. CSV rows are nodes "
+                    + "'node,temporaryId,name,value,...' or relations 'relation,fromId,toId,relationName'. "
+                    + "Nodes must precede the relations referring to them, a relation referring to an ID which "
+                    + "is neither an earlier node nor a node of the graph fails the import")
+    @Bulkhead(BulkheadType.BULK_WRITE)
+    @PostMapping(value = "/import", consumes = {ImportRecordReader.NDJSON, ImportRecordReader.CSV})
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void importNodes(
+            @ApiParam(value = "The UUID of the graph", required = true)
+            @RequestParam @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK) final String graphUuid,
+            final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final MediaType mediaType = MediaType.parseMediaType(request.getContentType());
+        final OutputStream outputStream = response.getOutputStream();
+        response.setContentType(ImportRecordReader.NDJSON);
+
+        try {
+            final ImportVO result = nodeService.importNodes(graphUuid, request.getInputStream(),
+                    mediaType.getType() + "/" + mediaType.getSubtype(), importChunkSize,
+                    progress -> writeLine(outputStream, Result.ok(Message.IMPORT_IN_PROGRESS, progress)));
+            writeLine(outputStream, Result.ok(Message.IMPORT_SUCCESS, result));
+        } catch (final RuntimeException e) {
+            if (!response.isCommitted()) {
+                throw e;
+            }
+            LOG.error(e.getMessage(), e);
+            writeLine(outputStream, Result.fail(e.getMessage()));
+        }
+    }
+
     /**
      * Updates a node.
      *
@@ -163,6 +347,50 @@ public class NodeController {
         return Result.ok(Message.UPDATE_SUCCESS);
     }
 
+    /**
+     * Partially updates a node.
+     *
+     * <p>
+     * This method handles a PATCH request which sets or removes only the listed properties of a node, leaving the
+     * others unchanged, so clients do not need to send the full property map.
+     * The full replacement of {@link #updateNode(NodeUpdateDTO)} remains available.
+     * The result is wrapped in a {@link Result} object with a success message.
+     *
+     * @param nodePatchDTO the {@link NodePatchDTO} containing the properties to set, or to remove if {@code null}
+     *
+     * @return a {@link Result} object containing a success message
+     */
+    @ApiOperation(value = "Partially updates a node",
+            notes = "Properties with a value are set and properties with a null value are removed")
+    @PatchMapping
+    public Result<String> patchNode(@RequestBody @Valid final NodePatchDTO nodePatchDTO) {
+        nodeService.patchNode(nodePatchDTO, null);
+        return Result.ok(Message.UPDATE_SUCCESS);
+    }
+
+    /**
+     * Partially updates many nodes of a graph at once.
+     *
+     * <p>
+     * This method handles a PATCH request which applies the partial updates of many nodes of a graph, validating
+     * that the nodes belong to the graph with a single query and applying the updates in chunked statements.
+     * The result is wrapped in a {@link Result} object with the outcome of every update, in the order of the
+     * updates; the updates which cannot be applied are reported and skipped.
+     *
+     * @param nodeBulkUpdateDTO the {@link NodeBulkUpdateDTO} containing the UUID of the graph and the partial updates
+     *                          of its nodes
+     *
+     * @return a {@link Result} object containing the outcome of every update as a {@link NodeUpdateResultVO}
+     */
+    @ApiOperation(value = "Partially updates many nodes of a graph at once",
+            notes = "Every update is reported as UPDATED, INVALID, NOT_FOUND or BOUND_ANOTHER_GRAPH")
+    @Bulkhead(BulkheadType.BULK_WRITE)
+    @PatchMapping("/bulk")
+    public Result<List<NodeUpdateResultVO>> bulkUpdateNodes(
+            @RequestBody @Valid final NodeBulkUpdateDTO nodeBulkUpdateDTO) {
+        return Result.ok(nodeService.bulkUpdateNodes(nodeBulkUpdateDTO, null));
+    }
+
     /**
      * Updates a relation between nodes.
      *
@@ -200,4 +428,102 @@ public class NodeController {
         nodeService.deleteByUuids(nodeDeleteDTO);
         return Result.ok(Message.DELETE_SUCCESS);
     }
+
+    /**
+     * Writes one line of an NDJSON response and flushes it to the client.
+     *
+     * @param outputStream the response stream
+     * @param line the value to write
+     *
+     * @throws UncheckedIOException if the line cannot be written
+     */
+    private void writeLine(final OutputStream outputStream, final Object line) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(line));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a conditional response for a read endpoint.
+     * <p>
+     * Returns {@code 304 Not Modified} without computing the body if the ETag matches the {@code If-None-Match}
+     * header, otherwise computes the body and returns it together with the ETag.
+     *
+     * @param eTag the current ETag, empty if the entity is not found
+     * @param ifNoneMatch the value of the {@code If-None-Match} header
+     * @param body the supplier of the response data
+     * @param <T> the type of the response data
+     *
+     * @return the response
+     */
+    private <T> ResponseEntity<Result<T>> conditionalOk(final Optional<String> eTag, final String ifNoneMatch,
+                                                        final Supplier<T> body) {
+        if (eTag.isPresent() && eTagGenerator.matches(ifNoneMatch, eTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+        }
+
+        return ok(eTag, body.get());
+    }
+
+    /**
+     * Builds a conditional response for a read endpoint whose body is computed without blocking.
+     * <p>
+     * Returns {@code 304 Not Modified} without computing the body if the ETag matches the {@code If-None-Match}
+     * header, otherwise computes the body and returns it together with the ETag once it is available.
+     *
+     * @param eTag the current ETag, empty if the entity is not found
+     * @param ifNoneMatch the value of the {@code If-None-Match} header
+     * @param body the supplier of the stage completed with the response data
+     * @param <T> the type of the response data
+     *
+     * @return the stage completed with the response
+     */
+    private <T> CompletionStage<ResponseEntity<Result<T>>> conditionalOkAsync(
+            final Optional<String> eTag, final String ifNoneMatch, final Supplier<CompletionStage<T>> body) {
+        if (eTag.isPresent() && eTagGenerator.matches(ifNoneMatch, eTag.get())) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag.get()).build());
+        }
+
+        return body.get().thenApply(data -> ok(eTag, data));
+    }
+
+    /**
+     * Builds a successful response carrying the ETag, if any.
+     *
+     * @param eTag the current ETag, empty if the entity is not found
+     * @param data the response data
+     * @param <T> the type of the response data
+     *
+     * @return the response
+     */
+    private static <T> ResponseEntity<Result<T>> ok(final Optional<String> eTag, final T data) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        eTag.ifPresent(builder::eTag);
+        return builder.body(Result.ok(data));
+    }
+
+    /**
+     * Returns the node found by a lookup.
+     *
+     * @param node the result of the lookup
+     * @param uuid the UUID of the node
+     *
+     * @return the node
+     *
+     * @throws NoSuchElementException if the node is not found
+     */
+    private static NodeVO requireNode(final Optional<NodeVO> node, final String uuid) {
+        if (node.isEmpty()) {
+            final String message = String.format(Message.NODE_NULL, uuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+
+        return node.get();
+    }
 }
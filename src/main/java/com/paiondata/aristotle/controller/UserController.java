@@ -15,6 +15,7 @@
  */
 package com.paiondata.aristotle.controller;
 
+import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.common.base.Result;
 import com.paiondata.aristotle.model.dto.UserDTO;
@@ -23,6 +24,8 @@ import com.paiondata.aristotle.service.UserService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,8 +35,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import java.util.List;
@@ -47,6 +54,10 @@ import java.util.List;
 @Validated
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String AFTER = "after";
+
     @Autowired
     private UserService userService;
 
@@ -70,20 +81,39 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users and their graphs.
+     * Retrieves a page of users and their graphs.
      *
      * <p>
-     * This method handles a GET request to retrieve a list of all users and their associated graphs.
+     * This method handles a GET request to retrieve a page of users, ordered by OIDC ID, and their associated graphs.
      * It calls the user service to fetch the user data.
-     * The result is wrapped in a {@link Result} object and returned.
+     * The result is wrapped in a {@link Result} object and returned. When the page is full, the response carries a
+     * {@code Link} header with {@code rel="next"} pointing at the next page, which starts after the last OIDC ID of
+     * this one.
      *
-     * @return a {@link Result} object containing a list of all users as {@link UserVO}
+     * @param after the OIDC ID after which the page starts, omitted for the first page
+     * @param limit the maximum number of users in the page
+     *
+     * @return a {@link Result} object containing the users of the page as {@link UserVO}
      */
-    @ApiOperation(value = "Retrieves all users and their graphs")
+    @ApiOperation(value = "Retrieves a page of users and their graphs")
     @GetMapping
-    public Result<List<UserVO>> getAll() {
-        final List<UserVO> allUsers = userService.getAllUsers();
-        return Result.ok(allUsers);
+    public ResponseEntity<Result<List<UserVO>>> getAll(
+            @RequestParam(required = false) final String after,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = Message.LIMIT_OUT_OF_RANGE)
+            @Max(value = MAX_PAGE_SIZE, message = Message.LIMIT_OUT_OF_RANGE) final int limit) {
+        final List<UserVO> users = userService.getUsers(after, limit);
+
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == limit) {
+            final String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam(AFTER, users.get(users.size() - 1).getOidcid())
+                    .replaceQueryParam(Constants.LIMIT, limit)
+                    .encode()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", next));
+        }
+
+        return response.body(Result.ok(users));
     }
 
     /**
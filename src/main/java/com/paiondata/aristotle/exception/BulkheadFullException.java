@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Exception thrown when a request is rejected because the bulkhead of its endpoint class has no permit left, and
+ * none was released while the request waited in the queue of the bulkhead.
+ */
+public class BulkheadFullException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs the exception.
+     *
+     * @param message the detail message
+     * @param retryAfterSeconds the number of seconds the client is advised to wait before retrying
+     */
+    public BulkheadFullException(final String message, final long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the number of seconds the client is advised to wait before retrying.
+     *
+     * @return the number of seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
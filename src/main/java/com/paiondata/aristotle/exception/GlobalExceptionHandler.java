@@ -18,13 +18,17 @@ package com.paiondata.aristotle.exception;
 import com.paiondata.aristotle.common.base.HttpStatus;
 import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.common.base.ReturnCode;
+import com.paiondata.aristotle.common.util.RequestDeadline;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
@@ -39,16 +43,31 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 import com.paiondata.aristotle.exception.customize.CustomizeReturnException;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for processing exceptions and returning appropriate HTTP responses.
+ * <p>
+ * Responses streamed straight to the client, like the graph filter, may fail after their status and part of their
+ * body have been sent. Such failures are not answered with an error body, which would be appended to the partial
+ * body of a {@code 200 OK}, but rethrown to the servlet container, which closes the connection without completing
+ * the response so that the client sees a broken transfer instead of a truncated success. Failures before the
+ * response is committed discard whatever such a response has buffered, its body and its {@code ETag}, before the
+ * error body is written, since the {@link org.springframework.web.servlet.DispatcherServlet} does not.
  */
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * The number of seconds clients are advised to wait before retrying a request rejected for pending work.
+     */
+    private static final String REJECTED_RETRY_AFTER_SECONDS = "1";
+
     /**
      * Handles HttpRequestMethodNotSupportedException.
      *
@@ -106,17 +125,84 @@ public class GlobalExceptionHandler {
                         Objects.isNull(e.getRequiredType()) ? "None" : e.getRequiredType().getName(), e.getValue())));
     }
 
+    /**
+     * Handles BulkheadFullException.
+     *
+     * @param e         the exception
+     * @param request   the HTTP request
+     *
+     * @return a response entity indicating failure with TOO_MANY_REQUESTS status and a Retry-After header
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Result<Void>> handleBulkheadFullException(final BulkheadFullException e,
+                                                                    final HttpServletRequest request) {
+        final String requestUri = request.getRequestURI();
+        log.warn("Request URL '{}' rejected, {}", requestUri, e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Result.fail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
+    /**
+     * Handles RejectedExecutionException.
+     *
+     * @param e         the exception
+     * @param request   the HTTP request
+     *
+     * @return a response entity indicating failure with SERVICE_UNAVAILABLE status and a Retry-After header
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Result<Void>> handleRejectedExecutionException(final RejectedExecutionException e,
+                                                                         final HttpServletRequest request) {
+        final String requestUri = request.getRequestURI();
+        log.error("Request URL '{}' rejected, too much pending work.", requestUri, e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, REJECTED_RETRY_AFTER_SECONDS)
+                .body(Result.fail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    /**
+     * Handles DeadlineExceededException.
+     *
+     * @param e         the exception
+     * @param request   the HTTP request
+     * @param response  the HTTP response
+     *
+     * @return a response entity indicating failure with GATEWAY_TIMEOUT status and the REQUEST_TIMEOUT return code
+     *
+     * @throws RuntimeException the exception itself if the response is already committed
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Result<Void>> handleDeadlineExceededException(final RuntimeException e,
+                                                                        final HttpServletRequest request,
+                                                                        final HttpServletResponse response) {
+        abortIfCommitted(e, request, response);
+        final String requestUri = request.getRequestURI();
+        log.error("Request URL '{}' did not complete within its deadline.", requestUri, e);
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Result.fail(ReturnCode.REQUEST_TIMEOUT.getCode(), ReturnCode.REQUEST_TIMEOUT.getMsg()));
+    }
+
     /**
      * Handles RuntimeException.
      *
      * @param e         the exception
      * @param request   the HTTP request
+     * @param response  the HTTP response
      *
-     * @return a response entity indicating failure with INTERNAL_SERVER_ERROR status
+     * @return a response entity indicating failure with INTERNAL_SERVER_ERROR status, or with GATEWAY_TIMEOUT status
+     * if Neo4j terminated a transaction on the deadline of the request
+     *
+     * @throws RuntimeException the exception itself if the response is already committed
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Result<Void>> handleRuntimeException(final RuntimeException e,
-                                                               final HttpServletRequest request) {
+                                                               final HttpServletRequest request,
+                                                               final HttpServletResponse response) {
+        if (RequestDeadline.isTimeout(e)) {
+            return handleDeadlineExceededException(e, request, response);
+        }
+        abortIfCommitted(e, request, response);
         final String requestUri = request.getRequestURI();
         log.error(Message.UNKNOWN_EXCEPTION, requestUri, e);
         return ResponseEntity.status(HttpStatus.ERROR)
@@ -128,11 +214,16 @@ public class GlobalExceptionHandler {
      *
      * @param e         the exception
      * @param request   the HTTP request
+     * @param response  the HTTP response
      *
      * @return a response entity indicating failure with INTERNAL_SERVER_ERROR status
+     *
+     * @throws Exception the exception itself if the response is already committed
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Result<Void>> handleException(final Exception e, final HttpServletRequest request) {
+    public ResponseEntity<Result<Void>> handleException(final Exception e, final HttpServletRequest request,
+                                                        final HttpServletResponse response) throws Exception {
+        abortIfCommitted(e, request, response);
         final String requestUri = request.getRequestURI();
         log.error("Request URL '{}', encountered a system exception.", requestUri, e);
         return ResponseEntity.status(HttpStatus.ERROR)
@@ -277,4 +368,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Result.fail(HttpStatus.BAD_REQUEST, Message.PARAM_VERIFY_FAIL, fieldErrorMsg));
     }
+
+    /**
+     * Rethrows an exception raised after the response was committed, leaving it to the servlet container to abort
+     * the response. Otherwise resets the response, so that the error body is neither appended to a partial body
+     * still buffered nor sent with the {@code ETag} of the body it replaces; the other headers are kept.
+     *
+     * @param e         the exception
+     * @param request   the HTTP request
+     * @param response  the HTTP response
+     * @param <E>       the type of the exception
+     *
+     * @throws E the exception itself if the response is already committed
+     */
+    private <E extends Exception> void abortIfCommitted(final E e, final HttpServletRequest request,
+                                                        final HttpServletResponse response) throws E {
+        if (response.isCommitted()) {
+            log.error("Request URL '{}' failed after its response was committed, aborting the response.",
+                    request.getRequestURI(), e);
+            throw e;
+        }
+
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (final String name : response.getHeaderNames()) {
+            if (!HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        response.reset();
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.filter;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Exchanges Neo4j bookmarks with the client through the {@link Constants#BOOKMARK_HEADER} header.
+ * <p>
+ * The bookmarks sent by the client are made available to every session opened while handling the request, and the
+ * bookmarks produced by its transactions are sent back in the same header. A client that echoes the header on its
+ * next request is therefore guaranteed to read its own writes, even if the read is served by a follower. The
+ * header is written right before the response body, because the response cannot be changed once it is committed.
+ */
+@Component
+public class BookmarkFilter extends OncePerRequestFilter {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Binds the received bookmarks to the request and reports the resulting bookmarks in the response.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the remaining filter chain
+     *
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails to read the request or write the response
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        BookmarkHolder.receive(parseBookmarks(request));
+        final BookmarkResponseWrapper responseWrapper = new BookmarkResponseWrapper(response);
+
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            responseWrapper.writeBookmarkHeader();
+        } finally {
+            BookmarkHolder.clear();
+        }
+    }
+
+    /**
+     * Reads the bookmark values of all {@link Constants#BOOKMARK_HEADER} headers, each holding a comma separated list.
+     *
+     * @param request the HTTP request
+     *
+     * @return the bookmark values
+     */
+    private static List<String> parseBookmarks(final HttpServletRequest request) {
+        return Collections.list(request.getHeaders(Constants.BOOKMARK_HEADER)).stream()
+                .flatMap(header -> Arrays.stream(header.split(SEPARATOR)))
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Response wrapper writing the bookmark header right before the body is written.
+     */
+    private static final class BookmarkResponseWrapper extends HttpServletResponseWrapper {
+
+        /**
+         * Wraps a response.
+         *
+         * @param response the response to wrap
+         */
+        BookmarkResponseWrapper(final HttpServletResponse response) {
+            super(response);
+        }
+
+        /**
+         * Writes the bookmark header and returns the output stream of the wrapped response.
+         *
+         * @return the output stream
+         *
+         * @throws IOException if the output stream cannot be obtained
+         */
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeBookmarkHeader();
+            return super.getOutputStream();
+        }
+
+        /**
+         * Writes the bookmark header and returns the writer of the wrapped response.
+         *
+         * @return the writer
+         *
+         * @throws IOException if the writer cannot be obtained
+         */
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeBookmarkHeader();
+            return super.getWriter();
+        }
+
+        /**
+         * Writes the bookmark header and flushes the wrapped response.
+         *
+         * @throws IOException if the response cannot be flushed
+         */
+        @Override
+        public void flushBuffer() throws IOException {
+            writeBookmarkHeader();
+            super.flushBuffer();
+        }
+
+        /**
+         * Sets the bookmark header to the current bookmarks of the request, unless the response is committed.
+         */
+        void writeBookmarkHeader() {
+            final Set<String> values = BookmarkHolder.getResponseValues();
+
+            if (!isCommitted() && !values.isEmpty()) {
+                setHeader(Constants.BOOKMARK_HEADER, String.join(SEPARATOR, values));
+            }
+        }
+    }
+}
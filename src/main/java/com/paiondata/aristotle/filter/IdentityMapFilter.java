@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.filter;
+
+import com.paiondata.aristotle.common.util.IdentityMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Makes every request a unit of work of the {@link IdentityMap}, so that the graphs, users and nodes it looks up
+ * repeatedly are read from the database only once.
+ */
+@Component
+public class IdentityMapFilter extends OncePerRequestFilter {
+
+    /**
+     * Runs the request in its own unit of work.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the remaining filter chain
+     *
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails to read the request or write the response
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        IdentityMap.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            IdentityMap.clear();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiondata.aristotle.common.base.HttpStatus;
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.common.util.LoadShedder;
+import com.paiondata.aristotle.common.util.QueueTimingExecutor;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Admits requests in front of the controllers, rejecting the low-priority ones with a fast {@code 503} while the
+ * {@link LoadShedder} reports the service as overloaded, so that point reads stay fast.
+ * <p>
+ * Low-priority requests are the ones matching an entry of {@code aristotle.shedding.low-priority}, made of an HTTP
+ * method and a path pattern such as {@code GET /user}, and the expansions whose degree is negative or at least
+ * {@code aristotle.shedding.deep-expansion-degree}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final String EXPANSION_PATH = "/node/expand";
+
+    private static final String DEGREE = "degree";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final LoadShedder loadShedder;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<String[]> lowPriorityEndpoints;
+
+    private final int deepExpansionDegree;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param loadShedder the load shedder deciding whether the service is overloaded
+     * @param objectMapper the mapper writing the responses of the shed requests
+     * @param lowPriorityEndpoints the HTTP methods and path patterns of the low-priority endpoints
+     * @param deepExpansionDegree the degree from which an expansion is low-priority
+     */
+    @Autowired
+    public LoadSheddingFilter(final LoadShedder loadShedder, final ObjectMapper objectMapper,
+                              @Value("${aristotle.shedding.low-priority:GET /user,POST /node/import,PATCH /node/bulk}")
+                              final List<String> lowPriorityEndpoints,
+                              @Value("${aristotle.shedding.deep-expansion-degree:3}") final int deepExpansionDegree) {
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+        this.lowPriorityEndpoints = lowPriorityEndpoints.stream()
+                .map(endpoint -> endpoint.trim().split("\\s+", 2))
+                .toList();
+        this.deepExpansionDegree = deepExpansionDegree;
+    }
+
+    /**
+     * Records the queue wait of the request, and rejects it if it is low-priority and the service is overloaded.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the remaining filter chain
+     *
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails to read the request or write the response
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        loadShedder.recordQueueWait(QueueTimingExecutor.currentQueueWaitNanos());
+
+        if (loadShedder.isShedding() && isLowPriority(request)) {
+            loadShedder.recordShed();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Result.fail(HttpStatus.SERVICE_UNAVAILABLE, Message.LOAD_SHED));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Checks whether a request may be shed.
+     *
+     * @param request the HTTP request
+     *
+     * @return {@code true} if the request is low-priority
+     */
+    boolean isLowPriority(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (EXPANSION_PATH.equals(path)) {
+            final int degree = NumberUtils.toInt(request.getParameter(DEGREE), 0);
+            return degree < 0 || degree >= deepExpansionDegree;
+        }
+
+        return lowPriorityEndpoints.stream().anyMatch(endpoint -> endpoint.length == 2
+                && endpoint[0].equalsIgnoreCase(request.getMethod()) && PATH_MATCHER.match(endpoint[1], path));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.filter;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.RequestDeadline;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Sets the deadline of every request, bounding the transactions it opens.
+ * <p>
+ * The timeout of a request is the one configured for the first pattern of {@code aristotle.deadline.endpoints}
+ * matching its path, or {@code aristotle.deadline.default-ms}; a timeout of {@code 0} means no deadline. A client
+ * may shorten the timeout, never lengthen it, with the number of milliseconds it is willing to wait in the
+ * {@link Constants#REQUEST_TIMEOUT_HEADER} header, so that the work of a request stops when its client gives up.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final long defaultTimeoutMs;
+
+    private final Map<String, Long> endpointTimeoutsMs;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param environment the environment the timeouts of the endpoints are read from
+     * @param defaultTimeoutMs the timeout of the requests to the endpoints without one of their own
+     */
+    @Autowired
+    public RequestDeadlineFilter(final Environment environment,
+                                 @Value("${aristotle.deadline.default-ms:30000}") final long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.endpointTimeoutsMs = Binder.get(environment)
+                .bind("aristotle.deadline.endpoints", Bindable.mapOf(String.class, Long.class))
+                .orElse(Map.of());
+    }
+
+    /**
+     * Binds the deadline to the request while it is handled.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param filterChain the remaining filter chain
+     *
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails to read the request or write the response
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        RequestDeadline.start(timeoutMs(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /**
+     * Computes the timeout of a request from the configuration of its endpoint and the timeout sent by its client.
+     *
+     * @param request the HTTP request
+     *
+     * @return the timeout in milliseconds, {@code 0} for no deadline
+     */
+    long timeoutMs(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final long configured = endpointTimeoutsMs.entrySet().stream()
+                .filter(endpoint -> PATH_MATCHER.match(endpoint.getKey(), path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(defaultTimeoutMs);
+
+        final long requested = NumberUtils.toLong(request.getHeader(Constants.REQUEST_TIMEOUT_HEADER), 0L);
+        if (requested <= 0) {
+            return configured;
+        }
+
+        return configured <= 0 ? requested : Math.min(configured, requested);
+    }
+}
@@ -15,12 +15,15 @@
  */
 package com.paiondata.aristotle.mapper;
 
+import com.paiondata.aristotle.common.util.AsyncReadContext;
 import com.paiondata.aristotle.model.entity.Graph;
+import com.paiondata.aristotle.model.vo.UserVO;
 
 import org.neo4j.driver.Transaction;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * GraphMapper interface for mapping Graph objects.
@@ -51,6 +54,46 @@ public interface GraphMapper {
      */
     List<Map<String, Object>> getGraphsByOidcid(String oidcid);
 
+    /**
+     * Retrieves a page of users with their associated graphs, ordered by OIDC ID.
+     *
+     * @param after the OIDC ID after which the page starts, or an empty string for the first page
+     * @param limit the maximum number of users in the page
+     *
+     * @return the users and their graphs
+     */
+    List<UserVO> getUsersWithGraphs(String after, int limit);
+
+    /**
+     * Retrieves the version of the graph a node belongs to without blocking the calling thread.
+     *
+     * @param nodeUuid the UUID of the node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the version, or with {@code null} if the node is not found
+     */
+    CompletionStage<Long> getGraphVersionByNodeUuidAsync(String nodeUuid, AsyncReadContext context);
+
+    /**
+     * Retrieves a graph by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the graph, or with {@code null} if the graph is not found
+     */
+    CompletionStage<Graph> getGraphByUuidAsync(String uuid, AsyncReadContext context);
+
+    /**
+     * Retrieves the version of a graph by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the version, or with {@code null} if the graph is not found
+     */
+    CompletionStage<Long> getGraphVersionByUuidAsync(String uuid, AsyncReadContext context);
+
     /**
      * Updates a graph by its UUID.
      *
@@ -61,4 +104,27 @@ public interface GraphMapper {
      * @param tx the Neo4j transaction
      */
     void updateGraphByUuid(String uuid, String title, String description, String currentTime, Transaction tx);
+
+    /**
+     * Purges deleted graphs and their graph nodes, committing the graph nodes in batches.
+     *
+     * @param maxBatches the maximum number of batches of graph nodes to delete
+     *
+     * @return the number of purged graph nodes
+     */
+    long purgeDeletedGraphs(int maxBatches);
+
+    /**
+     * Counts the deleted graphs which have not been purged yet.
+     *
+     * @return the number of deleted graphs
+     */
+    long countDeletedGraphs();
+
+    /**
+     * Counts the graph nodes of deleted graphs which have not been purged yet.
+     *
+     * @return the number of graph nodes of deleted graphs
+     */
+    long countDeletedGraphNodes();
 }
@@ -15,14 +15,20 @@
  */
 package com.paiondata.aristotle.mapper;
 
+import com.paiondata.aristotle.common.util.AsyncReadContext;
 import com.paiondata.aristotle.model.dto.GetRelationDTO;
-import com.paiondata.aristotle.model.dto.NodeDTO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.vo.GraphVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
+import com.paiondata.aristotle.model.vo.RelationVO;
 
 import org.neo4j.driver.Transaction;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 
 /**
  * Mapper interface for NodeMapper.
@@ -39,18 +45,27 @@ public interface NodeMapper {
     NodeVO getNodeByUuid(String uuid);
 
     /**
-     * Creates a node in the Neo4j database.
+     * Retrieves a graph node by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the graph node, or with {@code null} if no node is found
+     */
+    CompletionStage<NodeVO> getNodeByUuidAsync(String uuid, AsyncReadContext context);
+
+    /**
+     * Creates nodes in the Neo4j database with as few statements as possible.
      * @param graphUuid the UUID of the graph
-     * @param nodeUuid the UUID of the node
-     * @param relationUuid the UUID of the link between the created node and the graph this node belongs to
+     * @param rows the nodes to create, each holding the node UUID under {@code nodeUuid}, the UUID of the link
+     *             between the created node and the graph under {@code relationUuid} and the node properties under
+     *             {@code properties}
      * @param currentTime the current time
-     * @param nodeDTO the NodeDTO object containing the node properties
      * @param tx the Neo4j transaction
      *
-     * @return the created Node object
+     * @return the created Node objects, in the order of the rows
      */
-    NodeVO createNode(String graphUuid, String nodeUuid, String relationUuid,
-                                String currentTime, NodeDTO nodeDTO, Transaction tx);
+    List<NodeVO> createNodes(String graphUuid, List<Map<String, Object>> rows, String currentTime, Transaction tx);
 
     /**
      * Retrieves all relationships by graph uuid.
@@ -64,6 +79,36 @@ public interface NodeMapper {
     GetRelationDTO getRelationByGraphUuid(String uuid, Map<String, String> properties,
                                           Integer pageNumber, Integer pageSize);
 
+    /**
+     * Retrieves one page of the nodes of a graph and their relationships without blocking the calling thread.
+     * @param uuid the UUID of the graph
+     * @param properties the filter properties of the node
+     * @param pageNumber the page number
+     * @param pageSize the page size
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the Data Transfer Object (DTO) containing the relations and nodes
+     */
+    CompletionStage<GetRelationDTO> getRelationByGraphUuidAsync(String uuid, Map<String, String> properties,
+                                                                Integer pageNumber, Integer pageSize,
+                                                                AsyncReadContext context);
+
+    /**
+     * Streams all relationships by graph uuid without collecting them in memory.
+     * All nodes of the page are passed to {@code nodeConsumer}, ordered by UUID, before any relation is passed to
+     * {@code relationConsumer}.
+     * @param uuid the UUID of the graph
+     * @param properties the filter properties of the node
+     * @param pageNumber the page number
+     * @param pageSize the page size
+     * @param nodeConsumer the consumer receiving the nodes
+     * @param relationConsumer the consumer receiving the relations
+     *
+     * @return the number of nodes in the page
+     */
+    long streamRelationByGraphUuid(String uuid, Map<String, String> properties, Integer pageNumber, Integer pageSize,
+                                   Consumer<NodeVO> nodeConsumer, Consumer<RelationVO> relationConsumer);
+
     /**
      * Retrieves a k-degree expansion of a node in the graph.
      * @param graphUuid the UUID of the graph
@@ -75,17 +120,32 @@ public interface NodeMapper {
     GraphVO kDegreeExpansion(String graphUuid, String nodeUuid, Integer k);
 
     /**
-     * Binds two graph nodes with a specified relationship.
+     * Retrieves a k-degree expansion of a node in the graph without blocking the calling thread.
+     * @param graphUuid the UUID of the graph
+     * @param nodeUuid the UUID of the node to expand
+     * @param k the degree of expansion
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
      *
-     * @param uuid1        the UUID of the first graph node
-     * @param uuid2        the UUID of the second graph node
-     * @param relation     the name of the relationship
-     * @param relationUuid the UUID of the link between the created node and the graph this node belongs to
-     * @param currentTime  the current timestamp
+     * @return the stage completed with a GraphVO object containing the expanded nodes and their relationships
+     */
+    CompletionStage<GraphVO> kDegreeExpansionAsync(String graphUuid, String nodeUuid, Integer k,
+                                                   AsyncReadContext context);
+
+    /**
+     * Binds pairs of graph nodes of a graph with the specified relationships using as few statements as possible.
+     *
+     * @param graphUuid   the UUID of the graph
+     * @param rows        the relationships to create, each holding the UUID of the first graph node under
+     *                    {@code sourceNode}, the UUID of the second graph node under {@code targetNode}, <br>
+     *                    the name of the relationship under {@code relation} and the UUID of the relationship under
+     *                    {@code relationUuid}
+     * @param currentTime the current timestamp
      * @param tx the Neo4j transaction
+     *
+     * @return the number of created relationships, rows whose nodes are not nodes of the graph are skipped
      */
-    void bindGraphNodeToGraphNode(String uuid1, String uuid2, String relation,
-                                  String relationUuid, String currentTime, Transaction tx);
+    long bindGraphNodesToGraphNodes(String graphUuid, List<Map<String, Object>> rows, String currentTime,
+                                    Transaction tx);
 
     /**
      * Updates a graph node by its UUID.
@@ -95,4 +155,26 @@ public interface NodeMapper {
      * @param tx the Neo4j transaction
      */
     void updateNodeByUuid(NodeUpdateDTO nodeUpdateDTO, String currentTime, Transaction tx);
+
+    /**
+     * Sets or removes some properties of a graph node by its UUID, leaving the others unchanged.
+     *
+     * @param nodePatchDTO the NodePatchDTO object containing the properties to set, or to remove if {@code null}
+     * @param currentTime the current time for update
+     * @param tx the Neo4j transaction
+     */
+    void patchNodeByUuid(NodePatchDTO nodePatchDTO, String currentTime, Transaction tx);
+
+    /**
+     * Sets or removes some properties of many graph nodes of a graph using as few statements as possible.
+     *
+     * @param graphUuid the UUID of the graph the nodes belong to
+     * @param rows the updates, each holding the UUID of the graph node under {@code nodeUuid} and the properties to
+     *             set, or to remove if {@code null}, under {@code properties}
+     * @param currentTime the current time for update
+     * @param tx the Neo4j transaction
+     *
+     * @return the UUIDs of the updated graph nodes
+     */
+    Set<String> patchNodes(String graphUuid, List<Map<String, Object>> rows, String currentTime, Transaction tx);
 }
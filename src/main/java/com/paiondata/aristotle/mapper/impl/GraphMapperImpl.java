@@ -16,23 +16,33 @@
 package com.paiondata.aristotle.mapper.impl;
 
 import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.AsyncSessions;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
 import com.paiondata.aristotle.common.util.NodeExtractor;
+import com.paiondata.aristotle.common.util.RequestDeadline;
 import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.model.entity.Graph;
+import com.paiondata.aristotle.model.vo.UserVO;
 
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
-import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.Transaction;
 import org.neo4j.driver.Values;
+import org.neo4j.driver.async.ResultCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * GraphMapperImpl class provides methods for interacting with the Neo4j database using Cypher queries.
@@ -40,10 +50,88 @@ import java.util.Map;
 @Repository
 public class GraphMapperImpl implements GraphMapper {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GraphMapperImpl.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String MATCH_DELETED_GRAPH_NODES = "MATCH (:DeletedGraph)-[:RELATION]->(gn:GraphNode) ";
+
+    private static final String MATCH_GRAPH_VERSION = "OPTIONAL MATCH (v:GraphVersion { graph_uuid: g.uuid }) ";
+
+    /**
+     * Projects a graph with its update time read from its {@code GraphVersion} node, which writers of the nodes and
+     * relations of the graph update instead of the graph node, see
+     * {@link com.paiondata.aristotle.common.util.GraphTouchBuffer}.
+     */
+    private static final String GRAPH_WITH_UPDATE_TIME = "g{.*, update_time: coalesce(v.update_time, g.update_time)}";
+
+    private static final String RETURN_GRAPH_WITH_UPDATE_TIME = "RETURN " + GRAPH_WITH_UPDATE_TIME + " AS g";
+
+    private static final String RETURN_VERSION = "RETURN coalesce(v.version, 0)";
+
+    private static final String GRAPHS_BY_OIDCID_CYPHER = "MATCH (u:User)-[r:RELATION]->(g:Graph) " +
+            "WHERE u.oidcid = $oidcid " +
+            "WITH DISTINCT g " +
+            MATCH_GRAPH_VERSION +
+            RETURN_GRAPH_WITH_UPDATE_TIME;
+
+    private static final String RETURN_COUNT = "RETURN count(*) AS count";
+
+    private static final String OIDCID = "oidcid";
+
+    private static final String USERNAME = "username";
+
+    private static final String GRAPHS = "graphs";
+
+    private static final String USERS_WITH_GRAPHS_CYPHER = "MATCH (u:User) WHERE u.oidcid > $after " +
+            "WITH u ORDER BY u.oidcid LIMIT $limit " +
+            "OPTIONAL MATCH (u)-[:RELATION]->(g:Graph) " +
+            "WITH DISTINCT u, g " +
+            MATCH_GRAPH_VERSION +
+            "WITH u, collect(" + GRAPH_WITH_UPDATE_TIME + ") AS graphs " +
+            "RETURN u.oidcid AS oidcid, u.username AS username, graphs ORDER BY oidcid";
+
+    private static final String GRAPH_VERSION_BY_NODE_UUID_CYPHER =
+            "MATCH (g:Graph)-[:RELATION]->(gn:GraphNode { uuid: $uuid }) " +
+            MATCH_GRAPH_VERSION +
+            RETURN_VERSION;
+
+    private static final String MATCH_GRAPH_BY_UUID = "MATCH (g:Graph { uuid: $uuid }) ";
+
+    private static final String GRAPH_BY_UUID_CYPHER = MATCH_GRAPH_BY_UUID +
+            MATCH_GRAPH_VERSION +
+            RETURN_GRAPH_WITH_UPDATE_TIME;
+
+    private static final String GRAPH_VERSION_BY_UUID_CYPHER = MATCH_GRAPH_BY_UUID +
+            MATCH_GRAPH_VERSION +
+            RETURN_VERSION;
+
+    private static final String PURGE_NODES_CYPHER = MATCH_DELETED_GRAPH_NODES +
+            "WITH gn LIMIT $batchSize " +
+            "DETACH DELETE gn " +
+            RETURN_COUNT;
+
+    private static final String PURGE_GRAPHS_CYPHER = "MATCH (g:DeletedGraph) " +
+            "WHERE NOT (g)-[:RELATION]->(:GraphNode) " +
+            "WITH g LIMIT $batchSize " +
+            MATCH_GRAPH_VERSION +
+            "DETACH DELETE g, v " +
+            RETURN_COUNT;
+
+    private static final String COUNT_DELETED_GRAPHS_CYPHER = "MATCH (:DeletedGraph) " + RETURN_COUNT;
+
+    private static final String COUNT_DELETED_GRAPH_NODES_CYPHER = MATCH_DELETED_GRAPH_NODES + RETURN_COUNT;
+
     private final Driver driver;
 
     private final NodeExtractor nodeExtractor;
 
+    /**
+     * The maximum number of graph nodes purged by a single transaction.
+     */
+    @Value("${aristotle.neo4j.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     /**
      * Constructs a new GraphMapperImpl object with the specified Driver and NodeExtractor.
      * @param driver the Driver instance
@@ -110,7 +198,7 @@ public class GraphMapperImpl implements GraphMapper {
      * Retrieves a list of graphs associated with a user by their unique identifier (OIDC ID).
      *
      * Constructs a Cypher query to match a user by their oidcid and retrieve all graphs they are related to.
-     * Executes the Cypher query within a read transaction using the Neo4j session.
+     * Executes the Cypher query within a read transaction using a read session bound to the request's bookmarks.
      * Extracts the graph details from the query results and returns a list of maps, where each map represents a graph.
      *
      * @param oidcid the unique identifier of the user
@@ -119,11 +207,9 @@ public class GraphMapperImpl implements GraphMapper {
      */
     @Override
     public List<Map<String, Object>> getGraphsByOidcid(final String oidcid) {
-        final String cypherQuery = "MATCH (u:User)-[r:RELATION]->(g:Graph) WHERE u.oidcid = $oidcid RETURN DISTINCT g";
-
-        try (Session session = driver.session(SessionConfig.builder().build())) {
-            return session.readTransaction(tx -> {
-                final var result = tx.run(cypherQuery, Values.parameters("oidcid", oidcid));
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            final List<Map<String, Object>> graphs = session.readTransaction(tx -> {
+                final var result = tx.run(GRAPHS_BY_OIDCID_CYPHER, Values.parameters(OIDCID, oidcid));
                 final List<Map<String, Object>> resultList = new ArrayList<>();
                 while (result.hasNext()) {
                     final Record record = result.next();
@@ -132,10 +218,117 @@ public class GraphMapperImpl implements GraphMapper {
                     resultList.add(graph);
                 }
                 return resultList;
-            });
+            }, RequestDeadline.transactionConfig());
+
+            BookmarkHolder.update(session.lastBookmark());
+            return graphs;
         }
     }
 
+    /**
+     * Retrieves a page of users with their associated graphs, ordered by OIDC ID.
+     * <p>
+     * The page is read with a single query: the users are ranged over the unique index on their OIDC ID, which also
+     * provides their order, and the graphs of every user are collected on the server. The cost of a page therefore
+     * depends on its size only, not on the number of users before it.
+     *
+     * @param after the OIDC ID after which the page starts, or an empty string for the first page
+     * @param limit the maximum number of users in the page
+     *
+     * @return the users and their graphs
+     */
+    @Override
+    public List<UserVO> getUsersWithGraphs(final String after, final int limit) {
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            final List<UserVO> users = session.readTransaction(tx -> tx.run(USERS_WITH_GRAPHS_CYPHER,
+                            Values.parameters("after", after, Constants.LIMIT, limit))
+                    .list(record -> UserVO.builder()
+                            .oidcid(record.get(OIDCID).asString())
+                            .username(record.get(USERNAME).asString(null))
+                            .graphs(record.get(GRAPHS).asList(nodeExtractor::extractGraph))
+                            .build()), RequestDeadline.transactionConfig());
+
+            BookmarkHolder.update(session.lastBookmark());
+            return users;
+        }
+    }
+
+    /**
+     * Retrieves the version of the graph a node belongs to without blocking the calling thread.
+     * <p>
+     * Looks the node up through the unique index on its UUID, like
+     * {@link com.paiondata.aristotle.repository.GraphRepository#getGraphVersionByNodeUuid(String)}, but through
+     * an asynchronous session, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param nodeUuid the UUID of the node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the version, or with {@code null} if the node is not found
+     */
+    @Override
+    public CompletionStage<Long> getGraphVersionByNodeUuidAsync(final String nodeUuid,
+                                                                final AsyncReadContext context) {
+        return AsyncSessions.<Record>readAsync(driver, context, tx -> tx
+                        .runAsync(GRAPH_VERSION_BY_NODE_UUID_CYPHER, Values.parameters(Constants.UUID, nodeUuid))
+                        .thenCompose(ResultCursor::nextAsync))
+                .thenApply(record -> record == null ? null : record.get(0).asLong());
+    }
+
+    /**
+     * Retrieves a graph by its UUID without blocking the calling thread.
+     * <p>
+     * Reads the graph with the update time of its {@code GraphVersion} node, like
+     * {@link com.paiondata.aristotle.repository.GraphRepository#getGraphByUuid(String)}, but through an asynchronous
+     * session, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the graph, or with {@code null} if the graph is not found
+     */
+    @Override
+    public CompletionStage<Graph> getGraphByUuidAsync(final String uuid, final AsyncReadContext context) {
+        return AsyncSessions.<Record>readAsync(driver, context, tx -> tx
+                        .runAsync(GRAPH_BY_UUID_CYPHER, Values.parameters(Constants.UUID, uuid))
+                        .thenCompose(ResultCursor::nextAsync))
+                .thenApply(record -> {
+                    if (record == null) {
+                        return null;
+                    }
+
+                    final Map<String, Object> graph = nodeExtractor.extractGraph(record.get(Constants.GRAPH_ALISA_G));
+                    return Graph.builder()
+                            .uuid((String) graph.get(Constants.UUID))
+                            .title((String) graph.get(Constants.TITLE))
+                            .description((String) graph.get(Constants.DESCRIPTION))
+                            .createTime((String) graph.get(Constants.CREATE_TIME))
+                            .updateTime((String) graph.get(Constants.UPDATE_TIME))
+                            .build();
+                });
+    }
+
+    /**
+     * Retrieves the version of a graph by its UUID without blocking the calling thread.
+     * <p>
+     * Runs the same query as {@link com.paiondata.aristotle.repository.GraphRepository#getGraphVersionByUuid(String)}
+     * through an asynchronous session, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the version, or with {@code null} if the graph is not found
+     */
+    @Override
+    public CompletionStage<Long> getGraphVersionByUuidAsync(final String uuid, final AsyncReadContext context) {
+        return AsyncSessions.<Record>readAsync(driver, context, tx -> tx
+                        .runAsync(GRAPH_VERSION_BY_UUID_CYPHER, Values.parameters(Constants.UUID, uuid))
+                        .thenCompose(ResultCursor::nextAsync))
+                .thenApply(record -> record == null ? null : record.get(0).asLong());
+    }
+
     /**
      * Updates the details of a graph by its UUID.
      *
@@ -152,7 +345,7 @@ public class GraphMapperImpl implements GraphMapper {
     @Override
     public void updateGraphByUuid(final String uuid, final String title,
                                   final String description, final String currentTime, final Transaction tx) {
-        final StringBuilder cypherQuery = new StringBuilder("MATCH (g:Graph { uuid: $uuid }) ");
+        final StringBuilder cypherQuery = new StringBuilder(MATCH_GRAPH_BY_UUID);
         final Map<String, Object> parameters = new HashMap<>();
         parameters.put(Constants.UUID, uuid);
 
@@ -166,11 +359,105 @@ public class GraphMapperImpl implements GraphMapper {
             parameters.put(Constants.DESCRIPTION, description);
         }
 
-        cypherQuery.append("SET g.update_time = $updateTime ");
+        cypherQuery.append("MERGE (v:GraphVersion { graph_uuid: $uuid }) ");
+        cypherQuery.append("SET v.update_time = $updateTime, v.version = coalesce(v.version, 0) + 1 ");
         parameters.put(Constants.UPDATE_TIME, currentTime);
 
         cypherQuery.append("RETURN g");
 
         tx.run(cypherQuery.toString(), parameters);
     }
+
+    /**
+     * Purges graph nodes of deleted graphs, then the deleted graphs left without graph nodes.
+     * <p>
+     * The graph nodes are matched and deleted on the server, at most {@code aristotle.neo4j.batch-size} of them per
+     * transaction, each transaction committed on its own so the size of a graph is not bounded by the transaction
+     * memory of the database. The deleted graphs are purged once a batch comes back short, in batches of the same
+     * size within the batches left. A graph is only purged
+     * when no graph node is left in it, so a graph deleted while the purge runs is never orphaning its graph nodes.
+     *
+     * @param maxBatches the maximum number of batches of graph nodes to delete
+     *
+     * @return the number of purged graph nodes
+     */
+    @Override
+    public long purgeDeletedGraphs(final int maxBatches) {
+        final Map<String, Object> parameters = Map.of(Constants.BATCH_SIZE, batchSize);
+
+        try (Session session = driver.session()) {
+            long purged = 0;
+            for (int i = 0; i < maxBatches; i++) {
+                final long batch = session.writeTransaction(tx -> count(tx.run(PURGE_NODES_CYPHER, parameters)));
+                purged += batch;
+                if (batch < batchSize) {
+                    final long graphs = purgeEmptyDeletedGraphs(session, parameters, Math.max(1, maxBatches - i - 1));
+                    LOG.info("Purged {} graph nodes and {} deleted graphs", purged, graphs);
+                    return purged;
+                }
+            }
+
+            LOG.info("Purged {} graph nodes, deleted graphs left for the next run", purged);
+            return purged;
+        }
+    }
+
+    /**
+     * Deletes the deleted graphs whose nodes have all been purged, in batches of the configured batch size, each in
+     * its own write transaction.
+     *
+     * @param session the session of the purge
+     * @param parameters the parameters of the purge statement
+     * @param maxBatches the maximum number of batches of graphs to delete
+     *
+     * @return the number of purged graphs, the others being left for the next run
+     */
+    private long purgeEmptyDeletedGraphs(final Session session, final Map<String, Object> parameters,
+                                         final int maxBatches) {
+        long purged = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            final long batch = session.writeTransaction(tx -> count(tx.run(PURGE_GRAPHS_CYPHER, parameters)));
+            purged += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+
+        return purged;
+    }
+
+    /**
+     * Counts the deleted graphs which have not been purged yet.
+     *
+     * @return the number of deleted graphs
+     */
+    @Override
+    public long countDeletedGraphs() {
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            return session.readTransaction(tx -> count(tx.run(COUNT_DELETED_GRAPHS_CYPHER)));
+        }
+    }
+
+    /**
+     * Counts the graph nodes of deleted graphs which have not been purged yet.
+     *
+     * @return the number of graph nodes of deleted graphs
+     */
+    @Override
+    public long countDeletedGraphNodes() {
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            return session.readTransaction(tx -> count(tx.run(COUNT_DELETED_GRAPH_NODES_CYPHER)));
+        }
+    }
+
+    /**
+     * Reads the count returned by a statement.
+     *
+     * @param result the result of the statement
+     *
+     * @return the count
+     */
+    private static long count(final Result result) {
+        return result.single().get(Constants.COUNT).asLong();
+    }
 }
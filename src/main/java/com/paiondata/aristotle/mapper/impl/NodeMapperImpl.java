@@ -17,22 +17,30 @@ package com.paiondata.aristotle.mapper.impl;
 
 import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.AsyncSessions;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.common.util.FanOutExecutor;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
 import com.paiondata.aristotle.common.util.NodeExtractor;
 import com.paiondata.aristotle.common.util.RelationShipExtractor;
+import com.paiondata.aristotle.common.util.RequestDeadline;
 import com.paiondata.aristotle.mapper.NodeMapper;
 import com.paiondata.aristotle.model.dto.GetRelationDTO;
-import com.paiondata.aristotle.model.dto.NodeDTO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.vo.GraphVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
 import com.paiondata.aristotle.model.vo.RelationVO;
 
 import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Session;
-import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Value;
 import org.neo4j.driver.Values;
+import org.neo4j.driver.async.ResultCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,13 +49,18 @@ import org.springframework.stereotype.Repository;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -59,36 +72,103 @@ public class NodeMapperImpl implements NodeMapper {
 
     private static final Logger LOG = LoggerFactory.getLogger(NodeMapperImpl.class);
 
-    private static final String GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER = "MATCH (g:Graph { uuid: $graphUuid })-" +
-            "[:RELATION]->(n:GraphNode { uuid: $nodeUuid}) " +
-            "WITH g, n " +
+    private static final String MATCH_GRAPH = "MATCH (g:Graph { uuid: $graphUuid }) ";
+
+    private static final String UNWIND_UUIDS = "UNWIND $uuids AS nodeUuid ";
+
+    private static final String GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER = MATCH_GRAPH +
+            UNWIND_UUIDS +
+            "MATCH (g)-[:RELATION]->(n:GraphNode { uuid: nodeUuid }) " +
             "MATCH (n)-[relation:RELATION]-(m:GraphNode) " +
             "RETURN m, relation";
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String UNWIND_ROWS = "UNWIND $rows AS row ";
+
+    private static final String PAGE_RELATIONS_CYPHER = UNWIND_UUIDS +
+            "MATCH (n:GraphNode { uuid: nodeUuid })-[relation:RELATION]->(:GraphNode) " +
+            "RETURN relation";
+
+    private static final String NODE_BY_UUID_CYPHER =
+            "MATCH (:Graph)-[:RELATION]->(n:GraphNode { uuid: $uuid }) RETURN " + Constants.NODE_ALIAS_N;
+
+    private static final String FIRST_NODE_CYPHER = MATCH_GRAPH +
+            "MATCH (g)-[:RELATION]->(n:GraphNode { uuid: $nodeUuid }) RETURN " + Constants.NODE_ALIAS_N;
+
+    private static final String CREATE_NODES_CYPHER = "MATCH (g:Graph) WHERE g.uuid = $graphUuid " +
+            UNWIND_ROWS +
+            "CREATE (gn:GraphNode) " +
+            "SET gn = row.properties, gn.uuid = row.nodeUuid, " +
+            "gn.create_time = $currentTime, gn.update_time = $currentTime " +
+            "CREATE (g)-[r:RELATION {name: 'HAVE', uuid: row.relationUuid, " +
+            "create_time: $currentTime, update_time: $currentTime}]->(gn) " +
+            "RETURN gn";
+
+    private static final String BIND_NODES_CYPHER = MATCH_GRAPH +
+            UNWIND_ROWS +
+            "WITH g, row, row.sourceNode AS sourceUuid, row.targetNode AS targetUuid " +
+            "MATCH (gn1:GraphNode { uuid: sourceUuid }) WHERE (g)-[:RELATION]->(gn1) " +
+            "MATCH (gn2:GraphNode { uuid: targetUuid }) WHERE (g)-[:RELATION]->(gn2) " +
+            "CREATE (gn1)-[r:RELATION{name: row.relation, uuid: row.relationUuid, sourceNode: sourceUuid, " +
+            "targetNode: targetUuid, create_time: $currentTime, update_time: $currentTime}]->(gn2)";
+
+    private static final String TOUCH_NODES_CYPHER = MATCH_GRAPH +
+            UNWIND_UUIDS +
+            "MATCH (gn:GraphNode { uuid: nodeUuid }) WHERE (g)-[:RELATION]->(gn) " +
+            "SET gn.update_time = $currentTime";
+
+    private static final String RETURN_GRAPH_UUID = "RETURN g.uuid AS graphUuid";
+
+    private static final String PATCH_NODE_CYPHER = "MATCH (g:Graph)-[:RELATION]->(gn:GraphNode { uuid: $nodeUuid }) " +
+            "SET gn += $properties, gn.update_time = $updateTime " +
+            RETURN_GRAPH_UUID;
+
+    private static final String PATCH_NODES_CYPHER = MATCH_GRAPH +
+            UNWIND_ROWS +
+            "MATCH (g)-[:RELATION]->(gn:GraphNode { uuid: row.nodeUuid }) " +
+            "SET gn += row.properties, gn.update_time = $currentTime " +
+            "RETURN gn.uuid AS nodeUuid";
+
     private final Driver driver;
 
     private final NodeExtractor nodeExtractor;
     private final RelationShipExtractor relationShipExtractor;
 
+    private final GraphTouchBuffer graphTouchBuffer;
+
+    private final FanOutExecutor fanOutExecutor;
+
+    /**
+     * The maximum number of rows sent to the database by a single batched statement.
+     */
+    @org.springframework.beans.factory.annotation.Value("${aristotle.neo4j.batch-size:" + DEFAULT_BATCH_SIZE + "}")
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
     /**
      * Constructs a new NodeMapperImpl object with the specified Driver and NodeExtractor.
      * @param driver the Driver instance
      * @param nodeExtractor the NodeExtractor instance
      * @param relationShipExtractor the RelationShipExtractor instance
+     * @param graphTouchBuffer the GraphTouchBuffer recording the graphs changed by a transaction
+     * @param fanOutExecutor the FanOutExecutor running the concurrent reads of an expansion
      */
     @Autowired
     public NodeMapperImpl(final Driver driver,
-                          final NodeExtractor nodeExtractor, final RelationShipExtractor relationShipExtractor) {
+                          final NodeExtractor nodeExtractor, final RelationShipExtractor relationShipExtractor,
+                          final GraphTouchBuffer graphTouchBuffer, final FanOutExecutor fanOutExecutor) {
         this.driver = driver;
         this.nodeExtractor = nodeExtractor;
         this.relationShipExtractor = relationShipExtractor;
+        this.graphTouchBuffer = graphTouchBuffer;
+        this.fanOutExecutor = fanOutExecutor;
     }
 
     /**
      * Retrieves a node by its UUID.
      * <p>
      * Constructs a Cypher query to match a node by its UUID and return it.
-     * Executes the Cypher query within a read transaction using the Neo4j session.
+     * Executes the Cypher query within a read transaction using a read session bound to the request's bookmarks.
      * Extracts the node details from the query result and returns a {@link NodeVO} object.
      * If no node is found, returns {@code null}.
      *
@@ -98,74 +178,91 @@ public class NodeMapperImpl implements NodeMapper {
      */
     @Override
     public NodeVO getNodeByUuid(final String uuid) {
-        final String cypherQuery = "MATCH (n:GraphNode { uuid: $uuid }) RETURN n";
-
-        try (Session session = driver.session(SessionConfig.builder().build())) {
-            return session.readTransaction(tx -> {
-                final var result = tx.run(cypherQuery, Values.parameters(Constants.UUID, uuid));
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            final NodeVO node = session.readTransaction(tx -> {
+                final var result = tx.run(NODE_BY_UUID_CYPHER, Values.parameters(Constants.UUID, uuid));
 
                 NodeVO n = null;
                 while (result.hasNext()) {
                     final Record record = result.next();
-                    n = nodeExtractor.extractNode(record.get("n"));
+                    n = nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_N));
                 }
 
                 return n;
-            });
+            }, RequestDeadline.transactionConfig());
+
+            BookmarkHolder.update(session.lastBookmark());
+            return node;
         }
     }
 
     /**
-     * Creates a new node and associates it with a graph.
+     * Retrieves a node by its UUID without blocking the calling thread.
      * <p>
-     * Constructs a Cypher query to match a graph by its UUID, update its update time, <br>
-     * create a new node with the provided details,
-     * and establish a relationship between the graph and the new node.
-     * Executes the Cypher query using the provided transaction.
-     * Extracts the node details from the query result and returns a {@link NodeVO} object.
+     * Runs the same query as {@link #getNodeByUuid(String)} through an asynchronous session, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param uuid the UUID of the node to retrieve
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
      *
-     * @param graphUuid the UUID of the graph to which the node will be added
-     * @param nodeUuid the UUID of the new node
-     * @param relationUuid the UUID of the relationship between the graph and the new node
+     * @return the stage completed with the node, or with {@code null} if no node is found
+     */
+    @Override
+    public CompletionStage<NodeVO> getNodeByUuidAsync(final String uuid, final AsyncReadContext context) {
+        return AsyncSessions.<Record>readAsync(driver, context, tx -> tx
+                        .runAsync(NODE_BY_UUID_CYPHER, Values.parameters(Constants.UUID, uuid))
+                        .thenCompose(ResultCursor::nextAsync))
+                .thenApply(record -> record == null
+                        ? null : nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_N)));
+    }
+
+    /**
+     * Creates new nodes and associates them with a graph.
+     * <p>
+     * Sends the rows to the database in chunks of the configured batch size, each chunk being a single
+     * {@code UNWIND} statement that creates the nodes and the relationships between the graph and the nodes.
+     * The graph is recorded as changed in the {@link GraphTouchBuffer}, which writes its update time once per
+     * transaction.
+     * Extracts the node details from the query results and returns them in the order of the rows.
+     *
+     * @param graphUuid the UUID of the graph to which the nodes will be added
+     * @param rows the nodes to create, each holding the node UUID under {@link Constants#NODE_UUID}, <br>
+     *             the relation UUID under {@link Constants#RELATION_UUID} and the node properties under
+     *             {@link Constants#PROPERTIES}
      * @param currentTime the current timestamp for creation and update times
-     * @param nodeDTO the DTO containing the properties of the new node
-     * @param tx the Neo4j transaction to execute the Cypher query
+     * @param tx the Neo4j transaction to execute the Cypher queries
      *
-     * @return a {@link NodeVO} object representing the newly created node
+     * @return the list of {@link NodeVO} objects representing the newly created nodes, in the order of the rows
      */
     @Override
-    public NodeVO createNode(final String graphUuid, final String nodeUuid, final String relationUuid,
-                                final String currentTime, final NodeDTO nodeDTO, final Transaction tx) {
-        final StringBuilder setProperties = getSetProperties(nodeDTO.getProperties().entrySet());
+    public List<NodeVO> createNodes(final String graphUuid, final List<Map<String, Object>> rows,
+                                    final String currentTime, final Transaction tx) {
+        final Map<String, NodeVO> created = new HashMap<>();
 
-        final String cypherQuery = "MATCH (g:Graph) WHERE g.uuid = $graphUuid SET g.update_time = $currentTime "
-                + "CREATE (gn:GraphNode{uuid:$nodeUuid "
-                + setProperties
-                + ",create_time:$currentTime,update_time:$currentTime}) "
-                + "WITH g, gn "
-                + "CREATE (g)-[r:RELATION {name: 'HAVE', uuid: $relationUuid, "
-                + "create_time: $currentTime, update_time: $currentTime}]->(gn) "
-                + "RETURN gn";
-
-        final var result = tx.run(cypherQuery, Values.parameters(
-                        Constants.GRAPH_UUID, graphUuid,
-                        Constants.NODE_UUID, nodeUuid,
-                        Constants.CURRENT_TIME, currentTime,
-                        Constants.RELATION_UUID, relationUuid
-                )
-        );
+        for (final List<Map<String, Object>> chunk : partition(rows)) {
+            tx.run(CREATE_NODES_CYPHER, Values.parameters(
+                    Constants.GRAPH_UUID, graphUuid,
+                    Constants.CURRENT_TIME, currentTime,
+                    Constants.ROWS, chunk
+            )).forEachRemaining(record -> {
+                final NodeVO node = nodeExtractor.extractNode(record.get(Constants.GN));
+                created.put(node.getUuid(), node);
+            });
+        }
 
-        final Record record = result.next();
+        graphTouchBuffer.touch(graphUuid, currentTime);
 
-        return nodeExtractor.extractNode(record.get("gn"));
+        return rows.stream()
+                .map(row -> created.get((String) row.get(Constants.NODE_UUID)))
+                .collect(Collectors.toList());
     }
 
     /**
      * Retrieves the relationships and nodes associated with a graph by its UUID.
      * <p>
-     * Constructs a Cypher query to match a graph by its UUID and find its related nodes and relationships.
-     * Optionally filters the nodes based on the provided properties.
-     * Executes the Cypher query within a read transaction using the Neo4j session.
+     * Constructs a Cypher query to match a graph by its UUID and find one page of its nodes, then reads the
+     * relationships of these nodes by their UUIDs. Optionally filters the nodes based on the provided properties.
+     * Executes both Cypher queries within a read transaction using a read session bound to the request's bookmarks.
      * Extracts the node and relationship details from the query results and <br>
      * returns them in a {@link GetRelationDTO} object.
      *
@@ -180,39 +277,178 @@ public class NodeMapperImpl implements NodeMapper {
         final int skip = (pageNumber - 1) * pageSize;
         final int limit = pageSize;
 
-        final StringBuilder cypherQuery = new StringBuilder("MATCH (g:Graph { uuid: $uuid })")
-                .append(" OPTIONAL MATCH (g)-[:RELATION]->(n:GraphNode) ")
-                .append(properties != null && !properties.isEmpty() ?
-                        getFilterProperties(Constants.NODE_ALIAS_N, properties) : "")
-                .append(" OPTIONAL MATCH (n)-[r:RELATION]->(:GraphNode) ")
-                .append(" WITH DISTINCT n, COLLECT(r) AS relations")
-                .append(" RETURN DISTINCT n, relations")
-                .append(" SKIP $skip ")
-                .append(" LIMIT $limit");
+        final String cypherQuery = getNodePageQuery(properties);
 
-        try (Session session = driver.session(SessionConfig.builder().build())) {
-            return session.readTransaction(tx -> {
-                final var result = tx.run(cypherQuery.toString(), Values.parameters(
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+            final GetRelationDTO page = session.readTransaction(tx -> {
+                final var result = tx.run(cypherQuery, Values.parameters(
                         Constants.UUID, uuid,
-                        "skip", skip,
-                        "limit", limit
+                        Constants.SKIP, skip,
+                        Constants.LIMIT, limit
                 ));
 
                 final List<RelationVO> relations = new ArrayList<>();
                 final List<NodeVO> nodes = new ArrayList<>();
+                final List<String> nodeUuids = new ArrayList<>();
                 long totalCount = 0;
 
                 while (result.hasNext()) {
                     final Record record = result.next();
                     final NodeVO n = nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_N));
                     nodes.add(n);
+                    addNodeUuid(nodeUuids, n);
                     totalCount++;
-
-                    relations.addAll(relationShipExtractor.extractRelationships(record.get(Constants.RELATIONS)));
                 }
 
+                tx.run(PAGE_RELATIONS_CYPHER, Values.parameters(Constants.UUIDS, nodeUuids))
+                        .forEachRemaining(record -> relations.add(
+                                relationShipExtractor.extractRelationship(record.get(Constants.RELATION))));
+
                 return new GetRelationDTO(relations, new ArrayList<>(nodes), totalCount);
-            });
+            }, RequestDeadline.transactionConfig());
+
+            BookmarkHolder.update(session.lastBookmark());
+            return page;
+        }
+    }
+
+    /**
+     * Retrieves the relationships and nodes associated with a graph by its UUID without blocking the calling thread.
+     * <p>
+     * Runs the same two queries as {@link #getRelationByGraphUuid(String, Map, Integer, Integer)}, one after the
+     * other in one read transaction of an asynchronous session, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param uuid the UUID of the graph
+     * @param properties a map of properties to filter the nodes (optional)
+     * @param pageNumber the page number
+     * @param pageSize the page size
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with a {@link GetRelationDTO} object containing the list of relationships and nodes
+     */
+    @Override
+    public CompletionStage<GetRelationDTO> getRelationByGraphUuidAsync(final String uuid,
+                                                                       final Map<String, String> properties,
+                                                                       final Integer pageNumber,
+                                                                       final Integer pageSize,
+                                                                       final AsyncReadContext context) {
+        final Value parameters = Values.parameters(
+                Constants.UUID, uuid,
+                Constants.SKIP, (pageNumber - 1) * pageSize,
+                Constants.LIMIT, pageSize
+        );
+        final String cypherQuery = getNodePageQuery(properties);
+
+        return AsyncSessions.readAsync(driver, context, tx -> tx
+                .runAsync(cypherQuery, parameters)
+                .thenCompose(cursor -> cursor.listAsync(
+                        record -> nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_N))))
+                .thenCompose(nodes -> {
+                    final List<String> nodeUuids = new ArrayList<>(nodes.size());
+                    nodes.forEach(node -> addNodeUuid(nodeUuids, node));
+
+                    return tx.runAsync(PAGE_RELATIONS_CYPHER, Values.parameters(Constants.UUIDS, nodeUuids))
+                            .thenCompose(cursor -> cursor.listAsync(
+                                    record -> relationShipExtractor.extractRelationship(
+                                            record.get(Constants.RELATION))))
+                            .thenApply(relations -> new GetRelationDTO(new ArrayList<>(relations),
+                                    new ArrayList<>(nodes), (long) nodes.size()));
+                }));
+    }
+
+    /**
+     * Streams the relationships and nodes associated with a graph by its UUID.
+     * <p>
+     * Reads the same page as {@link #getRelationByGraphUuid(String, Map, Integer, Integer)} through two cursors
+     * opened one after the other in the same transaction: the first one returns the nodes of the page and the second
+     * one the relations of these nodes, looked up by the UUIDs of the nodes. Each record is handed to the matching
+     * consumer as soon as it arrives, so only the UUIDs of the nodes of the page are kept in memory, and neither
+     * query reads the relations of nodes outside the page.
+     * <p>
+     * An explicit transaction is used instead of a transaction function because the driver may replay a
+     * transaction function on transient failures, and records already handed to the consumers cannot be taken back.
+     *
+     * @param uuid the UUID of the graph
+     * @param properties a map of properties to filter the nodes (optional)
+     * @param pageNumber the page number
+     * @param pageSize the page size
+     * @param nodeConsumer the consumer receiving the nodes of the page, in result order
+     * @param relationConsumer the consumer receiving the relations of the page, after all nodes
+     *
+     * @return the number of nodes in the page
+     */
+    @Override
+    public long streamRelationByGraphUuid(final String uuid, final Map<String, String> properties,
+                                          final Integer pageNumber, final Integer pageSize,
+                                          final Consumer<NodeVO> nodeConsumer,
+                                          final Consumer<RelationVO> relationConsumer) {
+        final Value parameters = Values.parameters(
+                Constants.UUID, uuid,
+                Constants.SKIP, (pageNumber - 1) * pageSize,
+                Constants.LIMIT, pageSize
+        );
+
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig());
+                Transaction tx = session.beginTransaction(RequestDeadline.transactionConfig())) {
+            final List<String> nodeUuids = new ArrayList<>(pageSize);
+            long totalCount = 0;
+
+            final var nodeResult = tx.run(getNodePageQuery(properties), parameters);
+            while (nodeResult.hasNext()) {
+                final NodeVO node = nodeExtractor.extractNode(nodeResult.next().get(Constants.NODE_ALIAS_N));
+                addNodeUuid(nodeUuids, node);
+                nodeConsumer.accept(node);
+                totalCount++;
+            }
+
+            final var relationResult = tx.run(PAGE_RELATIONS_CYPHER, Values.parameters(Constants.UUIDS, nodeUuids));
+            while (relationResult.hasNext()) {
+                relationConsumer.accept(relationShipExtractor.extractRelationship(
+                        relationResult.next().get(Constants.RELATION)));
+            }
+
+            tx.commit();
+            BookmarkHolder.update(session.lastBookmark());
+            return totalCount;
+        }
+    }
+
+    /**
+     * Builds the paged query that fetches the nodes of a graph under {@code n}.
+     * <p>
+     * The nodes are ordered by UUID before {@code SKIP} and {@code LIMIT} are applied, so that consecutive pages
+     * neither overlap nor miss nodes. Their relations are not matched here but read afterwards for the nodes of the
+     * page only, with {@code PAGE_RELATIONS_CYPHER}.
+     *
+     * @param properties a map of properties to filter the nodes (optional)
+     *
+     * @return the Cypher query
+     */
+    private String getNodePageQuery(final Map<String, String> properties) {
+        return new StringBuilder("MATCH (g:Graph { uuid: $uuid })")
+                .append(" OPTIONAL MATCH (g)-[:RELATION]->(n:GraphNode) ")
+                .append(properties != null && !properties.isEmpty() ?
+                        getFilterProperties(Constants.NODE_ALIAS_N, properties) : "")
+                .append(" WITH DISTINCT n")
+                .append(" ORDER BY n.uuid")
+                .append(" SKIP $skip ")
+                .append(" LIMIT $limit ")
+                .append("RETURN n")
+                .toString();
+    }
+
+    /**
+     * Records the UUID of a node of a page, whose relations are read once the page is complete.
+     * <p>
+     * A graph without nodes yields a single page row without a node, which has no UUID and no relations.
+     *
+     * @param nodeUuids the UUIDs of the nodes of the page
+     * @param node the node
+     */
+    private static void addNodeUuid(final List<String> nodeUuids, final NodeVO node) {
+        if (node.getUuid() != null) {
+            nodeUuids.add(node.getUuid());
         }
     }
 
@@ -252,15 +488,12 @@ public class NodeMapperImpl implements NodeMapper {
         final Set<RelationVO> relations = new HashSet<>();
         final Set<NodeVO> nodes = new HashSet<>();
 
-        final String geFirstNodeQuery = "MATCH (g:Graph { uuid: $graphUuid })-[:RELATION]"
-                + "->(n:GraphNode { uuid: $nodeUuid}) RETURN n";
-
-        try (Session session = driver.session(SessionConfig.builder().build())) {
+        try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
 
             // get first node
-            final var firstNodeResult = session.run(geFirstNodeQuery, Values.parameters(
+            final var firstNodeResult = session.run(new Query(FIRST_NODE_CYPHER, Values.parameters(
                     Constants.GRAPH_UUID, graphUuid,
-                    Constants.NODE_UUID, nodeUuid));
+                    Constants.NODE_UUID, nodeUuid)), RequestDeadline.transactionConfig());
             if (firstNodeResult.hasNext()) {
                 final NodeVO node = nodeExtractor.extractNode(firstNodeResult.next().get(Constants.NODE_ALIAS_N));
                 nodes.add(node);
@@ -270,28 +503,20 @@ public class NodeMapperImpl implements NodeMapper {
                 throw new NoSuchElementException(message);
             }
 
-            for (int depth = 0; depth < effectiveDepth; depth++) {
-                final int layerSize = queue.size();
+            BookmarkHolder.update(session.lastBookmark());
+        }
 
-                for (int i = 0; i < layerSize; i++) {
-                    final String currentNodeId = queue.poll();
+        for (int depth = 0; depth < effectiveDepth; depth++) {
+            final List<String> frontier = new ArrayList<>(queue);
+            queue.clear();
 
-                    final var queryResult = session.run(GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER, Values.parameters(
-                            Constants.GRAPH_UUID, graphUuid,
-                            Constants.NODE_UUID, currentNodeId));
+            for (final Map.Entry<NodeVO, RelationVO> neighbor : getNeighbors(graphUuid, frontier)) {
+                final String neighborId = neighbor.getKey().getUuid();
 
-                    while (queryResult.hasNext()) {
-                        final Record record = queryResult.next();
-                        final NodeVO nodeVO = nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_M));
-                        final String neighborId = nodeVO.getUuid();
-
-                        if (!visited.contains(neighborId)) {
-                            visited.add(neighborId);
-                            queue.add(neighborId);
-                            relations.add(relationShipExtractor.extractRelationship(record.get(Constants.RELATION)));
-                            nodes.add(nodeVO);
-                        }
-                    }
+                if (visited.add(neighborId)) {
+                    queue.add(neighborId);
+                    relations.add(neighbor.getValue());
+                    nodes.add(neighbor.getKey());
                 }
             }
         }
@@ -302,6 +527,93 @@ public class NodeMapperImpl implements NodeMapper {
                 .build();
     }
 
+    /**
+     * Expands the graph from a given node to a specified depth without blocking the calling thread.
+     * <p>
+     * Reads the starting node, then expands the graph breadth first like
+     * {@link #kDegreeExpansion(String, String, Integer)}, level after level until {@code k} levels are expanded or
+     * a level finds no new node, which is the depth the blocking expansion computes beforehand. If {@code k} is
+     * negative, the expansion only stops at such a level. The chunks of every frontier are read concurrently, each in
+     * an asynchronous session of its own, see
+     * {@link AsyncSessions#readAsync(Driver, AsyncReadContext, org.neo4j.driver.async.AsyncTransactionWork)}.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param nodeUuid the UUID of the starting node
+     * @param k the desired depth of expansion
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with a {@link GraphVO} object containing the expanded nodes and relationships, or
+     * completed exceptionally with a {@link NoSuchElementException} if the starting node does not exist in the graph
+     */
+    @Override
+    public CompletionStage<GraphVO> kDegreeExpansionAsync(final String graphUuid, final String nodeUuid,
+                                                          final Integer k, final AsyncReadContext context) {
+        return AsyncSessions.<Record>readAsync(driver, context, tx -> tx
+                        .runAsync(FIRST_NODE_CYPHER, Values.parameters(
+                                Constants.GRAPH_UUID, graphUuid,
+                                Constants.NODE_UUID, nodeUuid))
+                        .thenCompose(ResultCursor::nextAsync))
+                .thenCompose(record -> {
+                    if (record == null) {
+                        final String message = String.format(Message.NODE_NULL, nodeUuid);
+                        LOG.error(message);
+                        throw new NoSuchElementException(message);
+                    }
+
+                    final Set<String> visited = new HashSet<>();
+                    visited.add(nodeUuid);
+                    final Set<NodeVO> nodes = new HashSet<>();
+                    nodes.add(nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_N)));
+                    final Set<RelationVO> relations = new HashSet<>();
+
+                    return expandAsync(graphUuid, List.of(nodeUuid), k, visited, nodes, relations, context)
+                            .thenApply(expanded -> GraphVO.builder()
+                                    .relations(new ArrayList<>(relations))
+                                    .nodes(new ArrayList<>(nodes))
+                                    .build());
+                });
+    }
+
+    /**
+     * Expands the remaining levels of an asynchronous breadth-first expansion.
+     * <p>
+     * The levels are expanded one after the other, each from the callback completing the previous one, so the sets
+     * collecting the expansion are never accessed concurrently.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param frontier the UUIDs of the nodes found by the previous level
+     * @param remaining the number of levels left to expand, negative for no limit
+     * @param visited the UUIDs of the nodes found so far
+     * @param nodes the nodes found so far
+     * @param relations the relations leading to the nodes found so far
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed once the expansion is complete
+     */
+    private CompletionStage<Void> expandAsync(final String graphUuid, final List<String> frontier, final int remaining,
+                                              final Set<String> visited, final Set<NodeVO> nodes,
+                                              final Set<RelationVO> relations, final AsyncReadContext context) {
+        if (remaining == 0 || frontier.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return getNeighborsAsync(graphUuid, frontier, context).thenCompose(neighbors -> {
+            final List<String> next = new ArrayList<>();
+
+            for (final Map.Entry<NodeVO, RelationVO> neighbor : neighbors) {
+                final String neighborId = neighbor.getKey().getUuid();
+
+                if (visited.add(neighborId)) {
+                    next.add(neighborId);
+                    relations.add(neighbor.getValue());
+                    nodes.add(neighbor.getKey());
+                }
+            }
+
+            return expandAsync(graphUuid, next, remaining - 1, visited, nodes, relations, context);
+        });
+    }
+
     /**
      * Calculates the maximum depth of the expansion for a given start node in a graph.
      * @param graphUuid the UUID of the graph.
@@ -316,72 +628,157 @@ public class NodeMapperImpl implements NodeMapper {
         visited.add(startNodeUuid);
         int depth = 0;
 
-        try (Session session = driver.session(SessionConfig.builder().build())) {
-            while (!queue.isEmpty()) {
-                final int layerSize = queue.size();
+        while (!queue.isEmpty()) {
+            final List<String> frontier = new ArrayList<>(queue);
+            queue.clear();
+
+            for (final Map.Entry<NodeVO, RelationVO> neighbor : getNeighbors(graphUuid, frontier)) {
+                final String neighborId = neighbor.getKey().getUuid();
+
+                if (visited.add(neighborId)) {
+                    queue.add(neighborId);
+                }
+            }
+            depth++;
+        }
 
-                for (int i = 0; i < layerSize; i++) {
-                    final String currentNodeId = queue.poll();
+        return depth;
+    }
 
-                    final var queryResult = session.run(GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER, Values.parameters(
+    /**
+     * Retrieves the neighbors of the frontier of a breadth-first expansion.
+     * <p>
+     * The frontier is split into chunks of the configured batch size, which are read concurrently by the
+     * {@link FanOutExecutor}, each with a single statement in a read session of its own.
+     * @param graphUuid the UUID of the graph
+     * @param frontier the UUIDs of the nodes of the frontier
+     *
+     * @return the neighbors, each with the relation leading to it, chunk after chunk in the order of the frontier
+     */
+    private List<Map.Entry<NodeVO, RelationVO>> getNeighbors(final String graphUuid, final List<String> frontier) {
+        final List<List<Map.Entry<NodeVO, RelationVO>>> chunks = fanOutExecutor.map(partition(frontier), chunk -> {
+            try (Session session = driver.session(BookmarkHolder.readSessionConfig())) {
+                return session.readTransaction(tx -> {
+                    final List<Map.Entry<NodeVO, RelationVO>> neighbors = new ArrayList<>();
+                    final var queryResult = tx.run(GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER, Values.parameters(
                             Constants.GRAPH_UUID, graphUuid,
-                            Constants.NODE_UUID, currentNodeId));
+                            Constants.UUIDS, chunk));
 
                     while (queryResult.hasNext()) {
-                        final Record record = queryResult.next();
-                        final NodeVO nodeVO = nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_M));
-                        final String neighborId = nodeVO.getUuid();
-
-                        if (!visited.contains(neighborId)) {
-                            visited.add(neighborId);
-                            queue.add(neighborId);
-                        }
+                        neighbors.add(neighbor(queryResult.next()));
                     }
-                }
-                depth++;
+
+                    return neighbors;
+                }, RequestDeadline.transactionConfig());
             }
-        }
+        });
 
-        return depth;
+        final List<Map.Entry<NodeVO, RelationVO>> neighbors = new ArrayList<>();
+        chunks.forEach(neighbors::addAll);
+        return neighbors;
     }
 
     /**
-     * Binds two graph nodes together with a specified relationship.
+     * Retrieves the neighbors of the frontier of a breadth-first expansion without blocking the calling thread.
      * <p>
-     * Constructs a Cypher query to match two graph nodes by their UUIDs, update their update times,
-     * and create a relationship between them.
-     * Executes the Cypher query using the provided transaction.
+     * The frontier is split into chunks of the configured batch size like in {@link #getNeighbors(String, List)},
+     * which are read concurrently, each with a single statement in an asynchronous session of its own.
+     * @param graphUuid the UUID of the graph
+     * @param frontier the UUIDs of the nodes of the frontier
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the neighbors, each with the relation leading to it, chunk after chunk in the
+     * order of the frontier
+     */
+    private CompletionStage<List<Map.Entry<NodeVO, RelationVO>>> getNeighborsAsync(final String graphUuid,
+                                                                                   final List<String> frontier,
+                                                                                   final AsyncReadContext context) {
+        final List<CompletableFuture<List<Map.Entry<NodeVO, RelationVO>>>> chunks = partition(frontier).stream()
+                .map(chunk -> AsyncSessions.readAsync(driver, context, tx -> tx
+                        .runAsync(GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER, Values.parameters(
+                                Constants.GRAPH_UUID, graphUuid,
+                                Constants.UUIDS, chunk))
+                        .thenCompose(cursor -> cursor.listAsync(this::neighbor))).toCompletableFuture())
+                .collect(Collectors.toList());
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            final List<Map.Entry<NodeVO, RelationVO>> neighbors = new ArrayList<>();
+            chunks.forEach(chunk -> neighbors.addAll(chunk.join()));
+            return neighbors;
+        });
+    }
+
+    /**
+     * Extracts a neighbor of the frontier of a breadth-first expansion from a record of
+     * {@code GET_WEAKLY_CONNECTED_NEIGHBORS_CYPHER}.
+     * @param record the record
+     *
+     * @return the neighbor with the relation leading to it
+     */
+    private Map.Entry<NodeVO, RelationVO> neighbor(final Record record) {
+        return Map.entry(nodeExtractor.extractNode(record.get(Constants.NODE_ALIAS_M)),
+                relationShipExtractor.extractRelationship(record.get(Constants.RELATION)));
+    }
+
+    /**
+     * Binds pairs of graph nodes of a graph together with the specified relationships.
+     * <p>
+     * Sends the rows to the database in chunks of the configured batch size, each chunk being a single
+     * {@code UNWIND} statement that looks the two nodes of every row up by the unique index on their UUIDs, checks
+     * that they are nodes of the graph and creates the relationship between them, so a row costs a constant number of
+     * index seeks however large the graph is. The UUIDs are projected to plain variables first, as the planner only
+     * seeks the index for those. Nodes are only matched through a live graph, so that no relationship is created
+     * into a deleted graph, nor across graphs.
+     * Afterwards sets the update time of every bound node once per distinct node rather than once per relationship,
+     * looking the nodes up the same way, and records the graph as changed in the {@link GraphTouchBuffer}.
      *
-     * @param uuid1 the UUID of the first graph node
-     * @param uuid2 the UUID of the second graph node
-     * @param relation the name of the relationship to create
-     * @param relationUuid the UUID of the relationship
+     * @param graphUuid the UUID of the graph
+     * @param rows the relationships to create, each holding the UUID of the first graph node under
+     *             {@link Constants#SOURCE_NODE}, the UUID of the second graph node under {@link Constants#TARGET_NODE},
+     *             <br> the name of the relationship under {@link Constants#RELATION} and the UUID of the relationship
+     *             under {@link Constants#RELATION_UUID}
      * @param currentTime the current timestamp for creation and update times
-     * @param tx the Neo4j transaction to execute the Cypher query
+     * @param tx the Neo4j transaction to execute the Cypher queries
+     *
+     * @return the number of created relationships, rows whose nodes are not nodes of the graph are skipped
      */
     @Override
-    public void bindGraphNodeToGraphNode(final String uuid1, final String uuid2, final String relation,
-                                         final String relationUuid, final String currentTime, final Transaction tx) {
-        final String cypherQuery = "MATCH (gn1:GraphNode) WHERE gn1.uuid = $uuid1 SET gn1.update_time = $currentTime "
-                + "WITH gn1 "
-                + "MATCH (gn2:GraphNode) WHERE gn2.uuid = $uuid2 SET gn2.update_time = $currentTime "
-                + "WITH gn1,gn2 "
-                + "CREATE (gn1)-[r:RELATION{name: $relation, uuid: $relationUuid, sourceNode: $uuid1, "
-                + "targetNode: $uuid2, create_time: $currentTime, update_time: $currentTime}]->(gn2)";
+    public long bindGraphNodesToGraphNodes(final String graphUuid, final List<Map<String, Object>> rows,
+                                           final String currentTime, final Transaction tx) {
+        final Set<String> boundUuids = new LinkedHashSet<>();
+        for (final Map<String, Object> row : rows) {
+            boundUuids.add((String) row.get(Constants.SOURCE_NODE));
+            boundUuids.add((String) row.get(Constants.TARGET_NODE));
+        }
 
-        tx.run(cypherQuery, Values.parameters(
-                "uuid1", uuid1,
-                "uuid2", uuid2,
-                Constants.RELATION, relation,
-                Constants.CURRENT_TIME, currentTime,
-                Constants.RELATION_UUID, relationUuid
-        ));
+        long relationshipsCreated = 0;
+        for (final List<Map<String, Object>> chunk : partition(rows)) {
+            relationshipsCreated += tx.run(BIND_NODES_CYPHER, Values.parameters(
+                    Constants.GRAPH_UUID, graphUuid,
+                    Constants.CURRENT_TIME, currentTime,
+                    Constants.ROWS, chunk
+            )).consume().counters().relationshipsCreated();
+        }
+
+        for (final List<String> chunk : partition(new ArrayList<>(boundUuids))) {
+            tx.run(TOUCH_NODES_CYPHER, Values.parameters(
+                    Constants.GRAPH_UUID, graphUuid,
+                    Constants.UUIDS, chunk,
+                    Constants.CURRENT_TIME, currentTime
+            )).consume();
+        }
+        if (relationshipsCreated > 0) {
+            graphTouchBuffer.touch(graphUuid, currentTime);
+        }
+
+        return relationshipsCreated;
     }
 
     /**
      * Updates a graph node by its UUID.
      * <p>
-     * Constructs a Cypher query to match a graph node by its UUID and update its properties.
+     * Constructs a Cypher query to match a graph node by its UUID and update its properties, and records the graph
+     * the node belongs to as changed in the {@link GraphTouchBuffer}.
      * The query dynamically includes only the fields that need to be updated based on the provided properties.
      * Executes the Cypher query using the provided transaction.
      *
@@ -393,16 +790,94 @@ public class NodeMapperImpl implements NodeMapper {
     public void updateNodeByUuid(final NodeUpdateDTO nodeUpdateDTO, final String currentTime, final Transaction tx) {
         final StringBuilder setProperties = getSetProperties(nodeUpdateDTO.getProperties().entrySet());
 
-        final String cypherQuery = "MATCH (gn:GraphNode {uuid: $nodeUuid}) "
+        final String cypherQuery = "MATCH (g:Graph)-[:RELATION]->(gn:GraphNode {uuid: $nodeUuid}) "
                 + "SET gn = { uuid: gn.uuid, "
                 + "create_time: gn.create_time, "
                 + "update_time: $updateTime"
                 + setProperties
-                + " }";
+                + " } "
+                + RETURN_GRAPH_UUID;
 
         tx.run(cypherQuery, Values.parameters(
                 Constants.NODE_UUID, nodeUpdateDTO.getUuid(),
-                Constants.UPDATE_TIME, currentTime));
+                Constants.UPDATE_TIME, currentTime
+        )).forEachRemaining(record -> graphTouchBuffer.touch(record.get(Constants.GRAPH_UUID).asString(),
+                currentTime));
+    }
+
+    /**
+     * Sets or removes some properties of a graph node by its UUID, leaving the others unchanged.
+     * <p>
+     * Merges the properties into the node with a single parameterized {@code SET gn += $properties}, in which a
+     * {@code null} value removes the property, so only the listed properties are written and no property name or
+     * value is spliced into the query. Records the graph the node belongs to as changed in the
+     * {@link GraphTouchBuffer}.
+     *
+     * @param nodePatchDTO the DTO containing the properties to set, or to remove if {@code null}
+     * @param currentTime the current timestamp for the update time
+     * @param tx the Neo4j transaction to execute the Cypher query
+     */
+    @Override
+    public void patchNodeByUuid(final NodePatchDTO nodePatchDTO, final String currentTime, final Transaction tx) {
+        tx.run(PATCH_NODE_CYPHER, Values.parameters(
+                Constants.NODE_UUID, nodePatchDTO.getUuid(),
+                Constants.PROPERTIES, nodePatchDTO.getProperties(),
+                Constants.UPDATE_TIME, currentTime
+        )).forEachRemaining(record -> graphTouchBuffer.touch(record.get(Constants.GRAPH_UUID).asString(),
+                currentTime));
+    }
+
+    /**
+     * Sets or removes some properties of many graph nodes of a graph.
+     * <p>
+     * Sends the rows to the database in chunks of the configured batch size, each chunk being a single
+     * {@code UNWIND} statement that matches the nodes within the graph and merges their properties with
+     * {@code SET gn += row.properties}, in which a {@code null} value removes the property. Records the graph as
+     * changed in the {@link GraphTouchBuffer} if any node has been updated.
+     *
+     * @param graphUuid the UUID of the graph the nodes belong to
+     * @param rows the updates, each holding the UUID of the graph node under {@link Constants#NODE_UUID} and the
+     *             properties to set, or to remove if {@code null}, under {@link Constants#PROPERTIES}
+     * @param currentTime the current timestamp for the update time
+     * @param tx the Neo4j transaction to execute the Cypher queries
+     *
+     * @return the UUIDs of the updated graph nodes, rows whose nodes are not in the graph are skipped
+     */
+    @Override
+    public Set<String> patchNodes(final String graphUuid, final List<Map<String, Object>> rows,
+                                  final String currentTime, final Transaction tx) {
+        final Set<String> updated = new HashSet<>();
+
+        for (final List<Map<String, Object>> chunk : partition(rows)) {
+            tx.run(PATCH_NODES_CYPHER, Values.parameters(
+                    Constants.GRAPH_UUID, graphUuid,
+                    Constants.CURRENT_TIME, currentTime,
+                    Constants.ROWS, chunk
+            )).forEachRemaining(record -> updated.add(record.get(Constants.NODE_UUID).asString()));
+        }
+
+        if (!updated.isEmpty()) {
+            graphTouchBuffer.touch(graphUuid, currentTime);
+        }
+
+        return updated;
+    }
+
+    /**
+     * Splits a list into consecutive chunks of at most the configured batch size.
+     *
+     * @param list the list to split
+     * @param <T> the type of the list elements
+     *
+     * @return the chunks, as views of the list
+     */
+    private <T> List<List<T>> partition(final List<T> list) {
+        final List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += batchSize) {
+            chunks.add(list.subList(from, Math.min(from + batchSize, list.size())));
+        }
+
+        return chunks;
     }
 
     /**
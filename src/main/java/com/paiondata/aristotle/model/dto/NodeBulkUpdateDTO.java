@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.dto;
+
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.model.BaseEntity;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * Data Transfer Object (DTO) for partially updating many nodes of a graph at once.
+ *
+ * This DTO is used to encapsulate the partial updates of the nodes of a graph, applied in bulk.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "Partially updates many nodes of a graph at once.")
+public class NodeBulkUpdateDTO extends BaseEntity {
+
+    /**
+     * The unique identifier (UUID) of the graph the nodes belong to.
+     *
+     * <p>
+     * <strong>Note:</strong> This field is required and must not be blank.
+     *
+     * @example "123e4567e89b12d3a456426614174000"
+     * @see Message#UUID_MUST_NOT_BE_BLANK
+     */
+    @ApiModelProperty(value = "The unique identifier (UUID) of the graph the nodes belong to. This field is required "
+            + "and must not be blank.", required = true, example = "123e4567e89b12d3a456426614174000")
+    @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK)
+    private String graphUuid;
+
+    /**
+     * The partial updates of the nodes.
+     *
+     * <p>
+     * Each update lists the properties of a node to set, or to remove if {@code null}, like {@link NodePatchDTO}.
+     *
+     * <p>
+     * <strong>Note:</strong> This field is required and must not be empty.
+     *
+     * @see Message#NODES_MUST_NOT_BE_EMPTY
+     */
+    @ApiModelProperty(value = "The partial updates of the nodes. Each update lists the properties of a node to set, "
+            + "or to remove if null.", required = true)
+    @NotEmpty(message = Message.NODES_MUST_NOT_BE_EMPTY)
+    private List<@Valid NodePatchDTO> nodes;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.dto;
+
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.model.BaseEntity;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * Data Transfer Object (DTO) for partially updating a node.
+ *
+ * This DTO is used to encapsulate the properties of a node that are set or removed, leaving the others unchanged.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "Partially updates a node in a graph.")
+public class NodePatchDTO extends BaseEntity {
+
+    /**
+     * The unique identifier (UUID) of the node.
+     *
+     * <p>
+     * <strong>Note:</strong> This field is required and must not be blank.
+     *
+     * @example "123e4567e89b12d3a456426614174001"
+     * @see Message#UUID_MUST_NOT_BE_BLANK
+     */
+    @ApiModelProperty(value = "The unique identifier (UUID) of the node. This field is required and must not be "
+            + "blank.", required = true, example = "123e4567e89b12d3a456426614174001")
+    @NotBlank(message = Message.UUID_MUST_NOT_BE_BLANK)
+    private String uuid;
+
+    /**
+     * The attributes of the node to change.
+     *
+     * <p>
+     * This field is a map of the node attributes to change, following JSON merge patch semantics.
+     * An attribute with a value is set to that value, and an attribute with a {@code null} value is removed.
+     * The attributes which are not listed keep their current values.
+     *
+     * <p>
+     * <strong>Note:</strong> This field is required and must not be empty.
+     *
+     * @example {
+     *   "position": "Architect",
+     *   "age": null
+     * }
+     * @see Message#PROPERTIES_MUST_NOT_BE_EMPTY
+     */
+    @ApiModelProperty(value = "The attributes of the node to change. An attribute with a value is set to that value, "
+            + "and an attribute with a null value is removed. The attributes which are not listed keep their current "
+            + "values.", required = true, example = "{\n" +
+            "  \"position\": \"Architect\",\n" +
+            "  \"age\": null\n" +
+            "}")
+    @NotEmpty(message = Message.PROPERTIES_MUST_NOT_BE_EMPTY)
+    private Map<String, String> properties;
+}
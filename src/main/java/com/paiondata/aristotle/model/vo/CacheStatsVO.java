@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.vo;
+
+import com.paiondata.aristotle.model.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the statistics of an entity cache.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsVO extends BaseEntity {
+
+    /**
+     * The approximate number of entries in the cache.
+     */
+    private long size;
+
+    /**
+     * The number of lookups served from the cache.
+     */
+    private long hitCount;
+
+    /**
+     * The number of lookups that had to be loaded from the database.
+     */
+    private long missCount;
+
+    /**
+     * The ratio of lookups served from the cache.
+     */
+    private double hitRate;
+
+    /**
+     * The number of entries evicted for the size bound or expiry.
+     */
+    private long evictionCount;
+
+    /**
+     * The average time spent loading an entry, in milliseconds.
+     */
+    private double averageLoadPenaltyMs;
+}
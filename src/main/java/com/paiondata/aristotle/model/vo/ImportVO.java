@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.vo;
+
+import com.paiondata.aristotle.model.BaseEntity;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Represents the progress of a bulk import.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "The number of nodes and relations committed by a bulk import so far")
+public class ImportVO extends BaseEntity {
+
+    /**
+     * The number of committed nodes.
+     */
+    @ApiModelProperty(value = "The number of committed nodes")
+    private long nodeCount;
+
+    /**
+     * The number of committed relations.
+     */
+    @ApiModelProperty(value = "The number of committed relations")
+    private long relationCount;
+
+    /**
+     * The bookmarks of the committed chunks, to be sent with the next reads so that they observe the import.
+     */
+    @ApiModelProperty(value = "The Neo4j-Bookmark values of the committed chunks")
+    private Set<String> bookmarks;
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.vo;
+
+import com.paiondata.aristotle.common.base.JobStatus;
+import com.paiondata.aristotle.model.BaseEntity;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Represents an asynchronous write job.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "The status of an asynchronous write job and, once it has finished, its outcome")
+public class JobVO extends BaseEntity {
+
+    /**
+     * The UUID of the job.
+     */
+    @ApiModelProperty(value = "The UUID of the job")
+    private String uuid;
+
+    /**
+     * The UUID of the graph the job writes to, if the graph already existed when the job was submitted.
+     */
+    @ApiModelProperty(value = "The UUID of the graph the job writes to, jobs of the same graph run in order")
+    private String graphUuid;
+
+    /**
+     * The status of the job.
+     */
+    @ApiModelProperty(value = "The status of the job")
+    private JobStatus status;
+
+    /**
+     * The result of a succeeded job, as the synchronous endpoint would have returned it.
+     */
+    @ApiModelProperty(value = "The result of a succeeded job")
+    private Object result;
+
+    /**
+     * The error message of a failed job.
+     */
+    @ApiModelProperty(value = "The error message of a failed job")
+    private String message;
+
+    /**
+     * The bookmarks of a succeeded job, to be sent with the next reads so that they observe the job's writes.
+     */
+    @ApiModelProperty(value = "The Neo4j-Bookmark values of a succeeded job")
+    private Set<String> bookmarks;
+
+    /**
+     * The submission time of the job.
+     */
+    @ApiModelProperty(value = "The submission time of the job")
+    private String createTime;
+
+    /**
+     * The time of the last status change of the job.
+     */
+    @ApiModelProperty(value = "The time of the last status change of the job")
+    private String updateTime;
+}
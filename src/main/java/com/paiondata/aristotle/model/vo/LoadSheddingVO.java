@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.vo;
+
+import com.paiondata.aristotle.model.BaseEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the load shedding state of the service.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoadSheddingVO extends BaseEntity {
+
+    /**
+     * Whether low-priority requests are being shed.
+     */
+    private boolean shedding;
+
+    /**
+     * The shortest time a request waited for a request thread during the last interval, in milliseconds.
+     */
+    private long queueWaitMs;
+
+    /**
+     * The average time a connection was waited for from the driver pool during the last interval, in milliseconds.
+     */
+    private long poolWaitMs;
+
+    /**
+     * The queue wait above which low-priority requests are shed, in milliseconds.
+     */
+    private long queueWaitThresholdMs;
+
+    /**
+     * The pool wait above which low-priority requests are shed, in milliseconds.
+     */
+    private long poolWaitThresholdMs;
+
+    /**
+     * The number of requests shed since the service started.
+     */
+    private long shedCount;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.model.vo;
+
+import com.paiondata.aristotle.common.base.NodeUpdateStatus;
+import com.paiondata.aristotle.model.BaseEntity;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the outcome of one node of a bulk node update.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "The outcome of one node of a bulk node update")
+public class NodeUpdateResultVO extends BaseEntity {
+
+    /**
+     * The UUID of the node.
+     */
+    @ApiModelProperty(value = "The UUID of the node")
+    private String uuid;
+
+    /**
+     * The outcome of the update.
+     */
+    @ApiModelProperty(value = "The outcome of the update")
+    private NodeUpdateStatus status;
+
+    /**
+     * The reason the node has not been updated, {@code null} if it has.
+     */
+    @ApiModelProperty(value = "The reason the node has not been updated, null if it has")
+    private String message;
+}
@@ -21,6 +21,7 @@ import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -34,34 +35,40 @@ public interface GraphRepository extends Neo4jRepository<Graph, Long> {
 
     /**
      * Retrieves a graph by its UUID.
+     * <p>
+     * The update time of the graph is read from its {@code GraphVersion} node, which every write to the nodes or
+     * relations of the graph updates instead of the graph node, see
+     * {@link com.paiondata.aristotle.common.util.GraphTouchBuffer}.
      *
      * @param uuid the UUID of the graph
      *
      * @return the graph
      */
-    @Query("MATCH (g:Graph) WHERE g.uuid = $uuid RETURN g")
+    @Transactional(readOnly = true)
+    @Query("MATCH (g:Graph) WHERE g.uuid = $uuid OPTIONAL MATCH (v:GraphVersion { graph_uuid: g.uuid }) " +
+            "RETURN g{.*, update_time: coalesce(v.update_time, g.update_time), " +
+            "__internalNeo4jId__: id(g), __nodeLabels__: labels(g)}")
     Graph getGraphByUuid(String uuid);
 
     /**
-     * Deletes graphs by their UUIDs.
+     * Tombstones graphs by their UUIDs, hiding them from every read until they are purged.
      *
      * @param uuids the list of UUIDs of the graphs to be deleted
+     * @param deleteTime the time the graphs are deleted
      */
-    @Query("MATCH (g:Graph) WHERE g.uuid IN $uuids DETACH DELETE g")
-    void deleteByUuids(List<String> uuids);
+    @Query("MATCH (g:Graph) WHERE g.uuid IN $uuids " +
+            "SET g:DeletedGraph, g.delete_time = $deleteTime REMOVE g:Graph")
+    void tombstoneByUuids(@Param("uuids") List<String> uuids, @Param("deleteTime") String deleteTime);
 
     /**
-     * Retrieves the UUIDs of graph nodes associated with the given graphs.
+     * Tombstones the graphs of users, hiding them from every read until they are purged.
      *
-     * @param uuids the list of UUIDs of the graphs
-     *
-     * @return the list of UUIDs of the graph nodes
+     * @param oidcids the list of OIDC IDs of the users
+     * @param deleteTime the time the graphs are deleted
      */
-    @Query("MATCH (g:Graph) WHERE g.uuid IN $uuids "
-            + "WITH g "
-            + "MATCH (g)-[r:RELATION]->(gn:GraphNode) "
-            + "RETURN gn.uuid")
-    List<String> getGraphNodeUuidsByGraphUuids(List<String> uuids);
+    @Query("MATCH (u:User)-[:RELATION]->(g:Graph) WHERE u.oidcid IN $oidcids " +
+            "SET g:DeletedGraph, g.delete_time = $deleteTime REMOVE g:Graph")
+    void tombstoneByOidcids(@Param("oidcids") List<String> oidcids, @Param("deleteTime") String deleteTime);
 
     /**
      * Retrieves the UUID of a graph associated with a specific user.
@@ -70,7 +77,43 @@ public interface GraphRepository extends Neo4jRepository<Graph, Long> {
      *
      * @return the UUID of the graph
      */
+    @Transactional(readOnly = true)
     @Query("MATCH (u:User{oidcid: $oidcid})-[:RELATION]->(g:Graph{uuid: $graphUuid}) " +
             "RETURN g.uuid")
     String getGraphByGraphUuidAndOidcid(@Param("graphUuid") String graphUuid, @Param("oidcid") String oidcid);
+
+    /**
+     * Retrieves the version of a graph by its UUID, which is incremented by every write to the graph.
+     *
+     * @param uuid the UUID of the graph
+     *
+     * @return the version of the graph, or {@code null} if the graph does not exist
+     */
+    @Transactional(readOnly = true)
+    @Query("MATCH (g:Graph { uuid: $uuid }) OPTIONAL MATCH (v:GraphVersion { graph_uuid: g.uuid }) " +
+            "RETURN coalesce(v.version, 0)")
+    Long getGraphVersionByUuid(String uuid);
+
+    /**
+     * Retrieves the version of the graph a graph node belongs to.
+     *
+     * @param uuid the UUID of the graph node
+     *
+     * @return the version of the graph, or {@code null} if the graph node does not exist
+     */
+    @Transactional(readOnly = true)
+    @Query("MATCH (g:Graph)-[:RELATION]->(gn:GraphNode { uuid: $uuid }) " +
+            "OPTIONAL MATCH (v:GraphVersion { graph_uuid: g.uuid }) RETURN coalesce(v.version, 0)")
+    Long getGraphVersionByNodeUuid(String uuid);
+
+    /**
+     * Sets the update time of a graph and increments its version, marking its nodes or relations as changed.
+     *
+     * @param uuid the UUID of the graph
+     * @param updateTime the new update time
+     */
+    @Query("MATCH (g:Graph { uuid: $uuid }) " +
+            "MERGE (v:GraphVersion { graph_uuid: g.uuid }) " +
+            "SET v.update_time = $updateTime, v.version = coalesce(v.version, 0) + 1")
+    void updateGraphUpdateTimeByUuid(@Param("uuid") String uuid, @Param("updateTime") String updateTime);
 }
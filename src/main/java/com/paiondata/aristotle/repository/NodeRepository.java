@@ -20,6 +20,7 @@ import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -30,7 +31,7 @@ import java.util.Set;
  * This interface provides methods for CRUD operations on graph nodes and relationships.
  */
 @Repository
-public interface NodeRepository extends Neo4jRepository<GraphNode, Long> {
+public interface NodeRepository extends Neo4jRepository<GraphNode, Long>, NodeRepositoryCustom {
 
     /**
      * Deletes graph nodes by their UUIDs.
@@ -47,53 +48,41 @@ public interface NodeRepository extends Neo4jRepository<GraphNode, Long> {
      *
      * @return the list of UUIDs of the graphs
      */
+    @Transactional(readOnly = true)
     @Query("MATCH (g:Graph)-[r:RELATION]->(gn:GraphNode) WHERE gn.uuid in $uuids RETURN g.uuid")
     List<String> getGraphUuidByGraphNodeUuid(Set<String> uuids);
 
     /**
-     * Updates the name of a relationship between a graph and a graph node.
+     * Retrieves which of the given relationships between graph nodes belong to a graph.
+     * <p>
+     * The graph is looked up once, then every relationship by the index on its UUID and its start node checked
+     * against the graph, so the query costs a constant number of index seeks per UUID however large the graph is.
      *
-     * @param relationUuid    the UUID of the relationship
-     * @param relationName    the new name of the relationship
      * @param graphUuid       the UUID of the graph
+     * @param relationUuids   the UUIDs of the relationships
+     *
+     * @return the UUIDs of the relationships found in the graph
      */
-    @Query("MATCH (g:Graph {uuid: $graphUuid})-[:RELATION]->(gn1:GraphNode) " +
-            "MATCH (gn1)-[r:RELATION {uuid: $relationUuid}]->(:GraphNode) " +
-            "SET r.name = $relationName")
-    void updateRelationByUuid(@Param("relationUuid") String relationUuid,
-                              @Param("relationName") String relationName,
-                              @Param("graphUuid") String graphUuid);
+    @Transactional(readOnly = true)
+    @Query("MATCH (g:Graph { uuid: $graphUuid }) " +
+            "UNWIND $relationUuids AS relationUuid " +
+            "MATCH (gn:GraphNode)-[r:RELATION { uuid: relationUuid }]->(:GraphNode) " +
+            "WHERE (g)-[:RELATION]->(gn) " +
+            "RETURN r.uuid")
+    List<String> getRelationUuidsByGraphUuid(@Param("graphUuid") String graphUuid,
+                                             @Param("relationUuids") Set<String> relationUuids);
 
     /**
-     * Deletes a relationship between a graph and a graph node.
+     * Deletes relationships between graph nodes of a graph, each looked up by the index on its UUID.
      *
-     * @param relationUuid    the UUID of the relationship
      * @param graphUuid       the UUID of the graph
+     * @param relationUuids   the UUIDs of the relationships
      */
-    @Query("MATCH (g:Graph {uuid: $graphUuid})-[:RELATION]->(gn1:GraphNode) " +
-            "MATCH (gn1)-[r:RELATION {uuid: $relationUuid}]->(:GraphNode) " +
+    @Query("MATCH (g:Graph { uuid: $graphUuid }) " +
+            "UNWIND $relationUuids AS relationUuid " +
+            "MATCH (gn:GraphNode)-[r:RELATION { uuid: relationUuid }]->(:GraphNode) " +
+            "WHERE (g)-[:RELATION]->(gn) " +
             "DELETE r")
-    void deleteRelationByUuid(String relationUuid, String graphUuid);
-
-    /**
-     * Retrieves the name of a relationship by its UUID.
-     *
-     * @param relationUuid the UUID of the relationship
-     *
-     * @return the name of the relationship
-     */
-    @Query("MATCH (g:Graph)-[:RELATION]->(gn1:GraphNode) " +
-            "MATCH (gn1)-[r:RELATION {uuid: $relationUuid}]->(:GraphNode) " +
-            "RETURN r.name")
-    String getRelationByUuid(String relationUuid);
-
-    /**
-     * Retrieves the UUID of a graph node associated with a specific graph.
-     * @param graphUuid the UUID of the graph
-     * @param nodeUuid the UUID of the node
-     *
-     * @return the UUID of the node
-     */
-    @Query("MATCH (g:Graph{uuid: $graphUuid})-[:RELATION]->(gn:GraphNode{uuid: $nodeUuid}) RETURN gn.uuid")
-    String getNodeByGraphUuidAndNodeUuid(@Param("graphUuid") String graphUuid, @Param("nodeUuid") String nodeUuid);
+    void deleteRelationsByUuid(@Param("graphUuid") String graphUuid,
+                               @Param("relationUuids") List<String> relationUuids);
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom queries on graph nodes whose results do not map onto an entity.
+ */
+public interface NodeRepositoryCustom {
+
+    /**
+     * Finds which of the given graph nodes do not belong to a graph, in a single query.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param uuids the UUIDs of the graph nodes
+     *
+     * @return the UUIDs of the graph nodes not belonging to the graph, each mapped to {@code true} if the node
+     * exists outside the graph and to {@code false} if it does not exist at all
+     */
+    Map<String, Boolean> getNodesOutsideGraph(String graphUuid, List<String> uuids);
+
+    /**
+     * Renames relationships between graph nodes of a graph, in a single statement.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param updateMap the new names of the relationships, keyed by their UUIDs
+     */
+    void updateRelationsByUuid(String graphUuid, Map<String, String> updateMap);
+}
@@ -21,6 +21,7 @@ import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -39,6 +40,7 @@ public interface UserRepository extends Neo4jRepository<User, Long> {
      *
      * @return the user
      */
+    @Transactional(readOnly = true)
     @Query("MATCH (u:User { oidcid: $oidcid }) RETURN u")
     User getUserByOidcid(String oidcid);
 
@@ -47,6 +49,7 @@ public interface UserRepository extends Neo4jRepository<User, Long> {
      *
      * @return a list of all users
      */
+    @Transactional(readOnly = true)
     @Query("MATCH (u:User) RETURN u")
     List<User> findAll();
 
@@ -57,6 +60,7 @@ public interface UserRepository extends Neo4jRepository<User, Long> {
      *
      * @return the count of users with the given OIDC ID
      */
+    @Transactional(readOnly = true)
     @Query("MATCH (u:User { oidcid: $oidcid }) RETURN count(u)")
     long checkOidcidExists(String oidcid);
 
@@ -91,17 +95,4 @@ public interface UserRepository extends Neo4jRepository<User, Long> {
      */
     @Query("MATCH (u:User) WHERE u.oidcid IN $oidcids DETACH DELETE u")
     void deleteByOidcids(List<String> oidcids);
-
-    /**
-     * Retrieves the UUIDs of graphs associated with the given users.
-     *
-     * @param oidcids the list of OIDC IDs of the users
-     *
-     * @return the list of UUIDs of the graphs
-     */
-    @Query("MATCH (u:User) WHERE u.oidcid IN $oidcids "
-            + "WITH u "
-            + "MATCH (u)-[r:RELATION]->(g:Graph) "
-            + "RETURN g.uuid")
-    List<String> getGraphUuidsByUserOidcid(List<String> oidcids);
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.repository.impl;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.repository.NodeRepositoryCustom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the custom graph node queries, run through the {@link Neo4jClient} so that they join the
+ * Spring-managed transaction of the caller like the derived queries of the repository.
+ */
+public class NodeRepositoryCustomImpl implements NodeRepositoryCustom {
+
+    private static final String EXISTS = "exists";
+
+    private static final String GET_NODES_OUTSIDE_GRAPH_CYPHER = "UNWIND $uuids AS uuid " +
+            "OPTIONAL MATCH (:Graph)-[:RELATION]->(gn:GraphNode { uuid: uuid }) " +
+            "OPTIONAL MATCH (g:Graph { uuid: $graphUuid })-[:RELATION]->(gn) " +
+            "WITH uuid, gn, g WHERE g IS NULL " +
+            "RETURN uuid, gn IS NOT NULL AS " + EXISTS;
+
+    private static final String UPDATE_RELATIONS_CYPHER = "MATCH (g:Graph { uuid: $graphUuid }) " +
+            "UNWIND keys($updateMap) AS relationUuid " +
+            "MATCH (gn:GraphNode)-[r:RELATION { uuid: relationUuid }]->(:GraphNode) " +
+            "WHERE (g)-[:RELATION]->(gn) " +
+            "SET r.name = $updateMap[relationUuid]";
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    /**
+     * Finds which of the given graph nodes do not belong to a graph, in a single query.
+     * <p>
+     * Every UUID is looked up by the unique node index, then matched against the graph, so the query costs a
+     * constant number of index seeks per UUID however large the graph is.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param uuids the UUIDs of the graph nodes
+     *
+     * @return the UUIDs of the graph nodes not belonging to the graph, each mapped to {@code true} if the node
+     * exists outside the graph and to {@code false} if it does not exist at all
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, Boolean> getNodesOutsideGraph(final String graphUuid, final List<String> uuids) {
+        final Map<String, Boolean> outside = new HashMap<>();
+        neo4jClient.query(GET_NODES_OUTSIDE_GRAPH_CYPHER)
+                .bind(graphUuid).to(Constants.GRAPH_UUID)
+                .bind(uuids).to(Constants.UUIDS)
+                .fetch()
+                .all()
+                .forEach(row -> outside.put((String) row.get(Constants.UUID), (Boolean) row.get(EXISTS)));
+
+        return outside;
+    }
+
+    /**
+     * Renames relationships between graph nodes of a graph, in a single statement.
+     * <p>
+     * The graph is looked up once, then every relationship by the index on its UUID and its start node checked
+     * against the graph, so the statement costs a constant number of index seeks per renamed relationship however
+     * large the graph is. The UUIDs are unwound from the keys of the map rather than from a list of maps, as the
+     * planner only seeks the index for a plain variable.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param updateMap the new names of the relationships, keyed by their UUIDs
+     */
+    @Transactional
+    @Override
+    public void updateRelationsByUuid(final String graphUuid, final Map<String, String> updateMap) {
+        neo4jClient.query(UPDATE_RELATIONS_CYPHER)
+                .bind(graphUuid).to(Constants.GRAPH_UUID)
+                .bind(updateMap).to(Constants.UPDATE_MAP)
+                .run();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.paiondata.aristotle.service;
 
+import com.paiondata.aristotle.common.util.AsyncReadContext;
 import com.paiondata.aristotle.model.dto.GraphCreateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
 import com.paiondata.aristotle.model.entity.User;
@@ -24,6 +25,7 @@ import org.neo4j.driver.Transaction;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Service interface for common operations.
@@ -48,6 +50,56 @@ public interface CommonService {
      */
     Optional<Graph> getGraphByUuid(String uuid);
 
+    /**
+     * Retrieves a graph by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an optional containing the graph if found, or empty if not found
+     */
+    CompletionStage<Optional<Graph>> getGraphByUuidAsync(String uuid, AsyncReadContext context);
+
+    /**
+     * Retrieves the version of a graph by its UUID.
+     *
+     * @param uuid the UUID of the graph
+     *
+     * @return an optional containing the version if the graph is found, or empty if not found
+     */
+    Optional<Long> getGraphVersionByUuid(String uuid);
+
+    /**
+     * Retrieves the version of a graph by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an optional containing the version if the graph is found, or empty if not
+     * found
+     */
+    CompletionStage<Optional<Long>> getGraphVersionByUuidAsync(String uuid, AsyncReadContext context);
+
+    /**
+     * Retrieves the version of the graph a node belongs to.
+     *
+     * @param nodeUuid the UUID of the node
+     *
+     * @return an optional containing the version if the node is found, or empty if not found
+     */
+    Optional<Long> getGraphVersionByNodeUuid(String nodeUuid);
+
+    /**
+     * Retrieves the version of the graph a node belongs to without blocking the calling thread.
+     *
+     * @param nodeUuid the UUID of the node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an optional containing the version if the node is found, or empty if not
+     * found
+     */
+    CompletionStage<Optional<Long>> getGraphVersionByNodeUuidAsync(String nodeUuid, AsyncReadContext context);
+
     /**
      * Retrieves users' associated graphs by OIDC ID.
      *
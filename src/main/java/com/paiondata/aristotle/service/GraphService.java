@@ -15,12 +15,17 @@
  */
 package com.paiondata.aristotle.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
 import com.paiondata.aristotle.model.dto.FilterQueryGraphDTO;
 import com.paiondata.aristotle.model.dto.GraphDeleteDTO;
 import com.paiondata.aristotle.model.dto.GraphUpdateDTO;
 import com.paiondata.aristotle.model.vo.GraphVO;
 import org.neo4j.driver.Transaction;
 
+import java.io.IOException;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Service implementation for managing graphs.
  * This class provides methods for CRUD operations on graphs and their relationships.
@@ -35,6 +40,25 @@ public interface GraphService {
      */
     GraphVO getGraphVOByUuid(FilterQueryGraphDTO filterQueryGraphDTO);
 
+    /**
+     * Retrieves a graph by its UUID and filter parameters without blocking the calling thread.
+     * @param filterQueryGraphDTO the filter query DTO
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with the graph VO contains the graph details and nodes and relations
+     */
+    CompletionStage<GraphVO> getGraphVOByUuidAsync(FilterQueryGraphDTO filterQueryGraphDTO, AsyncReadContext context);
+
+    /**
+     * Writes a graph, wrapped in a successful result, to a JSON generator while it is read from the database.
+     * The output is identical to serializing the result of {@link #getGraphVOByUuid(FilterQueryGraphDTO)}.
+     * @param filterQueryGraphDTO the filter query DTO
+     * @param generator the JSON generator to write to
+     *
+     * @throws IOException if writing to the generator fails
+     */
+    void writeGraphVOByUuid(FilterQueryGraphDTO filterQueryGraphDTO, JsonGenerator generator) throws IOException;
+
     /**
      * Deletes graphs by their UUIDs.
      *
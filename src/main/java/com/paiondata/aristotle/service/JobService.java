@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service;
+
+import com.paiondata.aristotle.model.vo.JobVO;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Service interface for running writes asynchronously.
+ *
+ * Jobs run on a bounded pool of workers; jobs of the same graph run one at a time in submission order.
+ */
+public interface JobService {
+
+    /**
+     * Queues a write.
+     * @param graphUuid the UUID of the graph the write applies to, or {@code null} if it creates a new graph
+     * @param work the write, returning the result reported by the job
+     *
+     * @return the queued job
+     */
+    JobVO submit(String graphUuid, Supplier<?> work);
+
+    /**
+     * Retrieves a job by its UUID.
+     * @param uuid the UUID of the job
+     *
+     * @return an {@code Optional} containing the job if it exists and has not expired
+     */
+    Optional<JobVO> getJob(String uuid);
+
+    /**
+     * Registers a listener for the status changes of a job.
+     * The listener immediately receives the current status, then every later one up to the final status.
+     * @param uuid the UUID of the job
+     * @param listener the listener
+     */
+    void subscribe(String uuid, Consumer<JobVO> listener);
+}
@@ -15,9 +15,14 @@
  */
 package com.paiondata.aristotle.service;
 
+import com.paiondata.aristotle.common.util.AsyncReadContext;
 import com.paiondata.aristotle.model.vo.GraphVO;
+import com.paiondata.aristotle.model.vo.ImportVO;
+import com.paiondata.aristotle.model.dto.NodeBulkUpdateDTO;
 import com.paiondata.aristotle.model.dto.NodeDeleteDTO;
+import com.paiondata.aristotle.model.vo.NodeUpdateResultVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.dto.GraphAndNodeCreateDTO;
 import com.paiondata.aristotle.model.dto.NodeCreateDTO;
@@ -25,8 +30,12 @@ import com.paiondata.aristotle.model.dto.RelationUpdateDTO;
 
 import org.neo4j.driver.Transaction;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for managing graph nodes.
@@ -44,6 +53,16 @@ public interface NodeService {
      */
     Optional<NodeVO> getNodeByUuid(String uuid);
 
+    /**
+     * Retrieves a graph node by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an {@code Optional} containing the graph node if found
+     */
+    CompletionStage<Optional<NodeVO>> getNodeByUuidAsync(String uuid, AsyncReadContext context);
+
     /**
      * Creates and binds a graph and a node based on the provided DTO.
      *
@@ -63,6 +82,21 @@ public interface NodeService {
      */
     GraphVO createGraphAndBindGraphAndNode(GraphAndNodeCreateDTO graphNodeCreateDTO, Transaction tx);
 
+    /**
+     * Imports nodes and relations into an existing graph from an NDJSON or CSV stream, committing them in chunks.
+     * @param graphUuid the UUID of the graph
+     * @param inputStream the import
+     * @param mediaType the media type of the import
+     * @param chunkSize the number of records committed per transaction
+     * @param progressConsumer the consumer receiving the counts after each committed chunk
+     *
+     * @return the total counts of imported nodes and relations
+     *
+     * @throws IOException if the import cannot be read
+     */
+    ImportVO importNodes(String graphUuid, InputStream inputStream, String mediaType, int chunkSize,
+                         Consumer<ImportVO> progressConsumer) throws IOException;
+
     /**
      * Deletes graph nodes by their UUIDs.
      *
@@ -78,6 +112,24 @@ public interface NodeService {
      */
     void updateNode(NodeUpdateDTO nodeUpdateDTO, Transaction tx);
 
+    /**
+     * Sets or removes some properties of a graph node, leaving the others unchanged.
+     *
+     * @param nodePatchDTO the DTO containing the properties to set, or to remove if {@code null}
+     * @param tx   the Neo4j transaction
+     */
+    void patchNode(NodePatchDTO nodePatchDTO, Transaction tx);
+
+    /**
+     * Sets or removes some properties of many graph nodes of a graph at once.
+     *
+     * @param nodeBulkUpdateDTO the DTO containing the UUID of the graph and the partial updates of its nodes
+     * @param tx   the Neo4j transaction
+     *
+     * @return the outcome of every update, in the order of the updates
+     */
+    List<NodeUpdateResultVO> bulkUpdateNodes(NodeBulkUpdateDTO nodeBulkUpdateDTO, Transaction tx);
+
     /**
      * Updates graph node relations based on the provided DTO.
      *
@@ -94,4 +146,16 @@ public interface NodeService {
      * @return a GraphVO object containing the expanded nodes and their relationships.
      */
     GraphVO getkDegreeExpansion(String graphUuid, String nodeUuid, Integer k);
+
+    /**
+     * Retrieves the k-degree expansion of a node in a graph without blocking the calling thread.
+     * @param graphUuid the UUID of the graph
+     * @param nodeUuid the UUID of the node
+     * @param k the degree of expansion
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with a GraphVO object containing the expanded nodes and their relationships.
+     */
+    CompletionStage<GraphVO> getkDegreeExpansionAsync(String graphUuid, String nodeUuid, Integer k,
+                                                      AsyncReadContext context);
 }
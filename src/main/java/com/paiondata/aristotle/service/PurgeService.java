@@ -0,0 +1,31 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service;
+
+/**
+ * Service interface for purging deleted graphs.
+ *
+ * Deleting a graph only tombstones it; the purge removes the tombstoned graphs and their graph nodes in the background.
+ */
+public interface PurgeService {
+
+    /**
+     * Purges a bounded number of batches of deleted graph nodes, then the deleted graphs left empty.
+     *
+     * @return the number of purged graph nodes
+     */
+    long purge();
+}
@@ -35,11 +35,14 @@ public interface UserService {
     UserVO getUserVOByOidcid(String oidcid);
 
     /**
-     * Retrieves all users as UserVOs.
+     * Retrieves a page of users as UserVOs, ordered by OIDC ID.
+     *
+     * @param after the OIDC ID after which the page starts, or {@code null} for the first page
+     * @param limit the maximum number of users in the page
      *
      * @return a list of UserVOs containing user details and associated graphs
      */
-    List<UserVO> getAllUsers();
+    List<UserVO> getUsers(String after, int limit);
 
     /**
      * Creates a new user.
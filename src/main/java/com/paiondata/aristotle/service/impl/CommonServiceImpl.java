@@ -16,6 +16,9 @@
 package com.paiondata.aristotle.service.impl;
 
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.EntityCache;
+import com.paiondata.aristotle.common.util.IdentityMap;
 import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.model.dto.GraphCreateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
@@ -40,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Implementation of the CommonService interface.
@@ -58,10 +62,14 @@ public class CommonServiceImpl implements CommonService {
     @Autowired
     private GraphMapper graphMapper;
 
+    @Autowired
+    private EntityCache entityCache;
+
     /**
      * Retrieves a user by their unique identifier (OIDC ID).
      *
-     * Attempts to find the user by their oidcid using the {@link UserRepository#getUserByOidcid(String)} method.
+     * Attempts to find the user by their oidcid using the {@link UserRepository#getUserByOidcid(String)} method,
+     * through the {@link EntityCache}, and at most once per request, through the {@link IdentityMap}.
      * Returns an {@code Optional} containing the user if found, or an empty {@code Optional} if not found.
      *
      * @param oidcid the unique identifier of the user
@@ -70,14 +78,15 @@ public class CommonServiceImpl implements CommonService {
      */
     @Override
     public Optional<User> getUserByOidcid(final String oidcid) {
-        final User user = userRepository.getUserByOidcid(oidcid);
-        return Optional.ofNullable(user);
+        return IdentityMap.get(User.class, oidcid, () ->
+                entityCache.getUser(oidcid, key -> Optional.ofNullable(userRepository.getUserByOidcid(key))));
     }
 
     /**
      * Retrieves a graph by its UUID.
      *
-     * Attempts to find the graph by its UUID using the {@link GraphRepository#getGraphByUuid(String)} method.
+     * Attempts to find the graph by its UUID using the {@link GraphRepository#getGraphByUuid(String)} method,
+     * through the {@link EntityCache}, and at most once per request, through the {@link IdentityMap}.
      * Returns an {@code Optional} containing the graph if found, or an empty {@code Optional} if not found.
      *
      * @param uuid the UUID of the graph
@@ -86,15 +95,101 @@ public class CommonServiceImpl implements CommonService {
      */
     @Override
     public Optional<Graph> getGraphByUuid(final String uuid) {
-        final Graph graph = graphRepository.getGraphByUuid(uuid);
-        return Optional.ofNullable(graph);
+        return IdentityMap.get(Graph.class, uuid, () ->
+                entityCache.getGraph(uuid, key -> Optional.ofNullable(graphRepository.getGraphByUuid(key))));
+    }
+
+    /**
+     * Retrieves a graph by its UUID without blocking the calling thread.
+     *
+     * Reads the graph through the asynchronous API of the driver, using the
+     * {@link GraphMapper#getGraphByUuidAsync(String, AsyncReadContext)} method. Neither the {@link EntityCache} nor
+     * the {@link IdentityMap} is consulted, as both are bound to the request thread while the stage may complete on
+     * the event loop of the driver.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an {@code Optional} containing the graph if found, or an empty
+     * {@code Optional} if not found
+     */
+    @Override
+    public CompletionStage<Optional<Graph>> getGraphByUuidAsync(final String uuid, final AsyncReadContext context) {
+        return graphMapper.getGraphByUuidAsync(uuid, context).thenApply(Optional::ofNullable);
+    }
+
+    /**
+     * Retrieves the version of a graph by its UUID.
+     *
+     * Only reads the version property of the graph through the unique index on its UUID, which makes it cheap
+     * enough to run before every conditional read.
+     *
+     * @param uuid the UUID of the graph
+     *
+     * @return an {@code Optional} containing the version if the graph is found, or an empty {@code Optional}
+     * if not found
+     */
+    @Override
+    public Optional<Long> getGraphVersionByUuid(final String uuid) {
+        return Optional.ofNullable(graphRepository.getGraphVersionByUuid(uuid));
+    }
+
+    /**
+     * Retrieves the version of a graph by its UUID without blocking the calling thread.
+     *
+     * Runs the same lookup as {@link #getGraphVersionByUuid(String)} through the asynchronous API of the driver,
+     * using the {@link GraphMapper#getGraphVersionByUuidAsync(String, AsyncReadContext)} method.
+     *
+     * @param uuid the UUID of the graph
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an {@code Optional} containing the version if the graph is found, or an
+     * empty {@code Optional} if not found
+     */
+    @Override
+    public CompletionStage<Optional<Long>> getGraphVersionByUuidAsync(final String uuid,
+                                                                      final AsyncReadContext context) {
+        return graphMapper.getGraphVersionByUuidAsync(uuid, context).thenApply(Optional::ofNullable);
+    }
+
+    /**
+     * Retrieves the version of the graph a node belongs to.
+     *
+     * Looks the node up through the unique index on its UUID and reads the version of the graph it belongs to.
+     *
+     * @param nodeUuid the UUID of the node
+     *
+     * @return an {@code Optional} containing the version if the node is found, or an empty {@code Optional}
+     * if not found
+     */
+    @Override
+    public Optional<Long> getGraphVersionByNodeUuid(final String nodeUuid) {
+        return Optional.ofNullable(graphRepository.getGraphVersionByNodeUuid(nodeUuid));
+    }
+
+    /**
+     * Retrieves the version of the graph a node belongs to without blocking the calling thread.
+     *
+     * Runs the same lookup as {@link #getGraphVersionByNodeUuid(String)} through the asynchronous API of the
+     * driver, using the {@link GraphMapper#getGraphVersionByNodeUuidAsync(String, AsyncReadContext)} method.
+     *
+     * @param nodeUuid the UUID of the node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an {@code Optional} containing the version if the node is found, or an
+     * empty {@code Optional} if not found
+     */
+    @Override
+    public CompletionStage<Optional<Long>> getGraphVersionByNodeUuidAsync(final String nodeUuid,
+                                                                          final AsyncReadContext context) {
+        return graphMapper.getGraphVersionByNodeUuidAsync(nodeUuid, context).thenApply(Optional::ofNullable);
     }
 
     /**
      * Retrieves a list of graphs associated with a user by their user identifier (OIDC ID).
      *
      * Checks if the user with the provided oidcid exists using <br>
-     * the {@link UserRepository#getUserByOidcid(String)} method.
+     * the {@link #getUserByOidcid(String)} method.
      * Throws a {@link NoSuchElementException} if the user is not found.
      * Retrieves the list of graphs associated with the user using <br>
      * the {@link GraphMapper#getGraphsByOidcid(String)} method.
@@ -107,7 +202,7 @@ public class CommonServiceImpl implements CommonService {
      */
     @Override
     public List<Map<String, Object>> getGraphsByOidcid(final String oidcid) {
-        if (userRepository.getUserByOidcid(oidcid) == null) {
+        if (getUserByOidcid(oidcid).isEmpty()) {
             final String message = String.format(Message.USER_NULL, oidcid);
             LOG.error(message);
             throw new NoSuchElementException(message);
@@ -125,7 +220,9 @@ public class CommonServiceImpl implements CommonService {
      * Attempts to find the user by the provided user identifier using the {@link #getUserByOidcid(String)} method.
      * Throws a {@link NoSuchElementException} if the user is not found.
      * Creates and binds the graph to the user using <br>
-     * the {@link GraphMapper#createGraph(String, String, String, String, String, String, Transaction)} method.
+     * the {@link GraphMapper#createGraph(String, String, String, String, String, String, Transaction)} method,
+     * and registers the graph in the {@link IdentityMap}, so that the rest of the request finds it although its
+     * transaction is not committed yet.
      *
      * @param graphCreateDTO The DTO containing the information for creating the graph. <br>
      *                       It includes the graph title, description, and user identifier.
@@ -151,7 +248,10 @@ public class CommonServiceImpl implements CommonService {
             throw new NoSuchElementException(message);
         }
 
-        return graphMapper.createGraph(title, description, oidcid, graphUuid, relationUuid, currentTime, tx);
+        final Graph graph = graphMapper.createGraph(title, description, oidcid, graphUuid, relationUuid, currentTime,
+                tx);
+        IdentityMap.put(Graph.class, graphUuid, graph);
+        return graph;
     }
 
     /**
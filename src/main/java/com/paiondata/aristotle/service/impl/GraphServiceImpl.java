@@ -15,8 +15,13 @@
  */
 package com.paiondata.aristotle.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.paiondata.aristotle.common.annotion.Neo4jTransactional;
+import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.base.Result;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.EntityCache;
 import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.mapper.NodeMapper;
 import com.paiondata.aristotle.model.dto.FilterQueryGraphDTO;
@@ -25,7 +30,6 @@ import com.paiondata.aristotle.model.dto.GraphDeleteDTO;
 import com.paiondata.aristotle.model.dto.GraphUpdateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
 import com.paiondata.aristotle.model.vo.GraphVO;
-import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.service.CommonService;
 import com.paiondata.aristotle.service.GraphService;
@@ -38,6 +42,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -46,6 +52,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Service implementation for managing graphs.
@@ -67,10 +76,10 @@ public class GraphServiceImpl implements GraphService {
     private NodeMapper nodeMapper;
 
     @Autowired
-    private NodeRepository nodeRepository;
+    private CommonService commonService;
 
     @Autowired
-    private CommonService commonService;
+    private EntityCache entityCache;
 
     /**
      * Retrieves a graph view object (VO) by its UUID.
@@ -93,17 +102,9 @@ public class GraphServiceImpl implements GraphService {
         final int pageNumber = filterQueryGraphDTO.getPageNumber();
         final int pageSize = filterQueryGraphDTO.getPageSize();
 
-        final Graph graphByUuid = graphRepository.getGraphByUuid(uuid);
-
-        if (graphByUuid == null) {
-            final String message = String.format(Message.GRAPH_NULL, uuid);
-            LOG.error(message);
-            throw new NoSuchElementException(message);
-        }
-
-        final Optional<Map<String, String>> optionalProperties = filterQueryGraphDTO.getProperties();
+        final Graph graphByUuid = getExistingGraph(uuid);
 
-        final Map<String, String> properties = optionalProperties.orElse(Map.of());
+        final Map<String, String> properties = filterQueryGraphDTO.getProperties().orElse(Map.of());
 
         final GetRelationDTO dto = nodeMapper.getRelationByGraphUuid(uuid, properties, pageNumber, pageSize);
 
@@ -112,6 +113,105 @@ public class GraphServiceImpl implements GraphService {
                 pageNumber, pageSize, dto.getTotalCount());
     }
 
+    /**
+     * Retrieves a graph view object (VO) by its UUID without blocking the calling thread.
+     * <p>
+     * Reads the same graph and page as {@link #getGraphVOByUuid(FilterQueryGraphDTO)} through the asynchronous API
+     * of the driver, using the {@link GraphMapper#getGraphByUuidAsync(String, AsyncReadContext)} and
+     * {@link NodeMapper#getRelationByGraphUuidAsync(String, Map, Integer, Integer, AsyncReadContext)} methods.
+     *
+     * @param filterQueryGraphDTO The DTO containing the graph UUID, optional filter properties and paging.
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with a {@link GraphVO} object representing the graph and its nodes and relations,
+     * or completed exceptionally with a {@link NoSuchElementException} if the graph is not found
+     */
+    @Override
+    public CompletionStage<GraphVO> getGraphVOByUuidAsync(final FilterQueryGraphDTO filterQueryGraphDTO,
+                                                          final AsyncReadContext context) {
+        final String uuid = filterQueryGraphDTO.getUuid();
+        final int pageNumber = filterQueryGraphDTO.getPageNumber();
+        final int pageSize = filterQueryGraphDTO.getPageSize();
+        final Map<String, String> properties = filterQueryGraphDTO.getProperties().orElse(Map.of());
+
+        return graphMapper.getGraphByUuidAsync(uuid, context).thenCompose(graphByUuid -> {
+            if (graphByUuid == null) {
+                final String message = String.format(Message.GRAPH_NULL, uuid);
+                LOG.error(message);
+                throw new NoSuchElementException(message);
+            }
+
+            return nodeMapper.getRelationByGraphUuidAsync(uuid, properties, pageNumber, pageSize, context)
+                    .thenApply(dto -> new GraphVO(graphByUuid.getUuid(), graphByUuid.getTitle(),
+                            graphByUuid.getDescription(), graphByUuid.getCreateTime(), graphByUuid.getUpdateTime(),
+                            dto.getNodes(), dto.getRelations(), pageNumber, pageSize, dto.getTotalCount()));
+        });
+    }
+
+    /**
+     * Writes a graph and one page of its nodes and relations to a JSON generator.
+     * <p>
+     * Produces exactly the bytes that serializing {@code Result.ok(getGraphVOByUuid(filterQueryGraphDTO))} would,
+     * but without building the {@link GraphVO}: the graph is checked first, so a missing graph still surfaces as a
+     * {@link NoSuchElementException} before anything is written, and the nodes and relations are then written one
+     * by one as {@link NodeMapper#streamRelationByGraphUuid(String, Map, Integer, Integer, Consumer, Consumer)}
+     * reads them. The generator is flushed but not closed, the caller owns it.
+     *
+     * @param filterQueryGraphDTO The DTO containing the graph UUID, optional filter properties and paging.
+     * @param generator The JSON generator receiving the response body.
+     *
+     * @throws NoSuchElementException If the graph with the specified UUID is not found.
+     * @throws IOException If writing to the generator fails.
+     */
+    @Override
+    public void writeGraphVOByUuid(final FilterQueryGraphDTO filterQueryGraphDTO, final JsonGenerator generator)
+            throws IOException {
+        final String uuid = filterQueryGraphDTO.getUuid();
+        final int pageNumber = filterQueryGraphDTO.getPageNumber();
+        final int pageSize = filterQueryGraphDTO.getPageSize();
+
+        final Graph graphByUuid = getExistingGraph(uuid);
+
+        final Map<String, String> properties = filterQueryGraphDTO.getProperties().orElse(Map.of());
+
+        generator.writeStartObject();
+        generator.writeNumberField(Constants.CODE, Result.SUCCESS);
+        generator.writeStringField(Constants.MSG, Result.SUCCESS_MSG);
+        generator.writeObjectFieldStart(Constants.DATA);
+        generator.writeStringField(Constants.UUID, graphByUuid.getUuid());
+        generator.writeStringField(Constants.TITLE, graphByUuid.getTitle());
+        generator.writeStringField(Constants.DESCRIPTION, graphByUuid.getDescription());
+        generator.writeStringField(Constants.CREATE_TIME, graphByUuid.getCreateTime());
+        generator.writeStringField(Constants.UPDATE_TIME, graphByUuid.getUpdateTime());
+        generator.writeArrayFieldStart(Constants.NODES);
+
+        final AtomicBoolean inRelations = new AtomicBoolean(false);
+        final long totalCount;
+        try {
+            totalCount = nodeMapper.streamRelationByGraphUuid(uuid, properties, pageNumber, pageSize,
+                    node -> writeElement(generator, node),
+                    relation -> {
+                        if (inRelations.compareAndSet(false, true)) {
+                            startRelations(generator);
+                        }
+                        writeElement(generator, relation);
+                    });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (!inRelations.get()) {
+            startRelations(generator);
+        }
+        generator.writeEndArray();
+        generator.writeNumberField(Constants.PAGE_NUMBER, pageNumber);
+        generator.writeNumberField(Constants.PAGE_SIZE, pageSize);
+        generator.writeNumberField(Constants.TOTAL_COUNT, totalCount);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
     /**
      * Deletes graphs by their UUIDs.
      * <p>
@@ -120,9 +220,10 @@ public class GraphServiceImpl implements GraphService {
      * - Retrieves the graph by its UUID using the {@link CommonService#getGraphByUuid(String)} method.
      * - Throws a {@link NoSuchElementException} if the graph is not found.
      * - Throws a {@link IllegalStateException} if the graph is bound to another user.
-     * Retrieves the UUIDs of related graph nodes using the {@link #getRelatedGraphNodeUuids(List)} method.
-     * Deletes the related graph nodes using the {@link NodeRepository#deleteByUuids(List)} method.
-     * Deletes the graphs using the {@link GraphRepository#deleteByUuids(List)} method.
+     * Tombstones the graphs using the {@link GraphRepository#tombstoneByUuids(List, String)} method, which hides
+     * them from every read and returns immediately. Their graph nodes are deleted later, in batches, by the
+     * {@link com.paiondata.aristotle.service.PurgeService}.
+     * Evicts the graphs from the {@link EntityCache}.
      *
      * @param graphDeleteDTO The DTO containing the user identifier and the list of graph UUIDs to be deleted. <br>
      *                       It includes the user identifier ({@code oidcid}) and the list of graph UUIDs.
@@ -130,8 +231,8 @@ public class GraphServiceImpl implements GraphService {
      * @throws NoSuchElementException If any of the specified graphs are not found.
      * @throws IllegalStateException If any of the specified graphs are bound to another user.
      */
-    @Transactional
     @Override
+    @Transactional
     public void deleteByUuids(final GraphDeleteDTO graphDeleteDTO) {
         final String oidcid = graphDeleteDTO.getOidcid();
         final List<String> uuids = graphDeleteDTO.getUuids();
@@ -149,10 +250,8 @@ public class GraphServiceImpl implements GraphService {
             }
         }
 
-        final List<String> relatedGraphNodeUuids = getRelatedGraphNodeUuids(uuids);
-
-        nodeRepository.deleteByUuids(relatedGraphNodeUuids);
-        graphRepository.deleteByUuids(uuids);
+        graphRepository.tombstoneByUuids(uuids, getCurrentTime());
+        entityCache.evictGraphs(uuids);
     }
 
     /**
@@ -163,7 +262,8 @@ public class GraphServiceImpl implements GraphService {
      * Attempts to find the graph by its UUID using the {@link CommonService#getGraphByUuid(String)} method.
      * Retrieves the current time.
      * If the graph is found, updates the graph's title and description using the <br>
-     * {@link GraphMapper#updateGraphByUuid(String, String, String, String, Transaction)} method.
+     * {@link GraphMapper#updateGraphByUuid(String, String, String, String, Transaction)} method, and evicts the
+     * graph from the {@link EntityCache}.
      *
      * @param graphUpdateDTO The DTO containing the updated information for the graph. <br>
      *                       It includes the graph UUID, title, and description.
@@ -188,6 +288,7 @@ public class GraphServiceImpl implements GraphService {
 
         if (graphByUuid.isPresent()) {
             graphMapper.updateGraphByUuid(uuid, graphUpdateDTO.getTitle(), graphUpdateDTO.getDescription(), now, tx);
+            entityCache.evictGraphs(List.of(uuid));
         } else {
             final String message = String.format(Message.GRAPH_NULL, uuid);
             LOG.error(message);
@@ -196,14 +297,56 @@ public class GraphServiceImpl implements GraphService {
     }
 
     /**
-     * Retrieves the UUIDs of graph nodes related to a list of graph UUIDs.
+     * Retrieves a graph by its UUID, failing if it does not exist.
+     *
+     * @param uuid the UUID of the graph
+     *
+     * @return the graph
+     *
+     * @throws NoSuchElementException if the graph is not found
+     */
+    private Graph getExistingGraph(final String uuid) {
+        final Graph graphByUuid = graphRepository.getGraphByUuid(uuid);
+
+        if (graphByUuid == null) {
+            final String message = String.format(Message.GRAPH_NULL, uuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+
+        return graphByUuid;
+    }
+
+    /**
+     * Closes the nodes array and opens the relations array of a streamed graph.
      *
-     * @param uuids the list of UUIDs of graphs
+     * @param generator the JSON generator
      *
-     * @return the list of UUIDs of graph nodes
+     * @throws UncheckedIOException if writing to the generator fails
      */
-    private List<String> getRelatedGraphNodeUuids(final List<String> uuids) {
-        return graphRepository.getGraphNodeUuidsByGraphUuids(uuids);
+    private static void startRelations(final JsonGenerator generator) {
+        try {
+            generator.writeEndArray();
+            generator.writeArrayFieldStart(Constants.RELATIONS);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes one element of a streamed array.
+     *
+     * @param generator the JSON generator
+     * @param element the node or relation to write
+     *
+     * @throws UncheckedIOException if writing to the generator fails
+     */
+    private static void writeElement(final JsonGenerator generator, final Object element) {
+        try {
+            generator.writeObject(element);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service.impl;
+
+import cn.hutool.core.lang.UUID;
+import com.paiondata.aristotle.common.base.JobStatus;
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.model.vo.JobVO;
+import com.paiondata.aristotle.service.JobService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Service implementation for running writes asynchronously.
+ * <p>
+ * Jobs are admitted up to {@code aristotle.job.threads + aristotle.job.queue-capacity} pending jobs, beyond which
+ * submissions are rejected with a {@link RejectedExecutionException} instead of growing an unbounded backlog.
+ * Jobs of the same graph are chained so that each starts once the previous one has finished, which keeps the writes
+ * to a graph in submission order while jobs of different graphs run in parallel. Finished jobs are kept for
+ * {@code aristotle.job.retention-minutes} so that clients can collect their outcome.
+ */
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobServiceImpl.class);
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private final Duration retention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<Void>> graphTails = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the service with its worker pool.
+     * @param threads the number of worker threads
+     * @param queueCapacity the number of jobs that may wait for a worker
+     * @param retentionMinutes the number of minutes finished jobs are kept
+     */
+    public JobServiceImpl(@Value("${aristotle.job.threads:4}") final int threads,
+                          @Value("${aristotle.job.queue-capacity:100}") final int queueCapacity,
+                          @Value("${aristotle.job.retention-minutes:60}") final long retentionMinutes) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "aristotle-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.permits = new Semaphore(threads + queueCapacity);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Queues a write.
+     * <p>
+     * The write runs with the bookmarks of the submitting request, see {@link BookmarkHolder#bind(Runnable)}, so
+     * that its reads observe the writes the client has already seen.
+     * @param graphUuid the UUID of the graph the write applies to, or {@code null} if it creates a new graph
+     * @param work the write, returning the result reported by the job
+     *
+     * @return the queued job
+     *
+     * @throws RejectedExecutionException if too many jobs are pending
+     */
+    @Override
+    public JobVO submit(final String graphUuid, final Supplier<?> work) {
+        if (!permits.tryAcquire()) {
+            LOG.error(Message.JOB_QUEUE_FULL);
+            throw new RejectedExecutionException(Message.JOB_QUEUE_FULL);
+        }
+        evictExpiredJobs();
+
+        final String now = getCurrentTime();
+        final Job job = new Job(JobVO.builder()
+                .uuid(UUID.fastUUID().toString(true))
+                .graphUuid(graphUuid)
+                .status(JobStatus.QUEUED)
+                .createTime(now)
+                .updateTime(now)
+                .build());
+        jobs.put(job.snapshot().getUuid(), job);
+
+        final Runnable task = BookmarkHolder.bind(() -> run(job, work));
+        if (graphUuid == null) {
+            CompletableFuture.runAsync(task, executor);
+        } else {
+            // Runs after the previous job of the graph whatever its outcome, so that a job failing with an Error
+            // does not leave the jobs queued behind it stuck, holding their permits
+            final CompletableFuture<Void> tail = graphTails.compute(graphUuid, (key, previous) -> previous == null
+                    ? CompletableFuture.runAsync(task, executor)
+                    : previous.handleAsync((ignored, error) -> {
+                        task.run();
+                        return null;
+                    }, executor));
+            tail.whenComplete((ignored, error) -> graphTails.remove(graphUuid, tail));
+        }
+
+        return job.snapshot();
+    }
+
+    /**
+     * Retrieves a job by its UUID.
+     * @param uuid the UUID of the job
+     *
+     * @return an {@code Optional} containing the job if it exists and has not expired
+     */
+    @Override
+    public Optional<JobVO> getJob(final String uuid) {
+        return Optional.ofNullable(jobs.get(uuid)).map(Job::snapshot);
+    }
+
+    /**
+     * Registers a listener for the status changes of a job.
+     * @param uuid the UUID of the job
+     * @param listener the listener
+     *
+     * @throws NoSuchElementException if the job does not exist
+     */
+    @Override
+    public void subscribe(final String uuid, final Consumer<JobVO> listener) {
+        final Job job = jobs.get(uuid);
+        if (job == null) {
+            final String message = String.format(Message.JOB_NULL, uuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+        job.subscribe(listener);
+    }
+
+    /**
+     * Stops the workers, abandoning the jobs which have not started.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a job on a worker thread and records its outcome.
+     * @param job the job
+     * @param work the write of the job
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void run(final Job job, final Supplier<?> work) {
+        try {
+            job.update(vo -> vo.toBuilder().status(JobStatus.RUNNING).updateTime(getCurrentTime()).build());
+            final Object result = work.get();
+            job.update(vo -> vo.toBuilder()
+                    .status(JobStatus.SUCCEEDED)
+                    .result(result)
+                    .bookmarks(BookmarkHolder.getResponseValues())
+                    .updateTime(getCurrentTime())
+                    .build());
+        } catch (final RuntimeException e) {
+            LOG.error(String.format("Job %s failed: %s", job.snapshot().getUuid(), e.getMessage()), e);
+            job.update(vo -> vo.toBuilder()
+                    .status(JobStatus.FAILED)
+                    .message(e.getMessage())
+                    .updateTime(getCurrentTime())
+                    .build());
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Drops the finished jobs whose retention has elapsed.
+     */
+    private void evictExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.isExpired(now, retention));
+    }
+
+    /**
+     * Gets the current time.
+     *
+     * @return the current time
+     */
+    private String getCurrentTime() {
+        final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return sdf.format(new Date());
+    }
+
+    /**
+     * The mutable state of a job together with the listeners of its status changes.
+     */
+    private static final class Job {
+
+        private final List<Consumer<JobVO>> listeners = new CopyOnWriteArrayList<>();
+
+        private volatile JobVO state;
+
+        private volatile long finishedAt;
+
+        /**
+         * Constructs a job.
+         * @param state the initial state
+         */
+        private Job(final JobVO state) {
+            this.state = state;
+        }
+
+        /**
+         * Returns the current state of the job.
+         *
+         * @return the current state
+         */
+        private JobVO snapshot() {
+            return state;
+        }
+
+        /**
+         * Replaces the state of the job and notifies the listeners.
+         * @param transition the function computing the new state from the current one
+         */
+        private void update(final UnaryOperator<JobVO> transition) {
+            final JobVO next;
+            synchronized (this) {
+                next = transition.apply(state);
+                state = next;
+                if (next.getStatus().isFinished()) {
+                    finishedAt = System.currentTimeMillis();
+                }
+            }
+            listeners.forEach(listener -> notify(listener, next));
+            if (next.getStatus().isFinished()) {
+                listeners.clear();
+            }
+        }
+
+        /**
+         * Registers a listener and sends it the current state.
+         * @param listener the listener
+         */
+        private void subscribe(final Consumer<JobVO> listener) {
+            final JobVO current;
+            synchronized (this) {
+                current = state;
+                if (!current.getStatus().isFinished()) {
+                    listeners.add(listener);
+                }
+            }
+            notify(listener, current);
+        }
+
+        /**
+         * Returns whether the job has finished longer ago than the retention.
+         * @param now the current time in milliseconds
+         * @param retention the retention of finished jobs
+         *
+         * @return {@code true} if the job can be dropped
+         */
+        private boolean isExpired(final long now, final Duration retention) {
+            return state.getStatus().isFinished() && now - finishedAt > retention.toMillis();
+        }
+
+        /**
+         * Sends a state to a listener, a failing listener does not affect the job or the other listeners.
+         * @param listener the listener
+         * @param vo the state
+         */
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private static void notify(final Consumer<JobVO> listener, final JobVO vo) {
+            try {
+                listener.accept(vo);
+            } catch (final RuntimeException e) {
+                LOG.warn(String.format("Job listener failed: %s", e.getMessage()), e);
+            }
+        }
+    }
+}
@@ -20,22 +20,36 @@ import cn.hutool.core.lang.UUID;
 import com.paiondata.aristotle.common.annotion.Neo4jTransactional;
 import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.base.NodeUpdateStatus;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+import com.paiondata.aristotle.common.util.IdentityMap;
+import com.paiondata.aristotle.common.util.ImportRecordReader;
+import com.paiondata.aristotle.common.util.RequestDeadline;
 import com.paiondata.aristotle.mapper.NodeMapper;
+import com.paiondata.aristotle.model.vo.NodeUpdateResultVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
 import com.paiondata.aristotle.model.vo.GraphVO;
+import com.paiondata.aristotle.model.vo.ImportVO;
 import com.paiondata.aristotle.model.dto.NodeDTO;
+import com.paiondata.aristotle.model.dto.NodeBulkUpdateDTO;
 import com.paiondata.aristotle.model.dto.NodeDeleteDTO;
 import com.paiondata.aristotle.model.dto.NodeRelationDTO;
 import com.paiondata.aristotle.model.dto.GraphAndNodeCreateDTO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.dto.RelationUpdateDTO;
 import com.paiondata.aristotle.model.dto.NodeCreateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
+import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.service.CommonService;
 import com.paiondata.aristotle.service.NodeService;
 import lombok.AllArgsConstructor;
 
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
 import org.neo4j.driver.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,19 +57,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing graph nodes.
@@ -71,14 +92,28 @@ public class NodeServiceImpl implements NodeService {
     @Autowired
     private NodeRepository nodeRepository;
 
+    @Autowired
+    private GraphRepository graphRepository;
+
     @Autowired
     private CommonService commonService;
 
     @Autowired
     private NodeMapper nodeMapper;
 
+    @Autowired
+    private ImportRecordReader importRecordReader;
+
+    @Autowired
+    private Driver driver;
+
+    @Autowired
+    private GraphTouchBuffer graphTouchBuffer;
+
     /**
      * Retrieves a graph node by its UUID.
+     * <p>
+     * The node is looked up at most once per request, through the {@link IdentityMap}.
      *
      * @param uuid the UUID of the graph node
      *
@@ -86,8 +121,21 @@ public class NodeServiceImpl implements NodeService {
      */
     @Override
     public Optional<NodeVO> getNodeByUuid(final String uuid) {
-        final NodeVO graphNode = nodeMapper.getNodeByUuid(uuid);
-        return Optional.ofNullable(graphNode);
+        return IdentityMap.get(NodeVO.class, uuid, () -> Optional.ofNullable(nodeMapper.getNodeByUuid(uuid)));
+    }
+
+    /**
+     * Retrieves a graph node by its UUID without blocking the calling thread.
+     *
+     * @param uuid the UUID of the graph node
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
+     *
+     * @return the stage completed with an {@code Optional} containing the graph node if found, or an empty
+     * {@code Optional} if not found
+     */
+    @Override
+    public CompletionStage<Optional<NodeVO>> getNodeByUuidAsync(final String uuid, final AsyncReadContext context) {
+        return nodeMapper.getNodeByUuidAsync(uuid, context).thenApply(Optional::ofNullable);
     }
 
     /**
@@ -186,6 +234,166 @@ public class NodeServiceImpl implements NodeService {
         return graphVO;
     }
 
+    /**
+     * Imports nodes and relations into an existing graph from a stream, committing them in chunks.
+     * <p>
+     * Checks if the graph exists, a {@link NoSuchElementException} is thrown if it does not.
+     * Reads the records one at a time with {@link ImportRecordReader} and buffers them until {@code chunkSize}
+     * records are pending, then commits the pending nodes and relations in one write transaction using the
+     * {@link #commitImportChunk(String, List, List, Map, Session, ImportVO)} method and reports the progress.
+     * Only the current chunk and the mapping from temporary IDs to node UUIDs are held in memory, the mapping spans
+     * all chunks so a relation can refer to a node imported by an earlier chunk.
+     * <p>
+     * The chunks are committed by one session which waits for the bookmarks of the request, and the progress carries
+     * the bookmarks of the chunks committed so far. Committed chunks are not rolled back if a later chunk fails.
+     *
+     * @param graphUuid        the UUID of the graph
+     * @param inputStream      the import
+     * @param mediaType        the media type of the import
+     * @param chunkSize        the number of records committed per transaction
+     * @param progressConsumer the consumer receiving the counts after each committed chunk
+     *
+     * @return the total counts of imported nodes and relations
+     *
+     * @throws IOException if the import cannot be read
+     * @throws NoSuchElementException if the graph does not exist
+     * @throws IllegalArgumentException if a relation refers to a node which is neither imported before it nor in the
+     * graph
+     */
+    @Override
+    public ImportVO importNodes(final String graphUuid, final InputStream inputStream, final String mediaType,
+                                final int chunkSize, final Consumer<ImportVO> progressConsumer) throws IOException {
+        if (commonService.getGraphByUuid(graphUuid).isEmpty()) {
+            final String message = String.format(Message.GRAPH_NULL, graphUuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+
+        final Map<String, String> uuidMap = new HashMap<>();
+        final List<NodeDTO> nodeDTOs = new ArrayList<>();
+        final List<NodeRelationDTO> nodeRelationDTOs = new ArrayList<>();
+        final ImportVO progress = new ImportVO();
+
+        try (Session session = driver.session(BookmarkHolder.writeSessionConfig())) {
+            final Runnable commitIfFull = () -> {
+                if (nodeDTOs.size() + nodeRelationDTOs.size() >= chunkSize) {
+                    commitImportChunk(graphUuid, nodeDTOs, nodeRelationDTOs, uuidMap, session, progress);
+                    progressConsumer.accept(new ImportVO(progress.getNodeCount(), progress.getRelationCount(),
+                            progress.getBookmarks()));
+                }
+            };
+
+            importRecordReader.read(inputStream, mediaType,
+                    node -> {
+                        nodeDTOs.add(node);
+                        commitIfFull.run();
+                    },
+                    relation -> {
+                        nodeRelationDTOs.add(relation);
+                        commitIfFull.run();
+                    });
+
+            if (!nodeDTOs.isEmpty() || !nodeRelationDTOs.isEmpty()) {
+                commitImportChunk(graphUuid, nodeDTOs, nodeRelationDTOs, uuidMap, session, progress);
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Commits a chunk of an import and clears it.
+     * <p>
+     * Converts the nodes and relations into rows, checks that the IDs of the relations which are not temporary IDs of
+     * imported nodes are UUIDs of nodes of the graph, and creates the nodes before the relations within a single write
+     * transaction, which also writes the update time of the graph once.
+     * Adds the created nodes and relations and the bookmark of the transaction to the {@code progress}.
+     *
+     * @param graphUuid        the UUID of the graph
+     * @param nodeDTOs         the pending nodes
+     * @param nodeRelationDTOs the pending relations
+     * @param uuidMap          the mapping from temporary IDs to node UUIDs of the whole import
+     * @param session          the session of the import
+     * @param progress         the counts of the import
+     *
+     * @throws IllegalArgumentException if a temporary ID is duplicated, a property name is reserved, or a relation
+     * refers to a node which is neither imported before it nor in the graph
+     * @throws IllegalStateException if a relation refers to a node of a different graph
+     */
+    private void commitImportChunk(final String graphUuid, final List<NodeDTO> nodeDTOs,
+                                   final List<NodeRelationDTO> nodeRelationDTOs, final Map<String, String> uuidMap,
+                                   final Session session, final ImportVO progress) {
+        final String currentTime = getCurrentTime();
+        final List<Map<String, Object>> nodeRows = toNodeRows(nodeDTOs, uuidMap);
+        final List<Map<String, Object>> relationRows = toRelationRows(nodeRelationDTOs, uuidMap);
+
+        final Set<String> existingIds = new LinkedHashSet<>();
+        for (final NodeRelationDTO dto : nodeRelationDTOs) {
+            if (!uuidMap.containsKey(dto.getFromId())) {
+                existingIds.add(dto.getFromId());
+            }
+            if (!uuidMap.containsKey(dto.getToId())) {
+                existingIds.add(dto.getToId());
+            }
+        }
+        if (!existingIds.isEmpty()) {
+            checkImportReferences(graphUuid, existingIds);
+        }
+
+        final long[] counts = session.writeTransaction(tx -> {
+            try {
+                final long[] chunkCounts = new long[] {
+                        nodeRows.isEmpty() ? 0 : nodeMapper.createNodes(graphUuid, nodeRows, currentTime, tx).size(),
+                        relationRows.isEmpty() ? 0
+                                : nodeMapper.bindGraphNodesToGraphNodes(graphUuid, relationRows, currentTime, tx)
+                };
+                graphTouchBuffer.flush(tx);
+                return chunkCounts;
+            } finally {
+                graphTouchBuffer.discard();
+            }
+        }, RequestDeadline.transactionConfig());
+        BookmarkHolder.update(session.lastBookmark());
+
+        progress.setBookmarks(BookmarkHolder.getResponseValues());
+        progress.setNodeCount(progress.getNodeCount() + counts[0]);
+        progress.setRelationCount(progress.getRelationCount() + counts[1]);
+        nodeDTOs.clear();
+        nodeRelationDTOs.clear();
+    }
+
+    /**
+     * Checks that the IDs referred to by the relations of an import, other than the temporary IDs of imported nodes,
+     * are UUIDs of nodes of the graph.
+     * <p>
+     * Looks up which of the nodes do not belong to the graph with a single
+     * {@link NodeRepository#getNodesOutsideGraph(String, List)} query. A relation can only refer to a node imported
+     * before it or to a node already in the graph, so an ID which is neither, such as the temporary ID of a node
+     * appearing later in the import, fails the import instead of its relation being dropped by the bind.
+     * The first offending ID in the order of the relations is reported.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param nodeIds   the IDs which are not temporary IDs of imported nodes
+     *
+     * @throws IllegalArgumentException if an ID is neither a node imported before its relation nor a node of the graph
+     * @throws IllegalStateException if an ID is the UUID of a node of a different graph
+     */
+    private void checkImportReferences(final String graphUuid, final Set<String> nodeIds) {
+        final Map<String, Boolean> outside = nodeRepository.getNodesOutsideGraph(graphUuid, new ArrayList<>(nodeIds));
+        for (final String id : nodeIds) {
+            if (outside.containsKey(id)) {
+                if (!outside.get(id)) {
+                    final String message = String.format(Message.UNRESOLVED_IMPORT_NODE, id);
+                    LOG.error(message);
+                    throw new IllegalArgumentException(message);
+                }
+                final String message = String.format(Message.NODE_BIND_ANOTHER_GRAPH, id);
+                LOG.error(message);
+                throw new IllegalStateException(message);
+            }
+        }
+    }
+
     /**
      * Checks input relations and binds a graph and its nodes.
      * <p>
@@ -232,7 +440,25 @@ public class NodeServiceImpl implements NodeService {
             checkIds.add(dto.getToId());
         }
 
-        final List<String> graphUuids = nodeRepository.getGraphUuidByGraphNodeUuid(checkIds);
+        checkNodesBelongToGraph(checkIds, graphUuid);
+
+        bindNodeRelations(graphUuid, nodeRelationDTOs, uuidMap, currentTime, tx);
+
+        return nodes;
+    }
+
+    /**
+     * Checks that the existing nodes among the given IDs belong to the given graph.
+     * <p>
+     * IDs that are not UUIDs of existing nodes are ignored.
+     *
+     * @param nodeUuids the IDs of the nodes to check
+     * @param graphUuid the UUID of the graph
+     *
+     * @throws IllegalStateException if any node is found to belong to a different graph
+     */
+    private void checkNodesBelongToGraph(final Set<String> nodeUuids, final String graphUuid) {
+        final List<String> graphUuids = nodeRepository.getGraphUuidByGraphNodeUuid(nodeUuids);
         for (final String uuid : graphUuids) {
             if (!uuid.equals(graphUuid)) {
                 final String message = String.format(Message.BOUND_ANOTHER_GRAPH, uuid);
@@ -240,27 +466,15 @@ public class NodeServiceImpl implements NodeService {
                 throw new IllegalStateException(message);
             }
         }
-
-        bindNodeRelations(nodeRelationDTOs, uuidMap, currentTime, tx);
-
-        return nodes;
     }
 
     /**
      * Creates nodes based on the provided DTOs.
      * <p>
-     * Initializes an empty list to store the created nodes.
-     * Iterates over the list of {@code NodeDTO} objects provided in the {@code nodeDTOs} parameter.
-     * For each DTO, it generates a unique UUID for the node and a unique UUID for the relation.
-     * Validates the input parameters using the {@link #checkInputParameters(Map)} method.
-     * Creates the node using <br>
-     * the {@link NodeMapper#createNode(String, String, String, String, NodeDTO, Transaction)} method.
-     * Retrieves the UUID of the created node.
-     * Checks if the temporary ID of the DTO already exists in the {@code uuidMap}. <br>
-     * If it does, it throws a {@link IllegalArgumentException}.
-     * If the temporary ID is unique, it adds mapping from the temporary ID to the result UUID in the {@code uuidMap}.
-     * Adds the created node to the list of nodes.
-     * Returns the list of created nodes.
+     * Converts the DTOs into rows using the {@link #toNodeRows(List, Map)} method.
+     * Creates all nodes at once using <br>
+     * the {@link NodeMapper#createNodes(String, List, String, Transaction)} method.
+     * Returns the list of created nodes in the order of the DTOs.
      *
      * @param nodeDTOs             the list of DTOs for creating nodes. <br>
      *                             Each DTO contains the properties and temporary ID of the node.
@@ -276,17 +490,41 @@ public class NodeServiceImpl implements NodeService {
      */
     private List<NodeVO> createNodes(final List<NodeDTO> nodeDTOs, final Map<String, String> uuidMap,
                                      final String currentTime, final String graphUuid, final Transaction tx) {
-        final List<NodeVO> nodes = new ArrayList<>();
+        final List<Map<String, Object>> rows = toNodeRows(nodeDTOs, uuidMap);
+
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return nodeMapper.createNodes(graphUuid, rows, currentTime, tx);
+    }
+
+    /**
+     * Converts node DTOs into the rows of {@link NodeMapper#createNodes(String, List, String, Transaction)}.
+     * <p>
+     * Iterates over the list of {@code NodeDTO} objects provided in the {@code nodeDTOs} parameter.
+     * For each DTO, it generates a unique UUID for the node and a unique UUID for the relation.
+     * Validates the input parameters using the {@link #checkInputParameters(Collection)} method.
+     * Checks if the temporary ID of the DTO already exists in the {@code uuidMap}. <br>
+     * If it does, it throws a {@link IllegalArgumentException}.
+     * If the temporary ID is unique, it adds mapping from the temporary ID to the node UUID in the {@code uuidMap}.
+     *
+     * @param nodeDTOs             the list of DTOs for creating nodes
+     * @param uuidMap              the map for storing UUID mappings. <br>
+     *                             The keys are the temporary IDs, and the values are the result UUIDs.
+     *
+     * @return the rows, in the order of the DTOs
+     *
+     * @throws IllegalArgumentException if the temporary ID is duplicated
+     */
+    private List<Map<String, Object>> toNodeRows(final List<NodeDTO> nodeDTOs, final Map<String, String> uuidMap) {
+        final List<Map<String, Object>> rows = new ArrayList<>(nodeDTOs.size());
 
         for (final NodeDTO dto : nodeDTOs) {
             final String nodeUuid = UUID.fastUUID().toString(true);
             final String relationUuid = UUID.fastUUID().toString(true);
 
-            checkInputParameters(dto.getProperties());
-
-            final NodeVO node = nodeMapper.createNode(graphUuid, nodeUuid, relationUuid, currentTime, dto, tx);
-
-            final String resultUuid = node.getUuid();
+            checkInputParameters(dto.getProperties().keySet());
 
             // check duplicate temporaryId
             if (uuidMap.containsKey(dto.getTemporaryId())) {
@@ -294,31 +532,28 @@ public class NodeServiceImpl implements NodeService {
                 LOG.error(message);
                 throw new IllegalArgumentException(message);
             } else {
-                uuidMap.put(dto.getTemporaryId(), resultUuid);
+                uuidMap.put(dto.getTemporaryId(), nodeUuid);
             }
 
-            nodes.add(NodeVO.builder()
-                    .uuid(resultUuid)
-                    .createTime(node.getCreateTime())
-                    .updateTime(node.getUpdateTime())
-                    .properties(node.getProperties())
-                    .build());
+            final Map<String, Object> row = new HashMap<>();
+            row.put(Constants.NODE_UUID, nodeUuid);
+            row.put(Constants.RELATION_UUID, relationUuid);
+            row.put(Constants.PROPERTIES, dto.getProperties());
+            rows.add(row);
         }
 
-        return nodes;
+        return rows;
     }
 
     /**
      * Binds node relations based on the provided DTOs.
      * <p>
      * Checks if the provided list of {@code graphNodeRelationDTO} is null or empty. If so, it returns immediately.
-     * Iterates over the list of {@code NodeRelationDTO} objects.
-     * For each DTO, it extracts the relation name and generates a unique UUID for the new relation.
-     * Retrieves the start node ID and end node ID from the provided {@code uuidMap} using <br>
-     * the {@link #getNodeId(String, Map)} method.
-     * Binds the start node to the end node using the <br>
-     * {@link NodeMapper#bindGraphNodeToGraphNode(String, String, String, String, String, Transaction)} method.
+     * Converts the DTOs into rows using the {@link #toRelationRows(List, Map)} method.
+     * Binds all start nodes to their end nodes at once using the <br>
+     * {@link NodeMapper#bindGraphNodesToGraphNodes(String, List, String, Transaction)} method.
      *
+     * @param graphUuid            the UUID of the graph
      * @param graphNodeRelationDTO the list of DTOs for creating node relations. <br>
      *                             Each DTO contains the start node ID, end node ID, and relation name.
      * @param uuidMap              the map for storing UUID mappings. The keys are the original IDs, <br>
@@ -326,21 +561,41 @@ public class NodeServiceImpl implements NodeService {
      * @param now                  the current timestamp
      * @param tx                   the Neo4j transaction object used for the database operation
      */
-    private void bindNodeRelations(final List<NodeRelationDTO> graphNodeRelationDTO, final Map<String, String> uuidMap,
-                                   final String now, final Transaction tx) {
+    private void bindNodeRelations(final String graphUuid, final List<NodeRelationDTO> graphNodeRelationDTO,
+                                   final Map<String, String> uuidMap, final String now, final Transaction tx) {
         if (graphNodeRelationDTO == null || graphNodeRelationDTO.isEmpty()) {
             return;
         }
 
-        for (final NodeRelationDTO dto : graphNodeRelationDTO) {
-            final String relation = dto.getRelationName();
-            final String relationUuid = UUID.fastUUID().toString(true);
-
-            final String fromId = getNodeId(dto.getFromId(), uuidMap);
-            final String toId = getNodeId(dto.getToId(), uuidMap);
+        nodeMapper.bindGraphNodesToGraphNodes(graphUuid, toRelationRows(graphNodeRelationDTO, uuidMap), now, tx);
+    }
 
-            nodeMapper.bindGraphNodeToGraphNode(fromId, toId, relation, relationUuid, now, tx);
+    /**
+     * Converts relation DTOs into the rows of
+     * {@link NodeMapper#bindGraphNodesToGraphNodes(String, List, String, Transaction)}.
+     * <p>
+     * For each DTO, it generates a unique UUID for the new relation and resolves the start node ID and end node ID
+     * using the {@link #getNodeId(String, Map)} method.
+     *
+     * @param nodeRelationDTOs the list of DTOs for creating node relations
+     * @param uuidMap          the map for storing UUID mappings. The keys are the original IDs, <br>
+     *                         and the values are the mapped node IDs.
+     *
+     * @return the rows, in the order of the DTOs
+     */
+    private List<Map<String, Object>> toRelationRows(final List<NodeRelationDTO> nodeRelationDTOs,
+                                                     final Map<String, String> uuidMap) {
+        final List<Map<String, Object>> rows = new ArrayList<>(nodeRelationDTOs.size());
+        for (final NodeRelationDTO dto : nodeRelationDTOs) {
+            final Map<String, Object> row = new HashMap<>();
+            row.put(Constants.SOURCE_NODE, getNodeId(dto.getFromId(), uuidMap));
+            row.put(Constants.TARGET_NODE, getNodeId(dto.getToId(), uuidMap));
+            row.put(Constants.RELATION, dto.getRelationName());
+            row.put(Constants.RELATION_UUID, UUID.fastUUID().toString(true));
+            rows.add(row);
         }
+
+        return rows;
     }
 
     /**
@@ -364,15 +619,14 @@ public class NodeServiceImpl implements NodeService {
      * Deletes graph nodes by their UUIDs.
      * <p>
      * Extracts the graph UUID and the list of node UUIDs from the provided {@code nodeDeleteDTO}.
-     * Iterates over the list of node UUIDs.
-     * For each UUID, it checks if the node exists in the graph using the {@link #getNodeByUuid(String)} method.
-     * If the node is not found, it throws a {@link NoSuchElementException} with an error message including the UUID.
-     * It then checks if the node is bound to another user using <br>
-     * the {@link NodeRepository#getNodeByGraphUuidAndNodeUuid(String, String)} method.
-     * If the node is bound to another user, it throws a {@link IllegalStateException} <br>
-     * with an error message including the UUID.
+     * Looks up which of the nodes do not belong to the graph with a single
+     * {@link NodeRepository#getNodesOutsideGraph(String, List)} query.
+     * The first offending UUID in the order of the list is reported: if the node does not exist, it throws a
+     * {@link NoSuchElementException}, and if it belongs to another graph, it throws an {@link IllegalStateException},
+     * both with an error message including the UUID.
      * Finally, it deletes the nodes with the specified UUIDs using the <br>
-     * {@link NodeRepository#deleteByUuids(List)} method.
+     * {@link NodeRepository#deleteByUuids(List)} method and refreshes the update time of the graph, in the same
+     * transaction as the check.
      *
      * @param nodeDeleteDTO the DTO containing the list of UUIDs of the graph nodes to be deleted. <br>
      * It includes the graph UUID and the list of node UUIDs.
@@ -386,13 +640,14 @@ public class NodeServiceImpl implements NodeService {
         final String graphUuid = nodeDeleteDTO.getUuid();
         final List<String> uuids = nodeDeleteDTO.getUuids();
 
+        final Map<String, Boolean> outside = nodeRepository.getNodesOutsideGraph(graphUuid, uuids);
         for (final String uuid : uuids) {
-            if (getNodeByUuid(uuid).isEmpty()) {
-                final String message = String.format(Message.NODE_NULL, uuid);
-                LOG.error(message);
-                throw new NoSuchElementException(message);
-            }
-            if (nodeRepository.getNodeByGraphUuidAndNodeUuid(graphUuid, uuid) == null) {
+            if (outside.containsKey(uuid)) {
+                if (!outside.get(uuid)) {
+                    final String message = String.format(Message.NODE_NULL, uuid);
+                    LOG.error(message);
+                    throw new NoSuchElementException(message);
+                }
                 final String message = String.format(Message.NODE_BIND_ANOTHER_GRAPH, uuid);
                 LOG.error(message);
                 throw new IllegalStateException(message);
@@ -400,6 +655,8 @@ public class NodeServiceImpl implements NodeService {
         }
 
         nodeRepository.deleteByUuids(uuids);
+        IdentityMap.evict(NodeVO.class, uuids);
+        graphRepository.updateGraphUpdateTimeByUuid(graphUuid, getCurrentTime());
     }
 
     /**
@@ -426,6 +683,7 @@ public class NodeServiceImpl implements NodeService {
 
         if (graphNodeByUuid.isPresent()) {
             nodeMapper.updateNodeByUuid(nodeUpdateDTO, current, tx);
+            IdentityMap.evict(NodeVO.class, List.of(uuid));
         } else {
             final String message = String.format(Message.NODE_NULL, uuid);
             LOG.error(message);
@@ -433,14 +691,142 @@ public class NodeServiceImpl implements NodeService {
         }
     }
 
+    /**
+     * Sets or removes some properties of a graph node, leaving the others unchanged.
+     * <p>
+     * Checks that none of the properties is reserved using the {@link #checkInputParameters(Collection)} method.
+     * Retrieves the graph node by its UUID using the {@link #getNodeByUuid(String)} method.
+     * If the node is found, it patches the node using <br>
+     * the {@link NodeMapper#patchNodeByUuid(NodePatchDTO, String, Transaction)} method.
+     * If the node is not found, it throws a {@link NoSuchElementException} with an error message including the UUID.
+     *
+     * @param nodePatchDTO the DTO containing the UUID of the node and the properties to set, or to remove if
+     *                     {@code null}
+     * @param tx           the transaction object used for the database operation
+     *
+     * @throws IllegalArgumentException if any of the properties is reserved
+     * @throws NoSuchElementException if the node with the specified UUID is not found in the graph
+     */
+    @Neo4jTransactional
+    @Override
+    public void patchNode(final NodePatchDTO nodePatchDTO, final Transaction tx) {
+        final String uuid = nodePatchDTO.getUuid();
+        checkInputParameters(nodePatchDTO.getProperties().keySet());
+
+        if (getNodeByUuid(uuid).isEmpty()) {
+            final String message = String.format(Message.NODE_NULL, uuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+
+        nodeMapper.patchNodeByUuid(nodePatchDTO, getCurrentTime(), tx);
+        IdentityMap.evict(NodeVO.class, List.of(uuid));
+    }
+
+    /**
+     * Sets or removes some properties of many graph nodes of a graph at once.
+     * <p>
+     * Checks that the graph exists, then looks up which of the nodes do not belong to it with a single
+     * {@link NodeRepository#getNodesOutsideGraph(String, List)} query.
+     * The updates which are duplicated, change a reserved property, or target a node that is missing or belongs to
+     * another graph are reported and skipped; the others are applied with
+     * {@link NodeMapper#patchNodes(String, List, String, Transaction)}, in chunked {@code UNWIND} statements.
+     * An update whose node has been deleted in the meantime is reported as not found.
+     *
+     * @param nodeBulkUpdateDTO the DTO containing the UUID of the graph and the partial updates of its nodes
+     * @param tx                the transaction object used for the database operation
+     *
+     * @return the outcome of every update, in the order of the updates
+     *
+     * @throws NoSuchElementException if the graph does not exist
+     */
+    @Neo4jTransactional
+    @Override
+    public List<NodeUpdateResultVO> bulkUpdateNodes(final NodeBulkUpdateDTO nodeBulkUpdateDTO, final Transaction tx) {
+        final String graphUuid = nodeBulkUpdateDTO.getGraphUuid();
+        if (commonService.getGraphByUuid(graphUuid).isEmpty()) {
+            final String message = String.format(Message.GRAPH_NULL, graphUuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
+
+        final List<NodePatchDTO> nodes = nodeBulkUpdateDTO.getNodes();
+        final Map<String, Boolean> outside = nodeRepository.getNodesOutsideGraph(graphUuid, nodes.stream()
+                .map(NodePatchDTO::getUuid)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        final List<NodeUpdateResultVO> results = new ArrayList<>(nodes.size());
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        final Set<String> seen = new HashSet<>();
+        for (final NodePatchDTO node : nodes) {
+            final String uuid = node.getUuid();
+            final List<String> reservedKeys = findReservedKeys(node.getProperties().keySet());
+
+            if (!seen.add(uuid)) {
+                results.add(rejected(uuid, NodeUpdateStatus.INVALID, String.format(Message.DUPLICATE_KEY, uuid)));
+            } else if (!reservedKeys.isEmpty()) {
+                results.add(rejected(uuid, NodeUpdateStatus.INVALID,
+                        String.format(Message.INPUT_PROPERTIES_ERROR, reservedKeys)));
+            } else if (outside.containsKey(uuid)) {
+                results.add(outside.get(uuid)
+                        ? rejected(uuid, NodeUpdateStatus.BOUND_ANOTHER_GRAPH,
+                                String.format(Message.NODE_BIND_ANOTHER_GRAPH, uuid))
+                        : rejected(uuid, NodeUpdateStatus.NOT_FOUND, String.format(Message.NODE_NULL, uuid)));
+            } else {
+                final Map<String, Object> row = new HashMap<>();
+                row.put(Constants.NODE_UUID, uuid);
+                row.put(Constants.PROPERTIES, node.getProperties());
+                rows.add(row);
+                results.add(NodeUpdateResultVO.builder().uuid(uuid).build());
+            }
+        }
+
+        final Set<String> updated = rows.isEmpty()
+                ? Collections.emptySet()
+                : nodeMapper.patchNodes(graphUuid, rows, getCurrentTime(), tx);
+        IdentityMap.evict(NodeVO.class, updated);
+        for (final NodeUpdateResultVO result : results) {
+            if (result.getStatus() == null) {
+                if (updated.contains(result.getUuid())) {
+                    result.setStatus(NodeUpdateStatus.UPDATED);
+                } else {
+                    result.setStatus(NodeUpdateStatus.NOT_FOUND);
+                    result.setMessage(String.format(Message.NODE_NULL, result.getUuid()));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Builds the outcome of an update which is not applied.
+     *
+     * @param uuid the UUID of the node
+     * @param status the reason the update is not applied
+     * @param message the description of the reason
+     *
+     * @return the outcome
+     */
+    private static NodeUpdateResultVO rejected(final String uuid, final NodeUpdateStatus status,
+                                               final String message) {
+        LOG.warn(message);
+        return NodeUpdateResultVO.builder()
+                .uuid(uuid)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
     /**
      * Updates graph node relations based on the provided DTO.
      * <p>
      * Extracts the graph UUID, update map, and delete list from the provided {@code relationUpdateDTO}.
-     * If the update map is not null and not empty, it calls the {@link #validateAndUpdateRelations(Map, String)} <br>
-     * method to validate and update the specified graph node relations.
-     * If the delete list is not null and not empty, it calls the {@link #validateAndDeleteRelations(List, String)} <br>
-     * method to validate and delete the specified graph node relations.
+     * All the relations of the update map and the delete list are first checked against the graph in one query,
+     * and nothing is changed if any of them is missing. The update map is then applied in one statement, followed
+     * by the delete list in another.
+     * Finally, it refreshes the update time of the graph.
      *
      * @param relationUpdateDTO the DTO containing information for updating the graph node relations. <br>
      * It includes the graph UUID, a map of relations to update, and a list of relations to delete.
@@ -449,16 +835,22 @@ public class NodeServiceImpl implements NodeService {
     @Override
     public void updateRelation(final RelationUpdateDTO relationUpdateDTO) {
         final String graphUuid = relationUpdateDTO.getGraphUuid();
-        final Map<String, String> updateMap = relationUpdateDTO.getUpdateMap();
-        final List<String> deleteList = relationUpdateDTO.getDeleteList();
+        final Map<String, String> updateMap = relationUpdateDTO.getUpdateMap() == null
+                ? Collections.emptyMap() : relationUpdateDTO.getUpdateMap();
+        final List<String> deleteList = relationUpdateDTO.getDeleteList() == null
+                ? Collections.emptyList() : relationUpdateDTO.getDeleteList();
+
+        checkRelationsBelongToGraph(graphUuid, updateMap.keySet(), deleteList);
 
-        if (updateMap != null && !updateMap.isEmpty()) {
-            validateAndUpdateRelations(updateMap, graphUuid);
+        if (!updateMap.isEmpty()) {
+            nodeRepository.updateRelationsByUuid(graphUuid, updateMap);
         }
 
-        if (deleteList != null && !deleteList.isEmpty()) {
-            validateAndDeleteRelations(deleteList, graphUuid);
+        if (!deleteList.isEmpty()) {
+            nodeRepository.deleteRelationsByUuid(graphUuid, deleteList);
         }
+
+        graphRepository.updateGraphUpdateTimeByUuid(graphUuid, getCurrentTime());
     }
 
     /**
@@ -488,52 +880,58 @@ public class NodeServiceImpl implements NodeService {
     }
 
     /**
-     * Validates and updates graph node relations based on the provided map.
+     * Retrieves the k-degree expansion of a graph from a given node without blocking the calling thread.
      * <p>
-     * Iterates over the entries in the provided {@code updateMap}.
-     * For each entry, it checks if the corresponding graph node relation exists in the repository using the UUID.
-     * If a relation with the UUID is not found, an {@link NoSuchElementException} is thrown with an error message.
-     * If the relation exists, it updates the relation with the new name provided in the map.
+     * Checks that the graph exists with {@link CommonService#getGraphByUuidAsync(String, AsyncReadContext)}, then
+     * delegates the expansion to {@link NodeMapper#kDegreeExpansionAsync(String, String, Integer, AsyncReadContext)}.
      *
-     * @param updateMap  the map containing information for updating the graph node relations. <br>
-     * The key is the UUID of the relation, and the value is the new name.
-     * @param graphUuid  the UUID of the graph
+     * @param graphUuid The UUID of the graph.
+     * @param nodeUuid The UUID of the starting node.
+     * @param k The desired depth of expansion.
+     * @param context the bookmarks and the deadline of the request, captured by the request thread
      *
-     * @throws NoSuchElementException if the relation UUID is not found in the repository
+     * @return the stage completed with a {@link GraphVO} object containing the expanded nodes and relationships, or
+     * completed exceptionally with a {@link NoSuchElementException} if the graph or the starting node does not exist
      */
-    private void validateAndUpdateRelations(final Map<String, String> updateMap, final String graphUuid) {
-        updateMap.forEach((uuid, newName) -> {
-            if (nodeRepository.getRelationByUuid(uuid) == null) {
-                final String message = String.format(Message.RELATION_NULL, uuid);
+    @Override
+    public CompletionStage<GraphVO> getkDegreeExpansionAsync(final String graphUuid, final String nodeUuid,
+                                                             final Integer k, final AsyncReadContext context) {
+        return commonService.getGraphByUuidAsync(graphUuid, context).thenCompose(graph -> {
+            if (graph.isEmpty()) {
+                final String message = String.format(Message.GRAPH_NULL, graphUuid);
                 LOG.error(message);
                 throw new NoSuchElementException(message);
             }
-            nodeRepository.updateRelationByUuid(uuid, newName, graphUuid);
+
+            return nodeMapper.kDegreeExpansionAsync(graphUuid, nodeUuid, k, context);
         });
     }
 
     /**
-     * Validates and deletes graph node relations based on the provided list.
+     * Checks that relations to be updated or deleted all belong to a graph.
      * <p>
-     * Iterates over the list of UUIDs provided in {@code deleteList}.
-     * For each UUID, it checks if the corresponding graph node relation exists in the repository.
-     * If a relation with the UUID is not found, an {@link NoSuchElementException} is thrown with an error message.
-     * If the relation exists, it is deleted from the repository.
+     * Looks all the relations up in one query and reports every missing UUID at once.
      *
-     * @param deleteList the list of UUIDs of the graph node relations to be deleted
-     * @param graphUuid  the UUID of the graph
+     * @param graphUuid the UUID of the graph
+     * @param updateUuids the UUIDs of the relations to be updated
+     * @param deleteUuids the UUIDs of the relations to be deleted
      *
-     * @throws NoSuchElementException if the relation UUID is not found in the repository
+     * @throws NoSuchElementException if any of the relations is not found in the graph
      */
-    private void validateAndDeleteRelations(final List<String> deleteList, final String graphUuid) {
-        deleteList.forEach(uuid -> {
-            if (nodeRepository.getRelationByUuid(uuid) == null) {
-                final String message = String.format(Message.RELATION_NULL, uuid);
-                LOG.error(message);
-                throw new NoSuchElementException(message);
-            }
-            nodeRepository.deleteRelationByUuid(uuid, graphUuid);
-        });
+    private void checkRelationsBelongToGraph(final String graphUuid, final Collection<String> updateUuids,
+                                             final Collection<String> deleteUuids) {
+        final Set<String> relationUuids = new LinkedHashSet<>(updateUuids);
+        relationUuids.addAll(deleteUuids);
+        if (relationUuids.isEmpty()) {
+            return;
+        }
+
+        relationUuids.removeAll(nodeRepository.getRelationUuidsByGraphUuid(graphUuid, relationUuids));
+        if (!relationUuids.isEmpty()) {
+            final String message = String.format(Message.RELATION_NULL, relationUuids, graphUuid);
+            LOG.error(message);
+            throw new NoSuchElementException(message);
+        }
     }
 
     /**
@@ -555,27 +953,44 @@ public class NodeServiceImpl implements NodeService {
      * - {@link Constants#UUID}
      * - {@link Constants#CREATE_TIME}
      * - {@link Constants#UPDATE_TIME}
+     * - {@link Constants#CREATE_TIME_WITHOUT_HUMP}
+     * - {@link Constants#UPDATE_TIME_WITHOUT_HUMP}
      *
      * If any invalid keys are found, an {@link IllegalArgumentException} is thrown with an error message that <br>
      * includes all the invalid keys.
      *
-     * @param properties the input parameters as a key-value map
+     * @param keys the keys of the input parameters
      *
      * @throws IllegalArgumentException if the input parameters contain any invalid keys
      */
-    private void checkInputParameters(final Map<String, String> properties) {
-        final List<String> invalidKeys = new ArrayList<>();
-        for (final String key : properties.keySet()) {
-            if (key.equals(Constants.UUID)
-                    || key.equals(Constants.CREATE_TIME)
-                    || key.equals(Constants.UPDATE_TIME)) {
-                invalidKeys.add(key);
-            }
-        }
+    private void checkInputParameters(final Collection<String> keys) {
+        final List<String> invalidKeys = findReservedKeys(keys);
         if (!invalidKeys.isEmpty()) {
             final String message = String.format(Message.INPUT_PROPERTIES_ERROR, invalidKeys);
             LOG.error(message);
             throw new IllegalArgumentException(message);
         }
     }
+
+    /**
+     * Finds the keys of input parameters which name a property managed by the service.
+     *
+     * @param keys the keys of the input parameters
+     *
+     * @return the reserved keys, empty if there is none
+     */
+    private static List<String> findReservedKeys(final Collection<String> keys) {
+        final List<String> reservedKeys = new ArrayList<>();
+        for (final String key : keys) {
+            if (key.equals(Constants.UUID)
+                    || key.equals(Constants.CREATE_TIME)
+                    || key.equals(Constants.UPDATE_TIME)
+                    || key.equals(Constants.CREATE_TIME_WITHOUT_HUMP)
+                    || key.equals(Constants.UPDATE_TIME_WITHOUT_HUMP)) {
+                reservedKeys.add(key);
+            }
+        }
+
+        return reservedKeys;
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service.impl;
+
+import com.paiondata.aristotle.mapper.GraphMapper;
+import com.paiondata.aristotle.service.PurgeService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service implementation for purging deleted graphs.
+ * <p>
+ * Runs every {@code aristotle.purge.interval-ms} and deletes at most {@code aristotle.purge.batches-per-run} batches
+ * of {@code aristotle.neo4j.batch-size} graph nodes per run, which bounds the write load the purge puts on the
+ * database no matter how large the deleted graphs are. The backlog left after each run is published as the
+ * {@code aristotle.purge.backlog} gauge, tagged with {@code type=graphs} and {@code type=nodes}, and the purged graph
+ * nodes are counted by {@code aristotle.purge.purged}.
+ */
+@Service
+public class PurgeServiceImpl implements PurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PurgeServiceImpl.class);
+
+    private static final String BACKLOG_METRIC = "aristotle.purge.backlog";
+
+    private static final String TYPE_TAG = "type";
+
+    private final GraphMapper graphMapper;
+
+    private final int batchesPerRun;
+
+    private final boolean enabled;
+
+    private final AtomicLong graphBacklog = new AtomicLong();
+
+    private final AtomicLong nodeBacklog = new AtomicLong();
+
+    private final Counter purged;
+
+    /**
+     * Constructs the service and registers its metrics.
+     * @param graphMapper the GraphMapper instance
+     * @param meterRegistry the registry the metrics are published to
+     * @param batchesPerRun the maximum number of batches of graph nodes purged by a run
+     * @param enabled whether the scheduled purge runs
+     */
+    public PurgeServiceImpl(final GraphMapper graphMapper, final MeterRegistry meterRegistry,
+                            @Value("${aristotle.purge.batches-per-run:10}") final int batchesPerRun,
+                            @Value("${aristotle.purge.enabled:true}") final boolean enabled) {
+        this.graphMapper = graphMapper;
+        this.batchesPerRun = batchesPerRun;
+        this.enabled = enabled;
+        Gauge.builder(BACKLOG_METRIC, graphBacklog, AtomicLong::get)
+                .tag(TYPE_TAG, "graphs")
+                .description("Deleted graphs waiting to be purged")
+                .register(meterRegistry);
+        Gauge.builder(BACKLOG_METRIC, nodeBacklog, AtomicLong::get)
+                .tag(TYPE_TAG, "nodes")
+                .description("Graph nodes of deleted graphs waiting to be purged")
+                .register(meterRegistry);
+        this.purged = Counter.builder("aristotle.purge.purged")
+                .description("Graph nodes purged from deleted graphs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges a bounded number of batches of deleted graph nodes, then the deleted graphs left empty, and refreshes
+     * the backlog gauges.
+     *
+     * @return the number of purged graph nodes
+     */
+    @Override
+    public long purge() {
+        final long count = graphMapper.purgeDeletedGraphs(batchesPerRun);
+        purged.increment(count);
+        graphBacklog.set(graphMapper.countDeletedGraphs());
+        nodeBacklog.set(graphMapper.countDeletedGraphNodes());
+        return count;
+    }
+
+    /**
+     * Runs the purge on schedule, logging instead of propagating failures so that the next run retries.
+     */
+    @Scheduled(fixedDelayString = "${aristotle.purge.interval-ms:10000}")
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purge();
+        } catch (final RuntimeException e) {
+            LOG.error(String.format("Purge of deleted graphs failed: %s", e.getMessage()), e);
+        }
+    }
+}
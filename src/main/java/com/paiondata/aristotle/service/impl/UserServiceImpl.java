@@ -16,10 +16,11 @@
 package com.paiondata.aristotle.service.impl;
 
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.EntityCache;
+import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.model.dto.UserDTO;
 import com.paiondata.aristotle.model.entity.User;
 import com.paiondata.aristotle.model.vo.UserVO;
-import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.repository.UserRepository;
 import com.paiondata.aristotle.service.CommonService;
@@ -34,9 +35,12 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for user-related operations.
@@ -55,15 +59,18 @@ public class UserServiceImpl implements UserService {
     private GraphRepository graphRepository;
 
     @Autowired
-    private NodeRepository nodeRepository;
+    private CommonService commonService;
 
     @Autowired
-    private CommonService commonService;
+    private GraphMapper graphMapper;
+
+    @Autowired
+    private EntityCache entityCache;
 
     /**
      * Retrieves a user view object (VO) by their unique identifier (oidcid).
      *
-     * Attempts to find the user by their oidcid using the {@link UserRepository#getUserByOidcid(String)} method.
+     * Attempts to find the user by their oidcid using the {@link CommonService#getUserByOidcid(String)} method.
      * Throws a {@link NoSuchElementException} if the user is not found.
      * Constructs and returns a {@link UserVO} object containing the user's details and their associated graphs.
      * The associated graphs are retrieved using the {@link CommonService#getGraphsByOidcid(String)} method.
@@ -77,13 +84,11 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @Override
     public UserVO getUserVOByOidcid(final String oidcid) {
-        final User user = userRepository.getUserByOidcid(oidcid);
-
-        if (user == null) {
+        final User user = commonService.getUserByOidcid(oidcid).orElseThrow(() -> {
             final String message = String.format(Message.USER_NULL, oidcid);
             LOG.error(message);
-            throw new NoSuchElementException(message);
-        }
+            return new NoSuchElementException(message);
+        });
 
         return UserVO.builder()
                 .oidcid(user.getOidcid())
@@ -93,27 +98,20 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Retrieves a list of all users as user view objects (VOs).
+     * Retrieves a page of users as user view objects (VOs), ordered by OIDC ID.
      *
-     * Retrieves all users from the repository using the {@link UserRepository#findAll()} method.
-     * Maps each user to a {@link UserVO} object containing the user's details and their associated graphs.
-     * The associated graphs are retrieved using the {@link CommonService#getGraphsByOidcid(String)} method.
+     * Retrieves the users and their associated graphs with a single query using the
+     * {@link GraphMapper#getUsersWithGraphs(String, int)} method, starting after the given OIDC ID.
      * Returns a list of {@link UserVO} objects.
      *
-     * @return a list of {@link UserVO} objects representing all users and their associated graphs
+     * @param after the OIDC ID after which the page starts, or {@code null} for the first page
+     * @param limit the maximum number of users in the page
+     *
+     * @return a list of {@link UserVO} objects representing the users of the page and their associated graphs
      */
-    @Transactional(readOnly = true)
     @Override
-    public List<UserVO> getAllUsers() {
-        final List<User> users = userRepository.findAll();
-
-        return users.stream()
-                .map(user -> UserVO.builder()
-                        .oidcid(user.getOidcid())
-                        .username(user.getUsername())
-                        .graphs(commonService.getGraphsByOidcid(user.getOidcid()))
-                        .build())
-                .collect(Collectors.toList());
+    public List<UserVO> getUsers(final String after, final int limit) {
+        return graphMapper.getUsersWithGraphs(after == null ? "" : after, limit);
     }
 
     /**
@@ -123,6 +121,7 @@ public class UserServiceImpl implements UserService {
      * the {@link UserRepository#createUser(String, String)} method.
      * If the user creation fails due to a data integrity violation (e.g., duplicate oidcid),
      * a {@link IllegalArgumentException} is thrown.
+     * Evicts the user from the {@link EntityCache}, where an earlier lookup may have cached its absence.
      * Returns a {@link UserDTO} object containing the details of the newly created user.
      *
      * @param user the {@link UserDTO} object containing the user's details
@@ -139,6 +138,7 @@ public class UserServiceImpl implements UserService {
 
         try {
             final User returnUser = userRepository.createUser(oidcid, username);
+            entityCache.evictUsers(List.of(oidcid));
             return new UserDTO(returnUser.getOidcid(), returnUser.getUsername());
         } catch (final DataIntegrityViolationException e) {
             final String message = String.format(Message.OIDCID_USERNAME_EXISTS, oidcid, username);
@@ -152,7 +152,7 @@ public class UserServiceImpl implements UserService {
      * <p>
      * Checks if a user with the given oidcid exists using the {@link UserRepository#checkOidcidExists(String)} method.
      * If the user exists, updates the user's username using
-     * the {@link UserRepository#updateUser(String, String)} method.
+     * the {@link UserRepository#updateUser(String, String)} method, and evicts the user from the {@link EntityCache}.
      * If the user does not exist, throws a {@link NoSuchElementException}.
      * If the username already exists, throws an {@link IllegalArgumentException}.
      *
@@ -170,6 +170,7 @@ public class UserServiceImpl implements UserService {
         if (userRepository.checkOidcidExists(oidcid) != 0) {
             try {
                 userRepository.updateUser(oidcid, username);
+                entityCache.evictUsers(List.of(oidcid));
             } catch (final DataIntegrityViolationException e) {
                 final String message = String.format(Message.USERNAME_EXISTS, username);
                 LOG.error(message);
@@ -188,18 +189,17 @@ public class UserServiceImpl implements UserService {
      * Iterates through the provided list of user identifiers (oidcids) and checks if each user exists using
      * the {@link CommonService#getUserByOidcid(String)} method.
      * Throws a {@link NoSuchElementException} if any user does not exist.
-     * Retrieves the UUIDs of graphs related to the users using the {@link #getRelatedGraphUuids(List)} method.
-     * Retrieves the UUIDs of nodes related to the graphs using the {@link #getRelatedGraphNodeUuids(List)} method.
+     * Tombstones the graphs of the users using the {@link GraphRepository#tombstoneByOidcids(List, String)} method,
+     * leaving their graph nodes to the {@link com.paiondata.aristotle.service.PurgeService}.
      * Deletes the users from the user repository using the {@link UserRepository#deleteByOidcids(List)} method.
-     * Deletes the related graph from the graph repository using the {@link GraphRepository#deleteByUuids(List)} method.
-     * Deletes the related nodes from the node repository using the {@link NodeRepository#deleteByUuids(List)} method.
+     * Evicts the users and, as the UUIDs of their graphs are not known here, all graphs from the {@link EntityCache}.
      *
      * @param oidcids the list of user identifiers to be deleted
      *
      * @throws NoSuchElementException if any user with the specified oidcid does not exist
      */
-    @Transactional
     @Override
+    @Transactional
     public void deleteUser(final List<String> oidcids) {
         for (final String oidcid : oidcids) {
             if (commonService.getUserByOidcid(oidcid).isEmpty()) {
@@ -209,33 +209,19 @@ public class UserServiceImpl implements UserService {
             }
         }
 
-        final List<String> graphUuids = getRelatedGraphUuids(oidcids);
-        final List<String> graphNodeUuids = getRelatedGraphNodeUuids(graphUuids);
-
-        userRepository.deleteByOidcids((oidcids));
-        graphRepository.deleteByUuids(graphUuids);
-        nodeRepository.deleteByUuids(graphNodeUuids);
-    }
-
-    /**
-     * Retrieves the UUIDs of related graphs for a list of user OIDC IDs.
-     *
-     * @param userOidcids a list of user OIDC IDs
-     *
-     * @return a list of related graph UUIDs
-     */
-    private List<String> getRelatedGraphUuids(final List<String> userOidcids) {
-        return userRepository.getGraphUuidsByUserOidcid(userOidcids);
+        graphRepository.tombstoneByOidcids(oidcids, getCurrentTime());
+        userRepository.deleteByOidcids(oidcids);
+        entityCache.evictUsers(oidcids);
+        entityCache.evictAllGraphs();
     }
 
     /**
-     * Retrieves the UUIDs of related graph nodes for a list of graph UUIDs.
-     *
-     * @param graphUuids a list of graph UUIDs
+     * Retrieves the current timestamp.
      *
-     * @return a list of related graph node UUIDs
+     * @return the current timestamp as a string
      */
-    private List<String> getRelatedGraphNodeUuids(final List<String> graphUuids) {
-        return graphRepository.getGraphNodeUuidsByGraphUuids(graphUuids);
+    private String getCurrentTime() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .format(Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()));
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.common.util.CacheChangeLog;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+import com.paiondata.aristotle.common.util.TransactionManager;
+import com.paiondata.aristotle.common.util.TransientRetryPolicy;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.exceptions.TransientException;
+
+/**
+ * Tests for the sessions and retries of {@link Neo4jTransactionAspect}.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class Neo4jTransactionAspectTest {
+
+    private static final String RESULT = "result";
+
+    private static final TransientException DEADLOCK = new TransientException(
+            "Neo.TransientError.Transaction.DeadlockDetected", "deadlock");
+
+    @InjectMocks
+    private Neo4jTransactionAspect aspect;
+
+    @Mock
+    private TransactionManager neo4jTransactionManager;
+
+    @Mock
+    private Driver driver;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private GraphTouchBuffer graphTouchBuffer;
+
+    @Mock
+    private TransientRetryPolicy retryPolicy;
+
+    @Mock
+    private CacheChangeLog cacheChangeLog;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    @Mock
+    private Transaction tx;
+
+    /**
+     * Sets up a join point on a method taking a transaction.
+     *
+     * @throws NoSuchMethodException if the method does not exist
+     */
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        when(joinPoint.getArgs()).thenReturn(new Object[] {null});
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(Neo4jTransactionAspectTest.class.getDeclaredMethod(
+                "work", Transaction.class));
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(neo4jTransactionManager.beginTransaction(session)).thenReturn(tx);
+    }
+
+    /**
+     * Tests that a transaction failing with a transient error is run again in a new transaction and session.
+     *
+     * @throws Throwable if the method call fails
+     */
+    @Test
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    void transientFailureIsRetriedInANewTransaction() throws Throwable {
+        when(joinPoint.proceed(any())).thenThrow(DEADLOCK).thenReturn(RESULT);
+        when(retryPolicy.isRetryable(DEADLOCK, false)).thenReturn(true);
+        when(retryPolicy.tryAcquire(1, DEADLOCK)).thenReturn(true);
+
+        assertEquals(RESULT, aspect.manageTransaction(joinPoint));
+
+        verify(driver, times(2)).session(any(SessionConfig.class));
+        verify(session, times(2)).close();
+        verify(retryPolicy).backoff(1);
+        verify(graphTouchBuffer).flush(tx);
+        verify(neo4jTransactionManager).commitTransaction(tx);
+    }
+
+    /**
+     * Tests that a transaction is not run again once the retry budget is exhausted.
+     *
+     * @throws Throwable if the method call fails
+     */
+    @Test
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    void exhaustedBudgetFailsTheTransaction() throws Throwable {
+        when(joinPoint.proceed(any())).thenThrow(DEADLOCK);
+        when(retryPolicy.isRetryable(DEADLOCK, false)).thenReturn(true);
+        when(retryPolicy.tryAcquire(anyInt(), eq(DEADLOCK))).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> aspect.manageTransaction(joinPoint));
+
+        verify(neo4jTransactionManager).beginTransaction(session);
+        verify(session).close();
+        verify(retryPolicy, never()).backoff(anyInt());
+        verify(neo4jTransactionManager, never()).commitTransaction(tx);
+    }
+
+    /**
+     * Stands for a method running in a Neo4j transaction.
+     * @param transaction the transaction
+     */
+    private void work(final Transaction transaction) {
+    }
+}
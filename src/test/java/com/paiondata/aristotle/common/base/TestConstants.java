@@ -249,4 +249,14 @@ public interface TestConstants {
      * Expected total count.
      */
     Integer EXPECT_TOTAL_COUNT_03 = 2;
+
+    /**
+     * Graph UUID request parameter.
+     */
+    String GRAPH_UUID = "graphUuid";
+
+    /**
+     * Code field of a response body.
+     */
+    String CODE = "code";
 }
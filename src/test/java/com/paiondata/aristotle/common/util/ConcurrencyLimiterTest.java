@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.paiondata.aristotle.exception.BulkheadFullException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for verifying the functionality of the {@link ConcurrencyLimiter} class.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final String NAME = "test";
+
+    private static final long RETRY_AFTER_SECONDS = 3L;
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Tests that an invocation is rejected once the limit is reached and the queue is full, and that a waiting
+     * invocation is admitted when a permit is released.
+     *
+     * @throws Exception if the waiting invocation fails
+     */
+    @Test
+    void invocationsBeyondTheQueueAreRejected() throws Exception {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(NAME, 1, 1, 1, 60_000L, RETRY_AFTER_SECONDS, 0);
+        limiter.acquire();
+
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(limiter::acquire);
+        while (limiter.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        final BulkheadFullException e = assertThrows(BulkheadFullException.class, limiter::acquire);
+        assertEquals(RETRY_AFTER_SECONDS, e.getRetryAfterSeconds());
+        assertEquals(1L, limiter.getRejected());
+
+        limiter.release(FAST);
+        waiting.get(1, TimeUnit.MINUTES);
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    /**
+     * Tests that a waiting invocation is rejected when no permit is released within the maximum wait.
+     */
+    @Test
+    void invocationsWaitingTooLongAreRejected() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(NAME, 1, 1, 1, 10L, RETRY_AFTER_SECONDS, 0);
+        limiter.acquire();
+
+        assertThrows(BulkheadFullException.class, limiter::acquire);
+        assertEquals(0, limiter.getWaiting());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    /**
+     * Tests that an adaptive limit backs off while the latency rises, down to its lowest limit, and grows back once
+     * the latency is steady again.
+     */
+    @Test
+    void adaptiveLimitFollowsTheLatency() {
+        final int maxLimit = 4;
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(NAME, 2, maxLimit, 0, 0L, RETRY_AFTER_SECONDS, 2.0);
+        limiter.acquire();
+        limiter.release(FAST);
+
+        for (int i = 0; i < maxLimit; i++) {
+            limiter.acquire();
+            limiter.release(SLOW * (i + 1));
+        }
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 100 && limiter.getLimit() < maxLimit; i++) {
+            final int permits = limiter.getLimit();
+            for (int j = 0; j < permits; j++) {
+                limiter.acquire();
+            }
+            for (int j = 0; j < permits; j++) {
+                limiter.release(FAST);
+            }
+        }
+        assertEquals(maxLimit, limiter.getLimit());
+        assertEquals(0L, limiter.getRejected());
+    }
+}
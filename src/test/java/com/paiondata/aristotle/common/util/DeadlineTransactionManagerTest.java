@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.exception.DeadlineExceededException;
+import com.paiondata.aristotle.repository.UserRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionConfig;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Tests that {@link DeadlineTransactionManager} gives the Spring Data Neo4j transactions of repository calls the time
+ * left until the deadline of the request as their timeout.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DeadlineTransactionManagerTest {
+
+    private static final long TIMEOUT_MS = 60_000L;
+
+    private static final String OIDCID = "oidcid";
+
+    @Mock
+    private Driver driver;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private UserRepository target;
+
+    private UserRepository userRepository;
+
+    /**
+     * Proxies the repository with the transactions of a {@link DeadlineTransactionManager} wrapping the Spring Data
+     * Neo4j transaction manager, as the repositories of the application are.
+     */
+    @BeforeEach
+    void setUp() {
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(session.beginTransaction(any(TransactionConfig.class))).thenReturn(transaction);
+        when(session.isOpen()).thenReturn(true);
+        when(transaction.isOpen()).thenReturn(true);
+
+        final ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(UserRepository.class);
+        proxyFactory.addAdvice(new TransactionInterceptor(
+                new DeadlineTransactionManager(Neo4jTransactionManager.with(driver).build()),
+                new AnnotationTransactionAttributeSource()));
+        userRepository = (UserRepository) proxyFactory.getProxy();
+    }
+
+    /**
+     * Forgets the deadline of the test.
+     */
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * Tests that the transaction of a repository call is given the time left until the deadline, in whole seconds
+     * rounded up, and no timeout without a deadline.
+     */
+    @Test
+    void repositoryCallsAreGivenTheTimeLeftUntilTheDeadline() {
+        RequestDeadline.start(TIMEOUT_MS);
+        userRepository.checkOidcidExists(OIDCID);
+
+        RequestDeadline.clear();
+        userRepository.checkOidcidExists(OIDCID);
+
+        final ArgumentCaptor<TransactionConfig> configs = ArgumentCaptor.forClass(TransactionConfig.class);
+        verify(session, times(2)).beginTransaction(configs.capture());
+
+        final Duration timeout = configs.getAllValues().get(0).timeout();
+        assertTrue(timeout.compareTo(Duration.ofSeconds(1)) >= 0);
+        assertTrue(timeout.compareTo(Duration.ofMillis(TIMEOUT_MS)) <= 0);
+        assertEquals(0, timeout.getNano());
+        assertNull(configs.getAllValues().get(1).timeout());
+        verify(target, times(2)).checkOidcidExists(OIDCID);
+    }
+
+    /**
+     * Tests that a repository call opens no transaction once the deadline has passed.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the deadline
+     */
+    @Test
+    void noRepositoryTransactionStartsAfterTheDeadline() throws InterruptedException {
+        RequestDeadline.start(1L);
+        Thread.sleep(2L);
+
+        assertThrows(DeadlineExceededException.class, () -> userRepository.checkOidcidExists(OIDCID));
+        verify(driver, never()).session(any(SessionConfig.class));
+        verify(target, never()).checkOidcidExists(OIDCID);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.TestConstants;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test class for verifying the functionality of the {@link ETagGenerator} class.
+ */
+public class ETagGeneratorTest {
+
+    private static final long VERSION_1 = 1L;
+    private static final long VERSION_2 = 2L;
+    private static final String KEY_A = "a";
+    private static final String KEY_B = "b";
+    private static final String VALUE_1 = "1";
+    private static final String VALUE_2 = "2";
+
+    /**
+     * The instance of {@link ETagGenerator} being tested.
+     */
+    private ETagGenerator eTagGenerator;
+
+    /**
+     * Initializes the {@link ETagGenerator} instance before each test method.
+     */
+    @BeforeEach
+    void setUp() {
+        eTagGenerator = new ETagGenerator();
+    }
+
+    /**
+     * Tests that the ETag is quoted, stable for the same input and changes with the graph version or parameters.
+     */
+    @Test
+    void generateDependsOnVersionAndParameters() {
+        final String eTag = eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1, 1);
+
+        assertTrue(eTag.matches("\"[0-9a-f]{32}\""));
+        assertEquals(eTag, eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1, 1));
+        assertNotEquals(eTag, eTagGenerator.generate(VERSION_2, TestConstants.TEST_ID1, 1));
+        assertNotEquals(eTag, eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1, 2));
+        assertNotEquals(eTag, eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID2, 1));
+    }
+
+    /**
+     * Tests that filters are encoded unambiguously, so that different filters never share an ETag, while the same
+     * filter yields the same ETag whatever the iteration order of its map.
+     */
+    @Test
+    void generateEncodesFiltersUnambiguously() {
+        final String eTag = eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1, Map.of(KEY_A, "1, b=2"));
+
+        assertNotEquals(eTag,
+                eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1, Map.of(KEY_A, VALUE_1, KEY_B, VALUE_2)));
+        assertNotEquals(eTagGenerator.generate(VERSION_1, "x\ny"), eTagGenerator.generate(VERSION_1, "x", "y"));
+
+        final Map<String, String> ab = new LinkedHashMap<>();
+        ab.put(KEY_A, VALUE_1);
+        ab.put(KEY_B, VALUE_2);
+        final Map<String, String> ba = new LinkedHashMap<>();
+        ba.put(KEY_B, VALUE_2);
+        ba.put(KEY_A, VALUE_1);
+        assertEquals(eTagGenerator.generate(VERSION_1, ab), eTagGenerator.generate(VERSION_1, ba));
+    }
+
+    /**
+     * Tests that If-None-Match matching handles missing headers, lists, weak tags and the wildcard.
+     */
+    @Test
+    void matchesHandlesListsWeakTagsAndWildcard() {
+        final String eTag = eTagGenerator.generate(VERSION_1, TestConstants.TEST_ID1);
+        final String otherETag = eTagGenerator.generate(VERSION_2, TestConstants.TEST_ID1);
+
+        assertFalse(eTagGenerator.matches(null, eTag));
+        assertFalse(eTagGenerator.matches(otherETag, eTag));
+        assertTrue(eTagGenerator.matches(eTag, eTag));
+        assertTrue(eTagGenerator.matches(otherETag + ", " + eTag, eTag));
+        assertTrue(eTagGenerator.matches("W/" + eTag, eTag));
+        assertTrue(eTagGenerator.matches("*", eTag));
+    }
+}
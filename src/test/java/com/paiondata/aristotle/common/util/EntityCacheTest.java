@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.model.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for verifying the functionality of the {@link EntityCache} class.
+ */
+public class EntityCacheTest {
+
+    private static final String OIDCID = "oidcid";
+
+    private static final long TTL_SECONDS = 60L;
+
+    private static final long NEGATIVE_TTL_MS = 1000L;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CacheChangeLog changeLog = mock(CacheChangeLog.class);
+
+    private final EntityCache entityCache = new EntityCache(new SimpleMeterRegistry(), changeLog, 100L, TTL_SECONDS,
+            NEGATIVE_TTL_MS, now::get);
+
+    /**
+     * Tests that a lookup that found nothing expires after the negative TTL, whereas a found entity is kept until
+     * the regular TTL.
+     */
+    @Test
+    void negativeEntriesExpireSooner() {
+        final AtomicInteger loads = new AtomicInteger();
+        final User user = User.builder().oidcid(OIDCID).build();
+
+        assertTrue(entityCache.getUser(OIDCID, key -> load(loads, Optional.empty())).isEmpty());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(NEGATIVE_TTL_MS / 2));
+        assertTrue(entityCache.getUser(OIDCID, key -> load(loads, Optional.of(user))).isEmpty());
+        assertEquals(1, loads.get());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(NEGATIVE_TTL_MS));
+        assertEquals(user, entityCache.getUser(OIDCID, key -> load(loads, Optional.of(user))).orElseThrow());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(TTL_SECONDS / 2));
+        assertEquals(user, entityCache.getUser(OIDCID, key -> load(loads, Optional.empty())).orElseThrow());
+        assertEquals(2, loads.get());
+
+        assertEquals(2L, entityCache.getStats().get("users").getHitCount());
+    }
+
+    /**
+     * Tests that an evicted entity is loaded again.
+     */
+    @Test
+    void evictedEntriesAreLoadedAgain() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        entityCache.getUser(OIDCID, key -> load(loads, Optional.empty()));
+        entityCache.evictUsers(List.of(OIDCID));
+        entityCache.getUser(OIDCID, key -> load(loads, Optional.empty()));
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that the evictions of other instances are applied from the change log, and that both caches are cleared
+     * when records of the log were missed.
+     */
+    @Test
+    void changeLogEvictionsAreApplied() {
+        final AtomicInteger loads = new AtomicInteger();
+        when(changeLog.isEnabled()).thenReturn(true);
+        when(changeLog.currentSequence()).thenReturn(5L);
+        entityCache.pollChangeLog();
+
+        entityCache.getUser(OIDCID, key -> load(loads, Optional.empty()));
+        when(changeLog.currentSequence()).thenReturn(6L);
+        when(changeLog.readSince(5L)).thenReturn(List.of(
+                new CacheChangeLog.Invalidation(6L, List.of(), List.of(OIDCID), false)));
+        entityCache.pollChangeLog();
+        entityCache.getUser(OIDCID, key -> load(loads, Optional.empty()));
+        assertEquals(2, loads.get());
+
+        when(changeLog.currentSequence()).thenReturn(9L);
+        when(changeLog.readSince(6L)).thenReturn(List.of(
+                new CacheChangeLog.Invalidation(8L, List.of(), List.of(), false)));
+        entityCache.pollChangeLog();
+        entityCache.getUser(OIDCID, key -> load(loads, Optional.empty()));
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Counts a load.
+     *
+     * @param loads the load counter
+     * @param result the result of the load
+     *
+     * @return the result
+     */
+    private static Optional<User> load(final AtomicInteger loads, final Optional<User> result) {
+        loads.incrementAndGet();
+        return result;
+    }
+}
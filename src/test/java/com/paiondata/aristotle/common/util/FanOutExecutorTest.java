@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.TestConstants;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Bookmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for verifying the functionality of the {@link FanOutExecutor} class.
+ */
+public class FanOutExecutorTest {
+
+    private static final int THREADS = 3;
+
+    private final FanOutExecutor fanOutExecutor = new FanOutExecutor(false, THREADS);
+
+    /**
+     * Stops the executor and forgets the bookmarks of the test.
+     */
+    @AfterEach
+    void tearDown() {
+        fanOutExecutor.shutdown();
+        BookmarkHolder.clear();
+    }
+
+    /**
+     * Tests that the reads run concurrently, with the bookmarks of the caller, and that their results keep the order
+     * of the items.
+     */
+    @Test
+    void readsRunConcurrentlyWithTheBookmarksOfTheCaller() {
+        BookmarkHolder.receive(List.of(TestConstants.TEST_ID1));
+        final Set<Bookmark> bookmarks = BookmarkHolder.getBookmarks();
+        final CountDownLatch allStarted = new CountDownLatch(THREADS);
+
+        final List<Integer> results = fanOutExecutor.map(List.of(1, 2, 3), item -> {
+            allStarted.countDown();
+            try {
+                assertTrue(allStarted.await(1, TimeUnit.MINUTES));
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            assertEquals(bookmarks, BookmarkHolder.getBookmarks());
+            return item * 10;
+        });
+
+        assertEquals(List.of(10, 20, 30), results);
+    }
+
+    /**
+     * Tests that the failure of a read is thrown to the caller as is.
+     */
+    @Test
+    void failureOfAReadIsThrownToTheCaller() {
+        final IllegalArgumentException failure = new IllegalArgumentException(TestConstants.TEST_ID2);
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> fanOutExecutor.map(List.of(1, 2),
+                item -> {
+                    throw failure;
+                })));
+    }
+}
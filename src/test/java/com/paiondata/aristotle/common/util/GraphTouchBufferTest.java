@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.TestConstants;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
+import org.neo4j.driver.Value;
+
+import java.util.List;
+
+/**
+ * Test class for verifying the functionality of the {@link GraphTouchBuffer} class.
+ */
+public class GraphTouchBufferTest {
+
+    private static final String UPDATE_TIME_1 = "2024-01-01 00:00:00";
+    private static final String UPDATE_TIME_2 = "2024-01-01 00:00:01";
+
+    private final Driver driver = mock(Driver.class);
+
+    private final Transaction tx = mock(Transaction.class);
+
+    /**
+     * Sets up the transaction so that its statements return a result.
+     */
+    GraphTouchBufferTest() {
+        when(tx.run(anyString(), any(Value.class))).thenReturn(mock(Result.class));
+    }
+
+    /**
+     * Forgets the update times recorded by a failed test.
+     */
+    @AfterEach
+    void tearDown() {
+        new GraphTouchBuffer(driver, false).discard();
+    }
+
+    /**
+     * Tests that the update times recorded by a transaction are written by a single statement, keeping the latest
+     * update time of each graph.
+     */
+    @Test
+    void flushWritesEveryGraphOnceWithTheLatestUpdateTime() {
+        final GraphTouchBuffer buffer = new GraphTouchBuffer(driver, false);
+
+        buffer.touch(TestConstants.TEST_ID1, UPDATE_TIME_2);
+        buffer.touch(TestConstants.TEST_ID1, UPDATE_TIME_1);
+        buffer.touchAll(List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2), UPDATE_TIME_1);
+        buffer.flush(tx);
+
+        final ArgumentCaptor<Value> parameters = ArgumentCaptor.forClass(Value.class);
+        verify(tx, times(1)).run(anyString(), parameters.capture());
+        final List<Object> rows = parameters.getValue().get(Constants.ROWS).asList();
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.stream().filter(row -> row.toString().contains(UPDATE_TIME_2)).count());
+
+        buffer.flush(tx);
+        verify(tx, times(1)).run(anyString(), any(Value.class));
+    }
+
+    /**
+     * Tests that with write-behind the update times are not written by the transaction but by the periodic flush.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeBehindDefersTheUpdateTimesToThePeriodicFlush() {
+        final GraphTouchBuffer buffer = new GraphTouchBuffer(driver, true);
+        final Session session = mock(Session.class);
+        when(driver.session()).thenReturn(session);
+        when(session.writeTransaction(any())).thenAnswer(invocation ->
+                ((TransactionWork<Object>) invocation.getArgument(0)).execute(tx));
+
+        buffer.touch(TestConstants.TEST_ID1, UPDATE_TIME_1);
+        buffer.flush(tx);
+        verify(tx, never()).run(anyString(), any(Value.class));
+
+        buffer.flushDeferred();
+        verify(tx, times(1)).run(anyString(), any(Value.class));
+
+        buffer.flushDeferred();
+        verify(session, times(1)).writeTransaction(any());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.paiondata.aristotle.model.entity.Graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for verifying the functionality of the {@link IdentityMap} class.
+ */
+public class IdentityMapTest {
+
+    private static final String UUID = "uuid";
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    /**
+     * Ends the unit of work a test may have started.
+     */
+    @AfterEach
+    void clear() {
+        IdentityMap.clear();
+    }
+
+    /**
+     * Tests that an entity is looked up once per unit of work, again after being evicted, and every time outside a
+     * unit of work.
+     */
+    @Test
+    void entitiesAreLookedUpOncePerUnitOfWork() {
+        lookup();
+        lookup();
+        assertEquals(2, lookups.get());
+
+        IdentityMap.begin();
+        final Optional<Graph> first = lookup();
+        assertSame(first.orElseThrow(), lookup().orElseThrow());
+        assertEquals(3, lookups.get());
+
+        IdentityMap.evict(Graph.class, List.of(UUID));
+        lookup();
+        assertEquals(4, lookups.get());
+    }
+
+    /**
+     * Tests that a task bound to a unit of work shares its lookups and entities registered by it.
+     *
+     * @throws Exception if the task fails
+     */
+    @Test
+    void boundTasksShareTheUnitOfWork() throws Exception {
+        IdentityMap.begin();
+        final Graph graph = Graph.builder().uuid(UUID).build();
+        IdentityMap.put(Graph.class, UUID, graph);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertSame(graph, executor.submit(IdentityMap.bind(() -> lookup().orElseThrow())).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, lookups.get());
+    }
+
+    /**
+     * Looks the test graph up, counting the lookups that reach the database.
+     *
+     * @return the graph
+     */
+    private Optional<Graph> lookup() {
+        return IdentityMap.get(Graph.class, UUID, () -> {
+            lookups.incrementAndGet();
+            return Optional.of(Graph.builder().uuid(UUID).build());
+        });
+    }
+}
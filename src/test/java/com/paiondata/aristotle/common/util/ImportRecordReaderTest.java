@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.model.dto.NodeDTO;
+import com.paiondata.aristotle.model.dto.NodeRelationDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for verifying the functionality of the {@link ImportRecordReader} class.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImportRecordReaderTest {
+
+    private static final String ID_1 = "1";
+    private static final String ID_2 = "2";
+    private static final String KNOWS = "knows";
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ImportRecordReader importRecordReader;
+
+    private final List<NodeDTO> nodes = new ArrayList<>();
+
+    private final List<NodeRelationDTO> relations = new ArrayList<>();
+
+    /**
+     * Tests that NDJSON lines are read as nodes and relations in input order.
+     *
+     * @throws IOException if the import cannot be read
+     */
+    @Test
+    void readNdjsonReturnsNodesAndRelations() throws IOException {
+        read(ImportRecordReader.NDJSON, "{\"temporaryId\": \"1\", \"properties\": {\"title\": \"a\"}}\n"
+                + "{\"temporaryId\": \"2\"}\n"
+                + "\n"
+                + "{\"fromId\": \"1\", \"toId\": \"2\", \"relationName\": \"knows\"}\n");
+
+        assertEquals(List.of(new NodeDTO(ID_1, Map.of(Constants.TITLE, "a")), new NodeDTO(ID_2, Map.of())), nodes);
+        assertEquals(List.of(new NodeRelationDTO(ID_1, ID_2, KNOWS)), relations);
+    }
+
+    /**
+     * Tests that CSV rows are read as nodes and relations, including quoted values.
+     *
+     * @throws IOException if the import cannot be read
+     */
+    @Test
+    void readCsvReturnsNodesAndRelations() throws IOException {
+        read(ImportRecordReader.CSV, "node,1,title,\"a, b\",description,c\n"
+                + "node,2\n"
+                + "relation,1,2,knows\n");
+
+        assertEquals(List.of(new NodeDTO(ID_1, Map.of(Constants.TITLE, "a, b", Constants.DESCRIPTION, "c")),
+                new NodeDTO(ID_2, Map.of())), nodes);
+        assertEquals(List.of(new NodeRelationDTO(ID_1, ID_2, KNOWS)), relations);
+    }
+
+    /**
+     * Tests that invalid records and unsupported formats are rejected.
+     */
+    @Test
+    void readRejectsInvalidRecordsAndFormats() {
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ImportRecordReader.NDJSON, "{\"properties\": {}}\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ImportRecordReader.NDJSON, "{\"fromId\": \"1\", \"toId\": \"2\"}\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ImportRecordReader.CSV, "node,1,title\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(ImportRecordReader.CSV, "edge,1,2,knows\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(TestConstants.TEST_ID1, ""));
+    }
+
+    /**
+     * Reads an import into {@link #nodes} and {@link #relations}.
+     *
+     * @param mediaType the media type of the import
+     * @param content the import
+     *
+     * @throws IOException if the import cannot be read
+     */
+    private void read(final String mediaType, final String content) throws IOException {
+        final InputStream inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        importRecordReader.read(inputStream, mediaType, nodes::add, relations::add);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for verifying the functionality of the {@link LoadShedder} class.
+ */
+public class LoadShedderTest {
+
+    private static final long THRESHOLD_MS = 100L;
+
+    private final Driver driver = mock(Driver.class);
+
+    private final LoadShedder loadShedder = new LoadShedder(driver, new SimpleMeterRegistry(), THRESHOLD_MS,
+            THRESHOLD_MS);
+
+    /**
+     * Tests that requests are shed while even the shortest queue wait of an interval exceeds the threshold, and no
+     * longer once a request was served quickly.
+     */
+    @Test
+    void sheddingFollowsTheShortestQueueWait() {
+        loadShedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS * 2));
+        loadShedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS * 3));
+        loadShedder.evaluate();
+        assertTrue(loadShedder.isShedding());
+        assertEquals(THRESHOLD_MS * 2, loadShedder.getState().getQueueWaitMs());
+
+        loadShedder.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MS * 2));
+        loadShedder.recordQueueWait(0L);
+        loadShedder.evaluate();
+        assertFalse(loadShedder.isShedding());
+    }
+
+    /**
+     * Tests that requests are shed once connections are slowly acquired from the driver pool across consecutive
+     * intervals, and no longer once an interval acquired them quickly.
+     */
+    @Test
+    void sheddingFollowsTheSustainedConnectionPoolWait() {
+        final ConnectionPoolMetrics pool = poolMetrics();
+
+        when(pool.acquired()).thenReturn(10L);
+        when(pool.totalAcquisitionTime()).thenReturn(10L * THRESHOLD_MS * 2);
+        loadShedder.evaluate();
+        assertFalse(loadShedder.isShedding());
+
+        when(pool.acquired()).thenReturn(20L);
+        when(pool.totalAcquisitionTime()).thenReturn(20L * THRESHOLD_MS * 2);
+        loadShedder.evaluate();
+        assertTrue(loadShedder.isShedding());
+        assertEquals(THRESHOLD_MS * 2, loadShedder.getState().getPoolWaitMs());
+
+        when(pool.acquired()).thenReturn(30L);
+        when(pool.totalAcquisitionTime()).thenReturn(20L * THRESHOLD_MS * 2 + 10L);
+        loadShedder.evaluate();
+        assertFalse(loadShedder.isShedding());
+    }
+
+    /**
+     * Tests that the time spent opening new connections does not count as waiting for the pool, so that a pool
+     * opening its connections while it is barely used does not shed requests.
+     */
+    @Test
+    void openingConnectionsIsNotAConnectionPoolWait() {
+        final ConnectionPoolMetrics pool = poolMetrics();
+
+        for (long i = 1; i <= 3; i++) {
+            when(pool.acquired()).thenReturn(i);
+            when(pool.totalAcquisitionTime()).thenReturn(i * THRESHOLD_MS * 2);
+            when(pool.totalConnectionTime()).thenReturn(i * THRESHOLD_MS * 2 - 1);
+            loadShedder.evaluate();
+            assertFalse(loadShedder.isShedding());
+            assertEquals(0L, loadShedder.getState().getPoolWaitMs());
+        }
+    }
+
+    /**
+     * Makes the driver report the metrics of a single connection pool.
+     *
+     * @return the metrics of the pool
+     */
+    private ConnectionPoolMetrics poolMetrics() {
+        final ConnectionPoolMetrics pool = mock(ConnectionPoolMetrics.class);
+        final Metrics metrics = mock(Metrics.class);
+        when(driver.isMetricsEnabled()).thenReturn(true);
+        when(driver.metrics()).thenReturn(metrics);
+        when(metrics.connectionPoolMetrics()).thenReturn(List.of(pool));
+        return pool;
+    }
+}
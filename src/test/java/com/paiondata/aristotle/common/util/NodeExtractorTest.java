@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
 import org.neo4j.driver.internal.value.NodeValue;
 import org.neo4j.driver.types.Node;
 import com.paiondata.aristotle.common.base.Constants;
@@ -100,6 +101,28 @@ public class NodeExtractorTest {
         assertEquals(TestConstants.TEST_ID1, result.get(Constants.UUID));
     }
 
+    /**
+     * Tests the behavior of the {@link NodeExtractor#extractGraph(Value)} method with a map projection of a graph node.
+     * Expected Result: Returns a {@code Map} containing the projected properties.
+     */
+    @Test
+    void testExtractGraphWithMapValueInput() {
+        final Map<String, Object> graphMap = new HashMap<>();
+        graphMap.put(Constants.DESCRIPTION, TestConstants.TEST_DESCRIPTION1);
+        graphMap.put(Constants.UPDATE_TIME_WITHOUT_HUMP, TestConstants.TEST_TIME_01);
+        graphMap.put(Constants.CREATE_TIME_WITHOUT_HUMP, TestConstants.TEST_TIME_02);
+        graphMap.put(Constants.TITLE, TestConstants.TEST_TITLE1);
+        graphMap.put(Constants.UUID, TestConstants.TEST_ID1);
+
+        final Map<String, Object> result = nodeExtractor.extractGraph(Values.value(graphMap));
+
+        assertEquals(TestConstants.TEST_DESCRIPTION1, result.get(Constants.DESCRIPTION));
+        assertEquals(TestConstants.TEST_TIME_01, result.get(Constants.UPDATE_TIME));
+        assertEquals(TestConstants.TEST_TIME_02, result.get(Constants.CREATE_TIME));
+        assertEquals(TestConstants.TEST_TITLE1, result.get(Constants.TITLE));
+        assertEquals(TestConstants.TEST_ID1, result.get(Constants.UUID));
+    }
+
     /**
      * Tests the behavior of the {@link NodeExtractor#extractNode(Value)} method with a null input.
      */
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.exception.DeadlineExceededException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.exceptions.ClientException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Test class for verifying the functionality of the {@link RequestDeadline} class.
+ */
+public class RequestDeadlineTest {
+
+    private static final long TIMEOUT_MS = 60_000L;
+
+    /**
+     * Forgets the deadline of the test.
+     */
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * Tests that transactions are given the time left until the deadline, and no timeout without a deadline.
+     *
+     * @throws Exception if the bound task fails
+     */
+    @Test
+    void transactionsAreGivenTheTimeLeftUntilTheDeadline() throws Exception {
+        assertEquals(TransactionConfig.empty(), RequestDeadline.transactionConfig());
+
+        RequestDeadline.start(TIMEOUT_MS);
+        final Duration timeout = RequestDeadline.transactionConfig().timeout();
+        assertTrue(timeout.compareTo(Duration.ZERO) > 0);
+        assertTrue(timeout.compareTo(Duration.ofMillis(TIMEOUT_MS)) <= 0);
+
+        final Duration boundTimeout = RequestDeadline.bind(() -> RequestDeadline.transactionConfig().timeout()).call();
+        assertTrue(boundTimeout.compareTo(timeout) <= 0);
+    }
+
+    /**
+     * Tests that a captured deadline bounds the transactions built by a thread that does not hold it, with the time
+     * left when each of them is built.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the other thread
+     */
+    @Test
+    void capturedDeadlinesBoundTheTransactionsOfOtherThreads() throws InterruptedException {
+        RequestDeadline.start(TIMEOUT_MS);
+        final Supplier<TransactionConfig> captured = RequestDeadline.capture();
+        final Duration timeout = RequestDeadline.transactionConfig().timeout();
+
+        final AtomicReference<Duration> otherTimeout = new AtomicReference<>();
+        final Thread other = new Thread(() -> otherTimeout.set(captured.get().timeout()));
+        other.start();
+        other.join();
+
+        assertTrue(otherTimeout.get().compareTo(Duration.ZERO) > 0);
+        assertTrue(otherTimeout.get().compareTo(timeout) <= 0);
+    }
+
+    /**
+     * Tests that no transaction starts once the deadline has passed.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the deadline
+     */
+    @Test
+    void noTransactionStartsAfterTheDeadline() throws InterruptedException {
+        RequestDeadline.start(1L);
+        Thread.sleep(2L);
+
+        assertThrows(DeadlineExceededException.class, RequestDeadline::transactionConfig);
+    }
+
+    /**
+     * Tests that the timeouts of Neo4j are recognized through the exceptions wrapping them.
+     */
+    @Test
+    void timeoutsAreRecognizedThroughTheirWrappers() {
+        final ClientException timedOut = new ClientException("Neo.ClientError.Transaction.TransactionTimedOut",
+                "The transaction has been terminated.");
+
+        assertTrue(RequestDeadline.isTimeout(new IllegalStateException(timedOut)));
+        assertTrue(RequestDeadline.isTimeout(new DeadlineExceededException("late")));
+        assertFalse(RequestDeadline.isTimeout(new ClientException("Neo.ClientError.Statement.SyntaxError", "bad")));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.exceptions.ClientException;
+import org.neo4j.driver.exceptions.ServiceUnavailableException;
+import org.neo4j.driver.exceptions.TransientException;
+
+/**
+ * Test class for verifying the functionality of the {@link TransientRetryPolicy} class.
+ */
+public class TransientRetryPolicyTest {
+
+    private static final String REJECTED_METRIC = "aristotle.neo4j.retries.rejected";
+
+    private static final String REASON_TAG = "reason";
+
+    private static final TransientException DEADLOCK = new TransientException(
+            "Neo.TransientError.Transaction.DeadlockDetected", "deadlock");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Tests that only failures leaving the transaction rolled back are retried.
+     */
+    @Test
+    void onlyFailuresLeavingTheTransactionRolledBackAreRetryable() {
+        final TransientRetryPolicy policy = new TransientRetryPolicy(meterRegistry, 3, 10, 100, 5, 20);
+        final ServiceUnavailableException unavailable = new ServiceUnavailableException("leader switch");
+
+        assertTrue(policy.isRetryable(new IllegalStateException(DEADLOCK), false));
+        assertTrue(policy.isRetryable(DEADLOCK, true));
+        assertTrue(policy.isRetryable(unavailable, false));
+        assertFalse(policy.isRetryable(unavailable, true));
+        assertFalse(policy.isRetryable(new TransientException(
+                "Neo.TransientError.Transaction.Terminated", "terminated"), false));
+        assertFalse(policy.isRetryable(new ClientException("syntax error"), false));
+    }
+
+    /**
+     * Tests that retries are bounded by the attempts of a transaction and by the budget of the process.
+     */
+    @Test
+    void retriesAreBoundedByAttemptsAndProcessBudget() {
+        final TransientRetryPolicy policy = new TransientRetryPolicy(meterRegistry, 3, 10, 100, 5, 2);
+
+        assertTrue(policy.tryAcquire(1, DEADLOCK));
+        assertTrue(policy.tryAcquire(2, DEADLOCK));
+        assertFalse(policy.tryAcquire(3, DEADLOCK));
+        assertFalse(policy.tryAcquire(1, DEADLOCK));
+
+        assertEquals(2.0, meterRegistry.get("aristotle.neo4j.retries")
+                .tag("exception", "TransientException").counter().count());
+        assertEquals(1.0, meterRegistry.get(REJECTED_METRIC).tag(REASON_TAG, "attempts").counter().count());
+        assertEquals(1.0, meterRegistry.get(REJECTED_METRIC).tag(REASON_TAG, "process").counter().count());
+    }
+
+    /**
+     * Tests that the bound of the wait doubles with every attempt up to its maximum.
+     */
+    @Test
+    void backoffBoundGrowsExponentiallyUpToItsMaximum() {
+        final TransientRetryPolicy policy = new TransientRetryPolicy(meterRegistry, 3, 10, 100, 5, 20);
+
+        assertEquals(10, policy.backoffBound(1));
+        assertEquals(40, policy.backoffBound(3));
+        assertEquals(100, policy.backoffBound(5));
+        assertEquals(100, policy.backoffBound(Integer.MAX_VALUE));
+    }
+}
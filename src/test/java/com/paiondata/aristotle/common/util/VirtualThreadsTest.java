@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for verifying the functionality of the {@link VirtualThreads} class, on JDK 21 through the
+ * {@code jdk21} build and on older JDKs through the default build.
+ */
+public class VirtualThreadsTest {
+
+    private static final String IS_VIRTUAL = "isVirtual";
+
+    /**
+     * Tests that support is reported exactly on the JDKs having virtual threads.
+     */
+    @Test
+    void supportFollowsTheRunningJdk() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    /**
+     * Tests that the executor runs the tasks on virtual threads where they are supported, and fails fast with a
+     * message naming the running JDK otherwise.
+     *
+     * @throws Exception if a task fails or the check of its thread fails
+     */
+    @Test
+    void tasksRunOnVirtualThreadsOrTheExecutorFailsFast() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            final IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    VirtualThreads::newVirtualThreadPerTaskExecutor);
+            assertTrue(exception.getMessage().contains(Runtime.version().toString()));
+            return;
+        }
+
+        final ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        try {
+            final boolean virtual = executor.submit(() ->
+                    (Boolean) Thread.class.getMethod(IS_VIRTUAL).invoke(Thread.currentThread())).get();
+            assertTrue(virtual);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionConfig;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarkManager;
+import org.springframework.data.neo4j.core.transaction.Neo4jBookmarksUpdatedEvent;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests that {@link Neo4jConfig#onBookmarksUpdated(Neo4jBookmarksUpdatedEvent)} hands every request the bookmark of
+ * its own commit only, although the bookmark manager publishes the bookmarks of all requests.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class Neo4jConfigTest {
+
+    private static final long TIMEOUT_S = 10L;
+
+    @Mock
+    private Driver driver;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService requests;
+
+    /**
+     * Builds a Spring Data Neo4j transaction manager whose bookmark manager publishes its events to the listener of
+     * {@link Neo4jConfig}, and whose commits produce a bookmark named after the committing thread.
+     */
+    @BeforeEach
+    void setUp() {
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(session.beginTransaction(any(TransactionConfig.class))).thenReturn(transaction);
+        when(session.isOpen()).thenReturn(true);
+        when(transaction.isOpen()).thenReturn(true);
+        when(session.lastBookmark()).thenAnswer(invocation -> bookmarkOf(Thread.currentThread().getName()));
+
+        final Neo4jConfig neo4jConfig = new Neo4jConfig();
+        doAnswer(invocation -> {
+            neo4jConfig.onBookmarksUpdated(invocation.getArgument(0));
+            return null;
+        }).when(applicationContext).publishEvent(any(Neo4jBookmarksUpdatedEvent.class));
+
+        final Neo4jTransactionManager transactionManager = Neo4jTransactionManager.with(driver)
+                .withBookmarkManager(Neo4jBookmarkManager.create())
+                .build();
+        transactionManager.setApplicationContext(applicationContext);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        requests = Executors.newFixedThreadPool(2);
+    }
+
+    /**
+     * Stops the threads of the requests.
+     */
+    @AfterEach
+    void tearDown() {
+        requests.shutdownNow();
+    }
+
+    /**
+     * Tests that two requests whose transactions are both open before either commits each report the bookmark of
+     * their own commit only.
+     *
+     * @throws Exception if a request fails
+     */
+    @Test
+    void concurrentRequestsReportOnlyTheBookmarkOfTheirOwnCommit() throws Exception {
+        final CyclicBarrier bothBegun = new CyclicBarrier(2);
+        final Callable<Map.Entry<String, Set<String>>> request = () -> {
+            BookmarkHolder.clear();
+            try {
+                transactionTemplate.executeWithoutResult(status -> await(bothBegun));
+                return Map.entry(Thread.currentThread().getName(), BookmarkHolder.getResponseValues());
+            } finally {
+                BookmarkHolder.clear();
+            }
+        };
+
+        final Future<Map.Entry<String, Set<String>>> first = requests.submit(request);
+        final Future<Map.Entry<String, Set<String>>> second = requests.submit(request);
+
+        for (final Map.Entry<String, Set<String>> response : List.of(first.get(TIMEOUT_S, TimeUnit.SECONDS),
+                second.get(TIMEOUT_S, TimeUnit.SECONDS))) {
+            assertEquals(Set.of(response.getKey()), response.getValue());
+        }
+    }
+
+    /**
+     * Builds a bookmark.
+     *
+     * @param value the value of the bookmark
+     *
+     * @return the bookmark
+     */
+    private static Bookmark bookmarkOf(final String value) {
+        return Bookmark.from(Set.of(value));
+    }
+
+    /**
+     * Waits until both requests reach the barrier.
+     *
+     * @param barrier the barrier
+     *
+     * @throws IllegalStateException if the other request does not reach the barrier
+     */
+    private static void await(final CyclicBarrier barrier) {
+        try {
+            barrier.await(TIMEOUT_S, TimeUnit.SECONDS);
+        } catch (final InterruptedException | BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
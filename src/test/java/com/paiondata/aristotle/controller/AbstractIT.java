@@ -75,6 +75,26 @@ abstract class AbstractIT {
      */
     static final String NODE_ENDPOINT = "/node";
 
+    /**
+     * The endpoint for import-related operations.
+     */
+    static final String IMPORT_ENDPOINT = "/import";
+
+    /**
+     * The endpoint for relation-related operations.
+     */
+    static final String RELATE_ENDPOINT = "/relate";
+
+    /**
+     * The endpoint for asynchronous write operations.
+     */
+    static final String ASYNC_ENDPOINT = "/async";
+
+    /**
+     * The endpoint for job-related operations.
+     */
+    static final String JOB_ENDPOINT = "/job";
+
     /**
      * The JSON file used for creating or updating users.
      */
@@ -95,6 +115,16 @@ abstract class AbstractIT {
      */
     static final String UPDATE_NODE_JSON = "update-node.json";
 
+    /**
+     * The JSON file used for updating relations.
+     */
+    static final String UPDATE_RELATION_JSON = "update-relation.json";
+
+    /**
+     * The JSON file used for deleting nodes.
+     */
+    static final String DELETE_NODE_JSON = "delete-node.json";
+
     /**
      * The JSON file used for retrieving filtered graphs.
      */
@@ -135,12 +165,20 @@ abstract class AbstractIT {
 
     /**
      * Registers dynamic properties for the Neo4j database connection.
+     * <p>
+     * The batch size is kept tiny so that the batched writes and deletes of the tests span several batches, unless
+     * the {@code it.batch-size} system property sets another one, as the benchmarks do.
+     * Load shedding is disabled, so that a slow interval of the embedded database never answers a test with
+     * {@code 503 Service Unavailable}.
      *
      * @param registry The dynamic property registry.
      */
     @DynamicPropertySource
     static void neo4jProperties(final DynamicPropertyRegistry registry) {
         registry.add("spring.neo4j.uri", embeddedDatabaseServer::boltURI);
+        registry.add("aristotle.neo4j.batch-size", () -> Integer.getInteger("it.batch-size", 2));
+        registry.add("aristotle.shedding.queue-wait-threshold-ms", () -> Long.MAX_VALUE);
+        registry.add("aristotle.shedding.pool-wait-threshold-ms", () -> Long.MAX_VALUE);
     }
 
     /**
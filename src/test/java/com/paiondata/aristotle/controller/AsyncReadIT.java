@@ -0,0 +1,372 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.TestConstants;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * AsyncReadIT is a test class that extends AbstractIT and contains integration tests for the point reads of nodes,
+ * the pages of graphs and the expansions of nodes served through the asynchronous API of the driver, with
+ * {@code aristotle.neo4j.async-reads} enabled.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = "aristotle.neo4j.async-reads=true")
+public class AsyncReadIT extends AbstractIT {
+
+    private static final String NAME = "name";
+
+    private static final String DATA_PROPERTY = "data.properties.'%s'";
+
+    private static final String UNKNOWN_GRAPH = "unknown-graph";
+
+    private static final String UNKNOWN_NODE = "unknown-node";
+
+    private static final String DATA_NODES_UUID = "data.nodes.uuid";
+
+    private static final String DATA_RELATIONS = "data.relations";
+
+    private static final String EXPAND_ENDPOINT = NODE_ENDPOINT + "/expand?graphUuid=%s&nodeUuid=%s&degree=%s";
+
+    /**
+     * A static string variable to store the UUID of the created graph.
+     */
+    private static String graphUuid;
+
+    /**
+     * A static string variable to store the UUID of the created node.
+     */
+    private static String nodeUuid;
+
+    /**
+     * A static string variable to store the bookmark of the last write.
+     */
+    private static String bookmark;
+
+    /**
+     * A static string variable to store the UUID of the created graph to expand.
+     */
+    private static String expansionGraphUuid;
+
+    /**
+     * A static string variable to store the UUID of the node the expansions start from.
+     */
+    private static String expansionNodeUuid;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    /**
+     * Tests that the point reads of nodes, the pages of graphs and the expansions of nodes are mapped to the
+     * asynchronous handlers, and only to them.
+     */
+    @Test
+    @Order(1)
+    void readsAreMappedToTheAsyncHandlers() {
+        for (final String handlerName : List.of("getNodeByUuid", "kDegreeExpansion", "getGraphByUuidAndFilterParams",
+                "getGraphByUuidAndQueryParams")) {
+            assertTrue(handlerMapping.getHandlerMethods().values().stream()
+                    .anyMatch(handler -> (handlerName + "Async").equals(handler.getMethod().getName())));
+            assertTrue(handlerMapping.getHandlerMethods().values().stream()
+                    .noneMatch(handler -> handlerName.equals(handler.getMethod().getName())));
+        }
+    }
+
+    /**
+     * Creates the user, the graph and the node read by the following tests, and keeps the bookmark of the node
+     * creation.
+     */
+    @Test
+    @Order(2)
+    void aNodeEntityIsPosted() {
+        RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload(CREATE_UPDATE_USER_JSON), TestConstants.TEST_ID1, TestConstants.TEST_NAME1))
+                .when()
+                .post(USER_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        graphUuid = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("create-graph.json"), TestConstants.TEST_ID1, TestConstants.TEST_TITLE1))
+                .when()
+                .post(GRAPH_ENDPOINT)
+                .jsonPath()
+                .getString(TestConstants.DATA_UUID);
+
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("create-a-node.json"), graphUuid))
+                .when()
+                .post(NODE_ENDPOINT);
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+
+        nodeUuid = response.jsonPath().getString(TestConstants.DATA_0_UUID);
+        bookmark = response.getHeader(Constants.BOOKMARK_HEADER);
+        assertNotNull(nodeUuid);
+        assertNotNull(bookmark);
+    }
+
+    /**
+     * Tests that a node is read with the bookmark of its creation, so that both queries of the asynchronous read,
+     * including the one started by the event loop of the driver, observe the write.
+     */
+    @Test
+    @Order(3)
+    void weCanReadThatNodeEntityWithTheBookmarkOfItsCreation() {
+        final Response response = RestAssured
+                .given()
+                .header(Constants.BOOKMARK_HEADER, bookmark)
+                .when()
+                .get(NODE_ENDPOINT + TestConstants.SLASH + nodeUuid);
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(nodeUuid, response.jsonPath().getString(TestConstants.DATA_UUID));
+        assertEquals("1", response.jsonPath().getString(String.format(DATA_PROPERTY, NAME)));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Tests that an update of a node is read with the bookmark of the update.
+     */
+    @Test
+    @Order(4)
+    void weCanReadOurOwnUpdateOfThatNodeEntity() {
+        final Response update = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("patch-node.json"), nodeUuid, NAME, TestConstants.TEST_VALUE1))
+                .when()
+                .patch(NODE_ENDPOINT);
+
+        update.then()
+                .statusCode(HttpStatus.OK.value());
+        bookmark = update.getHeader(Constants.BOOKMARK_HEADER);
+        assertNotNull(bookmark);
+
+        final Response response = RestAssured
+                .given()
+                .header(Constants.BOOKMARK_HEADER, bookmark)
+                .when()
+                .get(NODE_ENDPOINT + TestConstants.SLASH + nodeUuid);
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(TestConstants.TEST_VALUE1, response.jsonPath().getString(String.format(DATA_PROPERTY, NAME)));
+    }
+
+    /**
+     * Tests that the asynchronous reads handle ETags and errors the same way as the blocking reads.
+     */
+    @Test
+    @Order(5)
+    void asyncReadsAreConditionalAndFailOnUnknownNodes() {
+        final String nodeLocation = NODE_ENDPOINT + TestConstants.SLASH + nodeUuid;
+        final String eTag = RestAssured.given().when().get(nodeLocation).getHeader(HttpHeaders.ETAG);
+
+        RestAssured
+                .given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(nodeLocation)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        RestAssured
+                .given()
+                .when()
+                .get(NODE_ENDPOINT + TestConstants.SLASH + UNKNOWN_NODE)
+                .then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    /**
+     * Tests that a page of a graph is read with the bookmark of the creation of its node, and that the POST and the
+     * GET reads of the page return the same page with the same ETag.
+     */
+    @Test
+    @Order(6)
+    void weCanReadAPageOfThatGraphEntity() {
+        final Response filtered = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .header(Constants.BOOKMARK_HEADER, bookmark)
+                .body(String.format(payload(GET_GRAPH_JSON), graphUuid))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT);
+
+        filtered.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(graphUuid, filtered.jsonPath().getString(TestConstants.DATA_UUID));
+        assertEquals(TestConstants.TEST_TITLE1, filtered.jsonPath().getString(TestConstants.DATA_TITLE));
+        assertEquals(List.of(nodeUuid), filtered.jsonPath().getList(DATA_NODES_UUID));
+        assertEquals(1, filtered.jsonPath().getInt(TestConstants.DATA_TOTALCOUNT));
+        assertTrue(filtered.jsonPath().getList(DATA_RELATIONS).isEmpty());
+        assertNotNull(filtered.getHeader(HttpHeaders.ETAG));
+
+        final Response queried = RestAssured
+                .given()
+                .header(Constants.BOOKMARK_HEADER, bookmark)
+                .when()
+                .get(GRAPH_ENDPOINT + TestConstants.SLASH + graphUuid);
+
+        queried.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(filtered.asString(), queried.asString());
+        assertEquals(filtered.getHeader(HttpHeaders.ETAG), queried.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Tests that the asynchronous reads of pages handle ETags and errors the same way as the blocking reads.
+     */
+    @Test
+    @Order(7)
+    void asyncPageReadsAreConditionalAndFailOnUnknownGraphs() {
+        final String graphLocation = GRAPH_ENDPOINT + TestConstants.SLASH + graphUuid;
+        final String eTag = RestAssured.given().when().get(graphLocation).getHeader(HttpHeaders.ETAG);
+
+        RestAssured
+                .given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(graphLocation)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload(GET_GRAPH_JSON), UNKNOWN_GRAPH))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT);
+
+        response.then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        assertEquals("The graph with UUID '" + UNKNOWN_GRAPH + "' does not exist",
+                response.jsonPath().getString(TestConstants.MSG));
+    }
+
+    /**
+     * Creates the graph expanded by the following tests, and keeps the bookmark of its creation.
+     */
+    @Test
+    @Order(8)
+    void aGraphToExpandIsPosted() {
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("create-graph-nodes-to-expand.json"), TestConstants.TEST_ID1))
+                .when()
+                .post(GRAPH_ENDPOINT);
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+
+        expansionGraphUuid = response.jsonPath().getString(TestConstants.DATA_UUID);
+        expansionNodeUuid = response.jsonPath().getString(TestConstants.DATA_NODES_0_UUID);
+        bookmark = response.getHeader(Constants.BOOKMARK_HEADER);
+        assertNotNull(expansionGraphUuid);
+        assertNotNull(expansionNodeUuid);
+        assertNotNull(bookmark);
+    }
+
+    /**
+     * Tests that the asynchronous expansions, whose levels are read by the event loop of the driver, return the same
+     * nodes as the blocking ones.
+     *
+     * @param degree the degree of the expansion
+     * @param count the expected number of nodes
+     */
+    @ParameterizedTest
+    @CsvSource({"1, 4", "2, 9", "3, 11", "4, 14", "5, 15", "6, 16", "7, 16", "0, 1", "-1, 16", "1000, 16"})
+    @Order(9)
+    void weCanExpandThatGraphEntity(final String degree, final String count) {
+        final Response response = RestAssured
+                .given()
+                .header(Constants.BOOKMARK_HEADER, bookmark)
+                .when()
+                .get(String.format(EXPAND_ENDPOINT, expansionGraphUuid, expansionNodeUuid, degree));
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(Integer.valueOf(count), response.jsonPath().getList(DATA_NODES_UUID).size());
+        assertEquals(Integer.valueOf(count) - 1, response.jsonPath().getList(DATA_RELATIONS).size());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Tests that the asynchronous expansions handle ETags and errors the same way as the blocking ones.
+     */
+    @Test
+    @Order(10)
+    void asyncExpansionsAreConditionalAndFailOnUnknownGraphsAndNodes() {
+        final String expansion = String.format(EXPAND_ENDPOINT, expansionGraphUuid, expansionNodeUuid, 2);
+        final String eTag = RestAssured.given().when().get(expansion).getHeader(HttpHeaders.ETAG);
+
+        RestAssured
+                .given()
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get(expansion)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        RestAssured
+                .given()
+                .when()
+                .get(String.format(EXPAND_ENDPOINT, UNKNOWN_GRAPH, expansionNodeUuid, 2))
+                .then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+        RestAssured
+                .given()
+                .when()
+                .get(String.format(EXPAND_ENDPOINT, expansionGraphUuid, UNKNOWN_NODE, 2))
+                .then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+}
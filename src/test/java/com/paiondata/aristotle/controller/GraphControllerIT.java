@@ -15,12 +15,18 @@
  */
 package com.paiondata.aristotle.controller;
 
+import static org.hamcrest.Matchers.emptyString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.CacheChangeLog;
+import com.paiondata.aristotle.mapper.GraphMapper;
+import com.paiondata.aristotle.service.PurgeService;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -28,6 +34,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import io.restassured.RestAssured;
@@ -52,6 +60,35 @@ public class GraphControllerIT extends AbstractIT {
      */
     private static String uuid;
 
+    /**
+     * A static string variable to store the UUID of a graph node of the created graph.
+     */
+    private static String nodeUuid;
+
+    /**
+     * The node property the graph pages are filtered by.
+     */
+    private static final String COLOR = "color";
+
+    /**
+     * The path of the color of the first node of a graph page.
+     */
+    private static final String DATA_NODES_0_COLOR = "data.nodes[0].properties.color";
+
+    /**
+     * A static string variable to store the bookmark returned by the graph update.
+     */
+    private static String bookmark;
+
+    @Autowired
+    private PurgeService purgeService;
+
+    @Autowired
+    private GraphMapper graphMapper;
+
+    @Autowired
+    private CacheChangeLog cacheChangeLog;
+
     /**
      * Tests if the JSON API correctly handles invalid graph retrieving requests by returning a 400 Bad Request
      * status code and appropriate error messages.
@@ -288,11 +325,13 @@ public class GraphControllerIT extends AbstractIT {
         assertEquals(TestConstants.DEFALUT_PAGE_SIZE, response.jsonPath().get(TestConstants.DATA_PAGESIZE));
         assertEquals(TestConstants.EXPECT_TOTAL_COUNT_02, response.jsonPath().get(TestConstants.DATA_TOTALCOUNT));
         assertEquals(TestConstants.TEST_TITLE1, response.jsonPath().get(TestConstants.DATA_TITLE));
-        assertEquals(TestConstants.BLUE, response.jsonPath().get("data.nodes[0].properties.color"));
+        assertEquals(TestConstants.BLUE, response.jsonPath().get(DATA_NODES_0_COLOR));
         assertEquals(TestConstants.BLUE, response.jsonPath().get("data.nodes[1].properties.color"));
         assertNotNull(response.jsonPath().get("data.relations[0]"));
         assertNull(response.jsonPath().get("data.relations[1]"));
 
+        nodeUuid = response.jsonPath().get(TestConstants.DATA_NODES_0_UUID);
+
         response = RestAssured
                 .given()
                 .contentType(ContentType.JSON)
@@ -334,13 +373,135 @@ public class GraphControllerIT extends AbstractIT {
         assertEquals(TestConstants.EXPECT_TOTAL_COUNT_03, response.jsonPath().get(TestConstants.DATA_TOTALCOUNT));
     }
 
+    /**
+     * Tests if a graph retrieved by filter carries an ETag that is stable for the same request and changes with the
+     * page parameters, and that a POST is never answered with 304 Not Modified, even with a matching
+     * If-None-Match header.
+     */
+    @Test
+    @Order(8)
+    void graphRetrievedByFilterCarriesAnETagButIsNeverNotModified() {
+        final String body = String.format(payload(GET_GRAPH_FILTER_JSON), uuid, TestConstants.BLUE,
+                TestConstants.DEFALUT_PAGE_SIZE, TestConstants.DEFALUT_PAGE_NUMBER);
+
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(body)
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+
+        final String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        final Response repeated = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .body(body)
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+
+        repeated.then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, eTag);
+        assertEquals(uuid, repeated.jsonPath().getString(TestConstants.DATA_UUID));
+
+        final String otherPageETag = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload(GET_GRAPH_FILTER_JSON), uuid, TestConstants.BLUE,
+                        TestConstants.TEST_PAGE_SIZE_01, TestConstants.DEFALUT_PAGE_NUMBER))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+        assertNotEquals(eTag, otherPageETag);
+    }
+
+    /**
+     * Tests if the page retrieved by a GET request with query parameters carries the same ETag as the same page
+     * retrieved by filter, and is answered with 304 Not Modified when the If-None-Match header matches it, but not
+     * for another page.
+     */
+    @Test
+    @Order(8)
+    void graphPageRetrievedByGetIsNotModifiedWhenItsETagMatches() {
+        final String filterETag = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload(GET_GRAPH_FILTER_JSON), uuid, TestConstants.BLUE,
+                        TestConstants.DEFALUT_PAGE_SIZE, TestConstants.DEFALUT_PAGE_NUMBER))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header(HttpHeaders.ETAG);
+
+        final Response response = RestAssured
+                .given()
+                .accept(ContentType.JSON)
+                .queryParam(COLOR, TestConstants.BLUE)
+                .queryParam(Constants.PAGE_SIZE, TestConstants.DEFALUT_PAGE_SIZE)
+                .queryParam(Constants.PAGE_NUMBER, TestConstants.DEFALUT_PAGE_NUMBER)
+                .when()
+                .get(GRAPH_ENDPOINT + TestConstants.SLASH + uuid)
+                .then()
+                .extract()
+                .response();
+
+        response.then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, filterETag);
+        assertEquals(TestConstants.EXPECT_TOTAL_COUNT_02, response.jsonPath().get(TestConstants.DATA_TOTALCOUNT));
+        assertEquals(TestConstants.BLUE, response.jsonPath().get(DATA_NODES_0_COLOR));
+
+        RestAssured
+                .given()
+                .header(HttpHeaders.IF_NONE_MATCH, filterETag)
+                .queryParam(COLOR, TestConstants.BLUE)
+                .queryParam(Constants.PAGE_SIZE, TestConstants.DEFALUT_PAGE_SIZE)
+                .queryParam(Constants.PAGE_NUMBER, TestConstants.DEFALUT_PAGE_NUMBER)
+                .when()
+                .get(GRAPH_ENDPOINT + TestConstants.SLASH + uuid)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, filterETag)
+                .body(emptyString());
+
+        RestAssured
+                .given()
+                .header(HttpHeaders.IF_NONE_MATCH, filterETag)
+                .queryParam(COLOR, TestConstants.BLUE)
+                .queryParam(Constants.PAGE_SIZE, TestConstants.TEST_PAGE_SIZE_01)
+                .when()
+                .get(GRAPH_ENDPOINT + TestConstants.SLASH + uuid)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
     /**
      * Tests if a graph entity can be updated by making a PUT request to the graph endpoint and verifying the response.
+     * <p>
+     * The response must carry the bookmark of the write, so that the next read can be bound to it.
      */
     @Test
     @Order(9)
     void weCanUpdateThatGraphEntity() {
-        RestAssured
+        final Response response = RestAssured
                 .given()
                 .contentType(ContentType.JSON)
                 .accept(ContentType.JSON)
@@ -349,18 +510,28 @@ public class GraphControllerIT extends AbstractIT {
                 .when()
                 .put(GRAPH_ENDPOINT)
                 .then()
+                .extract()
+                .response();
+
+        response.then()
                 .statusCode(HttpStatus.OK.value());
+
+        bookmark = response.getHeader(Constants.BOOKMARK_HEADER);
+        assertNotNull(bookmark);
     }
 
     /**
      * Tests if a graph entity with updated attributes can be retrieved by making a GET request to the user endpoint
      * and verifying the response.
+     * <p>
+     * The request echoes the bookmark of the update, so the read is guaranteed to observe it.
      */
     @Test
     @Order(10)
     void weCanGetThatGraphEntityWithUpdatedAttribute() {
         final Response response = RestAssured
                 .given()
+                .header(Constants.BOOKMARK_HEADER, bookmark)
                 .when()
                 .get(USER_ENDPOINT + "/" + TestConstants.TEST_ID1)
                 .then()
@@ -371,6 +542,7 @@ public class GraphControllerIT extends AbstractIT {
                 .statusCode(HttpStatus.OK.value());
 
         assertEquals(uuid, response.jsonPath().get("data.graphs[0].uuid"));
+        assertNotNull(response.getHeader(Constants.BOOKMARK_HEADER));
         assertEquals(TestConstants.TEST_TITLE2, response.jsonPath().get("data.graphs[0].title"));
     }
 
@@ -414,4 +586,69 @@ public class GraphControllerIT extends AbstractIT {
 
         assertEquals("The graph with UUID '" + uuid + "' does not exist", response.jsonPath().get(TestConstants.MSG));
     }
+
+    /**
+     * Tests that a graph node of the deleted graph, which is not purged yet, is not bound to the node of another
+     * graph, so that no relationship points into a deleted graph.
+     */
+    @Test
+    @Order(13)
+    void nodesOfTheDeletedGraphAreNotBound() {
+        final String otherUuid = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("create-graph.json"), TestConstants.TEST_ID1, TestConstants.TEST_TITLE2))
+                .when()
+                .post(GRAPH_ENDPOINT)
+                .jsonPath()
+                .getString(TestConstants.DATA_UUID);
+
+        RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload("create-node-bound-to.json"), otherUuid, nodeUuid))
+                .when()
+                .post(NODE_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .body(String.format(payload(GET_GRAPH_JSON), otherUuid))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT);
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(1, response.jsonPath().getList("data.nodes").size());
+        assertTrue(response.jsonPath().getList("data.relations").isEmpty());
+    }
+
+    /**
+     * Tests if the purge removes the deleted graph and its graph nodes, leaving no backlog.
+     */
+    @Test
+    @Order(14)
+    void thePurgeRemovesTheDeletedGraphAndItsNodes() {
+        purgeService.purge();
+
+        assertEquals(0, graphMapper.countDeletedGraphs());
+        assertEquals(0, graphMapper.countDeletedGraphNodes());
+    }
+
+    /**
+     * Tests that both the update and the deletion of the graph were appended to the cache change log, numbered
+     * without gaps.
+     */
+    @Test
+    @Order(15)
+    void theGraphWritesAreInTheCacheChangeLog() {
+        final List<CacheChangeLog.Invalidation> invalidations = cacheChangeLog.readSince(0);
+
+        assertEquals(cacheChangeLog.currentSequence(), invalidations.size());
+        assertEquals(2, invalidations.stream()
+                .filter(invalidation -> invalidation.getGraphs().contains(uuid))
+                .count());
+    }
 }
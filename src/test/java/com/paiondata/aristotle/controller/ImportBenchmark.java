@@ -0,0 +1,315 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.ImportRecordReader;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of a bulk import through the node/import endpoint, showing that the heap retained by an import grows
+ * with the mapping from temporary IDs to node UUIDs only, and not with the number of relations streamed.
+ * <p>
+ * The import is generated while it is sent with a chunked request, every node followed by relations to random nodes
+ * imported before it, and a sampler forces a garbage collection every few seconds to record the heap left in use.
+ * The server and the embedded database share the heap of the benchmark, and the database holds the state of the
+ * chunk in flight, so the heap retained per node is the growth of the peak heap from the second to the fourth quarter
+ * of the import divided by the nodes generated in between, which leaves out everything of a fixed size.
+ * The benchmarks profile batches the statements with the batch size of the application rather than the tiny one
+ * of the ITs.
+ * It defaults to 100,000 nodes with 5 relations each, and is sized with {@code -Dimport.nodes} and
+ * {@code -Dimport.relations-per-node}, e.g. 1,000,000 nodes and 5,000,000 relations with
+ * {@code mvn verify -Pbenchmarks -Dit.test=ImportBenchmark -Dimport.nodes=1000000}.
+ */
+class ImportBenchmark extends AbstractIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportBenchmark.class);
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * The heap an import may retain per node: the mapping of a node costs about 200 bytes, while buffering the
+     * relations of a node would cost several times more.
+     */
+    private static final long MAX_RETAINED_BYTES_PER_NODE = 512;
+
+    private static final long SAMPLE_PERIOD_SECONDS = 5;
+
+    private static final int QUARTERS = 4;
+
+    private static final int STREAM_CHUNK_BYTES = 64 * 1024;
+
+    private static final int MEBIBYTE = 1024 * 1024;
+
+    private final int nodes = Integer.getInteger("import.nodes", 100_000);
+
+    private final int relationsPerNode = Integer.getInteger("import.relations-per-node", 5);
+
+    @Value("${aristotle.neo4j.batch-size}")
+    private int batchSize;
+
+    /**
+     * Imports the generated nodes and relations into a new graph, then checks the counts and bookmarks of the final
+     * progress line and the heap retained by the import.
+     *
+     * @throws IOException if the import cannot be sent or its progress cannot be read
+     * @throws InterruptedException if the benchmark is interrupted while stopping the sampler
+     */
+    @Test
+    void importRetainsTheNodeMappingOnly() throws IOException, InterruptedException {
+        final String graphUuid = createGraph();
+
+        final GeneratedImport generatedImport = new GeneratedImport(nodes, relationsPerNode);
+        final AtomicLong secondQuarterPeak = new AtomicLong(-1);
+        final AtomicLong fourthQuarterPeak = new AtomicLong(-1);
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            final int generated = generatedImport.getGeneratedNodes();
+            System.gc();
+            final long used = MEMORY.getHeapMemoryUsage().getUsed();
+            if (generated >= nodes / QUARTERS && generated < nodes / 2) {
+                secondQuarterPeak.accumulateAndGet(used, Math::max);
+            } else if (generated >= nodes / QUARTERS * 3 && generated < nodes) {
+                fourthQuarterPeak.accumulateAndGet(used, Math::max);
+            }
+        }, SAMPLE_PERIOD_SECONDS, SAMPLE_PERIOD_SECONDS, TimeUnit.SECONDS);
+
+        final long start = System.nanoTime();
+        final JsonPath result;
+        try {
+            result = JsonPath.from(sendImport(graphUuid, generatedImport));
+        } finally {
+            sampler.shutdown();
+            sampler.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        final long nanos = System.nanoTime() - start;
+
+        final long relations = (long) (nodes - 1) * relationsPerNode;
+        final long growth = fourthQuarterPeak.get() - secondQuarterPeak.get();
+        final long bytesPerNode = growth / (nodes / 2);
+        LOG.info("Imported {} nodes and {} relations in batches of {} in {} s, {} records/s, heap grew {} MiB over "
+                        + "half of the import ({} bytes per node)", nodes, relations, batchSize,
+                TimeUnit.NANOSECONDS.toSeconds(nanos),
+                (nodes + relations) * TimeUnit.SECONDS.toNanos(1) / nanos, growth / MEBIBYTE, bytesPerNode);
+
+        assertEquals(HttpStatus.OK.value(), result.getInt(TestConstants.CODE));
+        assertEquals(nodes, result.getLong("data.nodeCount"));
+        assertEquals(relations, result.getLong("data.relationCount"));
+        assertFalse(result.getList("data.bookmarks").isEmpty());
+        assertTrue(secondQuarterPeak.get() >= 0 && fourthQuarterPeak.get() >= 0);
+        assertTrue(bytesPerNode <= MAX_RETAINED_BYTES_PER_NODE);
+    }
+
+    /**
+     * Creates a user and a graph of that user.
+     *
+     * @return the UUID of the graph
+     */
+    private String createGraph() {
+        RestAssured.given()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(String.format(payload(CREATE_UPDATE_USER_JSON), TestConstants.TEST_ID1,
+                        TestConstants.TEST_NAME1))
+                .post(USER_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        return RestAssured.given()
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .body(String.format(payload("create-graph.json"), TestConstants.TEST_ID1, TestConstants.TEST_TITLE1))
+                .post(GRAPH_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath()
+                .getString(TestConstants.DATA_UUID);
+    }
+
+    /**
+     * Streams a generated import to the node/import endpoint and reads its progress.
+     *
+     * @param graphUuid the UUID of the graph to import into
+     * @param generatedImport the import
+     *
+     * @return the final progress line
+     *
+     * @throws IOException if the import cannot be sent or its progress cannot be read
+     */
+    private String sendImport(final String graphUuid, final GeneratedImport generatedImport) throws IOException {
+        final URL url = new URL(String.format("http://localhost:%d%s%s?%s=%s", port, NODE_ENDPOINT, IMPORT_ENDPOINT,
+                Constants.GRAPH_UUID, graphUuid));
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, ImportRecordReader.NDJSON);
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(STREAM_CHUNK_BYTES);
+
+        try (OutputStream body = connection.getOutputStream()) {
+            generatedImport.transferTo(body);
+        }
+
+        String last = null;
+        try (BufferedReader progress = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = progress.readLine(); line != null; line = progress.readLine()) {
+                last = line;
+            }
+        } finally {
+            connection.disconnect();
+        }
+
+        return last;
+    }
+
+    /**
+     * An NDJSON import generated while it is read: every node is followed by relations to random nodes before it.
+     */
+    private static final class GeneratedImport extends InputStream {
+
+        private static final String NODE_RECORD =
+                "{\"temporaryId\": \"n%d\", \"properties\": {\"title\": \"%1$d\"}}%n";
+
+        private static final String RELATION_RECORD =
+                "{\"fromId\": \"n%d\", \"toId\": \"n%d\", \"relationName\": \"-\"}%n";
+
+        private static final long SEED = 42;
+
+        private final int nodes;
+
+        private final int relationsPerNode;
+
+        private final SplittableRandom targets = new SplittableRandom(SEED);
+
+        private volatile int node;
+
+        private int relation = -1;
+
+        private byte[] line = new byte[0];
+
+        private int position;
+
+        /**
+         * Generates an import.
+         *
+         * @param nodes the number of nodes
+         * @param relationsPerNode the number of relations following every node but the first
+         */
+        GeneratedImport(final int nodes, final int relationsPerNode) {
+            this.nodes = nodes;
+            this.relationsPerNode = relationsPerNode;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+
+            return line[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == line.length && !nextLine()) {
+                return -1;
+            }
+
+            final int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        /**
+         * Returns the number of nodes generated so far.
+         *
+         * @return the number of nodes whose records have been generated
+         */
+        int getGeneratedNodes() {
+            return node;
+        }
+
+        /**
+         * Generates the next record.
+         *
+         * @return {@code false} if the import is complete
+         */
+        private boolean nextLine() {
+            while (node < nodes) {
+                if (relation < 0) {
+                    relation = 0;
+                    return setLine(String.format(NODE_RECORD, node));
+                }
+                if (node > 0 && relation < relationsPerNode) {
+                    final int target = targets.nextInt(node);
+                    relation++;
+                    return setLine(String.format(RELATION_RECORD, node, target));
+                }
+                node++;
+                relation = -1;
+            }
+
+            return false;
+        }
+
+        /**
+         * Makes a record the next bytes to read.
+         *
+         * @param record the record
+         *
+         * @return {@code true}
+         */
+        private boolean setLine(final String record) {
+            line = record.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
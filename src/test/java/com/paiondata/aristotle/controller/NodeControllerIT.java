@@ -16,11 +16,16 @@
 package com.paiondata.aristotle.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.paiondata.aristotle.common.base.BulkheadType;
+import com.paiondata.aristotle.common.base.Constants;
 import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.BulkheadRegistry;
+import com.paiondata.aristotle.common.util.ConcurrencyLimiter;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -28,15 +33,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +63,22 @@ import java.util.stream.Collectors;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class NodeControllerIT extends AbstractIT {
 
+    private static final String DATA_STATUS = "data.status";
+
+    private static final String UNKNOWN_NODE = "unknown-node";
+
+    private static final String DATA_PROPERTY = "data.properties.'%s'";
+
+    private static final String SUCCEEDED = "SUCCEEDED";
+
+    private static final String RELATION_UUIDS = "data.relations.uuid";
+
+    private static final String CREATE_A_NODE_JSON = "create-a-node.json";
+
+    private static final String PATCH_NODE_JSON = "patch-node.json";
+
+    private static final int CONCURRENT_WRITERS = 8;
+
     /**
      * A static string variable to store the UUID of a first created graph.
      */
@@ -72,6 +104,9 @@ public class NodeControllerIT extends AbstractIT {
      */
     private static String nodeUuid3;
 
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     /**
      * Parameterized test to verify if the JSON API correctly handles invalid node creation requests by returning a
      * 400 Bad Request status code and appropriate error messages.
@@ -422,7 +457,7 @@ public class NodeControllerIT extends AbstractIT {
                 .given()
                 .contentType(ContentType.JSON)
                 .accept(ContentType.JSON)
-                .body(String.format(payload("delete-node.json"), graphUuid1, nodeUuid1))
+                .body(String.format(payload(DELETE_NODE_JSON), graphUuid1, nodeUuid1))
                 .when()
                 .delete(NODE_ENDPOINT);
         response.then()
@@ -445,4 +480,362 @@ public class NodeControllerIT extends AbstractIT {
 
         assertNull(response.jsonPath().get(TestConstants.DATA));
     }
+
+    /**
+     * Tests if nodes and relations can be imported from NDJSON and CSV streams by making POST requests to the
+     * node/import endpoint and verifying the final progress line of each response.
+     *
+     * @param fileName the import file
+     * @param mediaType the media type of the import
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "import-nodes.ndjson, application/x-ndjson",
+            "import-nodes.csv, text/csv"
+    })
+    @Order(16)
+    void nodesAndRelationsAreImportedFromStreams(final String fileName, final String mediaType) {
+        final Response response = RestAssured
+                .given()
+                .contentType(mediaType)
+                .queryParam(TestConstants.GRAPH_UUID, graphUuid1)
+                .body(String.format(payload(fileName), TestConstants.TEST_TITLE1, TestConstants.TEST_TITLE2,
+                        nodeUuid3).getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post(NODE_ENDPOINT + IMPORT_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+
+        final String[] lines = response.asString().trim().split("\n");
+        final JsonPath result = JsonPath.from(lines[lines.length - 1]);
+
+        assertEquals(HttpStatus.OK.value(), result.getInt(TestConstants.CODE));
+        assertEquals(2, result.getInt("data.nodeCount"));
+        assertEquals(2, result.getInt("data.relationCount"));
+    }
+
+    /**
+     * Tests if nodes can be created asynchronously by making a POST request to the node/async endpoint, then polling
+     * the returned job until it has succeeded and verifying its result.
+     *
+     * @throws InterruptedException if the test is interrupted while polling
+     */
+    @Test
+    @Order(17)
+    void nodeEntityIsPostedAsynchronously() throws InterruptedException {
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload(CREATE_A_NODE_JSON), graphUuid1))
+                .when()
+                .post(NODE_ENDPOINT + ASYNC_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+
+        response.then()
+                .statusCode(HttpStatus.ACCEPTED.value());
+
+        final String jobLocation = JOB_ENDPOINT + TestConstants.SLASH
+                + response.jsonPath().getString(TestConstants.DATA_UUID);
+        assertTrue(response.getHeader(HttpHeaders.LOCATION).endsWith(jobLocation));
+
+        JsonPath job = RestAssured.given().when().get(jobLocation).jsonPath();
+        for (int attempt = 0; attempt < 50 && !SUCCEEDED.equals(job.getString(DATA_STATUS)); attempt++) {
+            Thread.sleep(100);
+            job = RestAssured.given().when().get(jobLocation).jsonPath();
+        }
+
+        assertEquals(SUCCEEDED, job.getString(DATA_STATUS));
+        assertEquals(graphUuid1, job.getString("data.graphUuid"));
+        assertNotNull(job.getString("data.result[0].uuid"));
+        assertFalse(job.getList("data.bookmarks").isEmpty());
+    }
+
+    /**
+     * Tests if relations are renamed and deleted together by making PUT requests to the node/relate endpoint,
+     * first with an unknown relation which must fail and leave the graph unchanged, then with known relations only.
+     */
+    @Test
+    @Order(18)
+    void relationsAreRenamedAndDeletedTogether() {
+        final List<String> relationUuids = getRelationsOfGraph1().getList(RELATION_UUIDS);
+        final String renamed = relationUuids.get(0);
+        final String deleted = relationUuids.get(1);
+        final String unknown = "unknown-relation";
+
+        final Response failure = updateRelations(String.format(payload(UPDATE_RELATION_JSON), graphUuid1, renamed,
+                TestConstants.TEST_TITLE2, String.format("[\"%s\", \"%s\"]", deleted, unknown)));
+
+        failure.then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        assertTrue(failure.jsonPath().getString(TestConstants.MSG).contains(unknown));
+        assertFalse(failure.jsonPath().getString(TestConstants.MSG).contains(deleted));
+        assertEquals(Set.copyOf(relationUuids), Set.copyOf(getRelationsOfGraph1().getList(RELATION_UUIDS)));
+
+        updateRelations(String.format(payload(UPDATE_RELATION_JSON), graphUuid1, renamed,
+                TestConstants.TEST_TITLE2, String.format("[\"%s\"]", deleted)))
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        final JsonPath graph = getRelationsOfGraph1();
+        assertFalse(graph.getList(RELATION_UUIDS).contains(deleted));
+        assertEquals(TestConstants.TEST_TITLE2,
+                graph.getString(String.format("data.relations.find { it.uuid == '%s' }.name", renamed)));
+    }
+
+    /**
+     * Tests if deleting a node which does not exist is rejected with the UUID of that node by making a DELETE request
+     * to the node endpoint and verifying the response.
+     */
+    @Test
+    @Order(19)
+    void deletingAnUnknownNodeIsRejected() {
+        final String unknown = UNKNOWN_NODE;
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload(DELETE_NODE_JSON), graphUuid1, unknown))
+                .when()
+                .delete(NODE_ENDPOINT);
+
+        response.then()
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        assertEquals(String.format("The node with UUID '%s' does not exist", unknown),
+                response.jsonPath().getString(TestConstants.MSG));
+    }
+
+    /**
+     * Tests if a node entity can be partially updated by making a PATCH request to the node endpoint, setting one
+     * property and removing another while the rest are kept.
+     */
+    @Test
+    @Order(20)
+    void weCanPatchThatNodeEntity() {
+        RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload(PATCH_NODE_JSON), nodeUuid3, TestConstants.TEST_KEY1,
+                        TestConstants.TEST_VALUE1))
+                .when()
+                .patch(NODE_ENDPOINT)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        final JsonPath node = RestAssured
+                .given()
+                .when()
+                .get(NODE_ENDPOINT + TestConstants.SLASH + nodeUuid3)
+                .jsonPath();
+
+        assertEquals(TestConstants.TEST_VALUE1, node.getString(String.format(DATA_PROPERTY, TestConstants.TEST_KEY1)));
+        assertFalse(node.getMap("data.properties").containsKey(Constants.TITLE));
+        assertEquals(nodeUuid3, node.getString(TestConstants.DATA_UUID));
+    }
+
+    /**
+     * Tests if many node entities can be partially updated at once by making a PATCH request to the node/bulk
+     * endpoint, with an outcome reported for every update.
+     */
+    @Test
+    @Order(21)
+    void weCanBulkUpdateNodeEntities() {
+        final String unknown = UNKNOWN_NODE;
+        final Response response = RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload("bulk-update-node.json"), graphUuid1, nodeUuid3, TestConstants.TEST_KEY2,
+                        TestConstants.TEST_VALUE2, unknown, nodeUuid3))
+                .when()
+                .patch(NODE_ENDPOINT + "/bulk");
+
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(List.of(nodeUuid3, unknown, nodeUuid3), response.jsonPath().getList(TestConstants.DATA_UUID));
+        assertEquals(List.of("UPDATED", "NOT_FOUND", "INVALID"), response.jsonPath().getList(DATA_STATUS));
+
+        final JsonPath node = RestAssured
+                .given()
+                .when()
+                .get(NODE_ENDPOINT + TestConstants.SLASH + nodeUuid3)
+                .jsonPath();
+        assertEquals(TestConstants.TEST_VALUE2, node.getString(String.format(DATA_PROPERTY, TestConstants.TEST_KEY2)));
+        assertEquals(TestConstants.TEST_VALUE1, node.getString(String.format(DATA_PROPERTY, TestConstants.TEST_KEY1)));
+    }
+
+    /**
+     * Tests if node entities can be created by many concurrent POST requests to the node endpoint, each of which
+     * commits in a session of its own, with every node created exactly once.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the requests
+     * @throws ExecutionException if a request fails
+     */
+    @Test
+    @Order(22)
+    void nodeEntitiesArePostedConcurrently() throws InterruptedException, ExecutionException {
+        final Callable<Response> post = () -> RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload(CREATE_A_NODE_JSON), graphUuid1))
+                .when()
+                .post(NODE_ENDPOINT);
+        final List<Callable<Response>> posts = Collections.nCopies(CONCURRENT_WRITERS * 4, post);
+
+        final ExecutorService writers = Executors.newFixedThreadPool(CONCURRENT_WRITERS);
+        final Set<String> createdNodeUuids = new HashSet<>();
+        try {
+            for (final Future<Response> future : writers.invokeAll(posts)) {
+                final Response response = future.get();
+                response.then()
+                        .statusCode(HttpStatus.OK.value());
+                createdNodeUuids.add(response.jsonPath().getString(TestConstants.DATA_0_UUID));
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        assertEquals(posts.size(), createdNodeUuids.size());
+        for (final String createdNodeUuid : createdNodeUuids) {
+            RestAssured
+                    .given()
+                    .when()
+                    .get(NODE_ENDPOINT + TestConstants.SLASH + createdNodeUuid)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+    }
+
+    /**
+     * Tests that expansions are rejected with 429 and a Retry-After header while every permit of the traversal
+     * bulkhead is taken, and that point reads are still served meanwhile.
+     */
+    @Test
+    @Order(23)
+    void expansionsAreRejectedWhenTheTraversalBulkheadIsFull() {
+        final ConcurrencyLimiter traversals = bulkheadRegistry.get(BulkheadType.TRAVERSAL);
+        final int permits = traversals.getLimit();
+        for (int i = 0; i < permits; i++) {
+            traversals.acquire();
+        }
+        try {
+            final Response response = RestAssured
+                    .given()
+                    .queryParam(TestConstants.GRAPH_UUID, graphUuid2)
+                    .queryParam("nodeUuid", nodeUuid2)
+                    .queryParam("degree", 1)
+                    .when()
+                    .get(NODE_ENDPOINT + "/expand");
+            response.then()
+                    .statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+            assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+
+            RestAssured
+                    .given()
+                    .when()
+                    .get(NODE_ENDPOINT + TestConstants.SLASH + nodeUuid2)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        } finally {
+            for (int i = 0; i < permits; i++) {
+                traversals.release(0L);
+            }
+        }
+    }
+
+    /**
+     * Tests that the load shedding state is exposed through the actuator, and that nothing is shed when idle.
+     */
+    @Test
+    @Order(24)
+    void theLoadSheddingStateIsExposed() {
+        final Response response = RestAssured.given().when().get("/actuator/shedding");
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertFalse(response.jsonPath().getBoolean("shedding"));
+        assertNotNull(response.jsonPath().get("queueWaitMs"));
+    }
+
+    /**
+     * Tests that the statistics of the entity caches are exposed, with the graph lookups of the earlier tests.
+     */
+    @Test
+    @Order(25)
+    void theEntityCacheStatisticsAreExposed() {
+        final Response response = RestAssured.given().when().get("/actuator/entitycache");
+        response.then()
+                .statusCode(HttpStatus.OK.value());
+        assertTrue(response.jsonPath().getLong("graphs.missCount") > 0);
+        assertNotNull(response.jsonPath().get("users.hitRate"));
+    }
+
+    /**
+     * Tests that back-to-back writes to a graph, within the same second, each change the ETag of its nodes, so that
+     * a client is never answered with 304 Not Modified for a stale copy.
+     */
+    @Test
+    @Order(26)
+    void everyWriteChangesTheETag() {
+        final String nodeLocation = NODE_ENDPOINT + TestConstants.SLASH + nodeUuid3;
+        final Set<String> eTags = new HashSet<>();
+        eTags.add(RestAssured.given().when().get(nodeLocation).getHeader(HttpHeaders.ETAG));
+
+        for (final String value : List.of(TestConstants.TEST_VALUE1, TestConstants.TEST_VALUE2)) {
+            RestAssured
+                    .given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format(payload(PATCH_NODE_JSON), nodeUuid3, TestConstants.TEST_KEY2, value))
+                    .when()
+                    .patch(NODE_ENDPOINT)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+            eTags.add(RestAssured.given().when().get(nodeLocation).getHeader(HttpHeaders.ETAG));
+        }
+
+        assertEquals(3, eTags.size());
+    }
+
+    /**
+     * Sends a relation update to the node/relate endpoint.
+     *
+     * @param body the request body
+     *
+     * @return the response
+     */
+    private Response updateRelations(final String body) {
+        return RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(body)
+                .when()
+                .put(NODE_ENDPOINT + RELATE_ENDPOINT)
+                .then()
+                .extract()
+                .response();
+    }
+
+    /**
+     * Retrieves the first graph with its relations.
+     *
+     * @return the response body
+     */
+    private JsonPath getRelationsOfGraph1() {
+        return RestAssured
+                .given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .body(String.format(payload(GET_GRAPH_JSON), graphUuid1))
+                .when()
+                .post(GRAPH_ENDPOINT + FILTER_ENDPOINT)
+                .jsonPath();
+    }
 }
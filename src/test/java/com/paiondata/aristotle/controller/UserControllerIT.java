@@ -16,6 +16,7 @@
 package com.paiondata.aristotle.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.paiondata.aristotle.common.base.TestConstants;
@@ -26,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
@@ -214,10 +216,42 @@ public class UserControllerIT extends AbstractIT {
     }
 
     /**
-     * Tests that the user controller can update a user entity via json api.
+     * Tests that the users can be paged through by following the next links, one user per page.
      */
     @Test
     @Order(8)
+    void weCanPageThroughUserEntities() {
+        final Response first = RestAssured.given().queryParam("limit", 1).when().get(USER_ENDPOINT);
+        first.then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(List.of(TestConstants.TEST_ID1), first.jsonPath().getList(TestConstants.DATA_OIDCID));
+
+        final Response second = RestAssured.given().when().get(nextLink(first));
+        assertEquals(List.of(TestConstants.TEST_ID2), second.jsonPath().getList(TestConstants.DATA_OIDCID));
+
+        final Response last = RestAssured.given().when().get(nextLink(second));
+        assertTrue(last.jsonPath().getList(TestConstants.DATA).isEmpty());
+        assertNull(last.getHeader(HttpHeaders.LINK));
+    }
+
+    /**
+     * Extracts the URL of the next page from the {@code Link} header of a response.
+     *
+     * @param response the response
+     *
+     * @return the URL of the next page
+     */
+    private static String nextLink(final Response response) {
+        final String link = response.getHeader(HttpHeaders.LINK);
+        assertTrue(link.endsWith("rel=\"next\""));
+        return link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+    }
+
+    /**
+     * Tests that the user controller can update a user entity via json api.
+     */
+    @Test
+    @Order(9)
     void weCanUpdateThatUserEntity() {
         RestAssured
                 .given()
@@ -234,7 +268,7 @@ public class UserControllerIT extends AbstractIT {
      * Tests that the user controller can get a user entity via json api.
      */
     @Test
-    @Order(9)
+    @Order(10)
     void weCanGetThatUserEntityWithUpdatedAttribute() {
         final Response response = RestAssured
                 .given()
@@ -255,7 +289,7 @@ public class UserControllerIT extends AbstractIT {
      * Tests that the user controller can delete a user entity via json api.
      */
     @Test
-    @Order(10)
+    @Order(11)
     void thatUserEntityIsDeleted() {
         final Response response = RestAssured
                 .given()
@@ -272,7 +306,7 @@ public class UserControllerIT extends AbstractIT {
      * Tests that the user controller can get a user entity via json api.
      */
     @Test
-    @Order(11)
+    @Order(12)
     void thatUserEntityIsNotFoundInDatabaseAnymore() {
         final Response response = RestAssured
                 .given()
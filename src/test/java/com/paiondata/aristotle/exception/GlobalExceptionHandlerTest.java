@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.HttpStatus;
+import com.paiondata.aristotle.common.base.Result;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for verifying the functionality of the {@link GlobalExceptionHandler} class.
+ */
+public class GlobalExceptionHandlerTest {
+
+    private static final String MESSAGE = "connection lost";
+
+    private static final String ETAG = "\"etag\"";
+
+    private static final String BOOKMARK = "bookmark";
+
+    private static final String PARTIAL_BODY = "{\"code\":200,\"msg\":\"success\",\"data\":{\"nodes\":[";
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    /**
+     * Tests that a failure before the response is committed is answered with an error body.
+     *
+     * @throws Exception if the handler fails
+     */
+    @Test
+    void failureBeforeTheResponseIsCommittedIsAnsweredWithAnErrorBody() throws Exception {
+        final ResponseEntity<Result<Void>> entity = handler.handleException(new IOException(MESSAGE), request,
+                response);
+
+        assertEquals(HttpStatus.ERROR, entity.getStatusCodeValue());
+        assertEquals(MESSAGE, entity.getBody().getMsg());
+    }
+
+    /**
+     * Tests that a failure of a streamed response before it is committed discards the part of the body and the ETag
+     * already buffered, but keeps the other headers, so that the error body is written on its own.
+     *
+     * @throws IOException if writing the partial body fails
+     */
+    @Test
+    void failureBeforeTheResponseIsCommittedDiscardsThePartialBodyAndTheETag() throws IOException {
+        response.setHeader(HttpHeaders.ETAG, ETAG);
+        response.setHeader(Constants.BOOKMARK_HEADER, BOOKMARK);
+        response.getOutputStream().write(PARTIAL_BODY.getBytes(StandardCharsets.UTF_8));
+
+        final ResponseEntity<Result<Void>> entity = handler.handleRuntimeException(
+                new DeadlineExceededException(MESSAGE), request, response);
+
+        assertEquals(org.springframework.http.HttpStatus.GATEWAY_TIMEOUT, entity.getStatusCode());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BOOKMARK, response.getHeader(Constants.BOOKMARK_HEADER));
+    }
+
+    /**
+     * Tests that failures after the response is committed are rethrown, so that the container aborts the response
+     * instead of appending an error body to it.
+     */
+    @Test
+    void failureAfterTheResponseIsCommittedIsRethrown() {
+        response.setCommitted(true);
+        final IOException ioException = new IOException(MESSAGE);
+        final IllegalStateException runtimeException = new IllegalStateException(MESSAGE);
+
+        assertSame(ioException, assertThrows(IOException.class,
+                () -> handler.handleException(ioException, request, response)));
+        assertSame(runtimeException, assertThrows(IllegalStateException.class,
+                () -> handler.handleRuntimeException(runtimeException, request, response)));
+    }
+}
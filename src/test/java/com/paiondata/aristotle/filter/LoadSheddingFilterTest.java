@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiondata.aristotle.common.util.LoadShedder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import javax.servlet.FilterChain;
+
+/**
+ * Test class for verifying the functionality of the {@link LoadSheddingFilter} class.
+ */
+public class LoadSheddingFilterTest {
+
+    private static final String GET = "GET";
+
+    private static final String EXPANSION = "/node/expand";
+
+    private static final String DEGREE = "degree";
+
+    private static final String USERS = "/user";
+
+    private static final String NODE = "/node/uuid";
+
+    private static final String ONE = "1";
+
+    private final LoadShedder loadShedder = mock(LoadShedder.class);
+
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(loadShedder, new ObjectMapper(),
+            List.of("GET /user", "PATCH /node/bulk"), 3);
+
+    /**
+     * Tests that listing the users, bulk writes and deep expansions are low-priority, while point reads and
+     * shallow expansions are not.
+     */
+    @Test
+    void lowPriorityRequestsAreRecognized() {
+        assertTrue(filter.isLowPriority(new MockHttpServletRequest(GET, USERS)));
+        assertTrue(filter.isLowPriority(new MockHttpServletRequest("PATCH", "/node/bulk")));
+        assertFalse(filter.isLowPriority(new MockHttpServletRequest(GET, "/user/oidcid")));
+        assertFalse(filter.isLowPriority(new MockHttpServletRequest(GET, NODE)));
+
+        final MockHttpServletRequest deepExpansion = new MockHttpServletRequest(GET, EXPANSION);
+        deepExpansion.setParameter(DEGREE, "-1");
+        assertTrue(filter.isLowPriority(deepExpansion));
+
+        final MockHttpServletRequest shallowExpansion = new MockHttpServletRequest(GET, EXPANSION);
+        shallowExpansion.setParameter(DEGREE, ONE);
+        assertFalse(filter.isLowPriority(shallowExpansion));
+    }
+
+    /**
+     * Tests that low-priority requests are rejected with a fast 503 while shedding, and point reads still pass.
+     *
+     * @throws Exception if the filter fails
+     */
+    @Test
+    void lowPriorityRequestsAreShedWhileOverloaded() throws Exception {
+        when(loadShedder.isShedding()).thenReturn(true);
+
+        final MockHttpServletResponse shed = new MockHttpServletResponse();
+        final FilterChain shedChain = mock(FilterChain.class);
+        filter.doFilter(new MockHttpServletRequest(GET, USERS), shed, shedChain);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), shed.getStatus());
+        assertEquals(ONE, shed.getHeader(HttpHeaders.RETRY_AFTER));
+        verify(shedChain, never()).doFilter(any(), any());
+        verify(loadShedder).recordShed();
+
+        final MockHttpServletResponse served = new MockHttpServletResponse();
+        final MockFilterChain servedChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(GET, NODE), served, servedChain);
+        assertEquals(HttpStatus.OK.value(), served.getStatus());
+        assertNull(served.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+}
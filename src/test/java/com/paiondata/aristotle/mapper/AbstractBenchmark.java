@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.mapper;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.FanOutExecutor;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+import com.paiondata.aristotle.common.util.NodeExtractor;
+import com.paiondata.aristotle.common.util.RelationShipExtractor;
+import com.paiondata.aristotle.config.ConstraintInitializer;
+import com.paiondata.aristotle.mapper.impl.NodeMapperImpl;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import cn.hutool.core.lang.UUID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An abstract base class for benchmarks that provides an embedded Neo4j database and common utility methods.
+ * <p>
+ * The database carries the constraints of the application, created by the {@link ConstraintInitializer}, so that
+ * the statements under measurement use the same indexes as in production. Benchmarks log their timings and assert
+ * only quantities that do not depend on the machine, such as the nodes and versions written; they are not part of
+ * the default build and run with {@code mvn verify -Pbenchmarks}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class AbstractBenchmark {
+
+    /**
+     * The update time written by the benchmarks.
+     */
+    static final String CURRENT_TIME = "2024-01-01 00:00:00";
+
+    /**
+     * The statement issued once per node before node creation was batched and the update time of the graph was
+     * coalesced.
+     */
+    static final String CREATE_NODE_CYPHER = "MATCH (g:Graph) WHERE g.uuid = $graphUuid "
+            + "SET g.update_time = $currentTime "
+            + "CREATE (gn:GraphNode{uuid:$nodeUuid, title: $title, "
+            + "create_time:$currentTime,update_time:$currentTime}) "
+            + "WITH g, gn "
+            + "CREATE (g)-[r:RELATION {name: 'HAVE', uuid: $relationUuid, "
+            + "create_time: $currentTime, update_time: $currentTime}]->(gn) "
+            + "RETURN gn";
+
+    /**
+     * The logger of the running benchmark.
+     */
+    final Logger log = LoggerFactory.getLogger(getClass());
+
+    /**
+     * The embedded Neo4j database server used for benchmarking.
+     */
+    private Neo4j embeddedDatabaseServer;
+
+    /**
+     * The driver connected to the embedded database.
+     */
+    private Driver driver;
+
+    /**
+     * Starts the embedded database and creates the constraints of the application.
+     */
+    @BeforeAll
+    void startDatabase() {
+        embeddedDatabaseServer = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+        driver = GraphDatabase.driver(embeddedDatabaseServer.boltURI(), AuthTokens.none());
+
+        final ConstraintInitializer constraintInitializer = new ConstraintInitializer();
+        ReflectionTestUtils.setField(constraintInitializer, "neo4jDriver", driver);
+        constraintInitializer.run();
+    }
+
+    /**
+     * Stops the embedded database.
+     */
+    @AfterAll
+    void stopDatabase() {
+        if (driver != null) {
+            driver.close();
+        }
+        if (embeddedDatabaseServer != null) {
+            embeddedDatabaseServer.close();
+        }
+    }
+
+    /**
+     * Returns the driver connected to the embedded database.
+     *
+     * @return the driver
+     */
+    Driver driver() {
+        return driver;
+    }
+
+    /**
+     * Creates a node mapper recording the changed graphs in a buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the node mapper
+     */
+    NodeMapper nodeMapper(final GraphTouchBuffer buffer) {
+        return new NodeMapperImpl(driver, new NodeExtractor(), new RelationShipExtractor(), buffer,
+                new FanOutExecutor(false, 1));
+    }
+
+    /**
+     * Creates an empty graph.
+     *
+     * @return the UUID of the graph
+     */
+    String createGraph() {
+        final String graphUuid = UUID.fastUUID().toString(true);
+
+        try (Session session = driver.session()) {
+            session.run("CREATE (:Graph { uuid: $graphUuid })", Values.parameters(Constants.GRAPH_UUID, graphUuid))
+                    .consume();
+        }
+
+        return graphUuid;
+    }
+
+    /**
+     * Counts the nodes of a graph.
+     *
+     * @param graphUuid the UUID of the graph
+     *
+     * @return the number of nodes the graph has a relationship to
+     */
+    long nodeCount(final String graphUuid) {
+        try (Session session = driver.session()) {
+            return session.run("MATCH (:Graph { uuid: $graphUuid })-[:RELATION]->(n:GraphNode) RETURN count(n)",
+                    Values.parameters(Constants.GRAPH_UUID, graphUuid)).single().get(0).asLong();
+        }
+    }
+
+    /**
+     * Builds the rows of {@link NodeMapper#createNodes} for new nodes with a title only.
+     *
+     * @param count the number of nodes
+     *
+     * @return the rows
+     */
+    static List<Map<String, Object>> nodeRows(final int count) {
+        final List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Map<String, Object> row = new HashMap<>();
+            row.put(Constants.NODE_UUID, UUID.fastUUID().toString(true));
+            row.put(Constants.RELATION_UUID, UUID.fastUUID().toString(true));
+            row.put(Constants.PROPERTIES, Map.of(Constants.TITLE, Constants.TITLE + i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Computes a throughput.
+     *
+     * @param operations the number of operations
+     * @param nanos the elapsed time of the operations in nanoseconds
+     *
+     * @return the number of operations per second
+     */
+    static long perSecond(final long operations, final long nanos) {
+        return operations * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
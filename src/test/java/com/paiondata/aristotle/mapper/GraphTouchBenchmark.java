@@ -0,0 +1,343 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Values;
+
+import cn.hutool.core.lang.UUID;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares concurrent writers of a single graph when every created node sets the update time of the graph node, when
+ * the update time and the version are written once per transaction on the graph node, when they are written once per
+ * transaction on the {@code GraphVersion} node through the {@link GraphTouchBuffer}, and when they are deferred to the
+ * write-behind flush of the buffer.
+ * <p>
+ * Every transaction writes an update time of its own, later than those of the transactions before it, so that each
+ * touch really changes the property it sets. Each writer commits small transactions through
+ * {@link Session#writeTransaction}, which retries the transactions that fail on a deadlock; the retries are reported
+ * as the measure of lock contention on the graph.
+ */
+class GraphTouchBenchmark extends AbstractBenchmark {
+
+    private static final int WRITERS = 8;
+
+    private static final int TRANSACTIONS_PER_WRITER = 200;
+
+    private static final int NODES_PER_TRANSACTION = 5;
+
+    private static final long TRANSACTIONS = (long) WRITERS * TRANSACTIONS_PER_WRITER;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final DateTimeFormatter UPDATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String MATCH_GRAPH = "MATCH (g:Graph { uuid: $graphUuid }) ";
+
+    private static final String TOUCH_GRAPH_NODE_CYPHER = MATCH_GRAPH
+            + "SET g.update_time = $currentTime, g.version = coalesce(g.version, 0) + 1";
+
+    private static final String GRAPH_TOUCH_CYPHER = MATCH_GRAPH
+            + "OPTIONAL MATCH (v:GraphVersion { graph_uuid: g.uuid }) "
+            + "RETURN g.update_time, v.update_time, v.version";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Reports the throughput and the retries of each way of touching the graph, and checks that every transaction of
+     * each way creates its nodes, and that touching the {@code GraphVersion} node once per transaction bumps the
+     * version once per transaction and leaves an update time of the run on it without changing the graph node. The
+     * write-behind touch merges the touches of several transactions, so it only has to bump the version at all.
+     * <p>
+     * The throughput and the retries depend on the machine and the scheduling of the writers, so they are logged
+     * rather than asserted.
+     *
+     * @throws InterruptedException if the benchmark is interrupted
+     * @throws ExecutionException if a writer fails
+     */
+    @Test
+    void coalescedTouchesReduceContention() throws InterruptedException, ExecutionException {
+        final GraphTouchBuffer writeThrough = new GraphTouchBuffer(driver(), false);
+        final GraphTouchBuffer writeBehind = new GraphTouchBuffer(driver(), true);
+        final NodeMapper writeThroughMapper = nodeMapper(writeThrough);
+        final NodeMapper writeBehindMapper = nodeMapper(writeBehind);
+
+        // Warm up
+        run(this::createOnePerStatement);
+        run(coalesced(writeThroughMapper, writeThrough));
+
+        final Measurement perNode = run(this::createOnePerStatement);
+        final Measurement graphNode = run(touchingGraphNode(writeThroughMapper, writeThrough));
+        final Measurement perTransaction = run(coalesced(writeThroughMapper, writeThrough));
+        final Measurement deferred = run(coalesced(writeBehindMapper, writeBehind));
+        writeBehind.flushDeferred();
+
+        report("touch per node", perNode);
+        report("graph node touch per tx", graphNode);
+        report("version node touch per tx", perTransaction);
+        report("write-behind touch", deferred);
+
+        for (final Measurement measurement : List.of(perNode, graphNode, perTransaction, deferred)) {
+            assertEquals(TRANSACTIONS * NODES_PER_TRANSACTION, nodeCount(measurement.graphUuid));
+        }
+
+        final Record touch = graphTouch(perTransaction.graphUuid);
+        assertTrue(touch.get(0).isNull());
+        assertTrue(perTransaction.wrote(touch.get(1).asString()));
+        assertEquals(TRANSACTIONS, touch.get(2).asLong());
+        assertTrue(graphTouch(deferred.graphUuid).get(2).asLong() > 0);
+    }
+
+    /**
+     * Runs the concurrent writers against a new graph.
+     *
+     * @param work the work of a transaction, given the UUID of the graph
+     *
+     * @return the measurement of the run
+     *
+     * @throws InterruptedException if the benchmark is interrupted
+     * @throws ExecutionException if a writer fails
+     */
+    private Measurement run(final TransactionBody work) throws InterruptedException, ExecutionException {
+        final String graphUuid = createGraph();
+        final AtomicLong attempts = new AtomicLong();
+        final long firstTick = clock.get();
+        final ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        final long start = System.nanoTime();
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                futures.add(writers.submit(() -> {
+                    try (Session session = driver().session()) {
+                        for (int i = 0; i < TRANSACTIONS_PER_WRITER; i++) {
+                            session.writeTransaction(tx -> {
+                                attempts.incrementAndGet();
+                                work.execute(graphUuid, nextUpdateTime(), tx);
+                                return null;
+                            });
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+
+        final long retries = attempts.get() - TRANSACTIONS;
+        return new Measurement(graphUuid, System.nanoTime() - start, retries,
+                updateTime(firstTick + 1), updateTime(firstTick + TRANSACTIONS + retries));
+    }
+
+    /**
+     * Draws the update time of a transaction, one second after that of the transaction before.
+     *
+     * @return the update time
+     */
+    private String nextUpdateTime() {
+        return updateTime(clock.incrementAndGet());
+    }
+
+    /**
+     * Formats an update time drawn by {@link #nextUpdateTime()}.
+     *
+     * @param tick the number of update times drawn so far
+     *
+     * @return the update time
+     */
+    private static String updateTime(final long tick) {
+        return EPOCH.plusSeconds(tick).format(UPDATE_TIME_FORMAT);
+    }
+
+    /**
+     * Creates the nodes of a transaction with one statement per node, each setting the update time of the graph.
+     *
+     * @param graphUuid the UUID of the graph
+     * @param updateTime the update time of the transaction
+     * @param tx the transaction
+     */
+    private void createOnePerStatement(final String graphUuid, final String updateTime, final Transaction tx) {
+        for (int i = 0; i < NODES_PER_TRANSACTION; i++) {
+            tx.run(CREATE_NODE_CYPHER, Values.parameters(
+                    Constants.GRAPH_UUID, graphUuid,
+                    Constants.NODE_UUID, UUID.fastUUID().toString(true),
+                    Constants.RELATION_UUID, UUID.fastUUID().toString(true),
+                    Constants.CURRENT_TIME, updateTime,
+                    Constants.TITLE, Constants.TITLE + i
+            )).consume();
+        }
+    }
+
+    /**
+     * Builds the work creating the nodes of a transaction with {@link NodeMapper#createNodes}, then setting the
+     * update time and the version of the graph on the graph node, the relationships of which the transaction has
+     * just created.
+     *
+     * @param nodeMapper the mapper recording the graph in the buffer
+     * @param buffer the buffer, discarded instead of flushed
+     *
+     * @return the work of a transaction
+     */
+    private static TransactionBody touchingGraphNode(final NodeMapper nodeMapper, final GraphTouchBuffer buffer) {
+        return (graphUuid, updateTime, tx) -> {
+            try {
+                nodeMapper.createNodes(graphUuid, nodeRows(NODES_PER_TRANSACTION), updateTime, tx);
+                tx.run(TOUCH_GRAPH_NODE_CYPHER, Values.parameters(
+                        Constants.GRAPH_UUID, graphUuid,
+                        Constants.CURRENT_TIME, updateTime
+                )).consume();
+            } finally {
+                buffer.discard();
+            }
+        };
+    }
+
+    /**
+     * Builds the work creating the nodes of a transaction with {@link NodeMapper#createNodes}, then flushing the
+     * update time and the version of the graph to its {@code GraphVersion} node through the buffer.
+     *
+     * @param nodeMapper the mapper recording the graph in the buffer
+     * @param buffer the buffer
+     *
+     * @return the work of a transaction
+     */
+    private static TransactionBody coalesced(final NodeMapper nodeMapper, final GraphTouchBuffer buffer) {
+        return (graphUuid, updateTime, tx) -> {
+            try {
+                nodeMapper.createNodes(graphUuid, nodeRows(NODES_PER_TRANSACTION), updateTime, tx);
+                buffer.flush(tx);
+            } finally {
+                buffer.discard();
+            }
+        };
+    }
+
+    /**
+     * Reads the update time of the graph node, and the update time and the version of the {@code GraphVersion} node
+     * of a graph.
+     *
+     * @param graphUuid the UUID of the graph
+     *
+     * @return the record of the three values
+     */
+    private Record graphTouch(final String graphUuid) {
+        try (Session session = driver().session()) {
+            return session.run(GRAPH_TOUCH_CYPHER, Values.parameters(Constants.GRAPH_UUID, graphUuid)).single();
+        }
+    }
+
+    /**
+     * Logs the measured throughput and retries.
+     *
+     * @param label the label of the measurement
+     * @param measurement the measurement
+     */
+    private void report(final String label, final Measurement measurement) {
+        log.info("{}: {} tx/s, {} deadlock retries", label, measurement.throughput(), measurement.retries);
+    }
+
+    /**
+     * The work of a writer transaction.
+     */
+    @FunctionalInterface
+    private interface TransactionBody {
+
+        /**
+         * Executes the work.
+         *
+         * @param graphUuid the UUID of the graph
+         * @param updateTime the update time of the transaction
+         * @param tx the transaction
+         */
+        void execute(String graphUuid, String updateTime, Transaction tx);
+    }
+
+    /**
+     * The measurement of a run of the writers.
+     */
+    private static final class Measurement {
+
+        private final String graphUuid;
+
+        private final long nanos;
+
+        private final long retries;
+
+        private final String firstUpdateTime;
+
+        private final String lastUpdateTime;
+
+        /**
+         * Constructs the measurement.
+         *
+         * @param graphUuid the UUID of the graph written
+         * @param nanos the elapsed time in nanoseconds
+         * @param retries the number of retried transactions
+         * @param firstUpdateTime the earliest update time written
+         * @param lastUpdateTime the latest update time written
+         */
+        private Measurement(final String graphUuid, final long nanos, final long retries,
+                            final String firstUpdateTime, final String lastUpdateTime) {
+            this.graphUuid = graphUuid;
+            this.nanos = nanos;
+            this.retries = retries;
+            this.firstUpdateTime = firstUpdateTime;
+            this.lastUpdateTime = lastUpdateTime;
+        }
+
+        /**
+         * Checks whether an update time was written by the run.
+         *
+         * @param updateTime the update time
+         *
+         * @return whether the update time lies between the earliest and the latest update time of the run
+         */
+        private boolean wrote(final String updateTime) {
+            return updateTime.compareTo(firstUpdateTime) >= 0 && updateTime.compareTo(lastUpdateTime) <= 0;
+        }
+
+        /**
+         * Computes the committed transactions per second.
+         *
+         * @return the throughput
+         */
+        private long throughput() {
+            return perSecond(TRANSACTIONS, nanos);
+        }
+    }
+}
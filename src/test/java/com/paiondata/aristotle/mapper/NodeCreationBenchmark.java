@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.Values;
+
+import cn.hutool.core.lang.UUID;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the node creation throughput of one statement per node against the batched
+ * {@link NodeMapper#createNodes(String, List, String, Transaction)} statement.
+ * <p>
+ * The throughputs depend on the machine, so they are logged rather than asserted; the benchmark asserts that both
+ * ways create every node of their graph.
+ */
+class NodeCreationBenchmark extends AbstractBenchmark {
+
+    private static final int NODE_COUNT = 5000;
+
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private GraphTouchBuffer graphTouchBuffer;
+
+    private NodeMapper nodeMapper;
+
+    /**
+     * Creates the mapper under measurement.
+     */
+    @BeforeAll
+    void createMapper() {
+        graphTouchBuffer = new GraphTouchBuffer(driver(), false);
+        nodeMapper = nodeMapper(graphTouchBuffer);
+    }
+
+    /**
+     * Reports the throughput of batched statements and of one statement per node.
+     */
+    @Test
+    void batchedStatementsCreateNodes() {
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            createOnePerStatement();
+            createBatched();
+        }
+
+        long perStatementNanos = 0;
+        long batchedNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            perStatementNanos += createOnePerStatement();
+            batchedNanos += createBatched();
+        }
+
+        final long perStatement = perSecond((long) NODE_COUNT * MEASURED_ROUNDS, perStatementNanos);
+        final long batched = perSecond((long) NODE_COUNT * MEASURED_ROUNDS, batchedNanos);
+        log.info("one statement per node: {} nodes/s, batched statements: {} nodes/s", perStatement, batched);
+    }
+
+    /**
+     * Creates {@link #NODE_COUNT} nodes in a new graph with one statement per node.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private long createOnePerStatement() {
+        final String graphUuid = createGraph();
+        final long start = System.nanoTime();
+
+        try (Session session = driver().session(); Transaction tx = session.beginTransaction()) {
+            for (int i = 0; i < NODE_COUNT; i++) {
+                tx.run(CREATE_NODE_CYPHER, Values.parameters(
+                        Constants.GRAPH_UUID, graphUuid,
+                        Constants.NODE_UUID, UUID.fastUUID().toString(true),
+                        Constants.RELATION_UUID, UUID.fastUUID().toString(true),
+                        Constants.CURRENT_TIME, CURRENT_TIME,
+                        Constants.TITLE, Constants.TITLE + i
+                )).consume();
+            }
+            tx.commit();
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        assertEquals(NODE_COUNT, nodeCount(graphUuid));
+        return elapsed;
+    }
+
+    /**
+     * Creates {@link #NODE_COUNT} nodes in a new graph with {@link NodeMapper#createNodes}.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private long createBatched() {
+        final String graphUuid = createGraph();
+        final List<Map<String, Object>> rows = nodeRows(NODE_COUNT);
+        final long start = System.nanoTime();
+
+        try (Session session = driver().session(); Transaction tx = session.beginTransaction()) {
+            assertEquals(NODE_COUNT, nodeMapper.createNodes(graphUuid, rows, CURRENT_TIME, tx).size());
+            graphTouchBuffer.flush(tx);
+            tx.commit();
+        } finally {
+            graphTouchBuffer.discard();
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        assertEquals(NODE_COUNT, nodeCount(graphUuid));
+        return elapsed;
+    }
+}
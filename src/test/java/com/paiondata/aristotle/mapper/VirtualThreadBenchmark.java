@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+import com.paiondata.aristotle.common.util.VirtualThreads;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Values;
+
+import cn.hutool.core.lang.UUID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares request handling on the platform thread pool of Tomcat with request handling on virtual threads, at a
+ * concurrency well above the size of the pool.
+ * <p>
+ * Every request waits for {@link #IO_LATENCY_MS} to stand for the network round trips a request spends blocked on
+ * a remote database, then reads a node through {@link NodeMapper#getNodeByUuid}. With platform threads the requests
+ * queue up for the {@link #PLATFORM_THREADS} threads of the pool, while with virtual threads they all wait at once.
+ * The benchmark asserts the number of requests waiting at once and logs the throughput and the latency, which are
+ * bound by the database as soon as it saturates. Virtual threads are only measured on JDK 21 or later, the
+ * comparison is skipped on older JDKs.
+ */
+class VirtualThreadBenchmark extends AbstractBenchmark {
+
+    /**
+     * The default maximum number of Tomcat request threads.
+     */
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final int REQUESTS = 2000;
+
+    private static final long IO_LATENCY_MS = 20;
+
+    private static final double P99 = 0.99;
+
+    private NodeMapper nodeMapper;
+
+    private String nodeUuid;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicInteger peakWaiting = new AtomicInteger();
+
+    /**
+     * Creates the node read by the requests.
+     */
+    @BeforeAll
+    void createNode() {
+        nodeMapper = nodeMapper(new GraphTouchBuffer(driver(), false));
+
+        nodeUuid = UUID.fastUUID().toString(true);
+        try (Session session = driver().session()) {
+            session.run("CREATE (:Graph { uuid: $graphUuid })-[:RELATION]->(:GraphNode { uuid: $nodeUuid })",
+                    Values.parameters(
+                            Constants.GRAPH_UUID, UUID.fastUUID().toString(true),
+                            Constants.NODE_UUID, nodeUuid))
+                    .consume();
+        }
+    }
+
+    /**
+     * Checks that the requests waiting for I/O are bound by the size of the platform thread pool, but not by
+     * virtual threads, and reports the throughput and the 99th percentile latency of both.
+     *
+     * @throws InterruptedException if the benchmark is interrupted
+     * @throws ExecutionException if a request fails
+     */
+    @Test
+    void virtualThreadsAreNotBoundByThePoolSize() throws InterruptedException, ExecutionException {
+        // Warm up
+        run(Executors.newFixedThreadPool(PLATFORM_THREADS));
+
+        report("platform threads", run(Executors.newFixedThreadPool(PLATFORM_THREADS)));
+        assertTrue(peakWaiting.get() <= PLATFORM_THREADS);
+
+        assumeTrue(VirtualThreads.isSupported(),
+                () -> String.format("JDK %s does not support virtual threads", Runtime.version()));
+
+        run(VirtualThreads.newVirtualThreadPerTaskExecutor());
+        report("virtual threads", run(VirtualThreads.newVirtualThreadPerTaskExecutor()));
+        assertTrue(peakWaiting.get() > PLATFORM_THREADS);
+    }
+
+    /**
+     * Submits all requests at once to an executor and waits for them.
+     *
+     * @param executor the executor standing for the request threads, shut down afterwards
+     *
+     * @return the elapsed time of the run followed by the latencies of the requests, in nanoseconds
+     *
+     * @throws InterruptedException if the benchmark is interrupted
+     * @throws ExecutionException if a request fails
+     */
+    private long[] run(final ExecutorService executor) throws InterruptedException, ExecutionException {
+        peakWaiting.set(0);
+        final long start = System.nanoTime();
+        final List<Future<Long>> futures = new ArrayList<>(REQUESTS);
+
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    peakWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(IO_LATENCY_MS);
+                    } finally {
+                        waiting.decrementAndGet();
+                    }
+                    assertEquals(nodeUuid, nodeMapper.getNodeByUuid(nodeUuid).getUuid());
+                    return System.nanoTime() - start;
+                }));
+            }
+
+            final long[] measurement = new long[REQUESTS + 1];
+            for (int i = 0; i < REQUESTS; i++) {
+                measurement[i + 1] = futures.get(i).get();
+            }
+            measurement[0] = System.nanoTime() - start;
+            return measurement;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Logs the measured throughput and latency.
+     *
+     * @param label the label of the measurement
+     * @param measurement the elapsed time of the run followed by the latencies of the requests, in nanoseconds
+     */
+    private void report(final String label, final long[] measurement) {
+        log.info("{}: {} requests/s, p99 latency {} ms, {} requests waiting at once", label,
+                perSecond(REQUESTS, measurement[0]), TimeUnit.NANOSECONDS.toMillis(p99(measurement)),
+                peakWaiting.get());
+    }
+
+    /**
+     * Computes the 99th percentile latency of a run.
+     *
+     * @param measurement the elapsed time of the run followed by the latencies of the requests, in nanoseconds
+     *
+     * @return the 99th percentile latency in nanoseconds
+     */
+    private static long p99(final long[] measurement) {
+        final long[] latencies = Arrays.copyOfRange(measurement, 1, measurement.length);
+        Arrays.sort(latencies);
+        return latencies[(int) (latencies.length * P99)];
+    }
+}
@@ -26,6 +26,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.CacheChangeLog;
+import com.paiondata.aristotle.common.util.EntityCache;
 import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.model.dto.GraphCreateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
@@ -34,11 +36,14 @@ import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.repository.UserRepository;
 import com.paiondata.aristotle.service.impl.CommonServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.neo4j.driver.Transaction;
 
@@ -46,6 +51,7 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -67,6 +73,10 @@ public class CommonServiceTest {
     @Mock
     private GraphMapper graphMapper;
 
+    @Spy
+    private EntityCache entityCache = new EntityCache(new SimpleMeterRegistry(), mock(CacheChangeLog.class), 100,
+            60, 1000);
+
     /**
      * Tests that getting a user by OIDC ID returns the correct user when the user exists.
      */
@@ -149,6 +159,55 @@ public class CommonServiceTest {
         Assertions.assertFalse(graphOptional.isPresent());
     }
 
+    /**
+     * Tests that a graph looked up twice by UUID is read from the repository only once, until it is evicted.
+     */
+    @Test
+    void getGraphByUuidTwiceReadsRepositoryOnceUntilEvicted() {
+        // Arrange
+        final String uuid = TestConstants.TEST_ID1;
+        final Graph graph = Graph.builder().uuid(uuid).build();
+
+        when(graphRepository.getGraphByUuid(uuid)).thenReturn(graph);
+
+        // Act
+        commonService.getGraphByUuid(uuid);
+        final Optional<Graph> graphOptional = commonService.getGraphByUuid(uuid);
+        entityCache.evictGraphs(List.of(uuid));
+        commonService.getGraphByUuid(uuid);
+
+        // Assert
+        assertEquals(graph, graphOptional.orElseThrow());
+        verify(graphRepository, times(2)).getGraphByUuid(uuid);
+    }
+
+    /**
+     * Tests that getting the graph version by node UUID returns the version when the node exists.
+     */
+    @Test
+    void getGraphVersionByNodeUuidNodeExistsReturnsVersion() {
+        // Arrange
+        when(graphRepository.getGraphVersionByNodeUuid(TestConstants.TEST_ID1)).thenReturn(2L);
+
+        // Act
+        final Optional<Long> version = commonService.getGraphVersionByNodeUuid(TestConstants.TEST_ID1);
+
+        // Assert
+        assertEquals(Optional.of(2L), version);
+    }
+
+    /**
+     * Tests that getting the graph version by graph UUID returns an empty Optional when the graph does not exist.
+     */
+    @Test
+    void getGraphVersionByUuidGraphDoesNotExistReturnsEmptyOptional() {
+        // Arrange
+        when(graphRepository.getGraphVersionByUuid(TestConstants.TEST_ID1)).thenReturn(null);
+
+        // Act & Assert
+        Assertions.assertFalse(commonService.getGraphVersionByUuid(TestConstants.TEST_ID1).isPresent());
+    }
+
     /**
      * Tests that creating and binding a graph with valid input results in successful creation.
      */
@@ -17,18 +17,24 @@ package com.paiondata.aristotle.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiondata.aristotle.common.base.Result;
 import com.paiondata.aristotle.common.base.TestConstants;
 import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.EntityCache;
 import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.mapper.NodeMapper;
 import com.paiondata.aristotle.model.dto.FilterQueryGraphDTO;
@@ -39,7 +45,6 @@ import com.paiondata.aristotle.model.entity.Graph;
 import com.paiondata.aristotle.model.vo.GraphVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
 import com.paiondata.aristotle.model.vo.RelationVO;
-import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.service.impl.GraphServiceImpl;
 
@@ -51,6 +56,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.neo4j.driver.Transaction;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -59,6 +67,9 @@ import java.util.Date;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 /**
  * Test class for the Graph Service.
@@ -73,9 +84,6 @@ public class GraphServiceTest {
     @Mock
     private GraphRepository graphRepository;
 
-    @Mock
-    private NodeRepository nodeRepository;
-
     @Mock
     private GraphMapper graphMapper;
 
@@ -85,6 +93,9 @@ public class GraphServiceTest {
     @Mock
     private CommonService commonService;
 
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Setup method to initialize mocks and test data.
      */
@@ -171,6 +182,116 @@ public class GraphServiceTest {
                 TestConstants.DEFALUT_PAGE_NUMBER, TestConstants.DEFALUT_PAGE_SIZE);
     }
 
+    /**
+     * Tests that getting a GraphVO by UUID without blocking completes with a NoSuchElementException without reading
+     * the page when the graph does not exist.
+     */
+    @Test
+    void getGraphVOByUuidAsyncGraphDoesNotExistCompletesWithNoSuchElementException() {
+        // Arrange
+        final String uuid = TestConstants.TEST_ID1;
+        final AsyncReadContext context = AsyncReadContext.capture();
+        when(graphMapper.getGraphByUuidAsync(uuid, context)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        final CompletionException exception = assertThrows(CompletionException.class, () -> graphService
+                .getGraphVOByUuidAsync(new FilterQueryGraphDTO(uuid, null,
+                        TestConstants.DEFALUT_PAGE_NUMBER, TestConstants.DEFALUT_PAGE_SIZE), context)
+                .toCompletableFuture().join());
+
+        // Assert
+        assertTrue(exception.getCause() instanceof NoSuchElementException);
+        verify(graphRepository, never()).getGraphByUuid(uuid);
+        verify(nodeMapper, never()).getRelationByGraphUuidAsync(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that streaming a graph writes the same JSON as serializing the result of getGraphVOByUuid.
+     *
+     * @throws IOException if writing the JSON fails
+     */
+    @Test
+    void writeGraphVOByUuidGraphExistWritesSameJsonAsResult() throws IOException {
+        // Arrange
+        final String uuid1 = TestConstants.TEST_ID1;
+        final String uuid2 = TestConstants.TEST_ID2;
+        final String currentTime = getCurrentTime();
+        final Map<String, String> properties = Collections.singletonMap(TestConstants.BLUE, TestConstants.GREEN);
+
+        final NodeVO node = NodeVO.builder()
+                .uuid(uuid2)
+                .properties(properties)
+                .createTime(currentTime)
+                .updateTime(currentTime)
+                .build();
+        final RelationVO relation = RelationVO.builder()
+                .uuid(uuid1)
+                .name(TestConstants.TEST_NAME1)
+                .createTime(currentTime)
+                .updateTime(currentTime)
+                .sourceNode(uuid1)
+                .targetNode(uuid2)
+                .build();
+
+        when(graphRepository.getGraphByUuid(uuid1)).thenReturn(Graph.builder()
+                .uuid(uuid1)
+                .title(TestConstants.TEST_TITLE1)
+                .description(TestConstants.TEST_DESCRIPTION1)
+                .createTime(currentTime)
+                .updateTime(currentTime)
+                .build());
+
+        when(nodeMapper.streamRelationByGraphUuid(eq(uuid1), eq(properties), eq(TestConstants.DEFALUT_PAGE_NUMBER),
+                eq(TestConstants.DEFALUT_PAGE_SIZE), any(), any())).thenAnswer(invocation -> {
+                    final Consumer<NodeVO> nodeConsumer = invocation.getArgument(4);
+                    final Consumer<RelationVO> relationConsumer = invocation.getArgument(5);
+                    nodeConsumer.accept(node);
+                    relationConsumer.accept(relation);
+                    return TestConstants.EXPECT_TOTAL_COUNT_01;
+                });
+
+        final GraphVO expected = new GraphVO(uuid1, TestConstants.TEST_TITLE1, TestConstants.TEST_DESCRIPTION1,
+                currentTime, currentTime, Collections.singletonList(node), Collections.singletonList(relation),
+                TestConstants.DEFALUT_PAGE_NUMBER, TestConstants.DEFALUT_PAGE_SIZE,
+                TestConstants.EXPECT_TOTAL_COUNT_01);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            graphService.writeGraphVOByUuid(new FilterQueryGraphDTO(uuid1, properties,
+                    TestConstants.DEFALUT_PAGE_NUMBER, TestConstants.DEFALUT_PAGE_SIZE), generator);
+        }
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(Result.ok(expected)), out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that streaming a graph throws a NoSuchElementException before writing anything when the graph does not
+     * exist.
+     *
+     * @throws IOException if writing the JSON fails
+     */
+    @Test
+    void writeGraphVOByUuidGraphDoesNotExistThrowsNoSuchElementException() throws IOException {
+        // Arrange
+        final String uuid = TestConstants.TEST_ID1;
+        when(graphRepository.getGraphByUuid(uuid)).thenReturn(null);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        try (JsonGenerator generator = new ObjectMapper().createGenerator(out)) {
+            assertThrows(NoSuchElementException.class, () -> graphService.writeGraphVOByUuid(
+                    new FilterQueryGraphDTO(uuid, null,
+                            TestConstants.DEFALUT_PAGE_NUMBER, TestConstants.DEFALUT_PAGE_SIZE), generator));
+        }
+
+        assertEquals(0, out.size());
+        verify(nodeMapper, never()).streamRelationByGraphUuid(any(), any(), any(), any(), any(), any());
+    }
+
     /**
      * Tests that deleting a graph throws a NoSuchElementException when the graph does not exist.
      */
@@ -190,8 +311,7 @@ public class GraphServiceTest {
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> graphService.deleteByUuids(graphDeleteDTO));
         verify(commonService, times(1)).getGraphByUuid(uuid);
-        verify(graphRepository, never()).deleteByUuids(anyList());
-        verify(nodeRepository, never()).deleteByUuids(anyList());
+        verify(graphRepository, never()).tombstoneByUuids(anyList(), anyString());
     }
 
     /**
@@ -219,8 +339,7 @@ public class GraphServiceTest {
         assertThrows(IllegalStateException.class, () -> graphService.deleteByUuids(graphDeleteDTO));
         verify(commonService, times(1)).getGraphByUuid(uuid);
         verify(graphRepository, times(1)).getGraphByGraphUuidAndOidcid(uuid, oidcid);
-        verify(graphRepository, never()).deleteByUuids(anyList());
-        verify(nodeRepository, never()).deleteByUuids(anyList());
+        verify(graphRepository, never()).tombstoneByUuids(anyList(), anyString());
     }
 
     /**
@@ -231,7 +350,6 @@ public class GraphServiceTest {
         // Arrange
         final String oidcid = TestConstants.TEST_ID1;
         final String graphUuid = TestConstants.TEST_ID2;
-        final String nodeUuid = TestConstants.TEST_ID3;
 
         final Graph graph = Graph.builder()
                 .uuid(oidcid)
@@ -244,16 +362,11 @@ public class GraphServiceTest {
 
         when(commonService.getGraphByUuid(graphUuid)).thenReturn(Optional.ofNullable(graph));
         when(graphRepository.getGraphByGraphUuidAndOidcid(graphUuid, oidcid)).thenReturn(graphUuid);
-        when(graphRepository.getGraphNodeUuidsByGraphUuids(anyList())).thenReturn(Collections.singletonList(nodeUuid));
-
-        doNothing().when(nodeRepository).deleteByUuids(anyList());
-        doNothing().when(graphRepository).deleteByUuids(anyList());
 
         graphService.deleteByUuids(graphDeleteDTO);
 
         // Act & Assert
-        verify(nodeRepository, times(1)).deleteByUuids(Collections.singletonList(nodeUuid));
-        verify(graphRepository, times(1)).deleteByUuids(Collections.singletonList(graphUuid));
+        verify(graphRepository, times(1)).tombstoneByUuids(eq(Collections.singletonList(graphUuid)), anyString());
     }
 
     /**
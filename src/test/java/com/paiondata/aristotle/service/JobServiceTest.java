@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.paiondata.aristotle.common.base.JobStatus;
+import com.paiondata.aristotle.common.base.Message;
+import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.model.vo.JobVO;
+import com.paiondata.aristotle.service.impl.JobServiceImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Bookmark;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for JobService.
+ */
+public class JobServiceTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final JobServiceImpl jobService = new JobServiceImpl(2, 1, 60);
+
+    /**
+     * Stops the workers of the service under test.
+     */
+    @AfterEach
+    public void tearDown() {
+        jobService.shutdown();
+    }
+
+    /**
+     * Tests that the jobs of a graph run one at a time in submission order, even with idle workers.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void submitRunsJobsOfTheSameGraphInOrder() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+
+        jobService.submit(TestConstants.TEST_ID1, () -> {
+            await(release);
+            order.add(1);
+            return null;
+        });
+        final JobVO second = jobService.submit(TestConstants.TEST_ID1, () -> {
+            order.add(2);
+            done.countDown();
+            return null;
+        });
+
+        assertEquals(JobStatus.QUEUED, jobService.getJob(second.getUuid()).orElseThrow().getStatus());
+
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2), order);
+    }
+
+    /**
+     * Tests that submitting is rejected once the workers and the queue are taken.
+     */
+    @Test
+    public void submitRejectsJobsWhenQueueIsFull() {
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            jobService.submit(null, () -> await(release));
+        }
+
+        final RejectedExecutionException exception = assertThrows(RejectedExecutionException.class,
+                () -> jobService.submit(null, () -> null));
+
+        assertEquals(Message.JOB_QUEUE_FULL, exception.getMessage());
+        release.countDown();
+    }
+
+    /**
+     * Tests that a listener receives every status of a succeeded job, the last one carrying its result.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void subscribeReceivesStatusesUntilJobSucceeds() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<JobVO> received = new CopyOnWriteArrayList<>();
+
+        final JobVO job = jobService.submit(TestConstants.TEST_ID1, () -> {
+            await(release);
+            return TestConstants.TEST_TITLE1;
+        });
+        jobService.subscribe(job.getUuid(), vo -> {
+            received.add(vo);
+            if (vo.getStatus().isFinished()) {
+                done.countDown();
+            }
+        });
+
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        final JobVO last = received.get(received.size() - 1);
+        assertEquals(JobStatus.SUCCEEDED, last.getStatus());
+        assertEquals(TestConstants.TEST_TITLE1, last.getResult());
+    }
+
+    /**
+     * Tests that a job whose write throws is recorded as failed with the error message.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void submitRecordsFailedJobs() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final JobVO job = jobService.submit(TestConstants.TEST_ID1, () -> {
+            throw new IllegalStateException(TestConstants.TEST_TITLE1);
+        });
+        jobService.subscribe(job.getUuid(), vo -> {
+            if (vo.getStatus().isFinished()) {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        final JobVO failed = jobService.getJob(job.getUuid()).orElseThrow();
+        assertEquals(JobStatus.FAILED, failed.getStatus());
+        assertEquals(TestConstants.TEST_TITLE1, failed.getMessage());
+    }
+
+    /**
+     * Tests that the next job of a graph still runs after a job of the graph fails with an {@link Error}.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void submitRunsNextJobOfTheGraphAfterAnError() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        jobService.submit(TestConstants.TEST_ID1, () -> {
+            await(release);
+            throw new AssertionError(TestConstants.TEST_TITLE1);
+        });
+        final JobVO next = jobService.submit(TestConstants.TEST_ID1, () -> TestConstants.TEST_TITLE2);
+        jobService.subscribe(next.getUuid(), vo -> {
+            if (vo.getStatus().isFinished()) {
+                done.countDown();
+            }
+        });
+
+        release.countDown();
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(JobStatus.SUCCEEDED, jobService.getJob(next.getUuid()).orElseThrow().getStatus());
+    }
+
+    /**
+     * Tests that a job runs with the bookmarks of the request submitting it.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    public void submitBindsTheBookmarksOfTheSubmittingRequest() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Set<Bookmark>> received = new CopyOnWriteArrayList<>();
+
+        BookmarkHolder.receive(List.of(TestConstants.TEST_ID2));
+        try {
+            jobService.submit(TestConstants.TEST_ID1, () -> {
+                received.add(BookmarkHolder.getBookmarks());
+                done.countDown();
+                return null;
+            });
+        } finally {
+            BookmarkHolder.clear();
+        }
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Set.of(Bookmark.from(Set.of(TestConstants.TEST_ID2))), received.get(0));
+    }
+
+    /**
+     * Tests that subscribing to an unknown job throws NoSuchElementException.
+     */
+    @Test
+    public void subscribeUnknownJobThrowsException() {
+        assertThrows(NoSuchElementException.class, () -> jobService.subscribe(TestConstants.TEST_ID2, vo -> { }));
+    }
+
+    /**
+     * Waits for a latch, failing the calling job if interrupted.
+     * @param latch the latch
+     *
+     * @return {@code null}
+     *
+     * @throws IllegalStateException if the calling job is interrupted
+     */
+    private static Object await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+}
@@ -18,30 +18,46 @@ package com.paiondata.aristotle.service;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.paiondata.aristotle.common.base.Message;
 import com.paiondata.aristotle.common.base.TestConstants;
 import com.paiondata.aristotle.common.base.Constants;
+import com.paiondata.aristotle.common.base.NodeUpdateStatus;
+import com.paiondata.aristotle.common.util.AsyncReadContext;
+import com.paiondata.aristotle.common.util.BookmarkHolder;
+import com.paiondata.aristotle.common.util.GraphTouchBuffer;
+import com.paiondata.aristotle.common.util.ImportRecordReader;
 import com.paiondata.aristotle.mapper.NodeMapper;
 import com.paiondata.aristotle.model.dto.GraphAndNodeCreateDTO;
+import com.paiondata.aristotle.model.vo.NodeUpdateResultVO;
 import com.paiondata.aristotle.model.vo.NodeVO;
 import com.paiondata.aristotle.model.vo.GraphVO;
+import com.paiondata.aristotle.model.vo.ImportVO;
 import com.paiondata.aristotle.model.dto.NodeCreateDTO;
 import com.paiondata.aristotle.model.dto.NodeDTO;
 import com.paiondata.aristotle.model.dto.NodeDeleteDTO;
 import com.paiondata.aristotle.model.dto.NodeRelationDTO;
 import com.paiondata.aristotle.model.dto.GraphCreateDTO;
+import com.paiondata.aristotle.model.dto.NodeBulkUpdateDTO;
+import com.paiondata.aristotle.model.dto.NodePatchDTO;
 import com.paiondata.aristotle.model.dto.NodeUpdateDTO;
 import com.paiondata.aristotle.model.dto.RelationUpdateDTO;
 import com.paiondata.aristotle.model.entity.Graph;
+import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.service.impl.NodeServiceImpl;
 
@@ -54,11 +70,19 @@ import org.mockito.Mock;
 
 import cn.hutool.core.lang.UUID;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.neo4j.driver.Bookmark;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
 import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionWork;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -67,6 +91,10 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Test class for the Graph Node Service.
@@ -81,12 +109,24 @@ public class NodeServiceTest {
     @Mock
     private NodeRepository nodeRepository;
 
+    @Mock
+    private GraphRepository graphRepository;
+
     @Mock
     private NodeMapper nodeMapper;
 
     @Mock
     private CommonService commonService;
 
+    @Mock
+    private ImportRecordReader importRecordReader;
+
+    @Mock
+    private Driver driver;
+
+    @Mock
+    private GraphTouchBuffer graphTouchBuffer;
+
     /**
      * Setup method to initialize mocks and test data.
      */
@@ -130,6 +170,25 @@ public class NodeServiceTest {
         verify(nodeMapper).getNodeByUuid(uuid);
     }
 
+    /**
+     * Tests that getting a GraphNode by UUID without blocking completes with an empty Optional when the node does
+     * not exist.
+     */
+    @Test
+    void getNodeByUuidAsyncNodeDoesNotExistShouldCompleteEmpty() {
+        // Given
+        final String uuid = TestConstants.TEST_ID1;
+        final AsyncReadContext context = AsyncReadContext.capture();
+        when(nodeMapper.getNodeByUuidAsync(uuid, context)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        final Optional<NodeVO> result = nodeService.getNodeByUuidAsync(uuid, context).toCompletableFuture().join();
+
+        // Then
+        Assertions.assertFalse(result.isPresent());
+        verify(nodeMapper, never()).getNodeByUuid(uuid);
+    }
+
     /**
      * Tests that creating and binding a Graph and Node throws a IllegalArgumentException when the transaction is null.
      */
@@ -184,18 +243,19 @@ public class NodeServiceTest {
         final String graphNodeUuid = UUID.fastUUID().toString(true);
         final String currentTime = getCurrentTime();
 
-        when(nodeMapper.createNode(anyString(), anyString(), anyString(), anyString(), any(NodeDTO.class),
-                any(Transaction.class)))
-                .thenReturn((new NodeVO(graphNodeUuid, Map.of(Constants.TITLE, TestConstants.TEST_TITLE1,
+        when(nodeMapper.createNodes(anyString(), anyList(), anyString(), any(Transaction.class)))
+                .thenReturn(List.of(new NodeVO(graphNodeUuid, Map.of(Constants.TITLE, TestConstants.TEST_TITLE1,
                         Constants.DESCRIPTION, TestConstants.TEST_DESCRIPTION1), currentTime, currentTime)));
-        doNothing().when(nodeMapper).bindGraphNodeToGraphNode(anyString(), anyString(), anyString(), anyString(),
-                anyString(), any(Transaction.class));
+        when(nodeMapper.bindGraphNodesToGraphNodes(anyString(), anyList(), anyString(), any(Transaction.class)))
+                .thenReturn(2L);
 
         // When
         final List<NodeVO> dtos = nodeService.createAndBindGraphAndNode(nodeCreateDTO, tx);
 
         // Then
         verify(commonService, times(1)).getGraphByUuid(TestConstants.TEST_ID1);
+        verify(nodeMapper, times(1)).createNodes(anyString(), argThat(rows -> rows.size() == 2), anyString(),
+                eq(tx));
         verify(nodeRepository, times(1)).getGraphUuidByGraphNodeUuid(Set.of(TestConstants.TEST_ID1,
                 TestConstants.TEST_ID2));
         Assertions.assertNotNull(dtos);
@@ -219,8 +279,8 @@ public class NodeServiceTest {
         when(commonService.getGraphByUuid(TestConstants.TEST_ID1)).thenReturn(Optional.of(new Graph()));
 
         // Mock createGraphAndBindGraphAndNode to return a non-null GraphNode
-        doNothing().when(nodeMapper).bindGraphNodeToGraphNode(anyString(), anyString(), anyString(), anyString(),
-                anyString(), any(Transaction.class));
+        when(nodeMapper.bindGraphNodesToGraphNodes(anyString(), anyList(), anyString(), any(Transaction.class)))
+                .thenReturn(2L);
 
         // When
         final List<NodeVO> dtos = nodeService.createAndBindGraphAndNode(nodeCreateDTO, tx);
@@ -229,6 +289,8 @@ public class NodeServiceTest {
         verify(commonService, times(1)).getGraphByUuid(TestConstants.TEST_ID1);
         verify(nodeRepository, times(1)).getGraphUuidByGraphNodeUuid(Set.of(TestConstants.TEST_ID1,
                 TestConstants.TEST_ID2));
+        verify(nodeMapper, times(1)).bindGraphNodesToGraphNodes(eq(TestConstants.TEST_ID1),
+                argThat(rows -> rows.size() == 2), anyString(), eq(tx));
         Assertions.assertTrue(dtos.isEmpty());
     }
 
@@ -263,12 +325,11 @@ public class NodeServiceTest {
         final String graphNodeUuid = UUID.fastUUID().toString(true);
         final String currentTime = getCurrentTime();
 
-        when(nodeMapper.createNode(anyString(), anyString(), anyString(), anyString(), any(NodeDTO.class),
-                any(Transaction.class)))
-                .thenReturn((new NodeVO(graphNodeUuid, Map.of(Constants.TITLE, TestConstants.TEST_TITLE1,
+        when(nodeMapper.createNodes(anyString(), anyList(), anyString(), any(Transaction.class)))
+                .thenReturn(List.of(new NodeVO(graphNodeUuid, Map.of(Constants.TITLE, TestConstants.TEST_TITLE1,
                         Constants.DESCRIPTION, TestConstants.TEST_DESCRIPTION1), currentTime, currentTime)));
-        doNothing().when(nodeMapper).bindGraphNodeToGraphNode(anyString(), anyString(), anyString(), anyString(),
-                anyString(), any(Transaction.class));
+        when(nodeMapper.bindGraphNodesToGraphNodes(anyString(), anyList(), anyString(), any(Transaction.class)))
+                .thenReturn(2L);
 
         // When
         final GraphVO dto = nodeService.createGraphAndBindGraphAndNode(graphNodeCreateDTO, tx);
@@ -297,18 +358,14 @@ public class NodeServiceTest {
                 .uuids(Collections.singletonList(nodeUuid))
                 .build();
 
-        final NodeVO node = NodeVO.builder()
-                .uuid(nodeUuid)
-                .build();
-
-        when(nodeMapper.getNodeByUuid(nodeUuid)).thenReturn(node);
-        when(nodeRepository.getNodeByGraphUuidAndNodeUuid(graphUuid, nodeUuid)).thenReturn(nodeUuid);
+        when(nodeRepository.getNodesOutsideGraph(graphUuid, List.of(nodeUuid))).thenReturn(Collections.emptyMap());
 
         // Act
         nodeService.deleteByUuids(dto);
 
         // Assert
         verify(nodeRepository, times(1)).deleteByUuids(Collections.singletonList(nodeUuid));
+        verify(graphRepository, times(1)).updateGraphUpdateTimeByUuid(eq(graphUuid), anyString());
     }
 
     /**
@@ -324,10 +381,11 @@ public class NodeServiceTest {
                 .uuids(Collections.singletonList(nodeUuid))
                 .build();
 
-        when(nodeMapper.getNodeByUuid(nodeUuid)).thenReturn(null);
+        when(nodeRepository.getNodesOutsideGraph(graphUuid, List.of(nodeUuid))).thenReturn(Map.of(nodeUuid, false));
 
         // Assert handled by expected exception
         assertThrows(NoSuchElementException.class, () -> nodeService.deleteByUuids(dto));
+        verify(nodeRepository, never()).deleteByUuids(anyList());
     }
 
     /**
@@ -343,15 +401,37 @@ public class NodeServiceTest {
                 .uuids(Collections.singletonList(nodeUuid))
                 .build();
 
-        final NodeVO node = NodeVO.builder()
-                .uuid(nodeUuid)
-                .build();
-
-        when(nodeMapper.getNodeByUuid(nodeUuid)).thenReturn(node);
-        when(nodeRepository.getNodeByGraphUuidAndNodeUuid(graphUuid, nodeUuid)).thenReturn(null);
+        when(nodeRepository.getNodesOutsideGraph(graphUuid, List.of(nodeUuid))).thenReturn(Map.of(nodeUuid, true));
 
         // Assert handled by expected exception
         assertThrows(IllegalStateException.class, () -> nodeService.deleteByUuids(dto));
+        verify(nodeRepository, never()).deleteByUuids(anyList());
+    }
+
+    /**
+     * Tests that deleting nodes checks the whole list with one query and reports the first offending UUID.
+     */
+    @Test
+    public void deleteByUuidsReportsFirstOffendingNodeOfTheList() {
+        // Arrange
+        final String graphUuid = TestConstants.TEST_ID1;
+        final List<String> nodeUuids = List.of(TestConstants.TEST_ID2, TestConstants.TEST_ID3, TestConstants.TEST_ID4);
+        final NodeDeleteDTO dto = NodeDeleteDTO.builder()
+                .uuid(graphUuid)
+                .uuids(nodeUuids)
+                .build();
+
+        when(nodeRepository.getNodesOutsideGraph(graphUuid, nodeUuids))
+                .thenReturn(Map.of(TestConstants.TEST_ID4, false, TestConstants.TEST_ID3, true));
+
+        // Act
+        final IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> nodeService.deleteByUuids(dto));
+
+        // Assert
+        assertEquals(String.format(Message.NODE_BIND_ANOTHER_GRAPH, TestConstants.TEST_ID3), exception.getMessage());
+        verify(nodeRepository, times(1)).getNodesOutsideGraph(graphUuid, nodeUuids);
+        verify(nodeMapper, never()).getNodeByUuid(anyString());
     }
 
     /**
@@ -400,6 +480,131 @@ public class NodeServiceTest {
         verify(nodeMapper).getNodeByUuid(TestConstants.TEST_ID1);
     }
 
+    /**
+     * Tests that patching an existing graph node sets and removes only the listed properties.
+     */
+    @Test
+    void patchNodeNodeExistsShouldPatchNode() {
+        // Given
+        final Transaction tx = mock(Transaction.class);
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.TITLE, TestConstants.TEST_TITLE2);
+        properties.put(Constants.DESCRIPTION, null);
+        final NodePatchDTO nodePatchDTO = NodePatchDTO.builder()
+                .uuid(TestConstants.TEST_ID1)
+                .properties(properties)
+                .build();
+
+        when(nodeMapper.getNodeByUuid(TestConstants.TEST_ID1)).thenReturn(new NodeVO());
+
+        // When
+        assertDoesNotThrow(() -> nodeService.patchNode(nodePatchDTO, tx));
+
+        // Then
+        verify(nodeMapper, times(1)).patchNodeByUuid(eq(nodePatchDTO), anyString(), eq(tx));
+        verify(nodeMapper, never()).updateNodeByUuid(any(), anyString(), any());
+    }
+
+    /**
+     * Tests that patching a reserved property of a graph node is rejected before reading the node.
+     */
+    @Test
+    void patchNodeReservedPropertyShouldThrowException() {
+        // Given
+        final Transaction tx = mock(Transaction.class);
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.UPDATE_TIME_WITHOUT_HUMP, null);
+        final NodePatchDTO nodePatchDTO = NodePatchDTO.builder()
+                .uuid(TestConstants.TEST_ID1)
+                .properties(properties)
+                .build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> nodeService.patchNode(nodePatchDTO, tx));
+
+        // Then
+        verify(nodeMapper, never()).getNodeByUuid(anyString());
+        verify(nodeMapper, never()).patchNodeByUuid(any(), anyString(), any());
+    }
+
+    /**
+     * Tests that patching a non-existent graph node throws an exception.
+     */
+    @Test
+    void patchNodeNodeDoesNotExistShouldThrowException() {
+        // Given
+        final Transaction tx = mock(Transaction.class);
+        final NodePatchDTO nodePatchDTO = NodePatchDTO.builder()
+                .uuid(TestConstants.TEST_ID1)
+                .properties(Map.of(Constants.TITLE, TestConstants.TEST_TITLE2))
+                .build();
+
+        when(nodeMapper.getNodeByUuid(TestConstants.TEST_ID1)).thenReturn(null);
+
+        // When & Then
+        assertThrows(NoSuchElementException.class, () -> nodeService.patchNode(nodePatchDTO, tx));
+
+        // Then
+        verify(nodeMapper, never()).patchNodeByUuid(any(), anyString(), any());
+    }
+
+    /**
+     * Tests that a bulk update applies the valid updates in one call and reports every update in order.
+     */
+    @Test
+    void bulkUpdateNodesReportsEveryUpdate() {
+        // Given
+        final Transaction tx = mock(Transaction.class);
+        final String graphUuid = TestConstants.TEST_ID1;
+        final NodeBulkUpdateDTO nodeBulkUpdateDTO = NodeBulkUpdateDTO.builder()
+                .graphUuid(graphUuid)
+                .nodes(List.of(
+                        patch(TestConstants.TEST_ID1, Constants.TITLE),
+                        patch(TestConstants.TEST_ID2, Constants.TITLE),
+                        patch(TestConstants.TEST_ID3, Constants.TITLE),
+                        patch(TestConstants.TEST_ID4, Constants.UUID),
+                        patch(TestConstants.TEST_ID1, Constants.TITLE)))
+                .build();
+
+        when(commonService.getGraphByUuid(graphUuid)).thenReturn(Optional.of(new Graph()));
+        when(nodeRepository.getNodesOutsideGraph(graphUuid, List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2,
+                TestConstants.TEST_ID3, TestConstants.TEST_ID4)))
+                .thenReturn(Map.of(TestConstants.TEST_ID2, false, TestConstants.TEST_ID3, true));
+        when(nodeMapper.patchNodes(eq(graphUuid), anyList(), anyString(), eq(tx)))
+                .thenReturn(Set.of(TestConstants.TEST_ID1));
+
+        // When
+        final List<NodeUpdateResultVO> results = nodeService.bulkUpdateNodes(nodeBulkUpdateDTO, tx);
+
+        // Then
+        assertEquals(List.of(NodeUpdateStatus.UPDATED, NodeUpdateStatus.NOT_FOUND,
+                        NodeUpdateStatus.BOUND_ANOTHER_GRAPH, NodeUpdateStatus.INVALID, NodeUpdateStatus.INVALID),
+                results.stream().map(NodeUpdateResultVO::getStatus).collect(Collectors.toList()));
+        verify(nodeMapper, times(1)).patchNodes(eq(graphUuid), argThat(rows -> rows.size() == 1
+                && TestConstants.TEST_ID1.equals(rows.get(0).get(Constants.NODE_UUID))), anyString(), eq(tx));
+    }
+
+    /**
+     * Tests that a bulk update of a graph which does not exist throws an exception.
+     */
+    @Test
+    void bulkUpdateNodesGraphDoesNotExistShouldThrowException() {
+        // Given
+        final Transaction tx = mock(Transaction.class);
+        final NodeBulkUpdateDTO nodeBulkUpdateDTO = NodeBulkUpdateDTO.builder()
+                .graphUuid(TestConstants.TEST_ID1)
+                .nodes(List.of(patch(TestConstants.TEST_ID2, Constants.TITLE)))
+                .build();
+
+        when(commonService.getGraphByUuid(TestConstants.TEST_ID1)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NoSuchElementException.class, () -> nodeService.bulkUpdateNodes(nodeBulkUpdateDTO, tx));
+
+        // Then
+        verify(nodeMapper, never()).patchNodes(anyString(), anyList(), anyString(), any());
+    }
+
     /**
      * Tests updating a graph relation with an update map.
      */
@@ -411,8 +616,9 @@ public class NodeServiceTest {
         updateMap.put(TestConstants.TEST_ID1, TestConstants.TEST_NAME1);
         updateMap.put(TestConstants.TEST_ID2, TestConstants.TEST_NAME1);
 
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID1)).thenReturn(TestConstants.TEST_ID1);
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID2)).thenReturn(TestConstants.TEST_ID2);
+        when(nodeRepository.getRelationUuidsByGraphUuid(graphUuid,
+                Set.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2)))
+                .thenReturn(List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2));
 
         final RelationUpdateDTO relationUpdateDTO = new RelationUpdateDTO(graphUuid, updateMap,
                 Collections.emptyList());
@@ -421,10 +627,8 @@ public class NodeServiceTest {
         nodeService.updateRelation(relationUpdateDTO);
 
         // Then
-        verify(nodeRepository, times(1)).updateRelationByUuid(TestConstants.TEST_ID1,
-                TestConstants.TEST_NAME1, graphUuid);
-        verify(nodeRepository, times(1)).updateRelationByUuid(TestConstants.TEST_ID2,
-                TestConstants.TEST_NAME1, graphUuid);
+        verify(nodeRepository, times(1)).updateRelationsByUuid(graphUuid, updateMap);
+        verify(nodeRepository, never()).deleteRelationsByUuid(anyString(), anyList());
     }
 
     /**
@@ -436,8 +640,7 @@ public class NodeServiceTest {
         final String graphUuid = TestConstants.TEST_ID1;
         final List<String> deleteList = List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2);
 
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID1)).thenReturn(TestConstants.TEST_ID1);
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID2)).thenReturn(TestConstants.TEST_ID2);
+        when(nodeRepository.getRelationUuidsByGraphUuid(graphUuid, Set.copyOf(deleteList))).thenReturn(deleteList);
 
         final RelationUpdateDTO relationUpdateDTO = new RelationUpdateDTO(graphUuid,
                 Collections.emptyMap(), deleteList);
@@ -446,12 +649,13 @@ public class NodeServiceTest {
         nodeService.updateRelation(relationUpdateDTO);
 
         // Then
-        verify(nodeRepository, times(1)).deleteRelationByUuid(TestConstants.TEST_ID1, graphUuid);
-        verify(nodeRepository, times(1)).deleteRelationByUuid(TestConstants.TEST_ID2, graphUuid);
+        verify(nodeRepository, times(1)).deleteRelationsByUuid(graphUuid, deleteList);
+        verify(nodeRepository, never()).updateRelationsByUuid(anyString(), anyMap());
+        verify(graphRepository, times(1)).updateGraphUpdateTimeByUuid(eq(graphUuid), anyString());
     }
 
     /**
-     * Tests updating a graph relation with both an update map and a delete list.
+     * Tests updating a graph relation with both an update map and a delete list, which are validated together.
      */
     @Test
     void testUpdateRelationWithBothUpdateMapAndDeleteList() {
@@ -463,10 +667,10 @@ public class NodeServiceTest {
 
         final List<String> deleteList = List.of(TestConstants.TEST_ID3, TestConstants.TEST_ID4);
 
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID1)).thenReturn(TestConstants.TEST_ID1);
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID2)).thenReturn(TestConstants.TEST_ID2);
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID3)).thenReturn(TestConstants.TEST_ID3);
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID4)).thenReturn(TestConstants.TEST_ID4);
+        when(nodeRepository.getRelationUuidsByGraphUuid(graphUuid, Set.of(TestConstants.TEST_ID1,
+                TestConstants.TEST_ID2, TestConstants.TEST_ID3, TestConstants.TEST_ID4)))
+                .thenReturn(List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2, TestConstants.TEST_ID3,
+                        TestConstants.TEST_ID4));
 
         final RelationUpdateDTO relationUpdateDTO = new RelationUpdateDTO(graphUuid, updateMap, deleteList);
 
@@ -474,14 +678,13 @@ public class NodeServiceTest {
         nodeService.updateRelation(relationUpdateDTO);
 
         // Then
-        verify(nodeRepository).updateRelationByUuid(TestConstants.TEST_ID1, TestConstants.TEST_NAME1, graphUuid);
-        verify(nodeRepository).updateRelationByUuid(TestConstants.TEST_ID2, TestConstants.TEST_NAME1, graphUuid);
-        verify(nodeRepository).deleteRelationByUuid(TestConstants.TEST_ID3, graphUuid);
-        verify(nodeRepository).deleteRelationByUuid(TestConstants.TEST_ID4, graphUuid);
+        verify(nodeRepository, times(1)).getRelationUuidsByGraphUuid(eq(graphUuid), anySet());
+        verify(nodeRepository).updateRelationsByUuid(graphUuid, updateMap);
+        verify(nodeRepository).deleteRelationsByUuid(graphUuid, deleteList);
     }
 
     /**
-     * Tests that updating a non-existent relation in the update map throws an exception.
+     * Tests that updating a non-existent relation in the update map throws an exception and changes nothing.
      */
     @Test
     void testUpdateRelationWithNonExistentRelationInUpdateMap() {
@@ -490,7 +693,8 @@ public class NodeServiceTest {
         final Map<String, String> updateMap = new HashMap<>();
         updateMap.put(TestConstants.TEST_ID1, TestConstants.TEST_NAME1);
 
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID1)).thenReturn(null);
+        when(nodeRepository.getRelationUuidsByGraphUuid(graphUuid, Set.of(TestConstants.TEST_ID1)))
+                .thenReturn(Collections.emptyList());
 
         final RelationUpdateDTO relationUpdateDTO = new RelationUpdateDTO(graphUuid,
                 updateMap, Collections.emptyList());
@@ -498,25 +702,31 @@ public class NodeServiceTest {
         // When & Then
         assertThrows(NoSuchElementException.class,
                 () -> nodeService.updateRelation(relationUpdateDTO));
+        verify(nodeRepository, never()).updateRelationsByUuid(anyString(), anyMap());
     }
 
     /**
-     * Tests that deleting a non-existent relation in the delete list throws an exception.
+     * Tests that deleting non-existent relations in the delete list throws an exception naming all of them.
      */
     @Test
     void testUpdateRelationWithNonExistentRelationInDeleteList() {
         // Given
         final String graphUuid = TestConstants.TEST_ID1;
-        final List<String> deleteList = List.of(TestConstants.TEST_ID1);
+        final List<String> deleteList = List.of(TestConstants.TEST_ID1, TestConstants.TEST_ID2,
+                TestConstants.TEST_ID3);
 
-        when(nodeRepository.getRelationByUuid(TestConstants.TEST_ID1)).thenReturn(null);
+        when(nodeRepository.getRelationUuidsByGraphUuid(graphUuid, Set.copyOf(deleteList)))
+                .thenReturn(List.of(TestConstants.TEST_ID2));
 
         final RelationUpdateDTO relationUpdateDTO = new RelationUpdateDTO(graphUuid,
                 Collections.emptyMap(), deleteList);
 
         // When & Then
-        assertThrows(NoSuchElementException.class,
+        final NoSuchElementException exception = assertThrows(NoSuchElementException.class,
                 () -> nodeService.updateRelation(relationUpdateDTO));
+        assertTrue(exception.getMessage().contains(TestConstants.TEST_ID1));
+        assertTrue(exception.getMessage().contains(TestConstants.TEST_ID3));
+        verify(nodeRepository, never()).deleteRelationsByUuid(anyString(), anyList());
     }
 
     /**
@@ -564,6 +774,27 @@ public class NodeServiceTest {
         verify(nodeMapper, never()).kDegreeExpansion(any(), any(), any());
     }
 
+    /**
+     * Tests that the asynchronous getkDegreeExpansion completes with a NoSuchElementException without expanding when
+     * the graph does not exist.
+     */
+    @Test
+    void getkDegreeExpansionAsyncGraphDoesNotExistCompletesWithNoSuchElementException() {
+        final String graphUuid = TestConstants.TEST_ID1;
+        final String nodeUuid = TestConstants.TEST_ID2;
+        final Integer k = 2;
+        final AsyncReadContext context = AsyncReadContext.capture();
+
+        when(commonService.getGraphByUuidAsync(graphUuid, context))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        final CompletionException exception = assertThrows(CompletionException.class, () -> nodeService
+                .getkDegreeExpansionAsync(graphUuid, nodeUuid, k, context).toCompletableFuture().join());
+
+        assertTrue(exception.getCause() instanceof NoSuchElementException);
+        verify(nodeMapper, never()).kDegreeExpansionAsync(any(), any(), any(), any());
+    }
+
     /**
      * Get current time.
      * @return current time
@@ -572,4 +803,109 @@ public class NodeServiceTest {
         return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")
                 .format(Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()));
     }
+
+    /**
+     * Tests that an import is committed in chunks, reporting the counts after each full chunk, and that a relation
+     * can refer to a node imported by an earlier chunk.
+     *
+     * @throws IOException if the import cannot be read
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void importNodesCommitsInChunksAndReportsProgress() throws IOException {
+        // Given
+        final Session session = mock(Session.class);
+        final Transaction tx = mock(Transaction.class);
+        final InputStream inputStream = mock(InputStream.class);
+        final List<ImportVO> progress = new ArrayList<>();
+
+        when(commonService.getGraphByUuid(TestConstants.TEST_ID1)).thenReturn(Optional.of(new Graph()));
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(session.writeTransaction(any(), any())).thenAnswer(invocation ->
+                ((TransactionWork<long[]>) invocation.getArgument(0)).execute(tx));
+        when(session.lastBookmark()).thenReturn(Bookmark.from(Set.of(TestConstants.TEST_ID2)));
+        when(nodeMapper.createNodes(anyString(), anyList(), anyString(), eq(tx)))
+                .thenAnswer(invocation -> Collections.nCopies(((List<?>) invocation.getArgument(1)).size(),
+                        new NodeVO()));
+        when(nodeMapper.bindGraphNodesToGraphNodes(anyString(), anyList(), anyString(), eq(tx))).thenReturn(1L);
+        doAnswer(invocation -> {
+            final Consumer<NodeDTO> nodeConsumer = invocation.getArgument(2);
+            final Consumer<NodeRelationDTO> relationConsumer = invocation.getArgument(3);
+            nodeConsumer.accept(new NodeDTO(TestConstants.TEST_ID1, Map.of()));
+            nodeConsumer.accept(new NodeDTO(TestConstants.TEST_ID2, Map.of()));
+            relationConsumer.accept(new NodeRelationDTO(TestConstants.TEST_ID1, TestConstants.TEST_ID2,
+                    TestConstants.TEST_RELATION1));
+            return null;
+        }).when(importRecordReader).read(eq(inputStream), anyString(), any(), any());
+
+        // When
+        final ImportVO result;
+        try {
+            result = nodeService.importNodes(TestConstants.TEST_ID1, inputStream, ImportRecordReader.NDJSON, 2,
+                    progress::add);
+        } finally {
+            BookmarkHolder.clear();
+        }
+
+        // Then
+        verify(session, times(2)).writeTransaction(any(), any());
+        verify(nodeMapper, times(1)).createNodes(anyString(), anyList(), anyString(), eq(tx));
+        verify(nodeMapper, times(1)).bindGraphNodesToGraphNodes(eq(TestConstants.TEST_ID1), argThat(rows ->
+                !TestConstants.TEST_ID1.equals(rows.get(0).get(Constants.SOURCE_NODE))), anyString(), eq(tx));
+        verify(nodeRepository, never()).getGraphUuidByGraphNodeUuid(any());
+        verify(graphTouchBuffer, times(2)).flush(tx);
+        assertEquals(List.of(new ImportVO(2, 0, Set.of(TestConstants.TEST_ID2))), progress);
+        assertEquals(new ImportVO(2, 1, Set.of(TestConstants.TEST_ID2)), result);
+    }
+
+    /**
+     * Tests that an import fails instead of dropping a relation which refers to a node that is neither imported
+     * before it nor in the graph, such as a node appearing later in the import.
+     *
+     * @throws IOException if the import cannot be read
+     */
+    @Test
+    void importNodesRejectsRelationsToNodesNotImportedYet() throws IOException {
+        // Given
+        final Session session = mock(Session.class);
+        final InputStream inputStream = mock(InputStream.class);
+
+        when(commonService.getGraphByUuid(TestConstants.TEST_ID1)).thenReturn(Optional.of(new Graph()));
+        when(driver.session(any(SessionConfig.class))).thenReturn(session);
+        when(nodeRepository.getNodesOutsideGraph(TestConstants.TEST_ID1, List.of(TestConstants.TEST_ID3)))
+                .thenReturn(Map.of(TestConstants.TEST_ID3, false));
+        doAnswer(invocation -> {
+            final Consumer<NodeDTO> nodeConsumer = invocation.getArgument(2);
+            final Consumer<NodeRelationDTO> relationConsumer = invocation.getArgument(3);
+            nodeConsumer.accept(new NodeDTO(TestConstants.TEST_ID2, Map.of()));
+            relationConsumer.accept(new NodeRelationDTO(TestConstants.TEST_ID2, TestConstants.TEST_ID3,
+                    TestConstants.TEST_RELATION1));
+            nodeConsumer.accept(new NodeDTO(TestConstants.TEST_ID3, Map.of()));
+            return null;
+        }).when(importRecordReader).read(eq(inputStream), anyString(), any(), any());
+
+        // When
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                nodeService.importNodes(TestConstants.TEST_ID1, inputStream, ImportRecordReader.NDJSON, 2,
+                        progress -> { }));
+
+        // Then
+        assertEquals(String.format(Message.UNRESOLVED_IMPORT_NODE, TestConstants.TEST_ID3), exception.getMessage());
+        verify(session, never()).writeTransaction(any(), any());
+    }
+
+    /**
+     * Builds a partial update setting one property of a node.
+     *
+     * @param uuid the UUID of the node
+     * @param key the name of the property
+     *
+     * @return the partial update
+     */
+    private static NodePatchDTO patch(final String uuid, final String key) {
+        return NodePatchDTO.builder()
+                .uuid(uuid)
+                .properties(Map.of(key, TestConstants.TEST_VALUE1))
+                .build();
+    }
 }
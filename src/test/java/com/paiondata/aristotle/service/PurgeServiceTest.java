@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Paion Data
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paiondata.aristotle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.paiondata.aristotle.mapper.GraphMapper;
+import com.paiondata.aristotle.service.impl.PurgeServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for PurgeService.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PurgeServiceTest {
+
+    private static final int BATCHES_PER_RUN = 3;
+
+    private static final String BACKLOG_METRIC = "aristotle.purge.backlog";
+
+    private static final String TYPE_TAG = "type";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private GraphMapper graphMapper;
+
+    /**
+     * Tests that a run purges a bounded number of batches and publishes the remaining backlog.
+     */
+    @Test
+    public void purgeIsBoundedAndPublishesBacklog() {
+        final PurgeServiceImpl purgeService = new PurgeServiceImpl(graphMapper, meterRegistry, BATCHES_PER_RUN, true);
+        when(graphMapper.purgeDeletedGraphs(BATCHES_PER_RUN)).thenReturn(6L);
+        when(graphMapper.countDeletedGraphs()).thenReturn(1L);
+        when(graphMapper.countDeletedGraphNodes()).thenReturn(4L);
+
+        assertEquals(6L, purgeService.purge());
+
+        assertEquals(1.0, meterRegistry.get(BACKLOG_METRIC).tag(TYPE_TAG, "graphs").gauge().value());
+        assertEquals(4.0, meterRegistry.get(BACKLOG_METRIC).tag(TYPE_TAG, "nodes").gauge().value());
+        assertEquals(6.0, meterRegistry.get("aristotle.purge.purged").counter().count());
+    }
+
+    /**
+     * Tests that the scheduled purge does nothing when disabled.
+     */
+    @Test
+    public void scheduledPurgeDoesNothingWhenDisabled() {
+        final PurgeServiceImpl purgeService = new PurgeServiceImpl(graphMapper, meterRegistry, BATCHES_PER_RUN, false);
+
+        purgeService.scheduledPurge();
+
+        verify(graphMapper, never()).purgeDeletedGraphs(BATCHES_PER_RUN);
+    }
+}
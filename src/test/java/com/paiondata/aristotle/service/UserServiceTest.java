@@ -19,17 +19,20 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.paiondata.aristotle.common.base.TestConstants;
+import com.paiondata.aristotle.common.util.EntityCache;
+import com.paiondata.aristotle.mapper.GraphMapper;
 import com.paiondata.aristotle.model.dto.UserDTO;
 import com.paiondata.aristotle.model.entity.User;
 import com.paiondata.aristotle.model.vo.UserVO;
-import com.paiondata.aristotle.repository.NodeRepository;
 import com.paiondata.aristotle.repository.GraphRepository;
 import com.paiondata.aristotle.repository.UserRepository;
 import com.paiondata.aristotle.service.impl.UserServiceImpl;
@@ -38,12 +41,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -67,10 +70,13 @@ public class UserServiceTest {
     private GraphRepository graphRepository;
 
     @Mock
-    private NodeRepository nodeRepository;
+    private CommonService commonService;
 
     @Mock
-    private CommonService commonService;
+    private EntityCache entityCache;
+
+    @Mock
+    private GraphMapper graphMapper;
 
     /**
      * Sets up the test environment before each test.
@@ -95,7 +101,7 @@ public class UserServiceTest {
         final List<Map<String, Object>> graphs = Collections.singletonList(Collections.singletonMap(
                 TestConstants.TEST_KEY1, TestConstants.TEST_VALUE1));
 
-        when(userRepository.getUserByOidcid(oidcid)).thenReturn(user);
+        when(commonService.getUserByOidcid(oidcid)).thenReturn(Optional.of(user));
         when(commonService.getGraphsByOidcid(oidcid)).thenReturn(graphs);
 
         // Act
@@ -106,7 +112,7 @@ public class UserServiceTest {
         Assertions.assertEquals(username, userVO.getUsername());
         Assertions.assertEquals(graphs, userVO.getGraphs());
 
-        verify(userRepository, times(1)).getUserByOidcid(oidcid);
+        verify(commonService, times(1)).getUserByOidcid(oidcid);
         verify(commonService, times(1)).getGraphsByOidcid(oidcid);
     }
 
@@ -117,60 +123,50 @@ public class UserServiceTest {
     public void getUserVOByOidcidUserDoesNotExistThrowsNoSuchElementException() {
         // Arrange
         final String oidcid = TestConstants.TEST_ID1;
-        when(userRepository.getUserByOidcid(oidcid)).thenReturn(null);
+        when(commonService.getUserByOidcid(oidcid)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> userService.getUserVOByOidcid(oidcid));
 
-        verify(userRepository, times(1)).getUserByOidcid(oidcid);
+        verify(commonService, times(1)).getUserByOidcid(oidcid);
         verify(commonService, never()).getGraphsByOidcid(anyString());
     }
 
     /**
-     * Tests that getting all users returns a list of UserVOs when users exist.
+     * Tests that getting a page of users returns the users and graphs read by the single aggregated query.
      */
     @Test
-    public void getAllUsersUsersExistReturnsListOfUserVOs() {
+    public void getUsersUsersExistReturnsListOfUserVOs() {
         // Arrange
-        final List<User> users = new ArrayList<>();
-        users.add(User.builder().oidcid(TestConstants.TEST_ID1).username(TestConstants.TEST_NAME1).build());
-        users.add(User.builder().oidcid(TestConstants.TEST_ID2).username(TestConstants.TEST_NAME2).build());
-
-        final List<Map<String, Object>> graphs1 = Collections.singletonList(Collections.singletonMap(
+        final List<Map<String, Object>> graphs = Collections.singletonList(Collections.singletonMap(
                 TestConstants.TEST_KEY1, TestConstants.TEST_VALUE1));
-        final List<Map<String, Object>> graphs2 = Collections.singletonList(Collections.singletonMap(
-                TestConstants.TEST_KEY2, TestConstants.TEST_VALUE1));
+        final List<UserVO> users = List.of(
+                UserVO.builder().oidcid(TestConstants.TEST_ID1).username(TestConstants.TEST_NAME1).graphs(graphs)
+                        .build(),
+                UserVO.builder().oidcid(TestConstants.TEST_ID2).username(TestConstants.TEST_NAME2)
+                        .graphs(Collections.emptyList()).build());
 
-        when(userRepository.findAll()).thenReturn(users);
-        when(commonService.getGraphsByOidcid(TestConstants.TEST_ID1)).thenReturn(graphs1);
-        when(commonService.getGraphsByOidcid(TestConstants.TEST_ID2)).thenReturn(graphs2);
+        when(graphMapper.getUsersWithGraphs(TestConstants.TEST_ID1, 2)).thenReturn(users);
 
         // Act
-        final List<UserVO> userVOS = userService.getAllUsers();
+        final List<UserVO> userVOS = userService.getUsers(TestConstants.TEST_ID1, 2);
 
         // Assert
-        Assertions.assertEquals(2, userVOS.size());
-        Assertions.assertEquals(TestConstants.TEST_ID1, userVOS.get(0).getOidcid());
-        Assertions.assertEquals(TestConstants.TEST_NAME1, userVOS.get(0).getUsername());
-        Assertions.assertEquals(graphs1, userVOS.get(0).getGraphs());
-
-        Assertions.assertEquals(TestConstants.TEST_ID2, userVOS.get(1).getOidcid());
-        Assertions.assertEquals(TestConstants.TEST_NAME2, userVOS.get(1).getUsername());
-        Assertions.assertEquals(graphs2, userVOS.get(1).getGraphs());
+        Assertions.assertEquals(users, userVOS);
+        verify(commonService, never()).getGraphsByOidcid(anyString());
+        verify(userRepository, never()).findAll();
     }
 
     /**
-     * Tests that getting all users returns an empty list when no users exist.
+     * Tests that the first page of users starts before every OIDC ID.
      */
     @Test
-    public void getAllUsersNoUsersExistReturnsEmptyList() {
+    public void getUsersFirstPageStartsAtTheBeginning() {
         // Arrange
-        final List<User> users = Collections.emptyList();
-
-        when(userRepository.findAll()).thenReturn(users);
+        when(graphMapper.getUsersWithGraphs("", 10)).thenReturn(Collections.emptyList());
 
         // Act
-        final List<UserVO> userVOS = userService.getAllUsers();
+        final List<UserVO> userVOS = userService.getUsers(null, 10);
 
         // Assert
         Assertions.assertEquals(0, userVOS.size());
@@ -307,22 +303,17 @@ public class UserServiceTest {
         final List<User> users = Arrays.asList(User.builder().oidcid(TestConstants.TEST_ID1).build(),
                 User.builder().oidcid(TestConstants.TEST_ID2).build());
 
-        final List<String> graphUuids = Arrays.asList("graph1", "graph2");
-        final List<String> graphNodeUuids = Arrays.asList("node1", "node2");
-
         when(commonService.getUserByOidcid(TestConstants.TEST_ID1)).thenReturn(Optional.ofNullable(users.get(0)));
         when(commonService.getUserByOidcid(TestConstants.TEST_ID2)).thenReturn(Optional.ofNullable(users.get(1)));
-        when(userRepository.getGraphUuidsByUserOidcid(oidcids)).thenReturn(graphUuids);
-        when(graphRepository.getGraphNodeUuidsByGraphUuids(graphUuids)).thenReturn(graphNodeUuids);
 
         // Act
         userService.deleteUser(oidcids);
 
         // Assert
         verify(commonService, times(2)).getUserByOidcid(anyString());
-        verify(userRepository).deleteByOidcids(oidcids);
-        verify(graphRepository).deleteByUuids(graphUuids);
-        verify(nodeRepository).deleteByUuids(graphNodeUuids);
+        final InOrder inOrder = inOrder(graphRepository, userRepository);
+        inOrder.verify(graphRepository).tombstoneByOidcids(eq(oidcids), anyString());
+        inOrder.verify(userRepository).deleteByOidcids(oidcids);
     }
 
     /**
@@ -343,7 +334,6 @@ public class UserServiceTest {
         // Verify
         verify(commonService, times(2)).getUserByOidcid(anyString());
         verify(userRepository, never()).deleteByOidcids(any());
-        verify(graphRepository, never()).deleteByUuids(any());
-        verify(nodeRepository, never()).deleteByUuids(any());
+        verify(graphRepository, never()).tombstoneByOidcids(any(), any());
     }
 }